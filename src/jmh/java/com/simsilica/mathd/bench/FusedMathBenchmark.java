@@ -0,0 +1,157 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.simsilica.mathd.Matrix3d;
+import com.simsilica.mathd.Matrix4d;
+import com.simsilica.mathd.Quatd;
+import com.simsilica.mathd.Vec3d;
+
+/**
+ *  Compares the plain and fused multiply-add (FMA) versions of the
+ *  core math operations.  FMA mode is picked once per JVM so the "Fma"
+ *  benchmarks run in their own fork with the system property set.
+ *  Run with: gradle jmh -Pjmh.includes=FusedMath
+ *
+ *  @author    Paul Speed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FusedMathBenchmark {
+
+    private static final String FMA = "-Dcom.simsilica.mathd.fma=true";
+
+    private Vec3d v1;
+    private Vec3d v2;
+    private Vec3d vStore;
+    private Quatd q1;
+    private Quatd q2;
+    private Quatd qStore;
+    private Matrix3d m3;
+    private Matrix3d m3Store;
+    private Matrix4d m4;
+    private Matrix4d m4Store;
+
+    @Setup
+    public void setup() {
+        v1 = new Vec3d(1.5, -2.25, 3.125);
+        v2 = new Vec3d(-0.75, 4.5, 2.0);
+        vStore = new Vec3d();
+        q1 = new Quatd().fromAngles(0.3, 1.2, -0.4);
+        q2 = new Quatd().fromAngles(-1.1, 0.25, 2.0);
+        qStore = new Quatd();
+        m3 = q1.toRotationMatrix();
+        m3Store = new Matrix3d();
+        m4 = new Matrix4d();
+        m4.setTransform(new Vec3d(10, 20, 30), m3);
+        m4Store = new Matrix4d();
+    }
+
+    @Benchmark
+    public double dot() {
+        return v1.dot(v2);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = FMA)
+    public double dotFma() {
+        return v1.dot(v2);
+    }
+
+    @Benchmark
+    public Vec3d crossLocal() {
+        return vStore.set(v1).crossLocal(v2);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = FMA)
+    public Vec3d crossLocalFma() {
+        return vStore.set(v1).crossLocal(v2);
+    }
+
+    @Benchmark
+    public Quatd multQuat() {
+        return q1.mult(q2, qStore);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = FMA)
+    public Quatd multQuatFma() {
+        return q1.mult(q2, qStore);
+    }
+
+    @Benchmark
+    public Matrix3d multMatrix3() {
+        return m3.mult(m3, m3Store);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = FMA)
+    public Matrix3d multMatrix3Fma() {
+        return m3.mult(m3, m3Store);
+    }
+
+    @Benchmark
+    public Matrix4d multMatrix4() {
+        return m4.mult(m4, m4Store);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = FMA)
+    public Matrix4d multMatrix4Fma() {
+        return m4.mult(m4, m4Store);
+    }
+
+    @Benchmark
+    public Vec3d multMatrix4Vec() {
+        return m4.mult(v1, vStore);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = FMA)
+    public Vec3d multMatrix4VecFma() {
+        return m4.mult(v1, vStore);
+    }
+}
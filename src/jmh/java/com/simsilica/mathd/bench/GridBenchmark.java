@@ -0,0 +1,182 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.simsilica.mathd.Grid;
+import com.simsilica.mathd.Vec3i;
+
+/**
+ *  Compares Grid world to cell conversion for power of two spacing,
+ *  which uses shifts, against non-power of two spacing and against a
+ *  copy of the original division based conversion for both spacings.
+ *  Each benchmark converts the same block of world locations, half of
+ *  them negative.
+ *  Run with: gradle jmh -Pjmh.includes=Grid
+ *
+ *  @author    Paul Speed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+
+    private static final int COUNT = 1024;
+
+    private Grid shiftGrid;
+    private Grid divideGrid;
+
+    // Read from fields like the original Grid so that the JIT can't turn
+    // the division in originalWorldToCell() into a shift
+    private int shiftSpacing = 32;
+    private int divideSpacing = 30;
+
+    private double[] locations;
+    private long[] ids;
+    private Vec3i cellStore;
+
+    @Setup
+    public void setup() {
+        shiftGrid = new Grid(32);
+        divideGrid = new Grid(30);
+        Random rand = new Random(1);
+        locations = new double[COUNT * 3];
+        for( int i = 0; i < locations.length; i++ ) {
+            locations[i] = (rand.nextDouble() - 0.5) * 100000;
+        }
+        ids = new long[COUNT];
+        cellStore = new Vec3i();
+    }
+
+    @Benchmark
+    public long worldToIdOriginal() {
+        long result = 0;
+        for( int i = 0; i < locations.length; i += 3 ) {
+            int x = originalWorldToCell(locations[i], shiftSpacing);
+            int y = originalWorldToCell(locations[i + 1], shiftSpacing);
+            int z = originalWorldToCell(locations[i + 2], shiftSpacing);
+            result += shiftGrid.cellToId(x, y, z);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long worldToIdOriginalDivide() {
+        long result = 0;
+        for( int i = 0; i < locations.length; i += 3 ) {
+            int x = originalWorldToCell(locations[i], divideSpacing);
+            int y = originalWorldToCell(locations[i + 1], divideSpacing);
+            int z = originalWorldToCell(locations[i + 2], divideSpacing);
+            result += divideGrid.cellToId(x, y, z);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long worldToIdShift() {
+        long result = 0;
+        for( int i = 0; i < locations.length; i += 3 ) {
+            result += shiftGrid.worldToId(locations[i], locations[i + 1], locations[i + 2]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long worldToIdDivide() {
+        long result = 0;
+        for( int i = 0; i < locations.length; i += 3 ) {
+            result += divideGrid.worldToId(locations[i], locations[i + 1], locations[i + 2]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long[] worldToIdBatchShift() {
+        return shiftGrid.worldToId(locations, ids);
+    }
+
+    @Benchmark
+    public long[] worldToIdBatchDivide() {
+        return divideGrid.worldToId(locations, ids);
+    }
+
+    @Benchmark
+    public int worldToCellShift() {
+        int result = 0;
+        for( int i = 0; i < locations.length; i += 3 ) {
+            result += shiftGrid.worldToCell(locations[i], locations[i + 1], locations[i + 2], cellStore).x;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int worldToCellDivide() {
+        int result = 0;
+        for( int i = 0; i < locations.length; i += 3 ) {
+            result += divideGrid.worldToCell(locations[i], locations[i + 1], locations[i + 2], cellStore).x;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int cellToWorldShift() {
+        int result = 0;
+        for( int i = 0; i < COUNT; i++ ) {
+            result += shiftGrid.cellToWorld(i - 512, i, -i, cellStore).x;
+        }
+        return result;
+    }
+
+    /**
+     *  The Grid conversion from before the power of two fast path.
+     */
+    private static int originalWorldToCell( double d, int size ) {
+        int i = (int)Math.floor(d);
+        if( i < 0 ) {
+            i = (i + 1) / size;
+            return i - 1;
+        }
+        return i / size;
+    }
+}
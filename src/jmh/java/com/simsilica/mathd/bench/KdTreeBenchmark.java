@@ -0,0 +1,164 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd.bench;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.simsilica.mathd.KdTree;
+import com.simsilica.mathd.Vec3d;
+
+/**
+ *  Compares KdTree nearest neighbor and radius queries against brute
+ *  force Vec3d.distanceSq() scans of the same points, and the serial
+ *  against the parallel tree build.
+ *  Run with: gradle jmh -Pjmh.includes=KdTree
+ *
+ *  @author    Paul Speed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KdTreeBenchmark {
+
+    private static final int QUERIES = 64;
+    private static final double RADIUS = 50;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Vec3d[] points;
+    private double[] xyz;
+    private Vec3d[] queries;
+    private KdTree tree;
+    private int[] indexes;
+    private double[] distances;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(1);
+        points = new Vec3d[size];
+        xyz = new double[size * 3];
+        for( int i = 0; i < size; i++ ) {
+            points[i] = new Vec3d(rand.nextDouble() * 1000, rand.nextDouble() * 1000, rand.nextDouble() * 1000);
+            xyz[i * 3] = points[i].x;
+            xyz[i * 3 + 1] = points[i].y;
+            xyz[i * 3 + 2] = points[i].z;
+        }
+        queries = new Vec3d[QUERIES];
+        for( int i = 0; i < QUERIES; i++ ) {
+            queries[i] = new Vec3d(rand.nextDouble() * 1000, rand.nextDouble() * 1000, rand.nextDouble() * 1000);
+        }
+        tree = new KdTree(points);
+        indexes = new int[size];
+        distances = new double[size];
+        pool = new ForkJoinPool();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int nearestTree() {
+        int result = 0;
+        for( Vec3d query : queries ) {
+            result += tree.findNearest(query, 1, Double.POSITIVE_INFINITY, indexes, distances);
+            result += indexes[0];
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int nearestBruteForce() {
+        int result = 0;
+        for( Vec3d query : queries ) {
+            int best = -1;
+            double bestDistance = Double.POSITIVE_INFINITY;
+            for( int i = 0; i < points.length; i++ ) {
+                double d = points[i].distanceSq(query);
+                if( d < bestDistance ) {
+                    best = i;
+                    bestDistance = d;
+                }
+            }
+            result += best;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int withinTree() {
+        int result = 0;
+        for( Vec3d query : queries ) {
+            result += tree.findWithin(query, RADIUS, indexes, distances);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int withinBruteForce() {
+        double radiusSq = RADIUS * RADIUS;
+        int result = 0;
+        for( Vec3d query : queries ) {
+            for( int i = 0; i < points.length; i++ ) {
+                if( points[i].distanceSq(query) <= radiusSq ) {
+                    indexes[result++ % indexes.length] = i;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public KdTree buildSerial() {
+        return new KdTree(xyz, size, null);
+    }
+
+    @Benchmark
+    public KdTree buildParallel() {
+        return new KdTree(xyz, size, pool);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.simsilica.mathd.Matrix3d;
+import com.simsilica.mathd.Matrix4d;
+import com.simsilica.mathd.Quatd;
+import com.simsilica.mathd.Vec3d;
+
+/**
+ *  Measures the throughput and allocation rate of the Matrix3d and
+ *  Matrix4d multiply and invert operations.
+ *
+ *  @author    Paul Speed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBenchmark {
+
+    private Matrix3d m3a;
+    private Matrix3d m3b;
+    private Matrix3d m3Store;
+    private Matrix4d m4a;
+    private Matrix4d m4b;
+    private Vec3d v;
+    private Vec3d vStore;
+
+    @Setup
+    public void setup() {
+        m3a = new Quatd().fromAngles(0.3, 1.2, -0.4).toRotationMatrix();
+        m3b = new Quatd().fromAngles(-1.1, 0.25, 2.0).toRotationMatrix();
+        m3b.multLocal(1.5);
+        m3Store = new Matrix3d();
+
+        m4a = new Matrix4d();
+        m4a.setTransform(new Vec3d(10, -20, 30), m3a);
+        m4b = new Matrix4d();
+        m4b.setTransform(new Vec3d(-5, 7, 1.5), m3b);
+
+        v = new Vec3d(1.5, -2.25, 3.125);
+        vStore = new Vec3d();
+    }
+
+    @Benchmark
+    public Matrix3d mult3() {
+        return m3a.mult(m3b);
+    }
+
+    @Benchmark
+    public Matrix3d multLocal3() {
+        return m3Store.set(m3a).multLocal(m3b);
+    }
+
+    @Benchmark
+    public Vec3d mult3Vec() {
+        return m3a.mult(v);
+    }
+
+    @Benchmark
+    public Matrix3d invert3() {
+        return m3b.invert();
+    }
+
+    @Benchmark
+    public Matrix4d mult4() {
+        return m4a.mult(m4b);
+    }
+
+    @Benchmark
+    public Vec3d mult4Vec() {
+        return m4a.mult(v, vStore);
+    }
+
+    @Benchmark
+    public Matrix4d invert4() {
+        return m4b.invert();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.simsilica.mathd.Matrix3d;
+import com.simsilica.mathd.Quatd;
+import com.simsilica.mathd.Vec3d;
+
+/**
+ *  Measures the throughput and allocation rate of the Quatd operations
+ *  that show up most often in per-entity transform code.
+ *
+ *  @author    Paul Speed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuatdBenchmark {
+
+    private Quatd a;
+    private Quatd b;
+    private Quatd near;
+    private Quatd store;
+    private Vec3d v;
+    private Vec3d vStore;
+    private double mix;
+
+    @Setup
+    public void setup() {
+        a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+        b = new Quatd().fromAngles(-1.1, 0.25, 2.0);
+        // A small delta like we would see between two network frames
+        near = new Quatd().fromAngles(0.31, 1.22, -0.39);
+        store = new Quatd();
+        v = new Vec3d(1.5, -2.25, 3.125);
+        vStore = new Vec3d();
+        mix = 0.37;
+    }
+
+    @Benchmark
+    public Quatd multQuat() {
+        return a.mult(b);
+    }
+
+    @Benchmark
+    public Quatd multQuatStore() {
+        return a.mult(b, store);
+    }
+
+    @Benchmark
+    public Vec3d multVec() {
+        return a.mult(v);
+    }
+
+    @Benchmark
+    public Vec3d multVecStore() {
+        return a.mult(v, vStore);
+    }
+
+    @Benchmark
+    public Quatd slerpLocal() {
+        return store.slerpLocal(a, b, mix);
+    }
+
+    @Benchmark
+    public Quatd slerpLocalSmallAngle() {
+        return store.slerpLocal(a, near, mix);
+    }
+
+    @Benchmark
+    public Quatd nlerpLocal() {
+        return store.nlerpLocal(a, b, mix);
+    }
+
+    @Benchmark
+    public Quatd fastSlerpLocal() {
+        return store.fastSlerpLocal(a, b, mix);
+    }
+
+    @Benchmark
+    public Quatd fastSlerpLocalSmallAngle() {
+        return store.fastSlerpLocal(a, near, mix);
+    }
+
+    @Benchmark
+    public Matrix3d toRotationMatrix() {
+        return a.toRotationMatrix();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.simsilica.mathd.AaBBox;
+import com.simsilica.mathd.Rayd;
+import com.simsilica.mathd.Vec3d;
+
+/**
+ *  Compares the batch Rayd.intersectSpheres() and Rayd.intersectBoxes()
+ *  against looping over the single ray intersectSphere() and
+ *  AaBBox.intersectRay() methods for the same rays and shapes.
+ *  Run with: gradle jmh -Pjmh.includes=Rayd
+ *
+ *  @author    Paul Speed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RaydBenchmark {
+
+    private static final int RAYS = 1000;
+
+    @Param({"100", "2000"})
+    private int size;
+
+    private Rayd[] rays;
+    private Vec3d[] centers;
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private double[] radius;
+    private AaBBox[] boxes;
+    private double[] xMax;
+    private double[] yMax;
+    private double[] zMax;
+    private int[] hits;
+    private double[] distances;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(1);
+        rays = new Rayd[RAYS];
+        for( int i = 0; i < RAYS; i++ ) {
+            Vec3d dir = new Vec3d(rand.nextGaussian(), rand.nextGaussian(), rand.nextGaussian()).normalizeLocal();
+            rays[i] = new Rayd(new Vec3d(rand.nextDouble() * 1000, rand.nextDouble() * 1000, rand.nextDouble() * 1000), dir);
+        }
+        centers = new Vec3d[size];
+        x = new double[size];
+        y = new double[size];
+        z = new double[size];
+        radius = new double[size];
+        boxes = new AaBBox[size];
+        xMax = new double[size];
+        yMax = new double[size];
+        zMax = new double[size];
+        for( int i = 0; i < size; i++ ) {
+            x[i] = rand.nextDouble() * 1000;
+            y[i] = rand.nextDouble() * 1000;
+            z[i] = rand.nextDouble() * 1000;
+            radius[i] = 5 + rand.nextDouble() * 20;
+            centers[i] = new Vec3d(x[i], y[i], z[i]);
+            xMax[i] = x[i] + radius[i] * 2;
+            yMax[i] = y[i] + radius[i] * 2;
+            zMax[i] = z[i] + radius[i] * 2;
+            boxes[i] = new AaBBox(centers[i], new Vec3d(xMax[i], yMax[i], zMax[i]));
+        }
+        hits = new int[RAYS];
+        distances = new double[RAYS];
+    }
+
+    @Benchmark
+    public int spheresBatch() {
+        return Rayd.intersectSpheres(rays, RAYS, null, x, y, z, radius, size, false, hits, distances);
+    }
+
+    @Benchmark
+    public int spheresSingle() {
+        int result = 0;
+        for( Rayd ray : rays ) {
+            double best = -1;
+            for( int i = 0; i < size; i++ ) {
+                double t = ray.intersectSphere(0, centers[i], radius[i], false);
+                if( t >= 0 && (best < 0 || t < best) ) {
+                    best = t;
+                }
+            }
+            if( best >= 0 ) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int boxesBatch() {
+        return Rayd.intersectBoxes(rays, RAYS, null, x, y, z, xMax, yMax, zMax, size, hits, distances);
+    }
+
+    @Benchmark
+    public int boxesSingle() {
+        int result = 0;
+        for( Rayd ray : rays ) {
+            double best = -1;
+            for( int i = 0; i < size; i++ ) {
+                double t = boxes[i].intersectRay(ray, Double.POSITIVE_INFINITY);
+                if( t >= 0 && (best < 0 || t < best) ) {
+                    best = t;
+                }
+            }
+            if( best >= 0 ) {
+                result++;
+            }
+        }
+        return result;
+    }
+}
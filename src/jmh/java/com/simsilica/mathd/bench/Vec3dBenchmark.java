@@ -0,0 +1,116 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.simsilica.mathd.Vec3d;
+
+/**
+ *  Measures the throughput and allocation rate of the common Vec3d
+ *  operations.  The allocating forms are measured side by side with
+ *  their 'Local' equivalents so that the cost of the garbage is visible
+ *  in the gc.alloc.rate.norm column.
+ *
+ *  @author    Paul Speed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Vec3dBenchmark {
+
+    private Vec3d a;
+    private Vec3d b;
+    private Vec3d store;
+
+    @Setup
+    public void setup() {
+        a = new Vec3d(1.5, -2.25, 3.125);
+        b = new Vec3d(-0.75, 4.5, 0.5);
+        store = new Vec3d();
+    }
+
+    @Benchmark
+    public Vec3d add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Vec3d addLocal() {
+        return store.set(a).addLocal(b);
+    }
+
+    @Benchmark
+    public Vec3d multScalar() {
+        return a.mult(1.75);
+    }
+
+    @Benchmark
+    public Vec3d multLocalScalar() {
+        return store.set(a).multLocal(1.75);
+    }
+
+    @Benchmark
+    public Vec3d cross() {
+        return a.cross(b);
+    }
+
+    @Benchmark
+    public Vec3d crossLocal() {
+        return store.set(a).crossLocal(b);
+    }
+
+    @Benchmark
+    public double dot() {
+        return a.dot(b);
+    }
+
+    @Benchmark
+    public Vec3d normalize() {
+        return a.normalize();
+    }
+
+    @Benchmark
+    public Vec3d normalizeLocal() {
+        return store.set(a).normalizeLocal();
+    }
+}
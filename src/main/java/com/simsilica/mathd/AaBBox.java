@@ -155,12 +155,221 @@ public final class AaBBox implements Cloneable, java.io.Serializable {
         return max;
     }
  
-    public static void main( String... args ) {
-        AaBBox box = new AaBBox(new Vec3d(5, 5, 0), 2);
-        System.out.println("box:" + box + "   center:" + box.getCenter() + "  extents:" + box.getExtents());
-        
-        box.setCenter(new Vec3d(7, 2, 1));
-        System.out.println("box:" + box + "   center:" + box.getCenter() + "  extents:" + box.getExtents());
+    /**
+     *  Returns true if this box and the specified box overlap or touch.
+     */
+    public boolean intersects( AaBBox box ) {
+        return min.x <= box.max.x && max.x >= box.min.x
+            && min.y <= box.max.y && max.y >= box.min.y
+            && min.z <= box.max.z && max.z >= box.min.z;
+    }
+
+    /**
+     *  Returns true if the specified point is inside or on the surface of
+     *  this box.
+     */
+    public boolean contains( Vec3d point ) {
+        return contains(point.x, point.y, point.z);
+    }
+
+    public boolean contains( double x, double y, double z ) {
+        return x >= min.x && x <= max.x
+            && y >= min.y && y <= max.y
+            && z >= min.z && z <= max.z;
+    }
+
+    /**
+     *  Returns true if the specified box is completely inside this box.
+     */
+    public boolean contains( AaBBox box ) {
+        return box.min.x >= min.x && box.max.x <= max.x
+            && box.min.y >= min.y && box.max.y <= max.y
+            && box.min.z >= min.z && box.max.z <= max.z;
+    }
+
+    /**
+     *  Grows this box to also enclose the specified box.
+     */
+    public AaBBox mergeLocal( AaBBox box ) {
+        min.set(Math.min(min.x, box.min.x), Math.min(min.y, box.min.y), Math.min(min.z, box.min.z));
+        max.set(Math.max(max.x, box.max.x), Math.max(max.y, box.max.y), Math.max(max.z, box.max.z));
+        return this;
+    }
+
+    /**
+     *  Grows this box to also enclose the specified point.
+     */
+    public AaBBox mergeLocal( Vec3d point ) {
+        min.set(Math.min(min.x, point.x), Math.min(min.y, point.y), Math.min(min.z, point.z));
+        max.set(Math.max(max.x, point.x), Math.max(max.y, point.y), Math.max(max.z, point.z));
+        return this;
+    }
+
+    /**
+     *  Moves every side of this box out by the specified amount, or in
+     *  if the amount is negative.
+     */
+    public AaBBox expandLocal( double amount ) {
+        min.addLocal(-amount, -amount, -amount);
+        max.addLocal(amount, amount, amount);
+        return this;
+    }
+
+    /**
+     *  Returns the point inside or on the surface of this box that is
+     *  nearest to the specified point, storing it in target or a new Vec3d
+     *  if target is null.  Points inside the box are returned unchanged.
+     *  It IS safe for point and target to be the same object.
+     */
+    public Vec3d getClosestPoint( Vec3d point, Vec3d target ) {
+        if( target == null ) {
+            target = new Vec3d();
+        }
+        return target.set(clamp(point.x, min.x, max.x),
+                          clamp(point.y, min.y, max.y),
+                          clamp(point.z, min.z, max.z));
+    }
+
+    /**
+     *  Returns the squared distance from the specified point to the nearest
+     *  point of this box or 0 if the point is inside the box.
+     */
+    public double distanceSq( Vec3d point ) {
+        double x = point.x - clamp(point.x, min.x, max.x);
+        double y = point.y - clamp(point.y, min.y, max.y);
+        double z = point.z - clamp(point.z, min.z, max.z);
+        return x * x + y * y + z * z;
+    }
+
+    public double getSurfaceArea() {
+        double x = max.x - min.x;
+        double y = max.y - min.y;
+        double z = max.z - min.z;
+        return 2 * (x * y + y * z + z * x);
+    }
+
+    public double getVolume() {
+        return (max.x - min.x) * (max.y - min.y) * (max.z - min.z);
+    }
+
+    /**
+     *  Rotates this box about the origin and stores the smallest axis-aligned
+     *  box that encloses the result in store, creating a new AaBBox if store
+     *  is null.  It IS safe for store and this to be the same object.
+     */
+    public AaBBox transform( Quatd rotation, AaBBox store ) {
+        double x = rotation.x;
+        double y = rotation.y;
+        double z = rotation.z;
+        double w = rotation.w;
+        double s = 2 / rotation.lengthSq();
+
+        // Same math as Quatd.toRotationMatrix()
+        double xs = x * s;
+        double ys = y * s;
+        double zs = z * s;
+        double xx = x * xs;
+        double xy = x * ys;
+        double xz = x * zs;
+        double xw = w * xs;
+        double yy = y * ys;
+        double yz = y * zs;
+        double yw = w * ys;
+        double zz = z * zs;
+        double zw = w * zs;
+
+        return transform(1 - (yy + zz), xy - zw, xz + yw, 0,
+                         xy + zw, 1 - (xx + zz), yz - xw, 0,
+                         xz - yw, yz + xw, 1 - (xx + yy), 0,
+                         store);
+    }
+
+    /**
+     *  Transforms this box by the specified affine matrix and stores the
+     *  smallest axis-aligned box that encloses the result in store, creating
+     *  a new AaBBox if store is null.  The bottom row of the matrix is
+     *  ignored.  It IS safe for store and this to be the same object.
+     */
+    public AaBBox transform( Matrix4d m, AaBBox store ) {
+        return transform(m.m00, m.m01, m.m02, m.m03,
+                         m.m10, m.m11, m.m12, m.m13,
+                         m.m20, m.m21, m.m22, m.m23,
+                         store);
+    }
+
+    /**
+     *  Transforms the center and then projects the extents onto each axis
+     *  of the result (Arvo's method) instead of transforming all eight
+     *  corners.
+     */
+    private AaBBox transform( double m00, double m01, double m02, double m03,
+                              double m10, double m11, double m12, double m13,
+                              double m20, double m21, double m22, double m23,
+                              AaBBox store ) {
+        if( store == null ) {
+            store = new AaBBox();
+        }
+        double cx = (max.x + min.x) * 0.5;
+        double cy = (max.y + min.y) * 0.5;
+        double cz = (max.z + min.z) * 0.5;
+        double ex = (max.x - min.x) * 0.5;
+        double ey = (max.y - min.y) * 0.5;
+        double ez = (max.z - min.z) * 0.5;
+
+        double x = m00 * cx + m01 * cy + m02 * cz + m03;
+        double y = m10 * cx + m11 * cy + m12 * cz + m13;
+        double z = m20 * cx + m21 * cy + m22 * cz + m23;
+        double xExtent = Math.abs(m00) * ex + Math.abs(m01) * ey + Math.abs(m02) * ez;
+        double yExtent = Math.abs(m10) * ex + Math.abs(m11) * ey + Math.abs(m12) * ez;
+        double zExtent = Math.abs(m20) * ex + Math.abs(m21) * ey + Math.abs(m22) * ez;
+
+        store.min.set(x - xExtent, y - yExtent, z - zExtent);
+        store.max.set(x + xExtent, y + yExtent, z + zExtent);
+        return store;
+    }
+
+    /**
+     *  Returns the distance along the ray where it enters this box, 0 if
+     *  the ray starts inside the box, or -1 if the ray misses the box or
+     *  only reaches it after maxDistance.  Uses the slab method.
+     */
+    public double intersectRay( Rayd ray, double maxDistance ) {
+        Vec3d origin = ray.getOrigin();
+        Vec3d dir = ray.getDirection();
+        double near = 0;
+        double far = maxDistance;
+        for( int i = 0; i < 3; i++ ) {
+            double o = origin.get(i);
+            double d = dir.get(i);
+            double low = min.get(i);
+            double high = max.get(i);
+            if( d == 0 ) {
+                // Parallel to the slab so the origin must be inside it
+                if( o < low || o > high ) {
+                    return -1;
+                }
+                continue;
+            }
+            double inv = 1 / d;
+            double t1 = (low - o) * inv;
+            double t2 = (high - o) * inv;
+            if( t1 > t2 ) {
+                double swap = t1;
+                t1 = t2;
+                t2 = swap;
+            }
+            near = Math.max(near, t1);
+            far = Math.min(far, t2);
+            if( !(near <= far) ) {
+                // Also catches NaN directions
+                return -1;
+            }
+        }
+        return near;
+    }
+
+    private static double clamp( double value, double low, double high ) {
+        return value < low ? low : (value > high ? high : value);
     }
  
     @Override   
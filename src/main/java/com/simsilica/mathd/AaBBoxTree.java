@@ -0,0 +1,771 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import java.util.Arrays;
+
+/**
+ *  A dynamic bounding volume hierarchy of axis-aligned boxes for broadphase
+ *  collision detection and spatial queries, similar to Box2D's and Bullet's
+ *  dynamic AABB trees.  Each inserted box is a leaf, identified by an int
+ *  proxy handle and carrying a long user ID, and the tree is kept balanced
+ *  with tree rotations as leaves are inserted and removed.
+ *  <p>
+ *  Leaves store "fat" bounds that are expanded by a margin on every side,
+ *  so objects that move a little can call update() without the tree
+ *  changing at all.  Only when an object's bounds leave its fat bounds is
+ *  the leaf reinserted.  Queries test against the fat bounds so callers
+ *  should still check the real bounds of anything that is reported.
+ *  <p>
+ *  The nodes are kept in parallel primitive arrays indexed by node and
+ *  freed nodes are recycled, so a tree that has reached its working size
+ *  does not allocate.
+ *  <p>
+ *  This class is not thread safe and the visitors passed to the query
+ *  methods must not query or modify the tree that is calling them.
+ *
+ *  @author    Paul Speed
+ */
+public class AaBBoxTree {
+
+    /**
+     *  The default margin added to each side of inserted boxes.
+     */
+    public static final double DEFAULT_MARGIN = 0.1;
+
+    private static final int NULL = -1;
+
+    private final double margin;
+    private int root = NULL;
+    private int proxyCount;
+    private int freeList = NULL;
+
+    // Six values per node: min x, y, z and max x, y, z
+    private double[] bounds;
+
+    // The parent of an allocated node or the next free node
+    private int[] parent;
+    private int[] child1;
+    private int[] child2;
+
+    // Leaves have a height of 0 and free nodes -1
+    private int[] height;
+    private long[] userIds;
+
+    private int[] stack = new int[64];
+    private boolean querying;
+
+    /**
+     *  Creates a tree that uses the default margin.
+     */
+    public AaBBoxTree() {
+        this(DEFAULT_MARGIN);
+    }
+
+    /**
+     *  Creates a tree that expands inserted boxes by the specified margin on
+     *  every side.  Larger margins mean fewer reinserts for moving objects
+     *  but more false positives for queries.
+     */
+    public AaBBoxTree( double margin ) {
+        if( !(margin >= 0) ) {
+            throw new IllegalArgumentException("Invalid margin:" + margin);
+        }
+        this.margin = margin;
+        allocate(16);
+    }
+
+    public double getMargin() {
+        return margin;
+    }
+
+    /**
+     *  Returns the number of proxies in the tree.
+     */
+    public int size() {
+        return proxyCount;
+    }
+
+    /**
+     *  Returns the height of the tree where a tree with one proxy has a
+     *  height of 0 and an empty tree has a height of -1.
+     */
+    public int getHeight() {
+        return root == NULL ? -1 : height[root];
+    }
+
+    /**
+     *  Adds the specified bounds to the tree and returns the proxy handle
+     *  that is used to update or remove it.  The bounds are copied.
+     */
+    public int insert( AaBBox box, long userId ) {
+        int proxy = allocateNode();
+        setFatBounds(proxy, box);
+        userIds[proxy] = userId;
+        height[proxy] = 0;
+        insertLeaf(proxy);
+        proxyCount++;
+        return proxy;
+    }
+
+    /**
+     *  Removes the specified proxy from the tree.  The proxy handle may be
+     *  reused by a later insert().
+     */
+    public void remove( int proxy ) {
+        checkProxy(proxy);
+        checkModify();
+        removeLeaf(proxy);
+        freeNode(proxy);
+        proxyCount--;
+    }
+
+    /**
+     *  Updates the bounds of the specified proxy.  If the new bounds are still
+     *  inside the proxy's fat bounds then nothing is changed and this returns
+     *  false.  Otherwise, the proxy is reinserted with new fat bounds and this
+     *  returns true.
+     */
+    public boolean update( int proxy, AaBBox box ) {
+        checkProxy(proxy);
+        checkModify();
+        Vec3d min = box.getMin();
+        Vec3d max = box.getMax();
+        int i = proxy * 6;
+        if( bounds[i] <= min.x && bounds[i + 1] <= min.y && bounds[i + 2] <= min.z
+            && bounds[i + 3] >= max.x && bounds[i + 4] >= max.y && bounds[i + 5] >= max.z ) {
+            return false;
+        }
+        removeLeaf(proxy);
+        setFatBounds(proxy, box);
+        insertLeaf(proxy);
+        return true;
+    }
+
+    public long getUserId( int proxy ) {
+        checkProxy(proxy);
+        return userIds[proxy];
+    }
+
+    /**
+     *  Stores the fat bounds of the specified proxy in store, creating a new
+     *  AaBBox if store is null.
+     */
+    public AaBBox getFatBounds( int proxy, AaBBox store ) {
+        checkProxy(proxy);
+        if( store == null ) {
+            store = new AaBBox();
+        }
+        int i = proxy * 6;
+        store.getMin().set(bounds[i], bounds[i + 1], bounds[i + 2]);
+        store.getMax().set(bounds[i + 3], bounds[i + 4], bounds[i + 5]);
+        return store;
+    }
+
+    /**
+     *  Removes all proxies from the tree.
+     */
+    public void clear() {
+        checkModify();
+        root = NULL;
+        proxyCount = 0;
+        freeList = NULL;
+        Arrays.fill(height, -1);
+        for( int i = height.length - 1; i >= 0; i-- ) {
+            parent[i] = freeList;
+            freeList = i;
+        }
+    }
+
+    /**
+     *  Calls the visitor for every proxy whose fat bounds overlap the
+     *  specified box.  Returns false if the visitor stopped the query early.
+     */
+    public boolean query( AaBBox box, AaBBoxTreeVisitor visitor ) {
+        Vec3d min = box.getMin();
+        Vec3d max = box.getMax();
+        startQuery();
+        try {
+            int size = push(0, root);
+            while( size > 0 ) {
+                int node = stack[--size];
+                if( !overlaps(node, min.x, min.y, min.z, max.x, max.y, max.z) ) {
+                    continue;
+                }
+                if( height[node] == 0 ) {
+                    if( !visitor.visitProxy(node, userIds[node]) ) {
+                        return false;
+                    }
+                } else {
+                    size = push(size, child1[node]);
+                    size = push(size, child2[node]);
+                }
+            }
+            return true;
+        } finally {
+            querying = false;
+        }
+    }
+
+    /**
+     *  Writes the proxies whose fat bounds overlap the specified box into the
+     *  store array and returns the number of overlapping proxies.  If there are
+     *  more than store.length proxies then only the first store.length are
+     *  written, so callers can size a bigger array from the return value
+     *  and try again.
+     */
+    public int query( AaBBox box, int[] store ) {
+        Vec3d min = box.getMin();
+        Vec3d max = box.getMax();
+        startQuery();
+        try {
+            int count = 0;
+            int size = push(0, root);
+            while( size > 0 ) {
+                int node = stack[--size];
+                if( !overlaps(node, min.x, min.y, min.z, max.x, max.y, max.z) ) {
+                    continue;
+                }
+                if( height[node] == 0 ) {
+                    if( count < store.length ) {
+                        store[count] = node;
+                    }
+                    count++;
+                } else {
+                    size = push(size, child1[node]);
+                    size = push(size, child2[node]);
+                }
+            }
+            return count;
+        } finally {
+            querying = false;
+        }
+    }
+
+    /**
+     *  Calls the visitor once for every pair of proxies whose fat bounds
+     *  overlap.  This is the broadphase step that replaces checking every
+     *  box against every other box.  Returns false if the visitor stopped
+     *  the enumeration early.
+     */
+    public boolean visitPairs( AaBBoxTreePairVisitor visitor ) {
+        startQuery();
+        try {
+            for( int leaf = 0; leaf < height.length; leaf++ ) {
+                if( height[leaf] != 0 ) {
+                    continue;
+                }
+                int i = leaf * 6;
+                double xMin = bounds[i];
+                double yMin = bounds[i + 1];
+                double zMin = bounds[i + 2];
+                double xMax = bounds[i + 3];
+                double yMax = bounds[i + 4];
+                double zMax = bounds[i + 5];
+                int size = push(0, root);
+                while( size > 0 ) {
+                    int node = stack[--size];
+                    if( !overlaps(node, xMin, yMin, zMin, xMax, yMax, zMax) ) {
+                        continue;
+                    }
+                    if( height[node] != 0 ) {
+                        size = push(size, child1[node]);
+                        size = push(size, child2[node]);
+                    } else if( node > leaf ) {
+                        // Only report each pair from its lower proxy
+                        if( !visitor.visitPair(leaf, userIds[leaf], node, userIds[node]) ) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        } finally {
+            querying = false;
+        }
+    }
+
+    /**
+     *  Calls the visitor for every proxy whose fat bounds the ray enters
+     *  within maxDistance.  The visitor's return value clips the ray so that
+     *  a nearest hit search can skip everything behind the nearest hit found
+     *  so far.  Returns false if the visitor stopped the raycast by returning
+     *  0.
+     */
+    public boolean raycast( Rayd ray, double maxDistance, AaBBoxTreeRayVisitor visitor ) {
+        if( !(maxDistance > 0) ) {
+            throw new IllegalArgumentException("Invalid max distance:" + maxDistance);
+        }
+        Vec3d origin = ray.getOrigin();
+        Vec3d dir = ray.getDirection();
+        double xInv = 1 / dir.x;
+        double yInv = 1 / dir.y;
+        double zInv = 1 / dir.z;
+        startQuery();
+        try {
+            int size = push(0, root);
+            while( size > 0 ) {
+                int node = stack[--size];
+                double entry = entry(node, origin, dir, xInv, yInv, zInv, maxDistance);
+                if( !(entry >= 0) ) {
+                    continue;
+                }
+                if( height[node] == 0 ) {
+                    maxDistance = visitor.visitProxy(node, userIds[node], entry, maxDistance);
+                    if( !(maxDistance > 0) ) {
+                        return false;
+                    }
+                    continue;
+                }
+                // Push the farther child first so that the nearer one is
+                // visited first and has a chance to clip the ray
+                int c1 = child1[node];
+                int c2 = child2[node];
+                double e1 = entry(c1, origin, dir, xInv, yInv, zInv, maxDistance);
+                double e2 = entry(c2, origin, dir, xInv, yInv, zInv, maxDistance);
+                if( e1 < e2 ) {
+                    size = pushHit(size, c2, e2);
+                    size = pushHit(size, c1, e1);
+                } else {
+                    size = pushHit(size, c1, e1);
+                    size = pushHit(size, c2, e2);
+                }
+            }
+            return true;
+        } finally {
+            querying = false;
+        }
+    }
+
+    /**
+     *  Returns the distance along the ray where it enters the bounds of the
+     *  node or -1 if the ray misses it within maxDistance.
+     */
+    private double entry( int node, Vec3d origin, Vec3d dir,
+                          double xInv, double yInv, double zInv, double maxDistance ) {
+        int i = node * 6;
+        double near = 0;
+        double far = maxDistance;
+        if( dir.x == 0 ) {
+            if( origin.x < bounds[i] || origin.x > bounds[i + 3] ) {
+                return -1;
+            }
+        } else {
+            double t1 = (bounds[i] - origin.x) * xInv;
+            double t2 = (bounds[i + 3] - origin.x) * xInv;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        if( dir.y == 0 ) {
+            if( origin.y < bounds[i + 1] || origin.y > bounds[i + 4] ) {
+                return -1;
+            }
+        } else {
+            double t1 = (bounds[i + 1] - origin.y) * yInv;
+            double t2 = (bounds[i + 4] - origin.y) * yInv;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        if( dir.z == 0 ) {
+            if( origin.z < bounds[i + 2] || origin.z > bounds[i + 5] ) {
+                return -1;
+            }
+        } else {
+            double t1 = (bounds[i + 2] - origin.z) * zInv;
+            double t2 = (bounds[i + 5] - origin.z) * zInv;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        return near <= far ? near : -1;
+    }
+
+    private void startQuery() {
+        if( querying ) {
+            throw new IllegalStateException("Tree cannot be queried from inside a visitor");
+        }
+        querying = true;
+    }
+
+    private int push( int size, int node ) {
+        if( node == NULL ) {
+            return size;
+        }
+        if( size == stack.length ) {
+            stack = Arrays.copyOf(stack, size * 2);
+        }
+        stack[size] = node;
+        return size + 1;
+    }
+
+    private int pushHit( int size, int node, double entry ) {
+        return entry >= 0 ? push(size, node) : size;
+    }
+
+    private boolean overlaps( int node, double xMin, double yMin, double zMin,
+                              double xMax, double yMax, double zMax ) {
+        int i = node * 6;
+        return bounds[i] <= xMax && bounds[i + 3] >= xMin
+            && bounds[i + 1] <= yMax && bounds[i + 4] >= yMin
+            && bounds[i + 2] <= zMax && bounds[i + 5] >= zMin;
+    }
+
+    private void checkProxy( int proxy ) {
+        if( proxy < 0 || proxy >= height.length || height[proxy] != 0 ) {
+            throw new IllegalArgumentException("Invalid proxy:" + proxy);
+        }
+    }
+
+    private void checkModify() {
+        if( querying ) {
+            throw new IllegalStateException("Tree cannot be modified from inside a visitor");
+        }
+    }
+
+    private void setFatBounds( int node, AaBBox box ) {
+        Vec3d min = box.getMin();
+        Vec3d max = box.getMax();
+        int i = node * 6;
+        bounds[i] = min.x - margin;
+        bounds[i + 1] = min.y - margin;
+        bounds[i + 2] = min.z - margin;
+        bounds[i + 3] = max.x + margin;
+        bounds[i + 4] = max.y + margin;
+        bounds[i + 5] = max.z + margin;
+    }
+
+    private void allocate( int capacity ) {
+        int old = height == null ? 0 : height.length;
+        if( old == 0 ) {
+            bounds = new double[capacity * 6];
+            parent = new int[capacity];
+            child1 = new int[capacity];
+            child2 = new int[capacity];
+            height = new int[capacity];
+            userIds = new long[capacity];
+        } else {
+            bounds = Arrays.copyOf(bounds, capacity * 6);
+            parent = Arrays.copyOf(parent, capacity);
+            child1 = Arrays.copyOf(child1, capacity);
+            child2 = Arrays.copyOf(child2, capacity);
+            height = Arrays.copyOf(height, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+        }
+        // Link the new nodes into the free list, lowest first
+        for( int i = capacity - 1; i >= old; i-- ) {
+            height[i] = -1;
+            parent[i] = freeList;
+            freeList = i;
+        }
+    }
+
+    private int allocateNode() {
+        checkModify();
+        if( freeList == NULL ) {
+            allocate(height.length * 2);
+        }
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL;
+        child1[node] = NULL;
+        child2[node] = NULL;
+        height[node] = 0;
+        userIds[node] = 0;
+        return node;
+    }
+
+    private void freeNode( int node ) {
+        height[node] = -1;
+        parent[node] = freeList;
+        freeList = node;
+    }
+
+    private void insertLeaf( int leaf ) {
+        if( root == NULL ) {
+            root = leaf;
+            parent[leaf] = NULL;
+            return;
+        }
+
+        // Walk down the tree picking the sibling that increases the total
+        // surface area of the tree the least
+        int index = root;
+        while( height[index] > 0 ) {
+            int c1 = child1[index];
+            int c2 = child2[index];
+            double area = area(index);
+            double combinedArea = unionArea(index, leaf);
+
+            // Cost of making a new parent for this node and the leaf
+            double cost = 2 * combinedArea;
+
+            // Minimum cost of pushing the leaf further down the tree
+            double inheritanceCost = 2 * (combinedArea - area);
+            double cost1 = descendCost(c1, leaf) + inheritanceCost;
+            double cost2 = descendCost(c2, leaf) + inheritanceCost;
+
+            if( cost < cost1 && cost < cost2 ) {
+                break;
+            }
+            index = cost1 < cost2 ? c1 : c2;
+        }
+
+        int sibling = index;
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        height[newParent] = height[sibling] + 1;
+        setUnion(newParent, sibling, leaf);
+        if( oldParent != NULL ) {
+            if( child1[oldParent] == sibling ) {
+                child1[oldParent] = newParent;
+            } else {
+                child2[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refit(parent[leaf]);
+    }
+
+    private void removeLeaf( int leaf ) {
+        if( leaf == root ) {
+            root = NULL;
+            return;
+        }
+        int p = parent[leaf];
+        int grandParent = parent[p];
+        int sibling = child1[p] == leaf ? child2[p] : child1[p];
+        if( grandParent != NULL ) {
+            // Replace the parent with the sibling
+            if( child1[grandParent] == p ) {
+                child1[grandParent] = sibling;
+            } else {
+                child2[grandParent] = sibling;
+            }
+            parent[sibling] = grandParent;
+            freeNode(p);
+            refit(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL;
+            freeNode(p);
+        }
+    }
+
+    /**
+     *  Rebalances and recalculates the bounds and heights of the specified
+     *  node and all of its ancestors.
+     */
+    private void refit( int index ) {
+        while( index != NULL ) {
+            index = balance(index);
+            int c1 = child1[index];
+            int c2 = child2[index];
+            height[index] = 1 + Math.max(height[c1], height[c2]);
+            setUnion(index, c1, c2);
+            index = parent[index];
+        }
+    }
+
+    /**
+     *  If the children of a differ in height by more than one then rotates
+     *  the taller child up into a's place.  Returns the node that is now in
+     *  a's old position.
+     */
+    private int balance( int a ) {
+        if( height[a] < 2 ) {
+            return a;
+        }
+        int b = child1[a];
+        int c = child2[a];
+        int balance = height[c] - height[b];
+
+        if( balance > 1 ) {
+            // Rotate c up
+            int f = child1[c];
+            int g = child2[c];
+            replaceChild(a, c);
+            child1[c] = a;
+            parent[a] = c;
+            if( height[f] > height[g] ) {
+                child2[c] = f;
+                child2[a] = g;
+                parent[g] = a;
+            } else {
+                child2[c] = g;
+                child2[a] = f;
+                parent[f] = a;
+            }
+            fit(a);
+            fit(c);
+            return c;
+        }
+        if( balance < -1 ) {
+            // Rotate b up
+            int d = child1[b];
+            int e = child2[b];
+            replaceChild(a, b);
+            child1[b] = a;
+            parent[a] = b;
+            if( height[d] > height[e] ) {
+                child2[b] = d;
+                child1[a] = e;
+                parent[e] = a;
+            } else {
+                child2[b] = e;
+                child1[a] = d;
+                parent[d] = a;
+            }
+            fit(a);
+            fit(b);
+            return b;
+        }
+        return a;
+    }
+
+    /**
+     *  Puts child in node's place in node's parent.
+     */
+    private void replaceChild( int node, int child ) {
+        int p = parent[node];
+        parent[child] = p;
+        if( p == NULL ) {
+            root = child;
+        } else if( child1[p] == node ) {
+            child1[p] = child;
+        } else {
+            child2[p] = child;
+        }
+    }
+
+    private void fit( int node ) {
+        int c1 = child1[node];
+        int c2 = child2[node];
+        height[node] = 1 + Math.max(height[c1], height[c2]);
+        setUnion(node, c1, c2);
+    }
+
+    private double descendCost( int child, int leaf ) {
+        double area = unionArea(child, leaf);
+        if( height[child] == 0 ) {
+            return area;
+        }
+        return area - area(child);
+    }
+
+    private void setUnion( int node, int a, int b ) {
+        int n = node * 6;
+        int i = a * 6;
+        int j = b * 6;
+        bounds[n] = Math.min(bounds[i], bounds[j]);
+        bounds[n + 1] = Math.min(bounds[i + 1], bounds[j + 1]);
+        bounds[n + 2] = Math.min(bounds[i + 2], bounds[j + 2]);
+        bounds[n + 3] = Math.max(bounds[i + 3], bounds[j + 3]);
+        bounds[n + 4] = Math.max(bounds[i + 4], bounds[j + 4]);
+        bounds[n + 5] = Math.max(bounds[i + 5], bounds[j + 5]);
+    }
+
+    private double area( int node ) {
+        int i = node * 6;
+        return area(bounds[i + 3] - bounds[i], bounds[i + 4] - bounds[i + 1], bounds[i + 5] - bounds[i + 2]);
+    }
+
+    private double unionArea( int a, int b ) {
+        int i = a * 6;
+        int j = b * 6;
+        double x = Math.max(bounds[i + 3], bounds[j + 3]) - Math.min(bounds[i], bounds[j]);
+        double y = Math.max(bounds[i + 4], bounds[j + 4]) - Math.min(bounds[i + 1], bounds[j + 1]);
+        double z = Math.max(bounds[i + 5], bounds[j + 5]) - Math.min(bounds[i + 2], bounds[j + 2]);
+        return area(x, y, z);
+    }
+
+    private static double area( double x, double y, double z ) {
+        return 2 * (x * y + y * z + z * x);
+    }
+
+    /**
+     *  Checks the structure of the tree and throws an IllegalStateException
+     *  if it is invalid.  For tests.
+     */
+    void validate() {
+        int leaves = 0;
+        int used = 0;
+        for( int node = 0; node < height.length; node++ ) {
+            if( height[node] < 0 ) {
+                continue;
+            }
+            used++;
+            if( height[node] == 0 ) {
+                leaves++;
+                continue;
+            }
+            int c1 = child1[node];
+            int c2 = child2[node];
+            if( parent[c1] != node || parent[c2] != node ) {
+                throw new IllegalStateException("Bad parent links at node:" + node);
+            }
+            if( height[node] != 1 + Math.max(height[c1], height[c2]) ) {
+                throw new IllegalStateException("Bad height at node:" + node);
+            }
+            if( Math.abs(height[c1] - height[c2]) > 1 ) {
+                throw new IllegalStateException("Unbalanced node:" + node);
+            }
+            int n = node * 6;
+            for( int i = 0; i < 3; i++ ) {
+                double min = Math.min(bounds[c1 * 6 + i], bounds[c2 * 6 + i]);
+                double max = Math.max(bounds[c1 * 6 + i + 3], bounds[c2 * 6 + i + 3]);
+                if( bounds[n + i] != min || bounds[n + i + 3] != max ) {
+                    throw new IllegalStateException("Bad bounds at node:" + node);
+                }
+            }
+        }
+        if( leaves != proxyCount || (root != NULL && parent[root] != NULL)
+            || used != (proxyCount == 0 ? 0 : proxyCount * 2 - 1) ) {
+            throw new IllegalStateException("Bad node counts, leaves:" + leaves + " used:" + used);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AaBBoxTree[size=" + proxyCount + ", height=" + getHeight() + ", margin=" + margin + "]";
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+/**
+ *  The primitive array loops behind the bulk operations of Vec3dArray,
+ *  QuatdArray, and the bulk DoubleBits/FloatBits methods.  These operate
+ *  on the first 'length' elements of each array.
+ *  <p>
+ *  This is the Java 7 version which always uses plain Java loops.  On
+ *  Java 17+ the multi-release jar replaces this class with one that uses
+ *  the incubating Vector API when the jdk.incubator.vector module has
+ *  been added to the JVM (--add-modules jdk.incubator.vector) and falls
+ *  back to the plain loops when it hasn't.  Both produce the same results.
+ *
+ *  @author    Paul Speed
+ */
+public final class ColumnOps {
+
+    private ColumnOps() {
+    }
+
+    /**
+     *  Returns a description of the implementation in use, "scalar" for
+     *  plain Java loops.
+     */
+    public static String getImplementation() {
+        return "scalar";
+    }
+
+    /**
+     *  target[i] += source[i] * scale
+     */
+    public static void addScaled( double[] target, double[] source, double scale, int length ) {
+        ScalarColumnOps.addScaled(target, source, scale, length);
+    }
+
+    /**
+     *  target[i] += value
+     */
+    public static void add( double[] target, double value, int length ) {
+        ScalarColumnOps.add(target, value, length);
+    }
+
+    /**
+     *  target[i] *= scale
+     */
+    public static void scale( double[] target, double scale, int length ) {
+        ScalarColumnOps.scale(target, scale, length);
+    }
+
+    /**
+     *  store[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i]
+     */
+    public static void dot( double[] ax, double[] ay, double[] az,
+                            double[] bx, double[] by, double[] bz,
+                            double[] store, int length ) {
+        ScalarColumnOps.dot(ax, ay, az, bx, by, bz, store, length);
+    }
+
+    /**
+     *  Rotates the v vectors by the q quaternions, storing the results in r.
+     *  The per-element math is the same as Quatd.mult(Vec3d, Vec3d).  It
+     *  is safe for the r arrays to be the same as the v arrays.
+     */
+    public static void rotate( double[] qx, double[] qy, double[] qz, double[] qw,
+                               double[] vx, double[] vy, double[] vz,
+                               double[] rx, double[] ry, double[] rz, int length ) {
+        ScalarColumnOps.rotate(qx, qy, qz, qw, vx, vy, vz, rx, ry, rz, length);
+    }
+
+    /**
+     *  store[i] = (long)((clamp(values[i], min, max) - min) * mult + 0.5)
+     */
+    public static void quantize( double[] values, double min, double max, double mult,
+                                 long[] store, int length ) {
+        ScalarColumnOps.quantize(values, min, max, mult, store, length);
+    }
+
+    /**
+     *  store[i] = (bits[i] &amp; mask) * invMult + min
+     */
+    public static void dequantize( long[] bits, long mask, double invMult, double min,
+                                   double[] store, int length ) {
+        ScalarColumnOps.dequantize(bits, mask, invMult, min, store, length);
+    }
+
+    /**
+     *  store[i] = (long)((clamp(values[i], min, max) - min) * mult + 0.5f)
+     *  performed with float math.
+     */
+    public static void quantize( float[] values, float min, float max, float mult,
+                                 long[] store, int length ) {
+        ScalarColumnOps.quantize(values, min, max, mult, store, length);
+    }
+
+    /**
+     *  store[i] = (bits[i] &amp; mask) * invMult + min performed with float math.
+     */
+    public static void dequantize( long[] bits, long mask, float invMult, float min,
+                                   float[] store, int length ) {
+        ScalarColumnOps.dequantize(bits, mask, invMult, min, store, length);
+    }
+}
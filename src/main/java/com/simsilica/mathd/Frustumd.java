@@ -0,0 +1,341 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+
+/**
+ *  A double-precision view frustum made of six inward facing planes for
+ *  culling objects in large world coordinates without going through JME's
+ *  float based Camera.  The planes can be extracted directly from a
+ *  projection * view matrix using JME's (OpenGL's) clip space conventions.
+ *  <p>
+ *  The planes are stored packed as a, b, c, d coefficients where a point
+ *  is inside a plane when a * x + b * y + c * z + d &gt;= 0, which is the
+ *  same layout that LooseOctree.query(double[], int, LooseOctreeVisitor)
+ *  takes.
+ *  <p>
+ *  cull() classifies whole arrays of boxes at once.  It can be given a
+ *  per-box cache of the plane that last rejected each box; objects that
+ *  were outside last frame are usually outside by the same plane this
+ *  frame, so testing that plane first usually rejects them after one
+ *  plane instead of up to six.
+ *
+ *  @author    Paul Speed
+ */
+public final class Frustumd implements Cloneable, java.io.Serializable {
+
+    static final long serialVersionUID = 42L;
+
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+    public static final int BOTTOM = 2;
+    public static final int TOP = 3;
+    public static final int NEAR = 4;
+    public static final int FAR = 5;
+
+    public static final int PLANE_COUNT = 6;
+
+    private final double[] planes = new double[PLANE_COUNT * 4];
+
+    // The absolute values of each plane's a, b, c kept up to date with
+    // the planes so that cull() doesn't have to recalculate them per call
+    private final double[] absNormals = new double[PLANE_COUNT * 3];
+
+    /**
+     *  Creates a frustum whose planes are all zero.  Everything is inside
+     *  such a frustum.
+     */
+    public Frustumd() {
+    }
+
+    /**
+     *  Creates a frustum from the specified projection * view matrix.
+     */
+    public Frustumd( Matrix4d viewProjection ) {
+        fromMatrix(viewProjection);
+    }
+
+    @Override
+    public Frustumd clone() {
+        Frustumd result = new Frustumd();
+        System.arraycopy(planes, 0, result.planes, 0, planes.length);
+        System.arraycopy(absNormals, 0, result.absNormals, 0, absNormals.length);
+        return result;
+    }
+
+    /**
+     *  Sets the planes of this frustum from the specified projection * view
+     *  matrix, ie: the matrix that takes world space to clip space, using
+     *  the Gribb/Hartmann method.  The planes are normalized.
+     */
+    public Frustumd fromMatrix( Matrix4d m ) {
+        setPlane(LEFT, m.m30 + m.m00, m.m31 + m.m01, m.m32 + m.m02, m.m33 + m.m03);
+        setPlane(RIGHT, m.m30 - m.m00, m.m31 - m.m01, m.m32 - m.m02, m.m33 - m.m03);
+        setPlane(BOTTOM, m.m30 + m.m10, m.m31 + m.m11, m.m32 + m.m12, m.m33 + m.m13);
+        setPlane(TOP, m.m30 - m.m10, m.m31 - m.m11, m.m32 - m.m12, m.m33 - m.m13);
+        setPlane(NEAR, m.m30 + m.m20, m.m31 + m.m21, m.m32 + m.m22, m.m33 + m.m23);
+        setPlane(FAR, m.m30 - m.m20, m.m31 - m.m21, m.m32 - m.m22, m.m33 - m.m23);
+        return this;
+    }
+
+    private void setPlane( int index, double a, double b, double c, double d ) {
+        double length = Math.sqrt(a * a + b * b + c * c);
+        double scale = length == 0 ? 1 : 1 / length;
+        int i = index * 4;
+        planes[i] = a * scale;
+        planes[i + 1] = b * scale;
+        planes[i + 2] = c * scale;
+        planes[i + 3] = d * scale;
+        updateAbsNormal(index);
+    }
+
+    private void updateAbsNormal( int index ) {
+        int i = index * 4;
+        int j = index * 3;
+        absNormals[j] = Math.abs(planes[i]);
+        absNormals[j + 1] = Math.abs(planes[i + 1]);
+        absNormals[j + 2] = Math.abs(planes[i + 2]);
+    }
+
+    /**
+     *  Sets the specified plane, LEFT through FAR, from a Planed whose
+     *  normal faces the inside of the frustum.  The plane is normalized
+     *  when stored, so the normal does not need to be unit length.
+     */
+    public Frustumd setPlane( int index, Planed plane ) {
+        Vec3d normal = plane.getNormal();
+        setPlane(index, normal.x, normal.y, normal.z, -plane.getConstant());
+        return this;
+    }
+
+    /**
+     *  Stores the specified plane, LEFT through FAR, in store, creating a new
+     *  Planed if store is null.  The normal faces the inside of the frustum.
+     */
+    public Planed getPlane( int index, Planed store ) {
+        if( store == null ) {
+            store = new Planed();
+        }
+        int i = index * 4;
+        return store.set(planes[i], planes[i + 1], planes[i + 2], planes[i + 3]);
+    }
+
+    /**
+     *  Copies the packed a, b, c, d coefficients of the six planes into
+     *  store, creating a new array if store is null.
+     */
+    public double[] getPlanes( double[] store ) {
+        if( store == null ) {
+            store = new double[planes.length];
+        }
+        System.arraycopy(planes, 0, store, 0, planes.length);
+        return store;
+    }
+
+    /**
+     *  Returns the internal packed planes without copying them, for
+     *  LooseOctree's frustum query.  Callers must not modify the array.
+     */
+    double[] planes() {
+        return planes;
+    }
+
+    /**
+     *  Returns true if the point is inside or on the surface of the frustum.
+     */
+    public boolean contains( Vec3d point ) {
+        for( int i = 0; i < planes.length; i += 4 ) {
+            if( planes[i] * point.x + planes[i + 1] * point.y + planes[i + 2] * point.z + planes[i + 3] < 0 ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *  Classifies the sphere as inside, outside, or intersecting the
+     *  frustum.
+     */
+    public FrustumIntersect classify( Vec3d center, double radius ) {
+        FrustumIntersect result = FrustumIntersect.Inside;
+        for( int i = 0; i < planes.length; i += 4 ) {
+            double distance = planes[i] * center.x + planes[i + 1] * center.y + planes[i + 2] * center.z + planes[i + 3];
+            if( distance < -radius ) {
+                return FrustumIntersect.Outside;
+            }
+            if( distance < radius ) {
+                result = FrustumIntersect.Intersects;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Classifies the box as inside, outside, or intersecting the frustum.
+     *  Like JME's Camera.contains(), a box that is outside of the frustum
+     *  but not completely outside of any one plane, such as a box near a
+     *  corner of the frustum, can be reported as intersecting.
+     */
+    public FrustumIntersect classify( AaBBox box ) {
+        Vec3d min = box.getMin();
+        Vec3d max = box.getMax();
+        double cx = (min.x + max.x) * 0.5;
+        double cy = (min.y + max.y) * 0.5;
+        double cz = (min.z + max.z) * 0.5;
+        double ex = (max.x - min.x) * 0.5;
+        double ey = (max.y - min.y) * 0.5;
+        double ez = (max.z - min.z) * 0.5;
+        FrustumIntersect result = FrustumIntersect.Inside;
+        for( int i = 0; i < planes.length; i += 4 ) {
+            double a = planes[i];
+            double b = planes[i + 1];
+            double c = planes[i + 2];
+            double distance = a * cx + b * cy + c * cz + planes[i + 3];
+
+            // The distance from the center to the farthest corner along
+            // the plane normal
+            double radius = Math.abs(a) * ex + Math.abs(b) * ey + Math.abs(c) * ez;
+            if( distance < -radius ) {
+                return FrustumIntersect.Outside;
+            }
+            if( distance < radius ) {
+                result = FrustumIntersect.Intersects;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Culls count boxes stored as separate min and max coordinate arrays
+     *  (structure of arrays) starting at index 0.  Bit i of visibleStore,
+     *  ie: visibleStore[i &gt;&gt; 6] &amp; (1L &lt;&lt; i), is set if box i
+     *  is inside or intersects the frustum and cleared if not.  Returns the
+     *  number of visible boxes.
+     *  <p>
+     *  lastPlanes may be null.  Otherwise, lastPlanes[i] is the plane that
+     *  rejected box i the last time it was culled.  That plane is tested
+     *  first and lastPlanes[i] is updated whenever a different plane rejects
+     *  the box.  The array should start out filled with 0.  Values outside
+     *  of LEFT through FAR are treated as LEFT.
+     */
+    public int cull( double[] xMin, double[] yMin, double[] zMin,
+                     double[] xMax, double[] yMax, double[] zMax,
+                     int count, long[] visibleStore, byte[] lastPlanes ) {
+        if( visibleStore.length < (count + 63) >> 6 ) {
+            throw new IllegalArgumentException("visibleStore is too small for count:" + count);
+        }
+        if( lastPlanes != null && lastPlanes.length < count ) {
+            throw new IllegalArgumentException("lastPlanes is too small for count:" + count);
+        }
+
+        double[] p = planes;
+        double[] abs = absNormals;
+
+        int visible = 0;
+        long word = 0;
+        for( int i = 0; i < count; i++ ) {
+            double cx = (xMin[i] + xMax[i]) * 0.5;
+            double cy = (yMin[i] + yMax[i]) * 0.5;
+            double cz = (zMin[i] + zMax[i]) * 0.5;
+            double ex = (xMax[i] - xMin[i]) * 0.5;
+            double ey = (yMax[i] - yMin[i]) * 0.5;
+            double ez = (zMax[i] - zMin[i]) * 0.5;
+
+            int first = lastPlanes == null ? 0 : lastPlanes[i];
+            if( first < 0 || first >= PLANE_COUNT ) {
+                first = 0;
+            }
+            int rejected = -1;
+            for( int n = 0; n < PLANE_COUNT; n++ ) {
+                int plane = first + n;
+                if( plane >= PLANE_COUNT ) {
+                    plane -= PLANE_COUNT;
+                }
+                int j = plane * 4;
+                int k = plane * 3;
+                double distance = p[j] * cx + p[j + 1] * cy + p[j + 2] * cz + p[j + 3];
+                double radius = abs[k] * ex + abs[k + 1] * ey + abs[k + 2] * ez;
+                if( distance < -radius ) {
+                    rejected = plane;
+                    break;
+                }
+            }
+            if( rejected < 0 ) {
+                word |= 1L << i;
+                visible++;
+            } else if( lastPlanes != null ) {
+                lastPlanes[i] = (byte)rejected;
+            }
+            if( (i & 63) == 63 ) {
+                visibleStore[i >> 6] = word;
+                word = 0;
+            }
+        }
+        if( (count & 63) != 0 ) {
+            visibleStore[count >> 6] = word;
+        }
+        return visible;
+    }
+
+    @Override
+    public int hashCode() {
+        return java.util.Arrays.hashCode(planes);
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+        if( o == this )
+            return true;
+        if( o == null || o.getClass() != getClass() )
+            return false;
+        Frustumd other = (Frustumd)o;
+        return java.util.Arrays.equals(planes, other.planes);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Frustumd[");
+        for( int i = 0; i < PLANE_COUNT; i++ ) {
+            if( i > 0 ) {
+                sb.append(", ");
+            }
+            int j = i * 4;
+            sb.append("(" + planes[j] + ", " + planes[j + 1] + ", " + planes[j + 2] + ", " + planes[j + 3] + ")");
+        }
+        return sb.append("]").toString();
+    }
+}
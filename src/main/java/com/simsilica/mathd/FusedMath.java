@@ -0,0 +1,100 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import org.slf4j.*;
+
+/**
+ *  Controls the fused multiply-add (FMA) mode of the core math classes.
+ *  When enabled, Vec3d.dot()/cross(), Quatd.mult(), Matrix3d.mult(), and
+ *  Matrix4d.mult() are calculated with Math.fma() which rounds once per
+ *  multiply-add instead of twice.  This gives more accurate results and,
+ *  on hardware with FMA instructions, fewer instructions.
+ *  <p>
+ *  FMA mode is off by default because it changes the results in the
+ *  last bits, which matters to code that relies on identical results
+ *  across JVMs.  It is turned on by setting the system property
+ *  "com.simsilica.mathd.fma" to true before any of the math classes are
+ *  used.  Math.fma() is only fast when the CPU supports FMA, else it is
+ *  much slower than plain multiplication and addition.
+ *  <p>
+ *  This is the Java 7 version.  Math.fma() requires Java 9 and the
+ *  multi-release jar provides a Java 9+ version of this class that
+ *  supports FMA mode.  Here, FMA mode is never enabled.
+ *
+ *  @author    Paul Speed
+ */
+public final class FusedMath {
+
+    static Logger log = LoggerFactory.getLogger(FusedMath.class);
+
+    public static final String PROPERTY = "com.simsilica.mathd.fma";
+
+    static final boolean ENABLED = checkEnabled();
+
+    private FusedMath() {
+    }
+
+    private static boolean checkEnabled() {
+        if( Boolean.getBoolean(PROPERTY) ) {
+            log.warn("FMA mode requires Java 9 or later, ignoring:" + PROPERTY);
+        }
+        return false;
+    }
+
+    /**
+     *  Returns true if this JVM can perform fused multiply-adds.
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     *  Returns true if the core math classes are using fused multiply-adds.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     *  Returns a * b + c.  On this version of Java, the multiply and
+     *  add are performed separately.
+     */
+    public static double fma( double a, double b, double c ) {
+        return a * b + c;
+    }
+}
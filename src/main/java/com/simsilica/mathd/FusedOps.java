@@ -0,0 +1,214 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import static com.simsilica.mathd.FusedMath.fma;
+
+/**
+ *  The fused multiply-add versions of the core math operations.  These
+ *  are only called by the math classes when FusedMath.ENABLED is true.
+ *  Each method takes the same arguments and has the same aliasing rules
+ *  as the method it replaces.
+ *
+ *  @author    Paul Speed
+ */
+final class FusedOps {
+
+    private FusedOps() {
+    }
+
+    /**
+     *  ax * bx + ay * by + az * bz
+     */
+    static double dot( double ax, double ay, double az,
+                       double bx, double by, double bz ) {
+        return fma(ax, bx, fma(ay, by, az * bz));
+    }
+
+    /**
+     *  a0 * b0 + a1 * b1 + a2 * b2 + a3 * b3
+     */
+    static double dot( double a0, double a1, double a2, double a3,
+                       double b0, double b1, double b2, double b3 ) {
+        return fma(a0, b0, fma(a1, b1, fma(a2, b2, a3 * b3)));
+    }
+
+    /**
+     *  a * b - c * d calculated with Kahan's method so that the result
+     *  is accurate even when the two products nearly cancel.
+     */
+    static double differenceOfProducts( double a, double b, double c, double d ) {
+        double cd = c * d;
+        double error = fma(-c, d, cd);
+        return fma(a, b, -cd) + error;
+    }
+
+    /**
+     *  Stores the cross product of a and b in result, creating a new Vec3d
+     *  if result is null.
+     */
+    static Vec3d cross( double ax, double ay, double az,
+                        double bx, double by, double bz, Vec3d result ) {
+        double x = differenceOfProducts(ay, bz, az, by);
+        double y = differenceOfProducts(az, bx, ax, bz);
+        double z = differenceOfProducts(ax, by, ay, bx);
+        if( result == null ) {
+            return new Vec3d(x, y, z);
+        }
+        return result.set(x, y, z);
+    }
+
+    /**
+     *  Same as Quatd.mult(Quatd, Quatd).
+     */
+    static Quatd mult( Quatd a, Quatd q, Quatd result ) {
+        double x = a.x;
+        double y = a.y;
+        double z = a.z;
+        double w = a.w;
+        double qx = q.x;
+        double qy = q.y;
+        double qz = q.z;
+        double qw = q.w;
+
+        double xr = dot(x, y, -z, w, qw, qz, qy, qx);
+        double yr = dot(-x, y, z, w, qz, qw, qx, qy);
+        double zr = dot(x, -y, z, w, qy, qx, qw, qz);
+        double wr = dot(-x, -y, -z, w, qx, qy, qz, qw);
+
+        if( result == null ) {
+            return new Quatd(xr, yr, zr, wr);
+        }
+        return result.set(xr, yr, zr, wr);
+    }
+
+    /**
+     *  Same as Matrix3d.mult(Matrix3d, Matrix3d).
+     */
+    static Matrix3d mult( Matrix3d a, Matrix3d b, Matrix3d result ) {
+        double temp00 = dot(a.m00, a.m01, a.m02, b.m00, b.m10, b.m20);
+        double temp01 = dot(a.m00, a.m01, a.m02, b.m01, b.m11, b.m21);
+        double temp02 = dot(a.m00, a.m01, a.m02, b.m02, b.m12, b.m22);
+        double temp10 = dot(a.m10, a.m11, a.m12, b.m00, b.m10, b.m20);
+        double temp11 = dot(a.m10, a.m11, a.m12, b.m01, b.m11, b.m21);
+        double temp12 = dot(a.m10, a.m11, a.m12, b.m02, b.m12, b.m22);
+        double temp20 = dot(a.m20, a.m21, a.m22, b.m00, b.m10, b.m20);
+        double temp21 = dot(a.m20, a.m21, a.m22, b.m01, b.m11, b.m21);
+        double temp22 = dot(a.m20, a.m21, a.m22, b.m02, b.m12, b.m22);
+
+        if( result == null ) {
+            return new Matrix3d( temp00, temp01, temp02,
+                                 temp10, temp11, temp12,
+                                 temp20, temp21, temp22 );
+        }
+        return result.set( temp00, temp01, temp02,
+                           temp10, temp11, temp12,
+                           temp20, temp21, temp22 );
+    }
+
+    /**
+     *  Same as Matrix3d.mult(Vec3d, Vec3d).
+     */
+    static Vec3d mult( Matrix3d m, Vec3d v, Vec3d result ) {
+        double x = v.x;
+        double y = v.y;
+        double z = v.z;
+
+        double xr = dot(m.m00, m.m01, m.m02, x, y, z);
+        double yr = dot(m.m10, m.m11, m.m12, x, y, z);
+        double zr = dot(m.m20, m.m21, m.m22, x, y, z);
+
+        if( result == null ) {
+            return new Vec3d(xr, yr, zr);
+        }
+        return result.set(xr, yr, zr);
+    }
+
+    /**
+     *  Same as Matrix4d.mult(Matrix4d, Matrix4d).
+     */
+    static Matrix4d mult( Matrix4d a, Matrix4d b, Matrix4d result ) {
+        double temp00 = dot(a.m00, a.m01, a.m02, a.m03, b.m00, b.m10, b.m20, b.m30);
+        double temp01 = dot(a.m00, a.m01, a.m02, a.m03, b.m01, b.m11, b.m21, b.m31);
+        double temp02 = dot(a.m00, a.m01, a.m02, a.m03, b.m02, b.m12, b.m22, b.m32);
+        double temp03 = dot(a.m00, a.m01, a.m02, a.m03, b.m03, b.m13, b.m23, b.m33);
+
+        double temp10 = dot(a.m10, a.m11, a.m12, a.m13, b.m00, b.m10, b.m20, b.m30);
+        double temp11 = dot(a.m10, a.m11, a.m12, a.m13, b.m01, b.m11, b.m21, b.m31);
+        double temp12 = dot(a.m10, a.m11, a.m12, a.m13, b.m02, b.m12, b.m22, b.m32);
+        double temp13 = dot(a.m10, a.m11, a.m12, a.m13, b.m03, b.m13, b.m23, b.m33);
+
+        double temp20 = dot(a.m20, a.m21, a.m22, a.m23, b.m00, b.m10, b.m20, b.m30);
+        double temp21 = dot(a.m20, a.m21, a.m22, a.m23, b.m01, b.m11, b.m21, b.m31);
+        double temp22 = dot(a.m20, a.m21, a.m22, a.m23, b.m02, b.m12, b.m22, b.m32);
+        double temp23 = dot(a.m20, a.m21, a.m22, a.m23, b.m03, b.m13, b.m23, b.m33);
+
+        double temp30 = dot(a.m30, a.m31, a.m32, a.m33, b.m00, b.m10, b.m20, b.m30);
+        double temp31 = dot(a.m30, a.m31, a.m32, a.m33, b.m01, b.m11, b.m21, b.m31);
+        double temp32 = dot(a.m30, a.m31, a.m32, a.m33, b.m02, b.m12, b.m22, b.m32);
+        double temp33 = dot(a.m30, a.m31, a.m32, a.m33, b.m03, b.m13, b.m23, b.m33);
+
+        if( result == null ) {
+            return new Matrix4d( temp00, temp01, temp02, temp03,
+                                 temp10, temp11, temp12, temp13,
+                                 temp20, temp21, temp22, temp23,
+                                 temp30, temp31, temp32, temp33 );
+        }
+        return result.set( temp00, temp01, temp02, temp03,
+                           temp10, temp11, temp12, temp13,
+                           temp20, temp21, temp22, temp23,
+                           temp30, temp31, temp32, temp33 );
+    }
+
+    /**
+     *  Same as Matrix4d.mult(Vec3d, Vec3d).
+     */
+    static Vec3d mult( Matrix4d m, Vec3d v, Vec3d result ) {
+        double x = v.x;
+        double y = v.y;
+        double z = v.z;
+
+        double xr = fma(m.m00, x, fma(m.m01, y, fma(m.m02, z, m.m03)));
+        double yr = fma(m.m10, x, fma(m.m11, y, fma(m.m12, z, m.m13)));
+        double zr = fma(m.m20, x, fma(m.m21, y, fma(m.m22, z, m.m23)));
+
+        if( result == null ) {
+            return new Vec3d(xr, yr, zr);
+        }
+        return result.set(xr, yr, zr);
+    }
+}
@@ -59,6 +59,16 @@ public class Grid implements java.io.Serializable {
     private final Mask xMask;
     private final Mask yMask;
     private final Mask zMask; 
+    private final GridIdLayout idLayout;
+
+    // The log2 of each spacing or -1 if the spacing is not a power of two.
+    // Recalculated on load.
+    private final transient int xShift;
+    private final transient int yShift;
+    private final transient int zShift;
+
+    // Optional and not serialized
+    private transient volatile GridCellCache cellCache;
  
     /**
      *  Creates a grid with the same cell size along each coordinate
@@ -92,6 +102,14 @@ public class Grid implements java.io.Serializable {
     public Grid( int xSpacing, int ySpacing, int zSpacing, Vec3i gridBits ) {
         this(new Vec3i(xSpacing, ySpacing, zSpacing), gridBits);
     }
+
+    /**
+     *  Creates a grid with the specified spacing along the x, y, and z
+     *  axes using the specified bit sizes and ID layout when doing ID encoding.
+     */
+    public Grid( int xSpacing, int ySpacing, int zSpacing, Vec3i gridBits, GridIdLayout idLayout ) {
+        this(new Vec3i(xSpacing, ySpacing, zSpacing), gridBits, idLayout);
+    }
  
     /**
      *  Creates a grid with the specified spacing along the x, y, and z
@@ -106,6 +124,16 @@ public class Grid implements java.io.Serializable {
      *  axes using the specified bit sizes for each when doing ID encoding.
      */
     public Grid( Vec3i gridSpacing, Vec3i gridBits ) {
+        this(gridSpacing, gridBits, GridIdLayout.Packed);
+    }
+
+    /**
+     *  Creates a grid with the specified spacing along the x, y, and z
+     *  axes using the specified bit sizes and ID layout when doing ID encoding.
+     *  A null gridBits uses the default bit sizes and a null idLayout
+     *  uses GridIdLayout.Packed.
+     */
+    public Grid( Vec3i gridSpacing, Vec3i gridBits, GridIdLayout idLayout ) {
         if( gridBits != null ) {
             int total = gridBits.x + gridBits.y + gridBits.z; 
             if( total > 64 ) {
@@ -153,7 +181,27 @@ public class Grid implements java.io.Serializable {
         this.xMask = new Mask(xBits);
         this.yMask = new Mask(yBits);
         this.zMask = new Mask(zBits);
+
+        if( idLayout == null ) {
+            idLayout = GridIdLayout.Packed;
+        }
+        if( idLayout == GridIdLayout.Hilbert && !GridIdCodec.isUniform(xBits, yBits, zBits) ) {
+            throw new IllegalArgumentException("Hilbert IDs require the same bit size for each axis:"
+                                               + new Vec3i(xBits, yBits, zBits));
+        }
+        this.idLayout = idLayout;
+
+        this.xShift = shiftFor(gridSpacing.x);
+        this.yShift = shiftFor(gridSpacing.y);
+        this.zShift = shiftFor(gridSpacing.z);
     }   
+
+    private static int shiftFor( int size ) {
+        if( size <= 0 || (size & (size - 1)) != 0 ) {
+            return -1;
+        }
+        return Integer.numberOfTrailingZeros(size);
+    }
         
     public final Vec3i getSpacing() {
         return gridSpacing;
@@ -166,6 +214,45 @@ public class Grid implements java.io.Serializable {
     public final Vec3i getIdBits() {
         return new Vec3i(xMask.shift, yMask.shift, zMask.shift);
     }
+
+    /**
+     *  Returns the layout used to pack cell coordinates into cell IDs.
+     */
+    public final GridIdLayout getIdLayout() {
+        return idLayout;
+    }
+
+    /**
+     *  Sets the maximum number of GridCell objects that the getContainingCell()
+     *  and getGridCell() methods will cache.  While caching is on, those
+     *  methods return the same canonical GridCell instance for the same cell
+     *  until it is evicted and so the returned cells and their Vec3i values
+     *  must not be modified.  Once full, the least recently used cells are
+     *  evicted (approximately, using the CLOCK algorithm).  A size of 0,
+     *  the default, turns caching off.  Changing the size drops any
+     *  cached cells.  The cache is not serialized.
+     */
+    public final void setCellCacheSize( int size ) {
+        if( size < 0 ) {
+            throw new IllegalArgumentException("Cache size cannot be negative:" + size);
+        }
+        this.cellCache = size == 0 ? null : new GridCellCache(size);
+    }
+
+    public final int getCellCacheSize() {
+        GridCellCache cache = cellCache;
+        return cache == null ? 0 : cache.getCapacity();
+    }
+
+    /**
+     *  Drops all cached GridCells if caching is on.
+     */
+    public final void clearCellCache() {
+        GridCellCache cache = cellCache;
+        if( cache != null ) {
+            cache.clear();
+        }
+    }
     
     private int worldToCell( int i, int size ) {
         if( size == 0 ) {
@@ -181,14 +268,27 @@ public class Grid implements java.io.Serializable {
         }
     }
  
-    private int worldToCell( double d, int size ) {
-        return worldToCell((int)Math.floor(d), size);
+    private int toCell( int i, int size, int shift ) {
+        if( shift >= 0 ) {
+            // Power of two spacing, an arithmetic shift already rounds
+            // negative values down
+            return i >> shift;
+        }
+        return worldToCell(i, size);
+    }
+ 
+    private int toCell( double d, int size, int shift ) {
+        return toCell((int)Math.floor(d), size, shift);
     }
     
     private int cellToWorld( int i, int size ) {
         return i * size;
     }     
 
+    private int toWorld( int i, int size, int shift ) {
+        return shift >= 0 ? i << shift : i * size;
+    }
+
     /**
      *  Returns a GridCell object that represents the section of space that
      *  contains the specified world location.  The Cell
@@ -197,7 +297,14 @@ public class Grid implements java.io.Serializable {
      *  obtaining the world origin, checking containment, etc.
      */
     public final GridCell getContainingCell( double xWorld, double yWorld, double zWorld ) {
-        return new GridCell(this, worldToCell(xWorld, yWorld, zWorld));
+        GridCellCache cache = cellCache;
+        if( cache == null ) {
+            return new GridCell(this, worldToCell(xWorld, yWorld, zWorld));
+        }
+        int x = toCell(xWorld, gridSpacing.x, xShift);
+        int y = toCell(yWorld, gridSpacing.y, yShift);
+        int z = toCell(zWorld, gridSpacing.z, zShift);
+        return cache.getGridCell(this, cellToId(x, y, z), x, y, z);
     }
 
     /**
@@ -227,7 +334,11 @@ public class Grid implements java.io.Serializable {
      *  for the specified grid cell coordinate.
      */
     public final GridCell getGridCell( Vec3i cell ) {
-        return new GridCell(this, cell.clone());
+        GridCellCache cache = cellCache;
+        if( cache == null ) {
+            return new GridCell(this, cell.clone());
+        }
+        return cache.getGridCell(this, cellToId(cell.x, cell.y, cell.z), cell.x, cell.y, cell.z);
     }
 
     /**
@@ -235,7 +346,29 @@ public class Grid implements java.io.Serializable {
      *  for the specified grid cell coordinate.
      */
     public final GridCell getGridCell( int xCell, int yCell, int zCell ) {
-        return new GridCell(this, new Vec3i(xCell, yCell, zCell));
+        GridCellCache cache = cellCache;
+        if( cache == null ) {
+            return new GridCell(this, new Vec3i(xCell, yCell, zCell));
+        }
+        return cache.getGridCell(this, cellToId(xCell, yCell, zCell), xCell, yCell, zCell);
+    }
+
+    /**
+     *  Returns a GridCell object the represents the section of space
+     *  for the specified cell ID.
+     */
+    public final GridCell getGridCell( long id ) {
+        GridCellCache cache = cellCache;
+        if( cache == null ) {
+            return new GridCell(this, idToCell(id));
+        }
+        TempVars temps = TempVars.get();
+        try {
+            Vec3i cell = idToCell(id, temps.nextVec3i());
+            return cache.getGridCell(this, id, cell.x, cell.y, cell.z);
+        } finally {
+            temps.release();
+        }
     }
     
     /**
@@ -255,9 +388,9 @@ public class Grid implements java.io.Serializable {
         if( store == null ) {
             store = new Vec3i();
         }
-        store.x = worldToCell(xWorld, gridSpacing.x);   
-        store.y = worldToCell(yWorld, gridSpacing.y);   
-        store.z = worldToCell(zWorld, gridSpacing.z);
+        store.x = toCell(xWorld, gridSpacing.x, xShift);   
+        store.y = toCell(yWorld, gridSpacing.y, yShift);   
+        store.z = toCell(zWorld, gridSpacing.z, zShift);
         return store;   
     }
     
@@ -295,9 +428,9 @@ public class Grid implements java.io.Serializable {
         if( store == null ) {
             store = new Vec3i();
         }
-        store.x = cellToWorld(xCell, gridSpacing.x);
-        store.y = cellToWorld(yCell, gridSpacing.y);
-        store.z = cellToWorld(zCell, gridSpacing.z);
+        store.x = toWorld(xCell, gridSpacing.x, xShift);
+        store.y = toWorld(yCell, gridSpacing.y, yShift);
+        store.z = toWorld(zCell, gridSpacing.z, zShift);
         return store;
     }
     
@@ -310,9 +443,9 @@ public class Grid implements java.io.Serializable {
         if( store == null ) {
             store = new Vec3d();
         }
-        store.x = cellToWorld(xCell, gridSpacing.x);
-        store.y = cellToWorld(yCell, gridSpacing.y);
-        store.z = cellToWorld(zCell, gridSpacing.z);
+        store.x = toWorld(xCell, gridSpacing.x, xShift);
+        store.y = toWorld(yCell, gridSpacing.y, yShift);
+        store.z = toWorld(zCell, gridSpacing.z, zShift);
         return store;
     }
     
@@ -357,12 +490,56 @@ public class Grid implements java.io.Serializable {
      *  without the intermediate garbage.  
      */
     public final long worldToId( double xWorld, double yWorld, double zWorld ) {
-        int x = worldToCell(xWorld, gridSpacing.x);   
-        int y = worldToCell(yWorld, gridSpacing.y);   
-        int z = worldToCell(zWorld, gridSpacing.z);
+        int x = toCell(xWorld, gridSpacing.x, xShift);   
+        int y = toCell(yWorld, gridSpacing.y, yShift);   
+        int z = toCell(zWorld, gridSpacing.z, zShift);
         return cellToId(x, y, z);
     }
 
+    /**
+     *  Converts all of the tightly packed xyz world locations in the src
+     *  array to cell IDs and stores them in the store array, creating a new
+     *  array if store is null.
+     *
+     *  @throws IllegalArgumentException if the length of src is not a
+     *  multiple of 3.
+     */
+    public final long[] worldToId( double[] src, long[] store ) {
+        return worldToId(src, 0, 3, PackedArrays.packedCount("Source", src), store, 0);
+    }
+
+    /**
+     *  Converts count xyz world locations from the src array to cell IDs
+     *  and stores them in the store array starting at storeOffset, creating
+     *  a new array if store is null.  Stride is the number of doubles from
+     *  the start of one location to the start of the next, 3 for tightly
+     *  packed locations.  This is the equivalent of calling worldToId()
+     *  for each location.
+     */
+    public final long[] worldToId( double[] src, int srcOffset, int stride, int count,
+                                   long[] store, int storeOffset ) {
+        PackedArrays.check("Source", src, srcOffset, stride, count);
+        if( store == null ) {
+            store = new long[storeOffset + count];
+        } else if( storeOffset < 0 || storeOffset + (long)count > store.length ) {
+            throw new IllegalArgumentException("Store array too small for count:" + count
+                                               + " at offset:" + storeOffset
+                                               + " length:" + store.length);
+        }
+        int xSize = gridSpacing.x;
+        int ySize = gridSpacing.y;
+        int zSize = gridSpacing.z;
+        int s = srcOffset;
+        int d = storeOffset;
+        for( int i = 0; i < count; i++, s += stride, d++ ) {
+            int x = toCell(src[s], xSize, xShift);
+            int y = toCell(src[s + 1], ySize, yShift);
+            int z = toCell(src[s + 2], zSize, zShift);
+            store[d] = cellToId(x, y, z);
+        }
+        return store;
+    }
+
     /**
      *  Converts the x, y, z cell location into a single composite long value.  This 
      *  is done using masking and bitshifting to pack the individual values 
@@ -386,8 +563,12 @@ public class Grid implements java.io.Serializable {
      *  one million cells in each direction (+ and -).  That seems pretty reasonable
      *  for a grid that is already reducing space into discrete subspaces.  And if
      *  it's not then calling code should just avoid using composite IDs.    
+     *  Where the bits end up in the ID depends on the grid's GridIdLayout.
      */   
     public final long cellToId( int xCell, int yCell, int zCell ) {
+        if( idLayout != GridIdLayout.Packed ) {
+            return toInterleavedId(xCell, yCell, zCell);
+        }
         long result = 0;
         result = xMask.apply(xCell, result);
         
@@ -403,6 +584,9 @@ public class Grid implements java.io.Serializable {
     } 
 
     public final Vec3i idToCell( long id, Vec3i store ) {
+        if( idLayout != GridIdLayout.Packed ) {
+            return fromInterleavedId(id, store);
+        }
         int x, y, z;
 
         z = zMask.extract(id);
@@ -425,6 +609,356 @@ public class Grid implements java.io.Serializable {
     public final Vec3i idToCell( long id ) {
         return idToCell(id, new Vec3i());
     }
+
+    /**
+     *  Writes the IDs of all of the cells from minCell to maxCell, inclusive,
+     *  into the store array and returns the number of cells in that range.
+     *  If there are more cells than store.length then only the first
+     *  store.length IDs are written and the caller can try again with a
+     *  larger array.  Axes that are flattened (0 spacing) only ever have
+     *  the single cell 0 and any range given for them is ignored.
+     */
+    public final int getCellIds( Vec3i minCell, Vec3i maxCell, long[] store ) {
+        return getCellIds(minCell.x, minCell.y, minCell.z, maxCell.x, maxCell.y, maxCell.z, store);
+    }
+
+    /**
+     *  Writes the IDs of all of the cells that overlap the specified
+     *  bounds into the store array and returns the number of overlapping
+     *  cells.  This is the same range as worldToCell(bounds.getMin())
+     *  to worldToCell(bounds.getMax()).  If there are more cells than
+     *  store.length then only the first store.length IDs are written
+     *  and the caller can try again with a larger array.
+     */
+    public final int getCellIds( AaBBox bounds, long[] store ) {
+        Vec3d min = bounds.getMin();
+        Vec3d max = bounds.getMax();
+        return getCellIds(toCell(min.x, gridSpacing.x, xShift),
+                          toCell(min.y, gridSpacing.y, yShift),
+                          toCell(min.z, gridSpacing.z, zShift),
+                          toCell(max.x, gridSpacing.x, xShift),
+                          toCell(max.y, gridSpacing.y, yShift),
+                          toCell(max.z, gridSpacing.z, zShift),
+                          store);
+    }
+
+    /**
+     *  Writes the IDs of all of the cells that overlap the sphere with
+     *  the specified world center and radius into the store array and
+     *  returns the number of overlapping cells.  Cells in the sphere's
+     *  bounding range that the sphere does not actually touch are skipped.
+     *  If there are more cells than store.length then only the first
+     *  store.length IDs are written and the caller can try again with a
+     *  larger array.
+     */
+    public final int getCellIds( Vec3d center, double radius, long[] store ) {
+        int count = 0;
+        int xMin = toCell(center.x - radius, gridSpacing.x, xShift);
+        int yMin = toCell(center.y - radius, gridSpacing.y, yShift);
+        int zMin = toCell(center.z - radius, gridSpacing.z, zShift);
+        int xMax = toCell(center.x + radius, gridSpacing.x, xShift);
+        int yMax = toCell(center.y + radius, gridSpacing.y, yShift);
+        int zMax = toCell(center.z + radius, gridSpacing.z, zShift);
+        double radiusSq = radius * radius;
+        for( int x = xMin; x <= xMax; x++ ) {
+            double xDistSq = distanceSq(center.x, x, gridSpacing.x);
+            if( xDistSq > radiusSq ) {
+                continue;
+            }
+            for( int y = yMin; y <= yMax; y++ ) {
+                double xyDistSq = xDistSq + distanceSq(center.y, y, gridSpacing.y);
+                if( xyDistSq > radiusSq ) {
+                    continue;
+                }
+                for( int z = zMin; z <= zMax; z++ ) {
+                    if( xyDistSq + distanceSq(center.z, z, gridSpacing.z) > radiusSq ) {
+                        continue;
+                    }
+                    if( count < store.length ) {
+                        store[count] = cellToId(x, y, z);
+                    }
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int getCellIds( int xMin, int yMin, int zMin, int xMax, int yMax, int zMax, long[] store ) {
+        if( gridSpacing.x == 0 ) {
+            xMin = xMax = 0;
+        }
+        if( gridSpacing.y == 0 ) {
+            yMin = yMax = 0;
+        }
+        if( gridSpacing.z == 0 ) {
+            zMin = zMax = 0;
+        }
+        if( xMax < xMin || yMax < yMin || zMax < zMin ) {
+            return 0;
+        }
+        long total = (long)(xMax - xMin + 1) * (yMax - yMin + 1) * (zMax - zMin + 1);
+        if( total > Integer.MAX_VALUE ) {
+            throw new IllegalArgumentException("Too many cells in range:" + total);
+        }
+        int count = 0;
+        outer:
+        for( int x = xMin; x <= xMax; x++ ) {
+            for( int y = yMin; y <= yMax; y++ ) {
+                for( int z = zMin; z <= zMax; z++ ) {
+                    if( count == store.length ) {
+                        break outer;
+                    }
+                    store[count++] = cellToId(x, y, z);
+                }
+            }
+        }
+        return (int)total;
+    }
+
+    /**
+     *  Calls the visitor for all of the cells from minCell to maxCell,
+     *  inclusive.  Axes that are flattened (0 spacing) only ever have
+     *  the single cell 0 and any range given for them is ignored.
+     *  Returns false if the visitor stopped the visit early.
+     */
+    public final boolean visitCells( Vec3i minCell, Vec3i maxCell, GridCellVisitor visitor ) {
+        return visitCells(minCell.x, minCell.y, minCell.z, maxCell.x, maxCell.y, maxCell.z, visitor);
+    }
+
+    /**
+     *  Calls the visitor for all of the cells that overlap the specified
+     *  bounds.  This is the same range as worldToCell(bounds.getMin())
+     *  to worldToCell(bounds.getMax()).  Returns false if the visitor
+     *  stopped the visit early.
+     */
+    public final boolean visitCells( AaBBox bounds, GridCellVisitor visitor ) {
+        Vec3d min = bounds.getMin();
+        Vec3d max = bounds.getMax();
+        return visitCells(toCell(min.x, gridSpacing.x, xShift),
+                          toCell(min.y, gridSpacing.y, yShift),
+                          toCell(min.z, gridSpacing.z, zShift),
+                          toCell(max.x, gridSpacing.x, xShift),
+                          toCell(max.y, gridSpacing.y, yShift),
+                          toCell(max.z, gridSpacing.z, zShift),
+                          visitor);
+    }
+
+    /**
+     *  Calls the visitor for all of the cells that overlap the sphere with
+     *  the specified world center and radius.  Returns false if the visitor
+     *  stopped the visit early.
+     */
+    public final boolean visitCells( Vec3d center, double radius, GridCellVisitor visitor ) {
+        int xMin = toCell(center.x - radius, gridSpacing.x, xShift);
+        int yMin = toCell(center.y - radius, gridSpacing.y, yShift);
+        int zMin = toCell(center.z - radius, gridSpacing.z, zShift);
+        int xMax = toCell(center.x + radius, gridSpacing.x, xShift);
+        int yMax = toCell(center.y + radius, gridSpacing.y, yShift);
+        int zMax = toCell(center.z + radius, gridSpacing.z, zShift);
+        double radiusSq = radius * radius;
+        for( int x = xMin; x <= xMax; x++ ) {
+            double xDistSq = distanceSq(center.x, x, gridSpacing.x);
+            if( xDistSq > radiusSq ) {
+                continue;
+            }
+            for( int y = yMin; y <= yMax; y++ ) {
+                double xyDistSq = xDistSq + distanceSq(center.y, y, gridSpacing.y);
+                if( xyDistSq > radiusSq ) {
+                    continue;
+                }
+                for( int z = zMin; z <= zMax; z++ ) {
+                    if( xyDistSq + distanceSq(center.z, z, gridSpacing.z) > radiusSq ) {
+                        continue;
+                    }
+                    if( !visitor.visitCell(cellToId(x, y, z), x, y, z) ) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean visitCells( int xMin, int yMin, int zMin, int xMax, int yMax, int zMax,
+                                GridCellVisitor visitor ) {
+        if( gridSpacing.x == 0 ) {
+            xMin = xMax = 0;
+        }
+        if( gridSpacing.y == 0 ) {
+            yMin = yMax = 0;
+        }
+        if( gridSpacing.z == 0 ) {
+            zMin = zMax = 0;
+        }
+        for( int x = xMin; x <= xMax; x++ ) {
+            for( int y = yMin; y <= yMax; y++ ) {
+                for( int z = zMin; z <= zMax; z++ ) {
+                    if( !visitor.visitCell(cellToId(x, y, z), x, y, z) ) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     *  Calls the visitor for each cell that the ray passes through, in
+     *  order, up to maxDistance along the ray.  This is the voxel traversal
+     *  from Amanatides and Woo's "A Fast Voxel Traversal Algorithm for Ray
+     *  Tracing" and steps from cell to cell without creating any objects.
+     *  The first cell is the one containing the ray's origin with an entry
+     *  distance of 0 and the last cell's exit distance is clamped to
+     *  maxDistance.  Flattened axes (0 spacing) are never crossed.
+     *  When the ray passes exactly through an edge or corner, the cells
+     *  on either side are visited one axis at a time and some will have
+     *  the same entry and exit distance.
+     *  <p>
+     *  maxDistance may be Double.POSITIVE_INFINITY in which case it is up
+     *  to the visitor to stop the traversal.
+     *  Returns false if the visitor stopped the traversal early.
+     *
+     *  @throws IllegalArgumentException if maxDistance is not greater than 0.
+     */
+    public final boolean visitCells( Rayd ray, double maxDistance, GridRayVisitor visitor ) {
+        if( !(maxDistance > 0) ) {
+            throw new IllegalArgumentException("Invalid max distance:" + maxDistance);
+        }
+        Vec3d origin = ray.getOrigin();
+        Vec3d dir = ray.getDirection();
+
+        int x = toCell(origin.x, gridSpacing.x, xShift);
+        int y = toCell(origin.y, gridSpacing.y, yShift);
+        int z = toCell(origin.z, gridSpacing.z, zShift);
+
+        int xStep = step(dir.x, gridSpacing.x);
+        int yStep = step(dir.y, gridSpacing.y);
+        int zStep = step(dir.z, gridSpacing.z);
+
+        // Distance along the ray to the next cell boundary on each axis
+        double xNext = nextBoundary(origin.x, dir.x, x, xStep, gridSpacing.x);
+        double yNext = nextBoundary(origin.y, dir.y, y, yStep, gridSpacing.y);
+        double zNext = nextBoundary(origin.z, dir.z, z, zStep, gridSpacing.z);
+
+        // Distance along the ray to cross one whole cell on each axis
+        double xDelta = xStep == 0 ? Double.POSITIVE_INFINITY : Math.abs(gridSpacing.x / dir.x);
+        double yDelta = yStep == 0 ? Double.POSITIVE_INFINITY : Math.abs(gridSpacing.y / dir.y);
+        double zDelta = zStep == 0 ? Double.POSITIVE_INFINITY : Math.abs(gridSpacing.z / dir.z);
+
+        double entry = 0;
+        while( true ) {
+            double exit = Math.min(xNext, Math.min(yNext, zNext));
+            if( !(exit < maxDistance) ) {
+                // Also ends the traversal if the ray has NaN components
+                return visitor.visitCell(cellToId(x, y, z), x, y, z, entry, maxDistance);
+            }
+            if( !visitor.visitCell(cellToId(x, y, z), x, y, z, entry, exit) ) {
+                return false;
+            }
+            if( xNext <= yNext && xNext <= zNext ) {
+                x += xStep;
+                xNext += xDelta;
+            } else if( yNext <= zNext ) {
+                y += yStep;
+                yNext += yDelta;
+            } else {
+                z += zStep;
+                zNext += zDelta;
+            }
+            entry = exit;
+        }
+    }
+
+    private static int step( double dir, int size ) {
+        if( size == 0 || dir == 0 ) {
+            return 0;
+        }
+        return dir > 0 ? 1 : -1;
+    }
+
+    private double nextBoundary( double origin, double dir, int cell, int step, int size ) {
+        if( step == 0 ) {
+            return Double.POSITIVE_INFINITY;
+        }
+        // The far edge of the cell when moving in the positive direction
+        // or the near edge of the cell when moving in the negative direction
+        double boundary = step > 0 ? cellToWorld(cell + 1, size) : cellToWorld(cell, size);
+        return (boundary - origin) / dir;
+    }
+
+    /**
+     *  Returns the squared distance along one axis from the world value
+     *  to the nearest edge of the specified cell, 0 if the value is inside
+     *  the cell or if the axis is flattened.
+     */
+    private double distanceSq( double world, int cell, int size ) {
+        if( size == 0 ) {
+            return 0;
+        }
+        double min = cellToWorld(cell, size);
+        double max = min + size;
+        double d;
+        if( world < min ) {
+            d = min - world;
+        } else if( world > max ) {
+            d = world - max;
+        } else {
+            return 0;
+        }
+        return d * d;
+    }
+
+    private long toInterleavedId( int xCell, int yCell, int zCell ) {
+        int xBits = xMask.shift;
+        int yBits = yMask.shift;
+        int zBits = zMask.shift;
+
+        // Offset the parts instead of using two's complement so that
+        // the interleaved IDs sort from negative to positive
+        long packed = (xMask.toUnsigned(xCell) << (yBits + zBits))
+                    | (yMask.toUnsigned(yCell) << zBits)
+                    | zMask.toUnsigned(zCell);
+
+        long result;
+        if( idLayout == GridIdLayout.Morton ) {
+            result = GridIdCodec.packedToMorton(packed, xBits, yBits, zBits);
+        } else {
+            result = GridIdCodec.packedToHilbert(packed, xBits, yBits, zBits);
+        }
+        if( xBits + yBits + zBits == 64 ) {
+            // Flip the sign bit so that IDs also sort correctly as
+            // signed longs when all 64 bits are used
+            result ^= Long.MIN_VALUE;
+        }
+        return result;
+    }
+
+    private Vec3i fromInterleavedId( long id, Vec3i store ) {
+        int xBits = xMask.shift;
+        int yBits = yMask.shift;
+        int zBits = zMask.shift;
+        if( xBits + yBits + zBits == 64 ) {
+            id ^= Long.MIN_VALUE;
+        }
+
+        long packed;
+        if( idLayout == GridIdLayout.Morton ) {
+            packed = GridIdCodec.mortonToPacked(id, xBits, yBits, zBits);
+        } else {
+            packed = GridIdCodec.hilbertToPacked(id, xBits, yBits, zBits);
+        }
+        int x = xMask.fromUnsigned(packed >>> (yBits + zBits));
+        int y = yMask.fromUnsigned(packed >>> zBits);
+        int z = zMask.fromUnsigned(packed);
+
+        if( store == null ) {
+            store = new Vec3i(x, y, z);
+        } else {
+            store.set(x, y, z);
+        }
+        return store;
+    }
  
     @Override
     public String toString() {
@@ -474,6 +1008,23 @@ public class Grid implements java.io.Serializable {
                 throw new IOException("Error deserializing older version", e);
             }
         }
+        if( idLayout == null ) {
+            // Versions before the ID layout was added were always packed
+            setField("idLayout", GridIdLayout.Packed);
+        }
+        setField("xShift", shiftFor(gridSpacing.x));
+        setField("yShift", shiftFor(gridSpacing.y));
+        setField("zShift", shiftFor(gridSpacing.z));
+    }
+
+    private void setField( String name, Object value ) throws IOException {
+        try {
+            Field f = Grid.class.getDeclaredField(name);
+            f.setAccessible(true);
+            f.set(this, value);
+        } catch( Exception e ) {
+            throw new IOException("Error deserializing field:" + name, e);
+        }
     }
         
     private static final class Mask implements java.io.Serializable {
@@ -521,6 +1072,18 @@ public class Grid implements java.io.Serializable {
             }
             return result;
         } 
+
+        /**
+         *  Returns the cell value offset by half of the range so that
+         *  the smallest negative value is 0.
+         */
+        public long toUnsigned( int cell ) {
+            return (cell ^ signCheck) & mask;
+        }
+
+        public int fromUnsigned( long bits ) {
+            return extract(bits ^ signCheck);
+        }
     }   
 } 
 
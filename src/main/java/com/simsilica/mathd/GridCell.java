@@ -36,6 +36,8 @@
 
 package com.simsilica.mathd;
 
+import java.io.*;
+import java.lang.reflect.Field;
 import java.util.Objects;
 
 
@@ -53,15 +55,20 @@ public class GridCell implements java.io.Serializable {
     private final Grid grid;
     private final Vec3i cell;
     private final Vec3i worldOrigin;
+
+    // Calculated once since the ID is frequently used as a map key.
+    // Recalculated on load.
+    private final transient long id;
     
     public GridCell( Grid grid, Vec3i cell ) {
         this.grid = grid;
         this.cell = cell;
         this.worldOrigin = grid.cellToWorld(cell);
+        this.id = grid.cellToId(cell);
     }
     
     public final long getId() {
-        return grid.cellToId(cell);
+        return id;
     }
 
     public final Grid getGrid() {
@@ -189,5 +196,16 @@ public class GridCell implements java.io.Serializable {
     public String toString() {
         return "(" + cell.x + ":" + cell.y + ":" + cell.z + ")";
     }               
+
+    private void readObject( ObjectInputStream in ) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        try {
+            Field f = GridCell.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(this, grid.cellToId(cell));
+        } catch( Exception e ) {
+            throw new IOException("Error deserializing field:id", e);
+        }
+    }
 }
 
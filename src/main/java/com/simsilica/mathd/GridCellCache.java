@@ -0,0 +1,120 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import java.util.Arrays;
+
+import com.simsilica.mathd.util.LongIntHashMap;
+
+/**
+ *  A bounded cache of canonical GridCell instances by cell ID for a Grid.
+ *  When full, entries are evicted with the CLOCK algorithm, a cheap
+ *  approximation of least-recently-used: each entry has a referenced bit
+ *  that is set on every hit and the clock hand evicts the first entry
+ *  it finds with the bit clear, clearing bits as it passes.
+ *  <p>
+ *  All methods are synchronized so that one Grid's cache can be shared
+ *  by any number of threads.
+ *
+ *  @author    Paul Speed
+ */
+final class GridCellCache {
+
+    private final GridCell[] cells;
+    private final boolean[] referenced;
+    private final LongIntHashMap index;
+    private int size;
+    private int hand;
+
+    public GridCellCache( int capacity ) {
+        if( capacity <= 0 ) {
+            throw new IllegalArgumentException("Capacity must be greater than 0:" + capacity);
+        }
+        this.cells = new GridCell[capacity];
+        this.referenced = new boolean[capacity];
+        this.index = new LongIntHashMap(capacity, -1);
+    }
+
+    public int getCapacity() {
+        return cells.length;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     *  Returns the cached GridCell for the specified ID, creating and
+     *  caching a new one from the cell coordinates if there isn't one.
+     */
+    public synchronized GridCell getGridCell( Grid grid, long id, int x, int y, int z ) {
+        int slot = index.get(id);
+        if( slot >= 0 ) {
+            referenced[slot] = true;
+            return cells[slot];
+        }
+        if( size < cells.length ) {
+            slot = size++;
+        } else {
+            slot = evict();
+            index.remove(cells[slot].getId());
+        }
+        GridCell result = new GridCell(grid, new Vec3i(x, y, z));
+        cells[slot] = result;
+        referenced[slot] = false;
+        index.put(id, slot);
+        return result;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(cells, null);
+        Arrays.fill(referenced, false);
+        index.clear();
+        size = 0;
+        hand = 0;
+    }
+
+    private int evict() {
+        while( referenced[hand] ) {
+            referenced[hand] = false;
+            hand = (hand + 1) % cells.length;
+        }
+        int result = hand;
+        hand = (hand + 1) % cells.length;
+        return result;
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+
+/**
+ *  The bit interleaving behind the Morton and Hilbert GridIdLayouts.
+ *  Everything here converts between the Packed layout of unsigned
+ *  (offset) axis values, x in the high bits and z in the low bits, and
+ *  the interleaved layout.  Axes with 0 bits are skipped.  Within each
+ *  group of interleaved bits, x is the most significant.
+ *
+ *  @author    Paul Speed
+ */
+final class GridIdCodec {
+
+    private GridIdCodec() {
+    }
+
+    /**
+     *  Converts the packed unsigned x, y, z values to a Morton code.
+     */
+    static long packedToMorton( long packed, int xBits, int yBits, int zBits ) {
+        long z = packed & lowBits(zBits);
+        long y = (packed >>> zBits) & lowBits(yBits);
+        long x = (packed >>> (yBits + zBits)) & lowBits(xBits);
+
+        int axes = axes(xBits, yBits, zBits);
+        if( isUniform(xBits, yBits, zBits) ) {
+            switch( axes ) {
+                case 3:
+                    return (spread3(x) << 2) | (spread3(y) << 1) | spread3(z);
+                case 2:
+                    // Pick the two axes that are present in x, y, z order
+                    return (spread2(xBits != 0 ? x : y) << 1) | spread2(zBits != 0 ? z : y);
+                default:
+                    return packed;
+            }
+        }
+
+        // Mixed bit sizes: round robin through the axes that still
+        // have bits left
+        long result = 0;
+        int pos = 0;
+        int max = Math.max(xBits, Math.max(yBits, zBits));
+        for( int i = 0; i < max; i++ ) {
+            if( i < zBits ) {
+                result |= ((z >>> i) & 1) << pos++;
+            }
+            if( i < yBits ) {
+                result |= ((y >>> i) & 1) << pos++;
+            }
+            if( i < xBits ) {
+                result |= ((x >>> i) & 1) << pos++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Converts a Morton code back to packed unsigned x, y, z values.
+     */
+    static long mortonToPacked( long morton, int xBits, int yBits, int zBits ) {
+        long x = 0;
+        long y = 0;
+        long z = 0;
+
+        int axes = axes(xBits, yBits, zBits);
+        if( isUniform(xBits, yBits, zBits) ) {
+            switch( axes ) {
+                case 3:
+                    x = compact3(morton >>> 2);
+                    y = compact3(morton >>> 1);
+                    z = compact3(morton);
+                    break;
+                case 2:
+                    long hi = compact2(morton >>> 1);
+                    long lo = compact2(morton);
+                    if( xBits == 0 ) {
+                        y = hi;
+                        z = lo;
+                    } else if( yBits == 0 ) {
+                        x = hi;
+                        z = lo;
+                    } else {
+                        x = hi;
+                        y = lo;
+                    }
+                    break;
+                default:
+                    return morton;
+            }
+        } else {
+            int pos = 0;
+            int max = Math.max(xBits, Math.max(yBits, zBits));
+            for( int i = 0; i < max; i++ ) {
+                if( i < zBits ) {
+                    z |= ((morton >>> pos++) & 1) << i;
+                }
+                if( i < yBits ) {
+                    y |= ((morton >>> pos++) & 1) << i;
+                }
+                if( i < xBits ) {
+                    x |= ((morton >>> pos++) & 1) << i;
+                }
+            }
+        }
+        return pack(x, y, z, yBits, zBits);
+    }
+
+    /**
+     *  Converts the packed unsigned x, y, z values to a Hilbert index.
+     *  All axes with bits must have the same number of bits.  This is
+     *  John Skilling's transpose algorithm from "Programming the Hilbert
+     *  curve" followed by a Morton interleave of the transposed values.
+     */
+    static long packedToHilbert( long packed, int xBits, int yBits, int zBits ) {
+        int axes = axes(xBits, yBits, zBits);
+        if( axes < 2 ) {
+            return packed;
+        }
+        int bits = Math.max(xBits, Math.max(yBits, zBits));
+        long z = packed & lowBits(zBits);
+        long y = (packed >>> zBits) & lowBits(yBits);
+        long x = (packed >>> (yBits + zBits)) & lowBits(xBits);
+
+        // The axes present, in x, y, z order
+        long a0;
+        long a1;
+        long a2 = 0;
+        if( axes == 3 ) {
+            a0 = x;
+            a1 = y;
+            a2 = z;
+        } else {
+            a0 = xBits != 0 ? x : y;
+            a1 = zBits != 0 ? z : y;
+        }
+
+        long m = 1L << (bits - 1);
+
+        // Inverse undo
+        for( long q = m; q > 1; q >>>= 1 ) {
+            long p = q - 1;
+            if( (a0 & q) != 0 ) {
+                a0 ^= p;
+            }
+            if( (a1 & q) != 0 ) {
+                a0 ^= p;
+            } else {
+                long t = (a0 ^ a1) & p;
+                a0 ^= t;
+                a1 ^= t;
+            }
+            if( axes == 3 ) {
+                if( (a2 & q) != 0 ) {
+                    a0 ^= p;
+                } else {
+                    long t = (a0 ^ a2) & p;
+                    a0 ^= t;
+                    a2 ^= t;
+                }
+            }
+        }
+
+        // Gray encode
+        a1 ^= a0;
+        if( axes == 3 ) {
+            a2 ^= a1;
+        }
+        long last = axes == 3 ? a2 : a1;
+        long t = 0;
+        for( long q = m; q > 1; q >>>= 1 ) {
+            if( (last & q) != 0 ) {
+                t ^= q - 1;
+            }
+        }
+        a0 ^= t;
+        a1 ^= t;
+        a2 ^= t;
+
+        if( axes == 3 ) {
+            return (spread3(a0) << 2) | (spread3(a1) << 1) | spread3(a2);
+        }
+        return (spread2(a0) << 1) | spread2(a1);
+    }
+
+    /**
+     *  Converts a Hilbert index back to packed unsigned x, y, z values.
+     */
+    static long hilbertToPacked( long hilbert, int xBits, int yBits, int zBits ) {
+        int axes = axes(xBits, yBits, zBits);
+        if( axes < 2 ) {
+            return hilbert;
+        }
+        int bits = Math.max(xBits, Math.max(yBits, zBits));
+
+        long a0;
+        long a1;
+        long a2 = 0;
+        if( axes == 3 ) {
+            a0 = compact3(hilbert >>> 2);
+            a1 = compact3(hilbert >>> 1);
+            a2 = compact3(hilbert);
+        } else {
+            a0 = compact2(hilbert >>> 1);
+            a1 = compact2(hilbert);
+        }
+
+        // Gray decode
+        long t = (axes == 3 ? a2 : a1) >>> 1;
+        if( axes == 3 ) {
+            a2 ^= a1;
+        }
+        a1 ^= a0;
+        a0 ^= t;
+
+        // Undo excess work
+        long n = 1L << bits;
+        for( long q = 2; q != n; q <<= 1 ) {
+            long p = q - 1;
+            if( axes == 3 ) {
+                if( (a2 & q) != 0 ) {
+                    a0 ^= p;
+                } else {
+                    t = (a0 ^ a2) & p;
+                    a0 ^= t;
+                    a2 ^= t;
+                }
+            }
+            if( (a1 & q) != 0 ) {
+                a0 ^= p;
+            } else {
+                t = (a0 ^ a1) & p;
+                a0 ^= t;
+                a1 ^= t;
+            }
+            if( (a0 & q) != 0 ) {
+                a0 ^= p;
+            }
+        }
+
+        if( axes == 3 ) {
+            return pack(a0, a1, a2, yBits, zBits);
+        }
+        if( xBits == 0 ) {
+            return pack(0, a0, a1, yBits, zBits);
+        }
+        if( yBits == 0 ) {
+            return pack(a0, 0, a1, yBits, zBits);
+        }
+        return pack(a0, a1, 0, yBits, zBits);
+    }
+
+    /**
+     *  Returns true if all of the axes that have bits have the same
+     *  number of bits.
+     */
+    static boolean isUniform( int xBits, int yBits, int zBits ) {
+        int bits = Math.max(xBits, Math.max(yBits, zBits));
+        return (xBits == 0 || xBits == bits)
+            && (yBits == 0 || yBits == bits)
+            && (zBits == 0 || zBits == bits);
+    }
+
+    private static int axes( int xBits, int yBits, int zBits ) {
+        int result = 0;
+        if( xBits != 0 ) {
+            result++;
+        }
+        if( yBits != 0 ) {
+            result++;
+        }
+        if( zBits != 0 ) {
+            result++;
+        }
+        return result;
+    }
+
+    private static long pack( long x, long y, long z, int yBits, int zBits ) {
+        // Shifts of 64 wrap in Java but in those cases the shifted
+        // value is always 0
+        return (x << (yBits + zBits)) | (y << zBits) | z;
+    }
+
+    private static long lowBits( int bits ) {
+        return bits >= 64 ? -1L : ~(-1L << bits);
+    }
+
+    /**
+     *  Spreads the low 32 bits of v out to every other bit.
+     */
+    private static long spread2( long v ) {
+        v &= 0x00000000ffffffffL;
+        v = (v | (v << 16)) & 0x0000ffff0000ffffL;
+        v = (v | (v << 8)) & 0x00ff00ff00ff00ffL;
+        v = (v | (v << 4)) & 0x0f0f0f0f0f0f0f0fL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & 0x5555555555555555L;
+        return v;
+    }
+
+    private static long compact2( long v ) {
+        v &= 0x5555555555555555L;
+        v = (v | (v >>> 1)) & 0x3333333333333333L;
+        v = (v | (v >>> 2)) & 0x0f0f0f0f0f0f0f0fL;
+        v = (v | (v >>> 4)) & 0x00ff00ff00ff00ffL;
+        v = (v | (v >>> 8)) & 0x0000ffff0000ffffL;
+        v = (v | (v >>> 16)) & 0x00000000ffffffffL;
+        return v;
+    }
+
+    /**
+     *  Spreads the low 21 bits of v out to every third bit.
+     */
+    private static long spread3( long v ) {
+        v &= 0x1fffffL;
+        v = (v | (v << 32)) & 0x001f00000000ffffL;
+        v = (v | (v << 16)) & 0x001f0000ff0000ffL;
+        v = (v | (v << 8)) & 0x100f00f00f00f00fL;
+        v = (v | (v << 4)) & 0x10c30c30c30c30c3L;
+        v = (v | (v << 2)) & 0x1249249249249249L;
+        return v;
+    }
+
+    private static long compact3( long v ) {
+        v &= 0x1249249249249249L;
+        v = (v | (v >>> 2)) & 0x10c30c30c30c30c3L;
+        v = (v | (v >>> 4)) & 0x100f00f00f00f00fL;
+        v = (v | (v >>> 8)) & 0x001f0000ff0000ffL;
+        v = (v | (v >>> 16)) & 0x001f00000000ffffL;
+        v = (v | (v >>> 32)) & 0x1fffffL;
+        return v;
+    }
+}
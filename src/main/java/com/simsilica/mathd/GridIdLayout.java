@@ -0,0 +1,77 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+
+/**
+ *  The different ways that a Grid can pack x, y, z cell coordinates
+ *  into a single long cell ID.  All of the layouts use the same number
+ *  of bits per axis and so support the same signed cell ranges.  They
+ *  only differ in where those bits end up in the ID.
+ *
+ *  @author    Paul Speed
+ */
+public enum GridIdLayout {
+
+    /**
+     *  The original layout where the two's complement x, y, and z parts
+     *  are concatenated with x in the high bits and z in the low bits.
+     *  Cell 0, 0, 0 has an ID of 0.  Neighboring cells along x are
+     *  2^(yBits + zBits) apart in ID space.  This is the default.
+     */
+    Packed,
+
+    /**
+     *  Interleaves the bits of the x, y, and z parts (Z-order) so that
+     *  cells close to each other in space are usually close to each other
+     *  in ID space.  The parts are stored offset by half their range
+     *  instead of in two's complement so that negative cells sort before
+     *  positive ones and IDs sort correctly as signed long values.  This
+     *  means that cell 0, 0, 0 does not have an ID of 0.
+     */
+    Morton,
+
+    /**
+     *  Orders the cells along a Hilbert curve which, unlike Morton order,
+     *  never jumps between IDs that are next to each other.  It has better
+     *  locality for range scans than Morton at a somewhat higher encoding
+     *  cost.  Hilbert IDs require the same number of ID bits for every
+     *  axis that has any.  As with Morton, IDs sort as signed long values
+     *  and cell 0, 0, 0 does not have an ID of 0.
+     */
+    Hilbert
+}
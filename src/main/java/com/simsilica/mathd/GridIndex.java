@@ -0,0 +1,429 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.simsilica.mathd.util.LongLongHashMap;
+import com.simsilica.mathd.util.LongObjectHashMap;
+
+/**
+ *  A thread-safe index of entity IDs by Grid cell that can answer both
+ *  "which cell is this entity in?" and "which entities are in this cell?".
+ *  Instead of one global lock, the entity to cell and cell to members
+ *  maps are split into stripes by key so that threads moving different
+ *  entities between different cells rarely contend.
+ *  <p>
+ *  Updates of the same entity are serialized by that entity's stripe
+ *  lock.  A move holds the locks for both the old and new cells while
+ *  it transfers the entity, so readers of a single cell and snapshot()
+ *  never see an entity in two cells at once or in no cell at all.
+ *  Locks are always taken entity stripe first and then cell stripes in
+ *  index order so the index cannot deadlock.
+ *  <p>
+ *  Members of a cell are kept in an unordered array so removing an
+ *  entity from a cell is linear in that cell's population.
+ *
+ *  @author    Paul Speed
+ */
+public class GridIndex {
+
+    private final Grid grid;
+    private final int stripeMask;
+    private final int stripeShift;
+    private final EntityStripe[] entityStripes;
+    private final CellStripe[] cellStripes;
+
+    /**
+     *  Creates an index with enough stripes for the number of available
+     *  processors.
+     */
+    public GridIndex( Grid grid ) {
+        this(grid, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     *  Creates an index with the specified number of lock stripes, rounded
+     *  up to a power of two.  More stripes reduce contention at the cost of
+     *  more expensive snapshots.
+     */
+    public GridIndex( Grid grid, int concurrency ) {
+        if( concurrency < 1 || concurrency > (1 << 16) ) {
+            throw new IllegalArgumentException("Invalid concurrency:" + concurrency);
+        }
+        int count = concurrency == 1 ? 1 : Integer.highestOneBit(concurrency - 1) << 1;
+        this.grid = grid;
+        this.stripeMask = count - 1;
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(count);
+        this.entityStripes = new EntityStripe[count];
+        this.cellStripes = new CellStripe[count];
+        for( int i = 0; i < count; i++ ) {
+            entityStripes[i] = new EntityStripe();
+            cellStripes[i] = new CellStripe(i);
+        }
+    }
+
+    public Grid getGrid() {
+        return grid;
+    }
+
+    /**
+     *  Returns the number of lock stripes.
+     */
+    public int getConcurrency() {
+        return cellStripes.length;
+    }
+
+    /**
+     *  Moves the entity to the cell containing the specified world location,
+     *  adding it if it is not already in the index.  Returns true if the
+     *  entity changed cells.
+     */
+    public boolean update( long entity, Vec3d world ) {
+        return update(entity, grid.worldToId(world));
+    }
+
+    /**
+     *  Moves the entity to the specified cell, adding it if it is not already
+     *  in the index.  Returns true if the entity changed cells.
+     */
+    public boolean update( long entity, long cellId ) {
+        EntityStripe es = entityStripes[stripe(entity)];
+        synchronized( es ) {
+            boolean existing = es.cells.containsKey(entity);
+            long oldCell = existing ? es.cells.get(entity) : 0;
+            if( existing && oldCell == cellId ) {
+                return false;
+            }
+            CellStripe to = cellStripes[stripe(cellId)];
+            CellStripe from = existing ? cellStripes[stripe(oldCell)] : to;
+            lock(from, to);
+            try {
+                if( existing ) {
+                    from.remove(oldCell, entity);
+                }
+                to.add(cellId, entity);
+            } finally {
+                unlock(from, to);
+            }
+            es.cells.put(entity, cellId);
+            return true;
+        }
+    }
+
+    /**
+     *  Removes the entity from the index and returns true if it was present.
+     */
+    public boolean remove( long entity ) {
+        EntityStripe es = entityStripes[stripe(entity)];
+        synchronized( es ) {
+            if( !es.cells.containsKey(entity) ) {
+                return false;
+            }
+            long cellId = es.cells.remove(entity);
+            CellStripe cs = cellStripes[stripe(cellId)];
+            cs.lock.lock();
+            try {
+                cs.remove(cellId, entity);
+            } finally {
+                cs.lock.unlock();
+            }
+            return true;
+        }
+    }
+
+    public boolean contains( long entity ) {
+        EntityStripe es = entityStripes[stripe(entity)];
+        synchronized( es ) {
+            return es.cells.containsKey(entity);
+        }
+    }
+
+    /**
+     *  Returns the ID of the cell that the entity is in or defaultValue if
+     *  the entity is not in the index.
+     */
+    public long getCellId( long entity, long defaultValue ) {
+        EntityStripe es = entityStripes[stripe(entity)];
+        synchronized( es ) {
+            return es.cells.containsKey(entity) ? es.cells.get(entity) : defaultValue;
+        }
+    }
+
+    /**
+     *  Returns the number of entities in the specified cell.
+     */
+    public int getMemberCount( long cellId ) {
+        CellStripe cs = cellStripes[stripe(cellId)];
+        cs.lock.lock();
+        try {
+            Members members = cs.cells.get(cellId);
+            return members == null ? 0 : members.size;
+        } finally {
+            cs.lock.unlock();
+        }
+    }
+
+    /**
+     *  Copies the entities in the specified cell into the store array and
+     *  returns the number of entities in the cell.  If there are more than
+     *  store.length members then only the first store.length are written,
+     *  so callers can size a bigger array from the return value and try
+     *  again.
+     */
+    public int getMembers( long cellId, long[] store ) {
+        CellStripe cs = cellStripes[stripe(cellId)];
+        cs.lock.lock();
+        try {
+            Members members = cs.cells.get(cellId);
+            if( members == null ) {
+                return 0;
+            }
+            System.arraycopy(members.ids, 0, store, 0, Math.min(members.size, store.length));
+            return members.size;
+        } finally {
+            cs.lock.unlock();
+        }
+    }
+
+    /**
+     *  Returns the number of entities in the index.  This is not atomic
+     *  with respect to concurrent updates.  Use snapshot() when an exact
+     *  count is needed.
+     */
+    public int size() {
+        int result = 0;
+        for( EntityStripe es : entityStripes ) {
+            synchronized( es ) {
+                result += es.cells.size();
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Returns an immutable copy of the cell to members mapping taken while
+     *  all of the cell stripes are locked.  Every entity in the index appears
+     *  in exactly one cell of the snapshot.
+     */
+    public Snapshot snapshot() {
+        for( CellStripe cs : cellStripes ) {
+            cs.lock.lock();
+        }
+        try {
+            int cellCount = 0;
+            int memberCount = 0;
+            for( CellStripe cs : cellStripes ) {
+                cellCount += cs.cells.size();
+                memberCount += cs.memberCount;
+            }
+
+            // Sort the cell IDs so that the snapshot can binary search them
+            long[] cellIds = new long[cellCount];
+            int next = 0;
+            for( CellStripe cs : cellStripes ) {
+                for( int i = cs.cells.firstSlot(); i >= 0; i = cs.cells.nextSlot(i) ) {
+                    cellIds[next++] = cs.cells.keyAt(i);
+                }
+            }
+            Arrays.sort(cellIds);
+
+            int[] offsets = new int[cellCount + 1];
+            long[] members = new long[memberCount];
+            next = 0;
+            for( int i = 0; i < cellCount; i++ ) {
+                Members m = cellStripes[stripe(cellIds[i])].cells.get(cellIds[i]);
+                offsets[i] = next;
+                System.arraycopy(m.ids, 0, members, next, m.size);
+                next += m.size;
+            }
+            offsets[cellCount] = next;
+            return new Snapshot(cellIds, offsets, members);
+        } finally {
+            for( int i = cellStripes.length - 1; i >= 0; i-- ) {
+                cellStripes[i].lock.unlock();
+            }
+        }
+    }
+
+    private int stripe( long key ) {
+        // Fibonacci hashing, the high bits of the product mix all of the
+        // key's bits together
+        return (int)((key * 0x9e3779b97f4a7c15L) >>> stripeShift) & stripeMask;
+    }
+
+    private void lock( CellStripe a, CellStripe b ) {
+        if( a == b ) {
+            a.lock.lock();
+        } else if( a.index < b.index ) {
+            a.lock.lock();
+            b.lock.lock();
+        } else {
+            b.lock.lock();
+            a.lock.lock();
+        }
+    }
+
+    private void unlock( CellStripe a, CellStripe b ) {
+        a.lock.unlock();
+        if( a != b ) {
+            b.lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GridIndex[grid=" + grid + ", concurrency=" + cellStripes.length + "]";
+    }
+
+    /**
+     *  An immutable copy of the cell to members mapping of a GridIndex.
+     *  Cells are ordered by ID and each cell's members are in no particular
+     *  order.
+     */
+    public static final class Snapshot {
+        private final long[] cellIds;
+        private final int[] offsets;
+        private final long[] members;
+
+        Snapshot( long[] cellIds, int[] offsets, long[] members ) {
+            this.cellIds = cellIds;
+            this.offsets = offsets;
+            this.members = members;
+        }
+
+        /**
+         *  Returns the number of non-empty cells.
+         */
+        public int getCellCount() {
+            return cellIds.length;
+        }
+
+        /**
+         *  Returns the total number of entities.
+         */
+        public int getEntityCount() {
+            return members.length;
+        }
+
+        public long getCellId( int cellIndex ) {
+            return cellIds[cellIndex];
+        }
+
+        /**
+         *  Returns the index of the specified cell or -1 if the cell was empty.
+         */
+        public int indexOf( long cellId ) {
+            int result = Arrays.binarySearch(cellIds, cellId);
+            return result < 0 ? -1 : result;
+        }
+
+        public int getMemberCount( int cellIndex ) {
+            return offsets[cellIndex + 1] - offsets[cellIndex];
+        }
+
+        public long getMember( int cellIndex, int memberIndex ) {
+            if( memberIndex < 0 || memberIndex >= getMemberCount(cellIndex) ) {
+                throw new IndexOutOfBoundsException("Member index:" + memberIndex);
+            }
+            return members[offsets[cellIndex] + memberIndex];
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot[cells=" + cellIds.length + ", entities=" + members.length + "]";
+        }
+    }
+
+    private static final class EntityStripe {
+        private final LongLongHashMap cells = new LongLongHashMap();
+    }
+
+    private static final class CellStripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LongObjectHashMap<Members> cells = new LongObjectHashMap<Members>();
+        private final int index;
+        private int memberCount;
+
+        public CellStripe( int index ) {
+            this.index = index;
+        }
+
+        public void add( long cellId, long entity ) {
+            Members members = cells.get(cellId);
+            if( members == null ) {
+                members = new Members();
+                cells.put(cellId, members);
+            }
+            members.add(entity);
+            memberCount++;
+        }
+
+        public void remove( long cellId, long entity ) {
+            Members members = cells.get(cellId);
+            if( members.remove(entity) ) {
+                memberCount--;
+                if( members.size == 0 ) {
+                    cells.remove(cellId);
+                }
+            }
+        }
+    }
+
+    private static final class Members {
+        private long[] ids = new long[4];
+        private int size;
+
+        public void add( long id ) {
+            if( size == ids.length ) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        public boolean remove( long id ) {
+            for( int i = 0; i < size; i++ ) {
+                if( ids[i] == id ) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+
+/**
+ *  Tracks the cells within some radius of a center cell, ie: an interest
+ *  zone, as that center moves around a Grid.  Instead of building the set
+ *  of zone cells for the old and new centers and comparing them, the
+ *  entered and exited cells are calculated directly from the slabs where
+ *  the old and new zone boxes differ.  Only the cells that actually change
+ *  are visited and nothing is allocated.
+ *  <p>
+ *  The zone is the box of cells from center - radius to center + radius,
+ *  inclusive, on each axis.  Flattened axes (0 spacing) of the grid always
+ *  use cell 0 and a radius of 0 no matter what is passed in.
+ *  <p>
+ *  The tracker itself keeps no per-center state and so one tracker can
+ *  be shared by any number of entities and threads.
+ *
+ *  @author    Paul Speed
+ */
+public class GridZoneTracker {
+
+    private final Grid grid;
+    private final Vec3i spacing;
+    private final int xRadius;
+    private final int yRadius;
+    private final int zRadius;
+
+    /**
+     *  Creates a tracker for zones that extend the specified number of
+     *  cells from the center along every axis.
+     */
+    public GridZoneTracker( Grid grid, int radius ) {
+        this(grid, new Vec3i(radius, radius, radius));
+    }
+
+    /**
+     *  Creates a tracker for zones that extend the specified number of
+     *  cells from the center along each axis.
+     */
+    public GridZoneTracker( Grid grid, Vec3i radius ) {
+        if( radius.x < 0 || radius.y < 0 || radius.z < 0 ) {
+            throw new IllegalArgumentException("Radius cannot be negative:" + radius);
+        }
+        Vec3i spacing = grid.getSpacing();
+        this.grid = grid;
+        this.spacing = spacing;
+        this.xRadius = spacing.x == 0 ? 0 : radius.x;
+        this.yRadius = spacing.y == 0 ? 0 : radius.y;
+        this.zRadius = spacing.z == 0 ? 0 : radius.z;
+    }
+
+    public final Grid getGrid() {
+        return grid;
+    }
+
+    public final Vec3i getRadius() {
+        return new Vec3i(xRadius, yRadius, zRadius);
+    }
+
+    /**
+     *  Returns the number of cells in a zone.
+     */
+    public final int getZoneSize() {
+        return (xRadius * 2 + 1) * (yRadius * 2 + 1) * (zRadius * 2 + 1);
+    }
+
+    /**
+     *  Reports all of the cells of the zone around the specified center
+     *  as entered.  This is used when an entity first appears.
+     */
+    public void enter( Vec3i center, GridZoneListener listener ) {
+        int x = center(center.x, spacing.x);
+        int y = center(center.y, spacing.y);
+        int z = center(center.z, spacing.z);
+        emit(x - xRadius, x + xRadius, y - yRadius, y + yRadius, z - zRadius, z + zRadius,
+             true, listener);
+    }
+
+    /**
+     *  Reports all of the cells of the zone around the specified center
+     *  as exited.  This is used when an entity goes away.
+     */
+    public void exit( Vec3i center, GridZoneListener listener ) {
+        int x = center(center.x, spacing.x);
+        int y = center(center.y, spacing.y);
+        int z = center(center.z, spacing.z);
+        emit(x - xRadius, x + xRadius, y - yRadius, y + yRadius, z - zRadius, z + zRadius,
+             false, listener);
+    }
+
+    /**
+     *  Reports the cells that are in the zone around newCenter but not
+     *  the zone around oldCenter as entered and the cells that are in the
+     *  zone around oldCenter but not the zone around newCenter as exited.
+     *  Nothing is reported if the centers are the same.  All exits are
+     *  reported before any enters.
+     */
+    public void update( Vec3i oldCenter, Vec3i newCenter, GridZoneListener listener ) {
+        update(oldCenter.x, oldCenter.y, oldCenter.z, newCenter.x, newCenter.y, newCenter.z, listener);
+    }
+
+    /**
+     *  Same as update(Vec3i, Vec3i, GridZoneListener) but with the centers
+     *  as separate cell coordinates.
+     */
+    public void update( int xOld, int yOld, int zOld, int xNew, int yNew, int zNew,
+                        GridZoneListener listener ) {
+        xOld = center(xOld, spacing.x);
+        yOld = center(yOld, spacing.y);
+        zOld = center(zOld, spacing.z);
+        xNew = center(xNew, spacing.x);
+        yNew = center(yNew, spacing.y);
+        zNew = center(zNew, spacing.z);
+        if( xOld == xNew && yOld == yNew && zOld == zNew ) {
+            return;
+        }
+        difference(xOld, yOld, zOld, xNew, yNew, zNew, false, listener);
+        difference(xNew, yNew, zNew, xOld, yOld, zOld, true, listener);
+    }
+
+    private static int center( int cell, int spacing ) {
+        // Flattened axes are always at cell 0
+        return spacing == 0 ? 0 : cell;
+    }
+
+    /**
+     *  Emits the cells of the zone around 'a' that are not in the zone
+     *  around 'b'.  The difference is split into up to six boxes: the x
+     *  slabs of a outside of b's x range, then within b's x range the y
+     *  slabs outside of b's y range, then within both the z slabs outside
+     *  of b's z range.
+     */
+    private void difference( int xa, int ya, int za, int xb, int yb, int zb,
+                             boolean entered, GridZoneListener listener ) {
+        int xMin = xa - xRadius;
+        int xMax = xa + xRadius;
+        int yMin = ya - yRadius;
+        int yMax = ya + yRadius;
+        int zMin = za - zRadius;
+        int zMax = za + zRadius;
+        int xbMin = xb - xRadius;
+        int xbMax = xb + xRadius;
+        int ybMin = yb - yRadius;
+        int ybMax = yb + yRadius;
+        int zbMin = zb - zRadius;
+        int zbMax = zb + zRadius;
+
+        if( xMax < xbMin || xMin > xbMax || yMax < ybMin || yMin > ybMax
+            || zMax < zbMin || zMin > zbMax ) {
+            // No overlap at all
+            emit(xMin, xMax, yMin, yMax, zMin, zMax, entered, listener);
+            return;
+        }
+
+        // The x slabs
+        emit(xMin, xbMin - 1, yMin, yMax, zMin, zMax, entered, listener);
+        emit(xbMax + 1, xMax, yMin, yMax, zMin, zMax, entered, listener);
+        int x0 = Math.max(xMin, xbMin);
+        int x1 = Math.min(xMax, xbMax);
+
+        // The y slabs within the shared x range
+        emit(x0, x1, yMin, ybMin - 1, zMin, zMax, entered, listener);
+        emit(x0, x1, ybMax + 1, yMax, zMin, zMax, entered, listener);
+        int y0 = Math.max(yMin, ybMin);
+        int y1 = Math.min(yMax, ybMax);
+
+        // The z slabs within the shared x and y range
+        emit(x0, x1, y0, y1, zMin, zbMin - 1, entered, listener);
+        emit(x0, x1, y0, y1, zbMax + 1, zMax, entered, listener);
+    }
+
+    private void emit( int xMin, int xMax, int yMin, int yMax, int zMin, int zMax,
+                       boolean entered, GridZoneListener listener ) {
+        for( int x = xMin; x <= xMax; x++ ) {
+            for( int y = yMin; y <= yMax; y++ ) {
+                for( int z = zMin; z <= zMax; z++ ) {
+                    long id = grid.cellToId(x, y, z);
+                    if( entered ) {
+                        listener.cellEntered(id);
+                    } else {
+                        listener.cellExited(id);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GridZoneTracker[grid=" + grid + ", radius=" + getRadius() + "]";
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+
+/**
+ *  A stack of Grids at increasingly coarse resolutions where each level's
+ *  spacing is a whole multiple of the level below it, ie: a cell pyramid.
+ *  Level 0 is the finest level.  Cell IDs are converted between levels
+ *  directly, without going through world space, so that coarse-to-fine
+ *  culling or LOD based interest management can walk the hierarchy
+ *  cheaply.
+ *  <p>
+ *  Cell IDs are per-level, ie: they are the IDs of the level's Grid and
+ *  do not encode the level themselves.  Every method that takes an ID
+ *  also takes the level that the ID belongs to.
+ *  <p>
+ *  Axes that are flattened (0 spacing) must be flattened on every level.
+ *
+ *  @author    Paul Speed
+ */
+public class HierarchicalGrid implements java.io.Serializable {
+
+    static final long serialVersionUID = 42L;
+
+    private final Grid[] levels;
+
+    // The spacing of each level in level 0 cells along each axis,
+    // 1 for flattened axes
+    private final int[] xScale;
+    private final int[] yScale;
+    private final int[] zScale;
+
+    /**
+     *  Creates a hierarchy where level 0 has the specified spacing and each
+     *  following level is the specified ratio times the spacing of the
+     *  level before it.  For example, new HierarchicalGrid(new Vec3i(32, 32, 32), 8, 8)
+     *  creates levels with spacings of 32, 256, and 2048.
+     */
+    public HierarchicalGrid( Vec3i baseSpacing, int... ratios ) {
+        this(createLevels(baseSpacing, ratios));
+    }
+
+    /**
+     *  Creates a hierarchy from the specified grids, finest first.  The
+     *  grids may use different ID bits and layouts but each grid's spacing
+     *  must be a whole multiple of the previous grid's spacing along each
+     *  axis.
+     */
+    public HierarchicalGrid( Grid... levels ) {
+        if( levels.length == 0 ) {
+            throw new IllegalArgumentException("At least one level is required");
+        }
+        this.levels = levels.clone();
+        this.xScale = new int[levels.length];
+        this.yScale = new int[levels.length];
+        this.zScale = new int[levels.length];
+        Vec3i base = levels[0].getSpacing();
+        for( int i = 0; i < levels.length; i++ ) {
+            Vec3i spacing = levels[i].getSpacing();
+            Vec3i previous = i == 0 ? spacing : levels[i - 1].getSpacing();
+            xScale[i] = scale(spacing.x, previous.x, base.x, i);
+            yScale[i] = scale(spacing.y, previous.y, base.y, i);
+            zScale[i] = scale(spacing.z, previous.z, base.z, i);
+        }
+    }
+
+    private static Grid[] createLevels( Vec3i baseSpacing, int... ratios ) {
+        Grid[] result = new Grid[ratios.length + 1];
+        Vec3i spacing = baseSpacing.clone();
+        result[0] = new Grid(spacing.clone());
+        for( int i = 0; i < ratios.length; i++ ) {
+            int ratio = ratios[i];
+            if( ratio < 1 ) {
+                throw new IllegalArgumentException("Invalid ratio:" + ratio + " for level:" + (i + 1));
+            }
+            spacing.set(multiply(spacing.x, ratio), multiply(spacing.y, ratio), multiply(spacing.z, ratio));
+            result[i + 1] = new Grid(spacing.clone());
+        }
+        return result;
+    }
+
+    private static int multiply( int spacing, int ratio ) {
+        long result = (long)spacing * ratio;
+        if( result > Integer.MAX_VALUE ) {
+            throw new IllegalArgumentException("Spacing overflow:" + spacing + " * " + ratio);
+        }
+        return (int)result;
+    }
+
+    private static int scale( int spacing, int previous, int base, int level ) {
+        if( (spacing == 0) != (base == 0) ) {
+            throw new IllegalArgumentException("Level:" + level + " does not flatten the same axes as level 0");
+        }
+        if( spacing == 0 ) {
+            return 1;
+        }
+        if( spacing < previous || spacing % previous != 0 ) {
+            throw new IllegalArgumentException("Level:" + level + " spacing:" + spacing
+                                               + " is not a multiple of:" + previous);
+        }
+        return spacing / base;
+    }
+
+    public final int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     *  Returns the Grid for the specified level where 0 is the finest.
+     */
+    public final Grid getLevel( int level ) {
+        return levels[level];
+    }
+
+    /**
+     *  Returns the number of cells of the level below that fit along
+     *  each axis of one cell of the specified level.  Flattened axes
+     *  have a ratio of 1.
+     */
+    public final Vec3i getRatio( int level ) {
+        if( level <= 0 || level >= levels.length ) {
+            throw new IllegalArgumentException("Invalid level:" + level);
+        }
+        return new Vec3i(xScale[level] / xScale[level - 1],
+                         yScale[level] / yScale[level - 1],
+                         zScale[level] / zScale[level - 1]);
+    }
+
+    /**
+     *  Returns the ID of the cell at the specified level that contains
+     *  the specified world location.
+     */
+    public final long worldToId( int level, Vec3d world ) {
+        return levels[level].worldToId(world);
+    }
+
+    /**
+     *  Returns the ID of the cell on the next coarser level that contains
+     *  the specified cell.
+     */
+    public final long getParentId( int level, long id ) {
+        return getAncestorId(level, id, level + 1);
+    }
+
+    /**
+     *  Returns the ID of the cell on the specified coarser (or same) level
+     *  that contains the specified cell.
+     */
+    public final long getAncestorId( int level, long id, int ancestorLevel ) {
+        checkLevels(ancestorLevel, level);
+        if( level == ancestorLevel ) {
+            return id;
+        }
+        TempVars temps = TempVars.get();
+        try {
+            Vec3i cell = levels[level].idToCell(id, temps.nextVec3i());
+            return levels[ancestorLevel].cellToId(floorDiv(cell.x, xScale[ancestorLevel] / xScale[level]),
+                                                  floorDiv(cell.y, yScale[ancestorLevel] / yScale[level]),
+                                                  floorDiv(cell.z, zScale[ancestorLevel] / zScale[level]));
+        } finally {
+            temps.release();
+        }
+    }
+
+    /**
+     *  Returns true if the cell 'descendantId' at descendantLevel is inside
+     *  the cell 'id' at the specified level.  A cell is considered to be
+     *  its own descendant.
+     */
+    public final boolean isDescendant( int level, long id, int descendantLevel, long descendantId ) {
+        if( descendantLevel > level ) {
+            return false;
+        }
+        return getAncestorId(descendantLevel, descendantId, level) == id;
+    }
+
+    /**
+     *  Stores the inclusive range of cells on the next finer level that
+     *  make up the specified cell in minStore and maxStore.
+     */
+    public final void getChildRange( int level, long id, Vec3i minStore, Vec3i maxStore ) {
+        getDescendantRange(level, id, level - 1, minStore, maxStore);
+    }
+
+    /**
+     *  Stores the inclusive range of cells on the specified finer (or same)
+     *  level that make up the specified cell in minStore and maxStore.
+     *  Flattened axes are always 0.
+     */
+    public final void getDescendantRange( int level, long id, int descendantLevel,
+                                          Vec3i minStore, Vec3i maxStore ) {
+        checkLevels(level, descendantLevel);
+        levels[level].idToCell(id, minStore);
+        int xRatio = xScale[level] / xScale[descendantLevel];
+        int yRatio = yScale[level] / yScale[descendantLevel];
+        int zRatio = zScale[level] / zScale[descendantLevel];
+        minStore.set(minStore.x * xRatio, minStore.y * yRatio, minStore.z * zRatio);
+        maxStore.set(minStore.x + xRatio - 1, minStore.y + yRatio - 1, minStore.z + zRatio - 1);
+    }
+
+    /**
+     *  Writes the IDs of the cells on the next finer level that make up the
+     *  specified cell into the store array and returns the number of child
+     *  cells.  As with Grid.getCellIds(), if there are more than store.length
+     *  children then only the first store.length are written.
+     */
+    public final int getChildIds( int level, long id, long[] store ) {
+        return getDescendantIds(level, id, level - 1, store);
+    }
+
+    /**
+     *  Writes the IDs of the cells on the specified finer level that make up
+     *  the specified cell into the store array and returns the number of
+     *  descendant cells.  As with Grid.getCellIds(), if there are more than
+     *  store.length descendants then only the first store.length are written.
+     */
+    public final int getDescendantIds( int level, long id, int descendantLevel, long[] store ) {
+        TempVars temps = TempVars.get();
+        try {
+            Vec3i min = temps.nextVec3i();
+            Vec3i max = temps.nextVec3i();
+            getDescendantRange(level, id, descendantLevel, min, max);
+            return levels[descendantLevel].getCellIds(min, max, store);
+        } finally {
+            temps.release();
+        }
+    }
+
+    private void checkLevels( int coarse, int fine ) {
+        if( fine < 0 || coarse >= levels.length || coarse < fine ) {
+            throw new IllegalArgumentException("Invalid levels, coarse:" + coarse + " fine:" + fine);
+        }
+    }
+
+    private static int floorDiv( int value, int divisor ) {
+        int result = value / divisor;
+        if( value % divisor != 0 && value < 0 ) {
+            result--;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("HierarchicalGrid[");
+        for( int i = 0; i < levels.length; i++ ) {
+            if( i > 0 ) {
+                sb.append(", ");
+            }
+            sb.append(levels[i].getSpacing());
+        }
+        return sb.append("]").toString();
+    }
+}
@@ -0,0 +1,491 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ *  An immutable 3D k-d tree for nearest neighbor and within-radius queries
+ *  over a fixed set of points, such as spawn points, navigation nodes, or
+ *  resource locations.
+ *  <p>
+ *  The tree is implicit: the points are reordered in one packed double
+ *  array so that every subrange's median point splits the rest of that
+ *  subrange along the axis with the largest spread.  There are no node
+ *  objects and no child pointers, just the coordinates, the original
+ *  index of each point, and one split axis per point.  Subranges are
+ *  built in parallel with fork-join.
+ *  <p>
+ *  Queries write the original indexes of the points that they find into
+ *  caller provided arrays and do not allocate.  Because the tree never
+ *  changes, it can be queried from any number of threads at once.
+ *
+ *  @author    Paul Speed
+ */
+public class KdTree {
+
+    // Subranges smaller than this are built on the current thread
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    private static ForkJoinPool sharedPool;
+
+    private final int size;
+    private final double[] coords;
+    private final int[] indexes;
+    private final byte[] axes;
+
+    /**
+     *  Builds a tree of the specified points, in parallel.  The indexes
+     *  returned by queries are indexes into this array.
+     */
+    public KdTree( Vec3d[] points ) {
+        this(toArray(points), points.length);
+    }
+
+    /**
+     *  Builds a tree of the first count points in the xyz array, where
+     *  point i is xyz[i * 3], xyz[i * 3 + 1], xyz[i * 3 + 2], in parallel.
+     *  The array is copied.
+     */
+    public KdTree( double[] xyz, int count ) {
+        this(xyz, count, count < PARALLEL_THRESHOLD ? null : getSharedPool());
+    }
+
+    /**
+     *  Builds a tree of the first count points in the xyz array using the
+     *  specified pool, or on the calling thread if pool is null.
+     *  The array is copied.
+     */
+    public KdTree( double[] xyz, int count, ForkJoinPool pool ) {
+        if( count < 0 || xyz.length < count * 3 ) {
+            throw new IllegalArgumentException("Invalid count:" + count + " for array length:" + xyz.length);
+        }
+        this.size = count;
+        this.coords = new double[count * 3];
+        System.arraycopy(xyz, 0, coords, 0, count * 3);
+        this.indexes = new int[count];
+        for( int i = 0; i < count; i++ ) {
+            indexes[i] = i;
+        }
+        this.axes = new byte[count];
+        if( pool == null || count < PARALLEL_THRESHOLD ) {
+            build(0, count);
+        } else {
+            pool.invoke(new BuildTask(0, count));
+        }
+    }
+
+    private static double[] toArray( Vec3d[] points ) {
+        double[] result = new double[points.length * 3];
+        for( int i = 0; i < points.length; i++ ) {
+            result[i * 3] = points[i].x;
+            result[i * 3 + 1] = points[i].y;
+            result[i * 3 + 2] = points[i].z;
+        }
+        return result;
+    }
+
+    private static synchronized ForkJoinPool getSharedPool() {
+        if( sharedPool == null ) {
+            // Worker threads are daemon threads and exit when idle
+            sharedPool = new ForkJoinPool();
+        }
+        return sharedPool;
+    }
+
+    /**
+     *  Returns the number of points in the tree.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int findNearest( Vec3d point ) {
+        return findNearest(point.x, point.y, point.z);
+    }
+
+    /**
+     *  Returns the index of the point nearest to the specified location or
+     *  -1 if the tree is empty.
+     */
+    public int findNearest( double x, double y, double z ) {
+        int best = searchNearest(0, size, x, y, z, -1, Double.POSITIVE_INFINITY);
+        return best < 0 ? -1 : indexes[best];
+    }
+
+    /**
+     *  The single nearest version of the k nearest search that keeps the
+     *  best position in locals instead of a heap.  Returns the position of
+     *  the nearest point found so far, which is best if nothing in the
+     *  subrange is nearer.
+     */
+    private int searchNearest( int lo, int hi, double x, double y, double z, int best, double bestSq ) {
+        while( lo < hi ) {
+            int mid = (lo + hi) >>> 1;
+            int c = mid * 3;
+            double dx = x - coords[c];
+            double dy = y - coords[c + 1];
+            double dz = z - coords[c + 2];
+            double d = dx * dx + dy * dy + dz * dz;
+            if( d < bestSq ) {
+                best = mid;
+                bestSq = d;
+            }
+
+            int axis = axes[mid];
+            double diff = axis == 0 ? dx : axis == 1 ? dy : dz;
+            int nearest;
+            if( diff < 0 ) {
+                nearest = searchNearest(lo, mid, x, y, z, best, bestSq);
+                lo = mid + 1;
+            } else {
+                nearest = searchNearest(mid + 1, hi, x, y, z, best, bestSq);
+                hi = mid;
+            }
+            if( nearest != best ) {
+                best = nearest;
+                c = best * 3;
+                dx = x - coords[c];
+                dy = y - coords[c + 1];
+                dz = z - coords[c + 2];
+                bestSq = dx * dx + dy * dy + dz * dz;
+            }
+            if( diff * diff > bestSq ) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    public int findNearest( Vec3d point, int k, double maxDistance, int[] indexStore, double[] distanceSqStore ) {
+        return findNearest(point.x, point.y, point.z, k, maxDistance, indexStore, distanceSqStore);
+    }
+
+    /**
+     *  Finds the k points nearest to the specified location that are no
+     *  farther than maxDistance and writes their indexes and squared distances
+     *  to the store arrays, nearest first.  Returns the number of points
+     *  found which is at most k.  The store arrays must have room for k
+     *  values.
+     */
+    public int findNearest( double x, double y, double z, int k, double maxDistance,
+                            int[] indexStore, double[] distanceSqStore ) {
+        if( indexStore.length < k || distanceSqStore.length < k ) {
+            throw new IllegalArgumentException("Store arrays are smaller than k:" + k);
+        }
+        if( k <= 0 ) {
+            return 0;
+        }
+        // The results are kept in a max heap in the store arrays so that the
+        // current kth nearest is always at index 0.  The heap holds positions
+        // in the tree until the end.
+        int found = searchNearest(0, size, x, y, z, k, maxDistance * maxDistance, 0, indexStore, distanceSqStore);
+
+        // Turn the max heap into a nearest first list
+        for( int last = found - 1; last > 0; last-- ) {
+            int pos = indexStore[0];
+            double d = distanceSqStore[0];
+            replaceTop(indexStore, distanceSqStore, last, indexStore[last], distanceSqStore[last]);
+            indexStore[last] = pos;
+            distanceSqStore[last] = d;
+        }
+        for( int i = 0; i < found; i++ ) {
+            indexStore[i] = indexes[indexStore[i]];
+        }
+        return found;
+    }
+
+    private int searchNearest( int lo, int hi, double x, double y, double z, int k, double limit,
+                               int found, int[] heap, double[] heapKeys ) {
+        while( lo < hi ) {
+            int mid = (lo + hi) >>> 1;
+            int c = mid * 3;
+            double dx = x - coords[c];
+            double dy = y - coords[c + 1];
+            double dz = z - coords[c + 2];
+            double d = dx * dx + dy * dy + dz * dz;
+            if( d <= limit ) {
+                if( found < k ) {
+                    add(heap, heapKeys, found++, mid, d);
+                } else if( d < heapKeys[0] ) {
+                    replaceTop(heap, heapKeys, found, mid, d);
+                }
+            }
+
+            int axis = axes[mid];
+            double diff = axis == 0 ? dx : axis == 1 ? dy : dz;
+
+            // Search the side of the split the point is on first, and then
+            // the other side only if the split plane is close enough
+            if( diff < 0 ) {
+                found = searchNearest(lo, mid, x, y, z, k, limit, found, heap, heapKeys);
+                lo = mid + 1;
+            } else {
+                found = searchNearest(mid + 1, hi, x, y, z, k, limit, found, heap, heapKeys);
+                hi = mid;
+            }
+            double worst = found < k ? limit : heapKeys[0];
+            if( diff * diff > worst ) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    public int findWithin( Vec3d point, double radius, int[] indexStore, double[] distanceSqStore ) {
+        return findWithin(point.x, point.y, point.z, radius, indexStore, distanceSqStore);
+    }
+
+    /**
+     *  Finds the points within radius of the specified location and writes
+     *  their indexes and squared distances, in no particular order, to the
+     *  store arrays.  distanceSqStore may be null.  Returns the number of
+     *  points within the radius.  If there are more than indexStore.length
+     *  points then only the first indexStore.length are written, so callers
+     *  can size bigger arrays from the return value and try again.
+     */
+    public int findWithin( double x, double y, double z, double radius,
+                           int[] indexStore, double[] distanceSqStore ) {
+        if( distanceSqStore != null && distanceSqStore.length < indexStore.length ) {
+            throw new IllegalArgumentException("distanceSqStore is smaller than indexStore");
+        }
+        return searchWithin(0, size, x, y, z, radius * radius, 0, indexStore, distanceSqStore);
+    }
+
+    private int searchWithin( int lo, int hi, double x, double y, double z, double radiusSq,
+                              int found, int[] indexStore, double[] distanceSqStore ) {
+        while( lo < hi ) {
+            int mid = (lo + hi) >>> 1;
+            int c = mid * 3;
+            double dx = x - coords[c];
+            double dy = y - coords[c + 1];
+            double dz = z - coords[c + 2];
+            double d = dx * dx + dy * dy + dz * dz;
+            if( d <= radiusSq ) {
+                if( found < indexStore.length ) {
+                    indexStore[found] = indexes[mid];
+                    if( distanceSqStore != null ) {
+                        distanceSqStore[found] = d;
+                    }
+                }
+                found++;
+            }
+            int axis = axes[mid];
+            double diff = axis == 0 ? dx : axis == 1 ? dy : dz;
+            if( diff * diff <= radiusSq ) {
+                // The sphere crosses the split so both sides are needed
+                found = searchWithin(lo, mid, x, y, z, radiusSq, found, indexStore, distanceSqStore);
+                lo = mid + 1;
+            } else if( diff < 0 ) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     *  Adds an entry to a max heap of the first size entries.
+     */
+    private static void add( int[] heap, double[] keys, int size, int value, double key ) {
+        int i = size;
+        while( i > 0 ) {
+            int parent = (i - 1) >> 1;
+            if( keys[parent] >= key ) {
+                break;
+            }
+            heap[i] = heap[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        heap[i] = value;
+        keys[i] = key;
+    }
+
+    /**
+     *  Replaces the top entry of a max heap of size entries.
+     */
+    private static void replaceTop( int[] heap, double[] keys, int size, int value, double key ) {
+        int i = 0;
+        while( true ) {
+            int child = i * 2 + 1;
+            if( child >= size ) {
+                break;
+            }
+            if( child + 1 < size && keys[child + 1] > keys[child] ) {
+                child++;
+            }
+            if( keys[child] <= key ) {
+                break;
+            }
+            heap[i] = heap[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        heap[i] = value;
+        keys[i] = key;
+    }
+
+    /**
+     *  Builds the subtree for [lo, hi) on the calling thread.
+     */
+    private void build( int lo, int hi ) {
+        while( hi - lo > 1 ) {
+            int mid = split(lo, hi);
+            build(lo, mid);
+            lo = mid + 1;
+        }
+    }
+
+    /**
+     *  Picks the split axis for [lo, hi), moves the median point along that
+     *  axis to the middle of the range with everything lower before it, and
+     *  returns the middle.
+     */
+    private int split( int lo, int hi ) {
+        double xMin = Double.POSITIVE_INFINITY;
+        double yMin = Double.POSITIVE_INFINITY;
+        double zMin = Double.POSITIVE_INFINITY;
+        double xMax = Double.NEGATIVE_INFINITY;
+        double yMax = Double.NEGATIVE_INFINITY;
+        double zMax = Double.NEGATIVE_INFINITY;
+        for( int i = lo * 3; i < hi * 3; i += 3 ) {
+            xMin = Math.min(xMin, coords[i]);
+            xMax = Math.max(xMax, coords[i]);
+            yMin = Math.min(yMin, coords[i + 1]);
+            yMax = Math.max(yMax, coords[i + 1]);
+            zMin = Math.min(zMin, coords[i + 2]);
+            zMax = Math.max(zMax, coords[i + 2]);
+        }
+        double xSpread = xMax - xMin;
+        double ySpread = yMax - yMin;
+        double zSpread = zMax - zMin;
+        int axis = xSpread >= ySpread ? (xSpread >= zSpread ? 0 : 2) : (ySpread >= zSpread ? 1 : 2);
+
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, axis);
+        axes[mid] = (byte)axis;
+        return mid;
+    }
+
+    /**
+     *  Quickselect: reorders [left, right] so that the point at k is the one
+     *  that would be there if the range were sorted along the axis.
+     */
+    private void select( int left, int right, int k, int axis ) {
+        while( right > left ) {
+            // Median of three pivot guards against sorted input
+            int mid = (left + right) >>> 1;
+            if( value(mid, axis) < value(left, axis) ) {
+                swap(mid, left);
+            }
+            if( value(right, axis) < value(left, axis) ) {
+                swap(right, left);
+            }
+            if( value(right, axis) < value(mid, axis) ) {
+                swap(right, mid);
+            }
+            double pivot = value(mid, axis);
+            int i = left;
+            int j = right;
+            while( i <= j ) {
+                while( value(i, axis) < pivot ) {
+                    i++;
+                }
+                while( value(j, axis) > pivot ) {
+                    j--;
+                }
+                if( i <= j ) {
+                    swap(i++, j--);
+                }
+            }
+            if( k <= j ) {
+                right = j;
+            } else if( k >= i ) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double value( int i, int axis ) {
+        return coords[i * 3 + axis];
+    }
+
+    private void swap( int i, int j ) {
+        int a = i * 3;
+        int b = j * 3;
+        for( int n = 0; n < 3; n++ ) {
+            double d = coords[a + n];
+            coords[a + n] = coords[b + n];
+            coords[b + n] = d;
+        }
+        int index = indexes[i];
+        indexes[i] = indexes[j];
+        indexes[j] = index;
+    }
+
+    @Override
+    public String toString() {
+        return "KdTree[size=" + size + "]";
+    }
+
+    private class BuildTask extends RecursiveAction {
+        static final long serialVersionUID = 42L;
+
+        private final int lo;
+        private final int hi;
+
+        public BuildTask( int lo, int hi ) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if( hi - lo < PARALLEL_THRESHOLD ) {
+                build(lo, hi);
+                return;
+            }
+            int mid = split(lo, hi);
+            invokeAll(new BuildTask(lo, mid), new BuildTask(mid + 1, hi));
+        }
+    }
+}
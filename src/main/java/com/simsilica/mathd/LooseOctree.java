@@ -0,0 +1,873 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import java.util.Arrays;
+
+/**
+ *  A loose octree of objects with AaBBox bounds.  Unlike Grid, which
+ *  divides all of space evenly, an octree only creates nodes where there
+ *  are objects so sparse worlds with large empty regions stay small.
+ *  <p>
+ *  Each node's "loose" bounds are twice the size of its cell, so an object
+ *  can always be placed in the node at the depth that matches its size
+ *  whose cell contains the object's center.  An object is never split
+ *  across nodes and moving it only means relinking it to a different node,
+ *  which makes loose octrees a good fit for dynamic objects.  Objects whose
+ *  centers are outside of the octree's bounds are kept in the root node.
+ *  <p>
+ *  Objects are identified by int handles and carry a long user ID.  Nodes
+ *  and objects are kept in pooled primitive arrays: nodes are created in
+ *  blocks of eight children as objects need them and returned to the pool
+ *  when their part of the tree empties out.
+ *  <p>
+ *  This class is not thread safe and the visitors passed to the query
+ *  methods must not query or modify the octree that is calling them.
+ *
+ *  @author    Paul Speed
+ */
+public class LooseOctree {
+
+    private static final int NULL = -1;
+
+    private final Vec3d center;
+    private final double halfSize;
+    private final int maxDepth;
+
+    // The half size of the cells at each depth
+    private final double[] halfSizes;
+
+    // Node pool, node 0 is the root and the rest are allocated in
+    // blocks of eight siblings
+    private int nodeCapacity;
+    private int nodeCount = 1;
+    private int freeBlock = NULL;
+    private double[] nodeCenters;
+    private int[] nodeDepth;
+    private int[] nodeParent;
+    private int[] nodeChildren;
+    private int[] nodeHead;
+
+    // The number of objects in each node and all of its descendants
+    private int[] nodeSize;
+
+    // Object pool
+    private int objectCapacity;
+    private int size;
+    private int freeObject = NULL;
+    private double[] bounds;
+    private long[] userIds;
+    private int[] objectNode;
+    private int[] objectNext;
+    private int[] objectPrev;
+
+    private int[] stack = new int[64];
+    private boolean querying;
+
+    // Search heaps used by findNearest()
+    private int[] nodeHeap = new int[64];
+    private double[] nodeHeapKeys = new double[64];
+
+    /**
+     *  Creates an octree covering the cube of the specified half size around
+     *  the specified center.  Nodes are subdivided down to maxDepth, where
+     *  the cells at that depth have a half size of halfSize / 2^maxDepth.
+     */
+    public LooseOctree( Vec3d center, double halfSize, int maxDepth ) {
+        if( !(halfSize > 0) ) {
+            throw new IllegalArgumentException("Invalid half size:" + halfSize);
+        }
+        if( maxDepth < 0 || maxDepth > 20 ) {
+            throw new IllegalArgumentException("Max depth must be between 0 and 20:" + maxDepth);
+        }
+        this.center = center.clone();
+        this.halfSize = halfSize;
+        this.maxDepth = maxDepth;
+        this.halfSizes = new double[maxDepth + 1];
+        for( int i = 0; i <= maxDepth; i++ ) {
+            halfSizes[i] = halfSize / (1 << i);
+        }
+        allocateNodes(9);
+        nodeCenters[0] = center.x;
+        nodeCenters[1] = center.y;
+        nodeCenters[2] = center.z;
+        nodeDepth[0] = 0;
+        nodeParent[0] = NULL;
+        nodeChildren[0] = NULL;
+        nodeHead[0] = NULL;
+        allocateObjects(16);
+    }
+
+    public Vec3d getCenter() {
+        return center.clone();
+    }
+
+    public double getHalfSize() {
+        return halfSize;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     *  Returns the number of objects in the octree.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     *  Returns the number of nodes currently in use, including the root.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     *  Adds an object with the specified bounds and returns its handle.
+     *  The bounds are copied.
+     */
+    public int insert( AaBBox box, long userId ) {
+        checkModify();
+        if( freeObject == NULL ) {
+            allocateObjects(objectCapacity * 2);
+        }
+        int handle = freeObject;
+        freeObject = objectNext[handle];
+        setBounds(handle, box);
+        userIds[handle] = userId;
+        link(handle, findNode(handle));
+        size++;
+        return handle;
+    }
+
+    /**
+     *  Moves the object to new bounds.  If the object still belongs in the
+     *  same node then only its bounds are changed.
+     */
+    public void update( int handle, AaBBox box ) {
+        checkHandle(handle);
+        checkModify();
+        setBounds(handle, box);
+        int node = objectNode[handle];
+        int target = findNode(handle);
+        if( target != node ) {
+            unlink(handle);
+            link(handle, target);
+            prune(node);
+        }
+    }
+
+    /**
+     *  Removes the object.  The handle may be reused by a later insert().
+     */
+    public void remove( int handle ) {
+        checkHandle(handle);
+        checkModify();
+        int node = objectNode[handle];
+        unlink(handle);
+        prune(node);
+        objectNode[handle] = NULL;
+        objectNext[handle] = freeObject;
+        freeObject = handle;
+        size--;
+    }
+
+    public long getUserId( int handle ) {
+        checkHandle(handle);
+        return userIds[handle];
+    }
+
+    /**
+     *  Stores the bounds of the specified object in store, creating a new
+     *  AaBBox if store is null.
+     */
+    public AaBBox getBounds( int handle, AaBBox store ) {
+        checkHandle(handle);
+        if( store == null ) {
+            store = new AaBBox();
+        }
+        int b = handle * 6;
+        store.getMin().set(bounds[b], bounds[b + 1], bounds[b + 2]);
+        store.getMax().set(bounds[b + 3], bounds[b + 4], bounds[b + 5]);
+        return store;
+    }
+
+    /**
+     *  Calls the visitor for every object whose bounds overlap the specified
+     *  box.  Returns false if the visitor stopped the query early.
+     */
+    public boolean query( AaBBox box, LooseOctreeVisitor visitor ) {
+        Vec3d min = box.getMin();
+        Vec3d max = box.getMax();
+        return queryBox(min.x, min.y, min.z, max.x, max.y, max.z, visitor);
+    }
+
+    private boolean queryBox( double xMin, double yMin, double zMin,
+                              double xMax, double yMax, double zMax,
+                              LooseOctreeVisitor visitor ) {
+        startQuery();
+        try {
+            int top = push(0, 0);
+            while( top > 0 ) {
+                int node = stack[--top];
+                if( node != 0 && !looseOverlaps(node, xMin, yMin, zMin, xMax, yMax, zMax) ) {
+                    continue;
+                }
+                for( int obj = nodeHead[node]; obj != NULL; obj = objectNext[obj] ) {
+                    int b = obj * 6;
+                    if( bounds[b] <= xMax && bounds[b + 3] >= xMin
+                        && bounds[b + 1] <= yMax && bounds[b + 4] >= yMin
+                        && bounds[b + 2] <= zMax && bounds[b + 5] >= zMin ) {
+                        if( !visitor.visitObject(obj, userIds[obj]) ) {
+                            return false;
+                        }
+                    }
+                }
+                top = pushChildren(top, node);
+            }
+            return true;
+        } finally {
+            querying = false;
+        }
+    }
+
+    /**
+     *  Calls the visitor for every object whose bounds overlap the specified
+     *  sphere.  Returns false if the visitor stopped the query early.
+     */
+    public boolean query( Vec3d sphereCenter, double radius, LooseOctreeVisitor visitor ) {
+        double x = sphereCenter.x;
+        double y = sphereCenter.y;
+        double z = sphereCenter.z;
+        double radiusSq = radius * radius;
+        startQuery();
+        try {
+            int top = push(0, 0);
+            while( top > 0 ) {
+                int node = stack[--top];
+                if( node != 0 && looseDistanceSq(node, x, y, z) > radiusSq ) {
+                    continue;
+                }
+                for( int obj = nodeHead[node]; obj != NULL; obj = objectNext[obj] ) {
+                    if( distanceSq(obj, x, y, z) <= radiusSq ) {
+                        if( !visitor.visitObject(obj, userIds[obj]) ) {
+                            return false;
+                        }
+                    }
+                }
+                top = pushChildren(top, node);
+            }
+            return true;
+        } finally {
+            querying = false;
+        }
+    }
+
+    /**
+     *  Calls the visitor for every object whose bounds are at least partly
+     *  inside the specified frustum.  Returns false if the visitor stopped
+     *  the query early.
+     */
+    public boolean query( Frustumd frustum, LooseOctreeVisitor visitor ) {
+        return query(frustum.planes(), Frustumd.PLANE_COUNT, visitor);
+    }
+
+    /**
+     *  Calls the visitor for every object whose bounds are at least partly
+     *  inside the convex volume formed by the specified planes, for example,
+     *  the six planes of a view frustum.  Each plane is four consecutive
+     *  values a, b, c, d in the planes array where a point is inside the
+     *  plane when a * x + b * y + c * z + d &gt;= 0.  Returns false if the
+     *  visitor stopped the query early.
+     */
+    public boolean query( double[] planes, int planeCount, LooseOctreeVisitor visitor ) {
+        if( planes.length < planeCount * 4 ) {
+            throw new IllegalArgumentException("Too few plane values:" + planes.length);
+        }
+        startQuery();
+        try {
+            int top = push(0, 0);
+            while( top > 0 ) {
+                int node = stack[--top];
+                if( node != 0 ) {
+                    int c = node * 3;
+                    double loose = halfSizes[nodeDepth[node]] * 2;
+                    if( !insidePlanes(planes, planeCount,
+                                      nodeCenters[c] - loose, nodeCenters[c + 1] - loose, nodeCenters[c + 2] - loose,
+                                      nodeCenters[c] + loose, nodeCenters[c + 1] + loose, nodeCenters[c + 2] + loose) ) {
+                        continue;
+                    }
+                }
+                for( int obj = nodeHead[node]; obj != NULL; obj = objectNext[obj] ) {
+                    int b = obj * 6;
+                    if( insidePlanes(planes, planeCount,
+                                     bounds[b], bounds[b + 1], bounds[b + 2],
+                                     bounds[b + 3], bounds[b + 4], bounds[b + 5]) ) {
+                        if( !visitor.visitObject(obj, userIds[obj]) ) {
+                            return false;
+                        }
+                    }
+                }
+                top = pushChildren(top, node);
+            }
+            return true;
+        } finally {
+            querying = false;
+        }
+    }
+
+    /**
+     *  Calls the visitor for every object whose bounds the ray enters within
+     *  maxDistance.  The visitor's return value clips the ray so that a
+     *  nearest hit search can skip everything behind the nearest hit found
+     *  so far.  Returns false if the visitor stopped the raycast by returning
+     *  0.
+     */
+    public boolean raycast( Rayd ray, double maxDistance, LooseOctreeRayVisitor visitor ) {
+        if( !(maxDistance > 0) ) {
+            throw new IllegalArgumentException("Invalid max distance:" + maxDistance);
+        }
+        Vec3d origin = ray.getOrigin();
+        Vec3d dir = ray.getDirection();
+        startQuery();
+        try {
+            int top = push(0, 0);
+            while( top > 0 ) {
+                int node = stack[--top];
+                if( node != 0 ) {
+                    int c = node * 3;
+                    double loose = halfSizes[nodeDepth[node]] * 2;
+                    if( rayEntry(origin, dir, maxDistance,
+                                 nodeCenters[c] - loose, nodeCenters[c + 1] - loose, nodeCenters[c + 2] - loose,
+                                 nodeCenters[c] + loose, nodeCenters[c + 1] + loose, nodeCenters[c + 2] + loose) < 0 ) {
+                        continue;
+                    }
+                }
+                for( int obj = nodeHead[node]; obj != NULL; obj = objectNext[obj] ) {
+                    int b = obj * 6;
+                    double entry = rayEntry(origin, dir, maxDistance,
+                                            bounds[b], bounds[b + 1], bounds[b + 2],
+                                            bounds[b + 3], bounds[b + 4], bounds[b + 5]);
+                    if( entry >= 0 ) {
+                        maxDistance = visitor.visitObject(obj, userIds[obj], entry, maxDistance);
+                        if( !(maxDistance > 0) ) {
+                            return false;
+                        }
+                    }
+                }
+                top = pushChildren(top, node);
+            }
+            return true;
+        } finally {
+            querying = false;
+        }
+    }
+
+    /**
+     *  Finds the k objects whose bounds are nearest to the specified point
+     *  and no farther than maxDistance, writing their handles and squared
+     *  distances to the store arrays nearest first.  Points inside an
+     *  object's bounds are distance 0 from it.  Returns the number of objects
+     *  found which is at most k.  The store arrays must have room for k
+     *  values.
+     */
+    public int findNearest( Vec3d point, int k, double maxDistance, int[] handleStore, double[] distanceSqStore ) {
+        if( handleStore.length < k || distanceSqStore.length < k ) {
+            throw new IllegalArgumentException("Store arrays are smaller than k:" + k);
+        }
+        if( k <= 0 ) {
+            return 0;
+        }
+        double x = point.x;
+        double y = point.y;
+        double z = point.z;
+        double limit = maxDistance * maxDistance;
+        startQuery();
+        try {
+            // Best first search: nodes come off the node heap nearest first
+            // and the results are kept in a max heap in the store arrays so
+            // the current kth nearest is always at index 0
+            int found = 0;
+            int nodes = 0;
+            nodes = pushNode(nodes, 0, 0);
+            while( nodes > 0 ) {
+                double nodeDistance = nodeHeapKeys[0];
+                int node = nodeHeap[0];
+                nodes = popNode(nodes);
+                if( nodeDistance > limit || (found == k && nodeDistance >= distanceSqStore[0]) ) {
+                    break;
+                }
+                for( int obj = nodeHead[node]; obj != NULL; obj = objectNext[obj] ) {
+                    double d = distanceSq(obj, x, y, z);
+                    if( d > limit ) {
+                        continue;
+                    }
+                    if( found < k ) {
+                        siftUp(handleStore, distanceSqStore, found++, obj, d);
+                    } else if( d < distanceSqStore[0] ) {
+                        siftDown(handleStore, distanceSqStore, found, obj, d);
+                    }
+                }
+                int children = nodeChildren[node];
+                if( children != NULL ) {
+                    for( int child = children; child < children + 8; child++ ) {
+                        if( nodeSize[child] > 0 ) {
+                            nodes = pushNode(nodes, child, looseDistanceSq(child, x, y, z));
+                        }
+                    }
+                }
+            }
+
+            // Turn the max heap into a nearest first list
+            for( int last = found - 1; last > 0; last-- ) {
+                int handle = handleStore[0];
+                double d = distanceSqStore[0];
+                siftDown(handleStore, distanceSqStore, last, handleStore[last], distanceSqStore[last]);
+                handleStore[last] = handle;
+                distanceSqStore[last] = d;
+            }
+            return found;
+        } finally {
+            querying = false;
+        }
+    }
+
+    /**
+     *  Adds an entry to a max heap of the first size entries.
+     */
+    private static void siftUp( int[] handles, double[] keys, int size, int handle, double key ) {
+        int i = size;
+        while( i > 0 ) {
+            int parent = (i - 1) >> 1;
+            if( keys[parent] >= key ) {
+                break;
+            }
+            handles[i] = handles[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        handles[i] = handle;
+        keys[i] = key;
+    }
+
+    /**
+     *  Replaces the top entry of a max heap of size entries with the
+     *  specified entry.
+     */
+    private static void siftDown( int[] handles, double[] keys, int size, int handle, double key ) {
+        int i = 0;
+        while( true ) {
+            int child = i * 2 + 1;
+            if( child >= size ) {
+                break;
+            }
+            if( child + 1 < size && keys[child + 1] > keys[child] ) {
+                child++;
+            }
+            if( keys[child] <= key ) {
+                break;
+            }
+            handles[i] = handles[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        handles[i] = handle;
+        keys[i] = key;
+    }
+
+    /**
+     *  Adds a node to the min heap of nodes to search.
+     */
+    private int pushNode( int size, int node, double key ) {
+        if( size == nodeHeap.length ) {
+            nodeHeap = Arrays.copyOf(nodeHeap, size * 2);
+            nodeHeapKeys = Arrays.copyOf(nodeHeapKeys, size * 2);
+        }
+        int i = size;
+        while( i > 0 ) {
+            int parent = (i - 1) >> 1;
+            if( nodeHeapKeys[parent] <= key ) {
+                break;
+            }
+            nodeHeap[i] = nodeHeap[parent];
+            nodeHeapKeys[i] = nodeHeapKeys[parent];
+            i = parent;
+        }
+        nodeHeap[i] = node;
+        nodeHeapKeys[i] = key;
+        return size + 1;
+    }
+
+    /**
+     *  Removes the nearest node from the min heap of nodes to search.
+     */
+    private int popNode( int size ) {
+        size--;
+        int node = nodeHeap[size];
+        double key = nodeHeapKeys[size];
+        int i = 0;
+        while( true ) {
+            int child = i * 2 + 1;
+            if( child >= size ) {
+                break;
+            }
+            if( child + 1 < size && nodeHeapKeys[child + 1] < nodeHeapKeys[child] ) {
+                child++;
+            }
+            if( nodeHeapKeys[child] >= key ) {
+                break;
+            }
+            nodeHeap[i] = nodeHeap[child];
+            nodeHeapKeys[i] = nodeHeapKeys[child];
+            i = child;
+        }
+        nodeHeap[i] = node;
+        nodeHeapKeys[i] = key;
+        return size;
+    }
+
+    private static boolean insidePlanes( double[] planes, int planeCount,
+                                         double xMin, double yMin, double zMin,
+                                         double xMax, double yMax, double zMax ) {
+        for( int i = 0; i < planeCount; i++ ) {
+            int p = i * 4;
+            double a = planes[p];
+            double b = planes[p + 1];
+            double c = planes[p + 2];
+
+            // The corner farthest along the plane normal
+            double x = a >= 0 ? xMax : xMin;
+            double y = b >= 0 ? yMax : yMin;
+            double z = c >= 0 ? zMax : zMin;
+            if( a * x + b * y + c * z + planes[p + 3] < 0 ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *  Returns the distance along the ray where it enters the box or -1 if
+     *  it misses the box within maxDistance.
+     */
+    private static double rayEntry( Vec3d origin, Vec3d dir, double maxDistance,
+                                    double xMin, double yMin, double zMin,
+                                    double xMax, double yMax, double zMax ) {
+        double near = 0;
+        double far = maxDistance;
+        if( dir.x == 0 ) {
+            if( origin.x < xMin || origin.x > xMax ) {
+                return -1;
+            }
+        } else {
+            double t1 = (xMin - origin.x) / dir.x;
+            double t2 = (xMax - origin.x) / dir.x;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        if( dir.y == 0 ) {
+            if( origin.y < yMin || origin.y > yMax ) {
+                return -1;
+            }
+        } else {
+            double t1 = (yMin - origin.y) / dir.y;
+            double t2 = (yMax - origin.y) / dir.y;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        if( dir.z == 0 ) {
+            if( origin.z < zMin || origin.z > zMax ) {
+                return -1;
+            }
+        } else {
+            double t1 = (zMin - origin.z) / dir.z;
+            double t2 = (zMax - origin.z) / dir.z;
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        return near <= far ? near : -1;
+    }
+
+    private double distanceSq( int obj, double x, double y, double z ) {
+        int b = obj * 6;
+        double dx = Math.max(0, Math.max(bounds[b] - x, x - bounds[b + 3]));
+        double dy = Math.max(0, Math.max(bounds[b + 1] - y, y - bounds[b + 4]));
+        double dz = Math.max(0, Math.max(bounds[b + 2] - z, z - bounds[b + 5]));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private double looseDistanceSq( int node, double x, double y, double z ) {
+        if( node == 0 ) {
+            // The root can hold objects outside of its bounds
+            return 0;
+        }
+        int c = node * 3;
+        double loose = halfSizes[nodeDepth[node]] * 2;
+        double dx = Math.max(0, Math.abs(x - nodeCenters[c]) - loose);
+        double dy = Math.max(0, Math.abs(y - nodeCenters[c + 1]) - loose);
+        double dz = Math.max(0, Math.abs(z - nodeCenters[c + 2]) - loose);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private boolean looseOverlaps( int node, double xMin, double yMin, double zMin,
+                                   double xMax, double yMax, double zMax ) {
+        int c = node * 3;
+        double loose = halfSizes[nodeDepth[node]] * 2;
+        return nodeCenters[c] - loose <= xMax && nodeCenters[c] + loose >= xMin
+            && nodeCenters[c + 1] - loose <= yMax && nodeCenters[c + 1] + loose >= yMin
+            && nodeCenters[c + 2] - loose <= zMax && nodeCenters[c + 2] + loose >= zMin;
+    }
+
+    private void startQuery() {
+        if( querying ) {
+            throw new IllegalStateException("Octree cannot be queried from inside a visitor");
+        }
+        querying = true;
+    }
+
+    private void checkModify() {
+        if( querying ) {
+            throw new IllegalStateException("Octree cannot be modified from inside a visitor");
+        }
+    }
+
+    private void checkHandle( int handle ) {
+        if( handle < 0 || handle >= objectCapacity || objectNode[handle] == NULL ) {
+            throw new IllegalArgumentException("Invalid handle:" + handle);
+        }
+    }
+
+    private int push( int top, int node ) {
+        if( top == stack.length ) {
+            stack = Arrays.copyOf(stack, top * 2);
+        }
+        stack[top] = node;
+        return top + 1;
+    }
+
+    private int pushChildren( int top, int node ) {
+        int children = nodeChildren[node];
+        if( children == NULL ) {
+            return top;
+        }
+        for( int child = children; child < children + 8; child++ ) {
+            if( nodeSize[child] > 0 ) {
+                top = push(top, child);
+            }
+        }
+        return top;
+    }
+
+    private void setBounds( int handle, AaBBox box ) {
+        Vec3d min = box.getMin();
+        Vec3d max = box.getMax();
+        int b = handle * 6;
+        bounds[b] = min.x;
+        bounds[b + 1] = min.y;
+        bounds[b + 2] = min.z;
+        bounds[b + 3] = max.x;
+        bounds[b + 4] = max.y;
+        bounds[b + 5] = max.z;
+    }
+
+    /**
+     *  Returns the node that the object belongs in, creating nodes as needed.
+     */
+    private int findNode( int handle ) {
+        int b = handle * 6;
+        double x = (bounds[b] + bounds[b + 3]) * 0.5;
+        double y = (bounds[b + 1] + bounds[b + 4]) * 0.5;
+        double z = (bounds[b + 2] + bounds[b + 5]) * 0.5;
+        double extent = Math.max(bounds[b + 3] - bounds[b],
+                                 Math.max(bounds[b + 4] - bounds[b + 1], bounds[b + 5] - bounds[b + 2])) * 0.5;
+        if( !(Math.abs(x - center.x) <= halfSize && Math.abs(y - center.y) <= halfSize
+              && Math.abs(z - center.z) <= halfSize) ) {
+            // Also keeps objects with NaN bounds in the root
+            return 0;
+        }
+
+        // The deepest level where the object is no bigger than a cell
+        // and so fits in the loose bounds around any point in the cell
+        int node = 0;
+        for( int depth = 1; depth <= maxDepth && extent <= halfSizes[depth]; depth++ ) {
+            if( nodeChildren[node] == NULL ) {
+                createChildren(node);
+            }
+            int c = node * 3;
+            int octant = (x >= nodeCenters[c] ? 1 : 0)
+                       | (y >= nodeCenters[c + 1] ? 2 : 0)
+                       | (z >= nodeCenters[c + 2] ? 4 : 0);
+            node = nodeChildren[node] + octant;
+        }
+        return node;
+    }
+
+    private void createChildren( int node ) {
+        if( freeBlock == NULL ) {
+            allocateNodes(nodeCapacity * 2);
+        }
+        int block = freeBlock;
+        freeBlock = nodeParent[block];
+        int depth = nodeDepth[node] + 1;
+        double half = halfSizes[depth];
+        int c = node * 3;
+        for( int i = 0; i < 8; i++ ) {
+            int child = block + i;
+            int cc = child * 3;
+            nodeCenters[cc] = nodeCenters[c] + ((i & 1) != 0 ? half : -half);
+            nodeCenters[cc + 1] = nodeCenters[c + 1] + ((i & 2) != 0 ? half : -half);
+            nodeCenters[cc + 2] = nodeCenters[c + 2] + ((i & 4) != 0 ? half : -half);
+            nodeDepth[child] = depth;
+            nodeParent[child] = node;
+            nodeChildren[child] = NULL;
+            nodeHead[child] = NULL;
+            nodeSize[child] = 0;
+        }
+        nodeChildren[node] = block;
+        nodeCount += 8;
+    }
+
+    private void link( int handle, int node ) {
+        int head = nodeHead[node];
+        objectNext[handle] = head;
+        objectPrev[handle] = NULL;
+        if( head != NULL ) {
+            objectPrev[head] = handle;
+        }
+        nodeHead[node] = handle;
+        objectNode[handle] = node;
+        for( int n = node; n != NULL; n = nodeParent[n] ) {
+            nodeSize[n]++;
+        }
+    }
+
+    private void unlink( int handle ) {
+        int node = objectNode[handle];
+        int next = objectNext[handle];
+        int prev = objectPrev[handle];
+        if( prev == NULL ) {
+            nodeHead[node] = next;
+        } else {
+            objectNext[prev] = next;
+        }
+        if( next != NULL ) {
+            objectPrev[next] = prev;
+        }
+        for( int n = node; n != NULL; n = nodeParent[n] ) {
+            nodeSize[n]--;
+        }
+    }
+
+    /**
+     *  Returns the child blocks of any empty nodes from the specified node
+     *  up to the root back to the pool.
+     */
+    private void prune( int node ) {
+        for( int n = node; n != NULL; n = nodeParent[n] ) {
+            if( nodeSize[n] > 0 ) {
+                break;
+            }
+            int block = nodeChildren[n];
+            if( block != NULL ) {
+                // Everything below an empty node is already empty and pruned
+                nodeParent[block] = freeBlock;
+                freeBlock = block;
+                nodeChildren[n] = NULL;
+                nodeCount -= 8;
+            }
+        }
+    }
+
+    private void allocateNodes( int capacity ) {
+        // Node 0 is the root and blocks of 8 start at 1
+        int blocks = (capacity - 1) / 8;
+        capacity = blocks * 8 + 1;
+        int old = nodeCapacity;
+        if( old == 0 ) {
+            nodeCenters = new double[capacity * 3];
+            nodeDepth = new int[capacity];
+            nodeParent = new int[capacity];
+            nodeChildren = new int[capacity];
+            nodeHead = new int[capacity];
+            nodeSize = new int[capacity];
+            old = 1;
+        } else {
+            nodeCenters = Arrays.copyOf(nodeCenters, capacity * 3);
+            nodeDepth = Arrays.copyOf(nodeDepth, capacity);
+            nodeParent = Arrays.copyOf(nodeParent, capacity);
+            nodeChildren = Arrays.copyOf(nodeChildren, capacity);
+            nodeHead = Arrays.copyOf(nodeHead, capacity);
+            nodeSize = Arrays.copyOf(nodeSize, capacity);
+        }
+        nodeCapacity = capacity;
+        for( int block = capacity - 8; block >= old; block -= 8 ) {
+            nodeParent[block] = freeBlock;
+            freeBlock = block;
+        }
+    }
+
+    private void allocateObjects( int capacity ) {
+        int old = objectCapacity;
+        if( old == 0 ) {
+            bounds = new double[capacity * 6];
+            userIds = new long[capacity];
+            objectNode = new int[capacity];
+            objectNext = new int[capacity];
+            objectPrev = new int[capacity];
+        } else {
+            bounds = Arrays.copyOf(bounds, capacity * 6);
+            userIds = Arrays.copyOf(userIds, capacity);
+            objectNode = Arrays.copyOf(objectNode, capacity);
+            objectNext = Arrays.copyOf(objectNext, capacity);
+            objectPrev = Arrays.copyOf(objectPrev, capacity);
+        }
+        objectCapacity = capacity;
+        for( int i = capacity - 1; i >= old; i-- ) {
+            objectNode[i] = NULL;
+            objectNext[i] = freeObject;
+            freeObject = i;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LooseOctree[center=" + center + ", halfSize=" + halfSize + ", maxDepth=" + maxDepth
+                + ", size=" + size + ", nodes=" + nodeCount + "]";
+    }
+}
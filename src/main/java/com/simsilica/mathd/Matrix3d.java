@@ -154,6 +154,35 @@ public class Matrix3d implements Cloneable, java.io.Serializable {
         return this;
     }
  
+    /**
+     * Sets all elements of the current instance to the specified values.
+     *
+     * @param m00 the desired value for row 0, column 0
+     * @param m01 the desired value for row 0, column 1
+     * @param m02 the desired value for row 0, column 2
+     * @param m10 the desired value for row 1, column 0
+     * @param m11 the desired value for row 1, column 1
+     * @param m12 the desired value for row 1, column 2
+     * @param m20 the desired value for row 2, column 0
+     * @param m21 the desired value for row 2, column 1
+     * @param m22 the desired value for row 2, column 2
+     * @return the (modified) current instance (for chaining)
+     */
+    public Matrix3d set( double m00, double m01, double m02,
+                         double m10, double m11, double m12,
+                         double m20, double m21, double m22 ) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+        return this;
+    }
+
     /**
      * Configures the matrix as an identity matrix (diagonals = 1, other
      * elements = 0).
@@ -235,9 +264,29 @@ public class Matrix3d implements Cloneable, java.io.Serializable {
      * current instance is unaffected.
      *
      * @param mat the right factor (not null, unaffected)
-     * @return a new Vec3d
+     * @return a new Matrix3d
      */
     public Matrix3d mult( Matrix3d mat ) {
+        return mult(mat, null);
+    }
+
+    /**
+     * Multiplies by the first argument and returns the product in the 2nd
+     * argument. The current instance is unaffected, unless it's
+     * {@code result}.
+     * <p>
+     * It is safe for any or all of {@code mat}, {@code result}, and
+     * {@code this} to be the same object.
+     *
+     * @param mat the right factor (not null, unaffected unless it's
+     * {@code result})
+     * @param result storage for the product, or null for a new Matrix3d
+     * @return {@code this * mat} (either {@code result} or a new Matrix3d)
+     */
+    public Matrix3d mult( Matrix3d mat, Matrix3d result ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.mult(this, mat, result);
+        }
         double temp00 = m00 * mat.m00 + m01 * mat.m10 + m02 * mat.m20;
         double temp01 = m00 * mat.m01 + m01 * mat.m11 + m02 * mat.m21;
         double temp02 = m00 * mat.m02 + m01 * mat.m12 + m02 * mat.m22;
@@ -247,10 +296,15 @@ public class Matrix3d implements Cloneable, java.io.Serializable {
         double temp20 = m20 * mat.m00 + m21 * mat.m10 + m22 * mat.m20;
         double temp21 = m20 * mat.m01 + m21 * mat.m11 + m22 * mat.m21;
         double temp22 = m20 * mat.m02 + m21 * mat.m12 + m22 * mat.m22;
-        
-        return new Matrix3d( temp00, temp01, temp02,
-                             temp10, temp11, temp12,
-                             temp20, temp21, temp22 );
+
+        if( result == null ) {
+            return new Matrix3d( temp00, temp01, temp02,
+                                 temp10, temp11, temp12,
+                                 temp20, temp21, temp22 );
+        }
+        return result.set( temp00, temp01, temp02,
+                           temp10, temp11, temp12,
+                           temp20, temp21, temp22 );
     }
 
     /**
@@ -261,15 +315,92 @@ public class Matrix3d implements Cloneable, java.io.Serializable {
      * @return a new Vec3d
      */
     public Vec3d mult( Vec3d v ) {
+        return mult(v, null);
+    }
+
+    /**
+     * Multiplies by the specified column vector and returns the product in
+     * the 2nd argument. The current instance is unaffected.
+     * <p>
+     * It IS safe for {@code v} and {@code result} to be the same object.
+     *
+     * @param v the right factor (not null, unaffected unless it's
+     * {@code result})
+     * @param result storage for the product, or null for a new Vec3d
+     * @return the product (either {@code result} or a new Vec3d)
+     */
+    public Vec3d mult( Vec3d v, Vec3d result ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.mult(this, v, result);
+        }
         double x = v.x;
         double y = v.y;
         double z = v.z;
-        
+
         double xr = (m00 * x) + (m01 * y) + (m02 * z);
         double yr = (m10 * x) + (m11 * y) + (m12 * z);
         double zr = (m20 * x) + (m21 * y) + (m22 * z);
-        
-        return new Vec3d(xr,yr,zr);
+
+        if( result == null ) {
+            return new Vec3d(xr, yr, zr);
+        }
+        return result.set(xr, yr, zr);
+    }
+
+    /**
+     * Multiplies all of the tightly packed xyz column vectors in the source
+     * array and stores the products in the store array. The current instance
+     * is unaffected.
+     * <p>
+     * It IS safe for {@code src} and {@code store} to be the same array.
+     *
+     * @param src the packed vectors to multiply (not null, length a multiple
+     * of 3, unaffected unless it's {@code store})
+     * @param store storage for the products, or null for a new array
+     * @return the products (either {@code store} or a new array)
+     * @throws IllegalArgumentException if the length of {@code src} is not
+     * a multiple of 3
+     */
+    public double[] mult( double[] src, double[] store ) {
+        return mult(src, 0, 3, PackedArrays.packedCount("Source", src), store, 0);
+    }
+
+    /**
+     * Multiplies {@code count} xyz column vectors from the source array and
+     * stores the products in the store array. The current instance is
+     * unaffected.
+     * <p>
+     * It IS safe for {@code src} and {@code store} to be the same array as
+     * long as {@code srcOffset} and {@code storeOffset} are also the same.
+     *
+     * @param src the packed vectors to multiply (not null, unaffected unless
+     * it's {@code store})
+     * @param srcOffset the index of the first vector's X component in
+     * {@code src}
+     * @param stride the number of elements from the start of one vector to
+     * the start of the next in both arrays (&ge;3, 3 for tightly packed)
+     * @param count the number of vectors to multiply
+     * @param store storage for the products, or null for a new array
+     * @param storeOffset the index of the first product's X component in
+     * {@code store}
+     * @return the products (either {@code store} or a new array)
+     */
+    public double[] mult( double[] src, int srcOffset, int stride, int count,
+                          double[] store, int storeOffset ) {
+        PackedArrays.check("Source", src, srcOffset, stride, count);
+        store = PackedArrays.checkStore(store, storeOffset, stride, count);
+
+        int s = srcOffset;
+        int d = storeOffset;
+        for( int i = 0; i < count; i++, s += stride, d += stride ) {
+            double x = src[s];
+            double y = src[s + 1];
+            double z = src[s + 2];
+            store[d] = (m00 * x) + (m01 * y) + (m02 * z);
+            store[d + 1] = (m10 * x) + (m11 * y) + (m12 * z);
+            store[d + 2] = (m20 * x) + (m21 * y) + (m22 * z);
+        }
+        return store;
     }
 
     /**
@@ -282,27 +413,7 @@ public class Matrix3d implements Cloneable, java.io.Serializable {
      * @return the (modified) current instance (for chaining)
      */
     public Matrix3d multLocal( Matrix3d mat ) {
-        double temp00 = m00 * mat.m00 + m01 * mat.m10 + m02 * mat.m20;
-        double temp01 = m00 * mat.m01 + m01 * mat.m11 + m02 * mat.m21;
-        double temp02 = m00 * mat.m02 + m01 * mat.m12 + m02 * mat.m22;
-        double temp10 = m10 * mat.m00 + m11 * mat.m10 + m12 * mat.m20;
-        double temp11 = m10 * mat.m01 + m11 * mat.m11 + m12 * mat.m21;
-        double temp12 = m10 * mat.m02 + m11 * mat.m12 + m12 * mat.m22;
-        double temp20 = m20 * mat.m00 + m21 * mat.m10 + m22 * mat.m20;
-        double temp21 = m20 * mat.m01 + m21 * mat.m11 + m22 * mat.m21;
-        double temp22 = m20 * mat.m02 + m21 * mat.m12 + m22 * mat.m22;
-        
-        this.m00 = temp00;
-        this.m01 = temp01;
-        this.m02 = temp02;
-        this.m10 = temp10;
-        this.m11 = temp11;
-        this.m12 = temp12;
-        this.m20 = temp20;
-        this.m21 = temp21;
-        this.m22 = temp22;
-        
-        return this;
+        return mult(mat, this);
     }
     
     /**
@@ -345,10 +456,28 @@ public class Matrix3d implements Cloneable, java.io.Serializable {
      * @return a new Matrix3d
      */
     public Matrix3d invert() {
+        return invert(null);
+    }
+
+    /**
+     * Calculates the multiplicative inverse and returns it in the argument.
+     * If the current instance is singular, the result is set to identity.
+     * The current instance is unaffected, unless it's {@code result}.
+     * <p>
+     * It IS safe for {@code result} and {@code this} to be the same object.
+     *
+     * @param result storage for the inverse, or null for a new Matrix3d
+     * @return the inverse (either {@code result} or a new Matrix3d)
+     */
+    public Matrix3d invert( Matrix3d result ) {
+        if( result == null ) {
+            result = new Matrix3d();
+        }
         double d = determinant();
-        if( d == 0 )
-            return new Matrix3d(); // questionable
-        
+        if( d == 0 ) {
+            return result.makeIdentity(); // questionable
+        }
+
         double rm00 = m11 * m22 - m12 * m21;
         double rm01 = m02 * m21 - m01 * m22;
         double rm02 = m01 * m12 - m02 * m11;
@@ -358,14 +487,24 @@ public class Matrix3d implements Cloneable, java.io.Serializable {
         double rm20 = m10 * m21 - m11 * m20;
         double rm21 = m01 * m20 - m00 * m21;
         double rm22 = m00 * m11 - m01 * m10;
- 
+
         double s = 1.0 / d;
- 
-        return new Matrix3d( rm00 * s, rm01 * s, rm02 * s,
-                             rm10 * s, rm11 * s, rm12 * s,              
-                             rm20 * s, rm21 * s, rm22 * s );
+
+        return result.set( rm00 * s, rm01 * s, rm02 * s,
+                           rm10 * s, rm11 * s, rm12 * s,
+                           rm20 * s, rm21 * s, rm22 * s );
     }
-    
+
+    /**
+     * Inverts the current instance in place. If the current instance is
+     * singular, it is set to identity.
+     *
+     * @return the (modified) current instance (for chaining)
+     */
+    public Matrix3d invertLocal() {
+        return invert(this);
+    }
+
     /**
      * Returns the transpose. The current instance is unaffected.
      *
@@ -375,6 +514,31 @@ public class Matrix3d implements Cloneable, java.io.Serializable {
         return new Matrix3d( m00, m10, m20, m01, m11, m21, m02, m12, m22 );
     }
 
+    /**
+     * Calculates the transpose and returns it in the argument. The current
+     * instance is unaffected, unless it's {@code result}.
+     * <p>
+     * It IS safe for {@code result} and {@code this} to be the same object.
+     *
+     * @param result storage for the transpose, or null for a new Matrix3d
+     * @return the transpose (either {@code result} or a new Matrix3d)
+     */
+    public Matrix3d transpose( Matrix3d result ) {
+        if( result == null ) {
+            return transpose();
+        }
+        return result.set( m00, m10, m20, m01, m11, m21, m02, m12, m22 );
+    }
+
+    /**
+     * Transposes the current instance in place.
+     *
+     * @return the (modified) current instance (for chaining)
+     */
+    public Matrix3d transposeLocal() {
+        return transpose(this);
+    }
+
     public Matrix3d setSkewSymmetric( Vec3d v ) {
         m00 = 0; 
         m11 = 0; 
@@ -83,6 +83,57 @@ public class Matrix4d implements Cloneable, java.io.Serializable {
                             m30, m31, m32, m33);
     }
  
+    public Matrix4d set( Matrix4d mat ) {
+        return set(mat.m00, mat.m01, mat.m02, mat.m03,
+                   mat.m10, mat.m11, mat.m12, mat.m13,
+                   mat.m20, mat.m21, mat.m22, mat.m23,
+                   mat.m30, mat.m31, mat.m32, mat.m33);
+    }
+
+    /**
+     * Sets all elements of the current instance to the specified values.
+     *
+     * @param m00 the desired value for row 0, column 0
+     * @param m01 the desired value for row 0, column 1
+     * @param m02 the desired value for row 0, column 2
+     * @param m03 the desired value for row 0, column 3
+     * @param m10 the desired value for row 1, column 0
+     * @param m11 the desired value for row 1, column 1
+     * @param m12 the desired value for row 1, column 2
+     * @param m13 the desired value for row 1, column 3
+     * @param m20 the desired value for row 2, column 0
+     * @param m21 the desired value for row 2, column 1
+     * @param m22 the desired value for row 2, column 2
+     * @param m23 the desired value for row 2, column 3
+     * @param m30 the desired value for row 3, column 0
+     * @param m31 the desired value for row 3, column 1
+     * @param m32 the desired value for row 3, column 2
+     * @param m33 the desired value for row 3, column 3
+     * @return the (modified) current instance (for chaining)
+     */
+    public Matrix4d set( double m00, double m01, double m02, double m03,
+                         double m10, double m11, double m12, double m13,
+                         double m20, double m21, double m22, double m23, 
+                         double m30, double m31, double m32, double m33 ) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m03 = m03;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m13 = m13;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+        this.m23 = m23;
+        this.m30 = m30;
+        this.m31 = m31;
+        this.m32 = m32;
+        this.m33 = m33;
+        return this;
+    }
+ 
     public void makeIdentity() {
         m01 = m02 = m03 = 0;
         m10 = m12 = m13 = 0;
@@ -130,6 +181,19 @@ public class Matrix4d implements Cloneable, java.io.Serializable {
     }
    
     public Matrix4d mult( Matrix4d mat ) {
+        return mult(mat, null);
+    }
+
+    /**
+     *  Multiplies this matrix by the specified matrix and stores the
+     *  product in result, creating a new Matrix4d if result is null.
+     *  It is safe for any or all of mat, result, and this to be the same
+     *  object.
+     */
+    public Matrix4d mult( Matrix4d mat, Matrix4d result ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.mult(this, mat, result);
+        }
         double temp00 = m00 * mat.m00
                 + m01 * mat.m10
                 + m02 * mat.m20
@@ -198,13 +262,29 @@ public class Matrix4d implements Cloneable, java.io.Serializable {
                 + m32 * mat.m23
                 + m33 * mat.m33;
 
-        return new Matrix4d( temp00, temp01, temp02, temp03,
-                             temp10, temp11, temp12, temp13,
-                             temp20, temp21, temp22, temp23,
-                             temp30, temp31, temp32, temp33 );
+        if( result == null ) {
+            return new Matrix4d( temp00, temp01, temp02, temp03,
+                                 temp10, temp11, temp12, temp13,
+                                 temp20, temp21, temp22, temp23,
+                                 temp30, temp31, temp32, temp33 );
+        }
+        return result.set( temp00, temp01, temp02, temp03,
+                           temp10, temp11, temp12, temp13,
+                           temp20, temp21, temp22, temp23,
+                           temp30, temp31, temp32, temp33 );
+    }
+
+    /**
+     *  Multiplies this matrix by the specified matrix in place.
+     */
+    public Matrix4d multLocal( Matrix4d mat ) {
+        return mult(mat, this);
     }
     
     public Vec3d mult( Vec3d v ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.mult(this, v, null);
+        }
         double x = v.x;
         double y = v.y;
         double z = v.z;
@@ -219,6 +299,9 @@ public class Matrix4d implements Cloneable, java.io.Serializable {
     }
 
     public Vec3d mult( Vec3d v, Vec3d result ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.mult(this, v, result);
+        }
         double x = v.x;
         double y = v.y;
         double z = v.z;
@@ -237,6 +320,82 @@ public class Matrix4d implements Cloneable, java.io.Serializable {
         }
     }
 
+    /**
+     *  Transforms all of the tightly packed xyz points in the src array
+     *  and stores the results in the store array, creating a new array if
+     *  store is null.  It is safe for src and store to be the same array.
+     *
+     *  @throws IllegalArgumentException if the length of src is not a
+     *  multiple of 3.
+     */
+    public double[] multPoints( double[] src, double[] store ) {
+        return multPoints(src, 0, 3, PackedArrays.packedCount("Source", src), store, 0);
+    }
+
+    /**
+     *  Transforms count xyz points from the src array as positions
+     *  (ie: including translation) and stores the results in the store array
+     *  starting at storeOffset, creating a new array if store is null.  Stride
+     *  is the number of doubles from the start of one point to the start of the
+     *  next in both arrays, 3 for tightly packed points.  It is safe for src
+     *  and store to be the same array as long as the offsets are also the same.
+     */
+    public double[] multPoints( double[] src, int srcOffset, int stride, int count,
+                                double[] store, int storeOffset ) {
+        PackedArrays.check("Source", src, srcOffset, stride, count);
+        store = PackedArrays.checkStore(store, storeOffset, stride, count);
+
+        int s = srcOffset;
+        int d = storeOffset;
+        for( int i = 0; i < count; i++, s += stride, d += stride ) {
+            double x = src[s];
+            double y = src[s + 1];
+            double z = src[s + 2];
+            store[d] = (m00 * x) + (m01 * y) + (m02 * z) + m03;
+            store[d + 1] = (m10 * x) + (m11 * y) + (m12 * z) + m13;
+            store[d + 2] = (m20 * x) + (m21 * y) + (m22 * z) + m23;
+        }
+        return store;
+    }
+
+    /**
+     *  Transforms all of the tightly packed xyz directions in the src array
+     *  and stores the results in the store array, creating a new array if
+     *  store is null.  It is safe for src and store to be the same array.
+     *
+     *  @throws IllegalArgumentException if the length of src is not a
+     *  multiple of 3.
+     */
+    public double[] multDirections( double[] src, double[] store ) {
+        return multDirections(src, 0, 3, PackedArrays.packedCount("Source", src), store, 0);
+    }
+
+    /**
+     *  Transforms count xyz vectors from the src array as directions
+     *  (ie: without translation) and stores the results in the store array
+     *  starting at storeOffset, creating a new array if store is null.  Stride
+     *  is the number of doubles from the start of one vector to the start of the
+     *  next in both arrays, 3 for tightly packed vectors.  It is safe for src
+     *  and store to be the same array as long as the offsets are also the same.
+     */
+    public double[] multDirections( double[] src, int srcOffset, int stride, int count,
+                                    double[] store, int storeOffset ) {
+        PackedArrays.check("Source", src, srcOffset, stride, count);
+        store = PackedArrays.checkStore(store, storeOffset, stride, count);
+
+        int s = srcOffset;
+        int d = storeOffset;
+        for( int i = 0; i < count; i++, s += stride, d += stride ) {
+            double x = src[s];
+            double y = src[s + 1];
+            double z = src[s + 2];
+            store[d] = (m00 * x) + (m01 * y) + (m02 * z);
+            store[d + 1] = (m10 * x) + (m11 * y) + (m12 * z);
+            store[d + 2] = (m20 * x) + (m21 * y) + (m22 * z);
+        }
+        return store;
+    }
+
     public double determinant() {
         double a0 = m00 * m11 - m01 * m10;
         double a1 = m00 * m12 - m02 * m10;
@@ -254,6 +413,19 @@ public class Matrix4d implements Cloneable, java.io.Serializable {
     }
     
     public Matrix4d invert() {
+        return invert(null);
+    }
+
+    /**
+     *  Calculates the inverse of this matrix and stores it in result, creating
+     *  a new Matrix4d if result is null.  If this matrix is singular then
+     *  result is set to identity.  It is safe for result and this to be
+     *  the same object.
+     */
+    public Matrix4d invert( Matrix4d result ) {
+        if( result == null ) {
+            result = new Matrix4d();
+        }
         double a0 = m00 * m11 - m01 * m10;
         double a1 = m00 * m12 - m02 * m10;
         double a2 = m00 * m13 - m03 * m10;
@@ -267,8 +439,10 @@ public class Matrix4d implements Cloneable, java.io.Serializable {
         double b4 = m21 * m33 - m23 * m31;
         double b5 = m22 * m33 - m23 * m32;
         double d = a0 * b5 - a1 * b4 + a2 * b3 + a3 * b2 - a4 * b1 + a5 * b0;    
-        if( d == 0 )
-            return new Matrix4d(); // questionable
+        if( d == 0 ) {
+            result.makeIdentity(); // questionable
+            return result;
+        }
  
 
         double rm00 = +m11 * b5 - m12 * b4 + m13 * b3;
@@ -291,21 +465,59 @@ public class Matrix4d implements Cloneable, java.io.Serializable {
         
         double s = 1.0 / d;
  
-        return new Matrix4d( rm00 * s, rm01 * s, rm02 * s, rm03 * s,
-                             rm10 * s, rm11 * s, rm12 * s, rm13 * s,              
-                             rm20 * s, rm21 * s, rm22 * s, rm23 * s, 
-                             rm30 * s, rm31 * s, rm32 * s, rm33 * s );
+        return result.set( rm00 * s, rm01 * s, rm02 * s, rm03 * s,
+                           rm10 * s, rm11 * s, rm12 * s, rm13 * s,              
+                           rm20 * s, rm21 * s, rm22 * s, rm23 * s, 
+                           rm30 * s, rm31 * s, rm32 * s, rm33 * s );
+    }
+
+    /**
+     *  Inverts this matrix in place.  If this matrix is singular then
+     *  it is set to identity.
+     */
+    public Matrix4d invertLocal() {
+        return invert(this);
     }
     
     public Matrix4d transpose() {
-        return new Matrix4d( m00, m10, m20, m30, 
-                             m01, m11, m21, m31, 
-                             m02, m12, m22, m32,
-                             m03, m13, m23, m33 );
+        return transpose(null);
+    }
+
+    /**
+     *  Stores the transpose of this matrix in result, creating a new
+     *  Matrix4d if result is null.  It is safe for result and this to be
+     *  the same object.
+     */
+    public Matrix4d transpose( Matrix4d result ) {
+        if( result == null ) {
+            result = new Matrix4d();
+        }
+        return result.set( m00, m10, m20, m30, 
+                           m01, m11, m21, m31, 
+                           m02, m12, m22, m32,
+                           m03, m13, m23, m33 );
+    }
+
+    /**
+     *  Transposes this matrix in place.
+     */
+    public Matrix4d transposeLocal() {
+        return transpose(this);
     }
 
     public Matrix3d toRotationMatrix() {
-        return new Matrix3d( m00, m01, m02, m10, m11, m12, m20, m21, m22 );
+        return toRotationMatrix(null);
+    }
+
+    /**
+     *  Stores the upper 3x3 rotation part of this matrix in result, creating
+     *  a new Matrix3d if result is null.
+     */
+    public Matrix3d toRotationMatrix( Matrix3d result ) {
+        if( result == null ) {
+            return new Matrix3d( m00, m01, m02, m10, m11, m12, m20, m21, m22 );
+        }
+        return result.set( m00, m01, m02, m10, m11, m12, m20, m21, m22 );
     }
 
     @Override
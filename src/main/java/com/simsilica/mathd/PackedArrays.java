@@ -0,0 +1,92 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+/**
+ *  Internal argument checking for the batch methods that operate on
+ *  packed xyz double arrays.
+ *
+ *  @author    Paul Speed
+ */
+final class PackedArrays {
+
+    private PackedArrays() {
+    }
+
+    /**
+     *  Makes sure that count vectors starting at offset and separated
+     *  by stride fit within the array.  This is done up front so that a bad
+     *  argument can't leave the array partially transformed.
+     */
+    static void check( String name, double[] array, int offset, int stride, int count ) {
+        if( stride < 3 ) {
+            throw new IllegalArgumentException("Stride must be at least 3:" + stride);
+        }
+        if( count < 0 || offset < 0 ) {
+            throw new IllegalArgumentException("Invalid offset or count, offset:" + offset + " count:" + count);
+        }
+        if( count > 0 && offset + (long)(count - 1) * stride + 3 > array.length ) {
+            throw new IllegalArgumentException(name + " array too small for count:" + count
+                                               + " at offset:" + offset + " stride:" + stride
+                                               + " length:" + array.length);
+        }
+    }
+
+    /**
+     *  Returns the number of tightly packed xyz vectors in the array,
+     *  making sure that its length is a multiple of 3 so that trailing
+     *  values aren't silently ignored.
+     */
+    static int packedCount( String name, double[] array ) {
+        if( array.length % 3 != 0 ) {
+            throw new IllegalArgumentException(name + " array length is not a multiple of 3:" + array.length);
+        }
+        return array.length / 3;
+    }
+
+    /**
+     *  Returns the store array or creates one big enough to hold the
+     *  results if store is null.
+     */
+    static double[] checkStore( double[] store, int offset, int stride, int count ) {
+        if( store == null ) {
+            return new double[offset + count * stride];
+        }
+        check("Store", store, offset, stride, count);
+        return store;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+
+/**
+ *  A double-precision plane defined by a normal and a constant, the
+ *  equivalent of JME's Plane.  Points p on the plane satisfy
+ *  normal.dot(p) == constant and points on the side the normal faces
+ *  have a positive pseudo-distance.
+ *
+ *  @author    Paul Speed
+ */
+public final class Planed implements Cloneable, java.io.Serializable {
+
+    static final long serialVersionUID = 42L;
+
+    private final Vec3d normal = new Vec3d();
+    private double constant;
+
+    public Planed() {
+    }
+
+    /**
+     *  Creates a plane with the specified normal and constant.  The normal
+     *  is copied.
+     */
+    public Planed( Vec3d normal, double constant ) {
+        set(normal, constant);
+    }
+
+    @Override
+    public Planed clone() {
+        return new Planed(normal, constant);
+    }
+
+    public Planed set( Planed plane ) {
+        return set(plane.normal, plane.constant);
+    }
+
+    public Planed set( Vec3d normal, double constant ) {
+        this.normal.set(normal);
+        this.constant = constant;
+        return this;
+    }
+
+    /**
+     *  Sets the plane from the coefficients of the plane equation
+     *  a * x + b * y + c * z + d = 0, ie: a normal of (a, b, c) and a
+     *  constant of -d.
+     */
+    public Planed set( double a, double b, double c, double d ) {
+        this.normal.set(a, b, c);
+        this.constant = -d;
+        return this;
+    }
+
+    /**
+     *  Sets the plane to pass through the specified point with the
+     *  specified normal.
+     */
+    public Planed setOriginNormal( Vec3d origin, Vec3d normal ) {
+        this.normal.set(normal);
+        this.constant = normal.dot(origin);
+        return this;
+    }
+
+    /**
+     *  Returns the normal of this plane.  This is the live object and
+     *  changes to it will change the plane.
+     */
+    public Vec3d getNormal() {
+        return normal;
+    }
+
+    public Planed setNormal( Vec3d normal ) {
+        this.normal.set(normal);
+        return this;
+    }
+
+    public double getConstant() {
+        return constant;
+    }
+
+    public Planed setConstant( double constant ) {
+        this.constant = constant;
+        return this;
+    }
+
+    /**
+     *  Returns normal.dot(point) - constant which is the signed distance
+     *  from the plane to the point scaled by the length of the normal.
+     *  For a unit normal, this is the true signed distance.
+     */
+    public double pseudoDistance( Vec3d point ) {
+        return pseudoDistance(point.x, point.y, point.z);
+    }
+
+    public double pseudoDistance( double x, double y, double z ) {
+        return normal.x * x + normal.y * y + normal.z * z - constant;
+    }
+
+    /**
+     *  Scales the normal to unit length, and the constant by the same
+     *  amount, so that pseudoDistance() returns true distances.  Planes
+     *  with a zero length normal are left unchanged.
+     */
+    public Planed normalizeLocal() {
+        double length = normal.length();
+        if( length == 0 ) {
+            return this;
+        }
+        double scale = 1 / length;
+        normal.multLocal(scale);
+        constant *= scale;
+        return this;
+    }
+
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(constant);
+        return normal.hashCode() * 31 + ((int)bits ^ (int)(bits >> 32));
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+        if( o == this )
+            return true;
+        if( o == null || o.getClass() != getClass() )
+            return false;
+        Planed other = (Planed)o;
+        return normal.equals(other.normal)
+            && Double.compare(constant, other.constant) == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Planed[normal=" + normal + ", constant=" + constant + "]";
+    }
+}
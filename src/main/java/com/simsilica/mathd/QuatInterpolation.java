@@ -0,0 +1,88 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+
+/**
+ *  The different ways that two rotations can be interpolated, from the
+ *  most accurate to the cheapest.
+ *
+ *  @author    Paul Speed
+ */
+public enum QuatInterpolation {
+
+    /**
+     *  Spherical linear interpolation as performed by Quatd.slerpLocal().
+     */
+    Slerp {
+        @Override
+        public Quatd interpolate( Quatd start, Quatd end, double mix, Quatd result ) {
+            return result.slerpLocal(start, end, mix);
+        }
+    },
+
+    /**
+     *  An approximate spherical linear interpolation as performed by
+     *  Quatd.fastSlerpLocal().  Within about 0.001 radians of Slerp
+     *  without the trigonometry.
+     */
+    FastSlerp {
+        @Override
+        public Quatd interpolate( Quatd start, Quatd end, double mix, Quatd result ) {
+            return result.fastSlerpLocal(start, end, mix);
+        }
+    },
+
+    /**
+     *  Normalized linear interpolation as performed by Quatd.nlerpLocal().
+     *  This is the cheapest and is nearly indistinguishable from Slerp
+     *  for small angles.
+     */
+    Nlerp {
+        @Override
+        public Quatd interpolate( Quatd start, Quatd end, double mix, Quatd result ) {
+            return result.nlerpLocal(start, end, mix);
+        }
+    };
+
+    /**
+     *  Interpolates between start and end and stores the value in result
+     *  which must not be null.  It is safe for result to be the same
+     *  object as start or end.
+     */
+    public abstract Quatd interpolate( Quatd start, Quatd end, double mix, Quatd result );
+}
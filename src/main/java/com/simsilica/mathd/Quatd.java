@@ -413,6 +413,9 @@ public final class Quatd implements Cloneable, java.io.Serializable {
      * @return {@code this * q} (a new instance)
      */
     public final Quatd mult( Quatd q ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.mult(this, q, null);
+        }
         double qx = q.x;
         double qy = q.y;
         double qz = q.z;
@@ -443,6 +446,9 @@ public final class Quatd implements Cloneable, java.io.Serializable {
      * @return {@code this * q} (either {@code result} or a new Quatd)
      */
     public final Quatd mult( Quatd q, Quatd result ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.mult(this, q, result);
+        }
         double qx = q.x;
         double qy = q.y;
         double qz = q.z;
@@ -474,6 +480,9 @@ public final class Quatd implements Cloneable, java.io.Serializable {
      * @return the (modified) current instance (for chaining)
      */
     public final Quatd multLocal( Quatd q ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.mult(this, q, this);
+        }
         double qx = q.x;
         double qy = q.y;
         double qz = q.z;
@@ -555,6 +564,86 @@ public final class Quatd implements Cloneable, java.io.Serializable {
         return result;
     }
 
+    /**
+     * Rotates all of the tightly packed xyz vectors in the source array and
+     * stores the results in the store array. The quaternion is unaffected.
+     * <p>
+     * It IS safe for {@code src} and {@code store} to be the same array.
+     *
+     * @param src the packed vectors to rotate (not null, length a multiple
+     * of 3, unaffected unless it's {@code store})
+     * @param store storage for the results, or null for a new array
+     * @return the rotated vectors (either {@code store} or a new array)
+     * @throws IllegalArgumentException if the length of {@code src} is not
+     * a multiple of 3
+     */
+    public double[] mult( double[] src, double[] store ) {
+        return mult(src, 0, 3, PackedArrays.packedCount("Source", src), store, 0);
+    }
+
+    /**
+     * Rotates {@code count} xyz vectors from the source array and stores the
+     * results in the store array. The quaternion is unaffected.
+     * <p>
+     * The quaternion is converted to the equivalent 3x3 matrix once up front
+     * so that each vector costs only 9 multiplies instead of the 30 or so
+     * used by {@link #mult(Vec3d, Vec3d)}.  As with that method, the
+     * quaternion is not normalized first.
+     * <p>
+     * It IS safe for {@code src} and {@code store} to be the same array as
+     * long as {@code srcOffset} and {@code storeOffset} are also the same.
+     *
+     * @param src the packed vectors to rotate (not null, unaffected unless
+     * it's {@code store})
+     * @param srcOffset the index of the first vector's X component in
+     * {@code src}
+     * @param stride the number of elements from the start of one vector to
+     * the start of the next in both arrays (&ge;3, 3 for tightly packed)
+     * @param count the number of vectors to rotate
+     * @param store storage for the results, or null for a new array
+     * @param storeOffset the index of the first result's X component in
+     * {@code store}
+     * @return the rotated vectors (either {@code store} or a new array)
+     */
+    public double[] mult( double[] src, int srcOffset, int stride, int count,
+                          double[] store, int storeOffset ) {
+        PackedArrays.check("Source", src, srcOffset, stride, count);
+        store = PackedArrays.checkStore(store, storeOffset, stride, count);
+
+        double xx = x * x;
+        double yy = y * y;
+        double zz = z * z;
+        double ww = w * w;
+        double xy = x * y;
+        double xz = x * z;
+        double yz = y * z;
+        double xw = x * w;
+        double yw = y * w;
+        double zw = z * w;
+
+        double m00 = ww + xx - yy - zz;
+        double m01 = 2 * (xy - zw);
+        double m02 = 2 * (xz + yw);
+        double m10 = 2 * (xy + zw);
+        double m11 = ww - xx + yy - zz;
+        double m12 = 2 * (yz - xw);
+        double m20 = 2 * (xz - yw);
+        double m21 = 2 * (yz + xw);
+        double m22 = ww - xx - yy + zz;
+
+        int s = srcOffset;
+        int d = storeOffset;
+        for( int i = 0; i < count; i++, s += stride, d += stride ) {
+            double vx = src[s];
+            double vy = src[s + 1];
+            double vz = src[s + 2];
+            store[d] = (m00 * vx) + (m01 * vy) + (m02 * vz);
+            store[d + 1] = (m10 * vx) + (m11 * vy) + (m12 * vz);
+            store[d + 2] = (m20 * vx) + (m21 * vy) + (m22 * vz);
+        }
+        return store;
+    }
+
     /**
      * Returns the squared length.
      *
@@ -595,6 +684,20 @@ public final class Quatd implements Cloneable, java.io.Serializable {
      * @return a new 3x3 rotation matrix
      */
     public Matrix3d toRotationMatrix() {
+        return toRotationMatrix(null);
+    }
+
+    /**
+     * Converts the quaternion to an equivalent rotation matrix and returns it
+     * in the argument. The quaternion is unaffected.
+     * <p>
+     * Note: the result is created from a normalized version of the current
+     * instance.
+     *
+     * @param result storage for the matrix, or null for a new Matrix3d
+     * @return a 3x3 rotation matrix (either {@code result} or a new Matrix3d)
+     */
+    public Matrix3d toRotationMatrix( Matrix3d result ) {
         double d = lengthSq();
         double s = 2 / d;
 
@@ -623,9 +726,14 @@ public final class Quatd implements Cloneable, java.io.Serializable {
         double m21 = (yz + xw);
         double m22 = 1 - (xx + yy);
 
-        return new Matrix3d( m00, m01, m02,
-                             m10, m11, m12,
-                             m20, m21, m22 );
+        if( result == null ) {
+            return new Matrix3d( m00, m01, m02,
+                                 m10, m11, m12,
+                                 m20, m21, m22 );
+        }
+        return result.set( m00, m01, m02,
+                           m10, m11, m12,
+                           m20, m21, m22 );
     }
 
     /**
@@ -635,12 +743,42 @@ public final class Quatd implements Cloneable, java.io.Serializable {
      * @return a new instance, or null if not invertible
      */
     public Quatd inverse() {
+        return inverse(null);
+    }
+
+    /**
+     * Calculates the multiplicative inverse and returns it in the argument.
+     * For a quaternion with norm=0, {@code null} is returned and
+     * {@code result} is unaffected. Either way, the current instance is
+     * unaffected, unless it's {@code result}.
+     * <p>
+     * It IS safe for {@code result} and {@code this} to be the same object.
+     *
+     * @param result storage for the inverse, or null for a new Quatd
+     * @return the inverse (either {@code result} or a new Quatd), or null if
+     * not invertible
+     */
+    public Quatd inverse( Quatd result ) {
         double norm = lengthSq();
         if( norm <= 0 )
             return null;
 
         double inv = 1 / norm;
-        return new Quatd(-x * inv, -y * inv, -z * inv, w * inv);
+        if( result == null ) {
+            return new Quatd(-x * inv, -y * inv, -z * inv, w * inv);
+        }
+        return result.set(-x * inv, -y * inv, -z * inv, w * inv);
+    }
+
+    /**
+     * Inverts the current instance in place. For a quaternion with norm=0,
+     * the current instance is unaffected.
+     *
+     * @return the (modified) current instance (for chaining)
+     */
+    public Quatd inverseLocal() {
+        inverse(this);
+        return this;
     }
 
     /**
@@ -803,6 +941,108 @@ public final class Quatd implements Cloneable, java.io.Serializable {
         return this;
     }
 
+    /**
+     *  Sets this Quatd's value to the normalized linear interpolation of
+     *  start and end using the mix value as the amount to interpolate.
+     *  This is much cheaper than slerpLocal() and for the small angular
+     *  differences common between network frames the results are nearly
+     *  identical.  For larger angles, the rotation will not progress at a
+     *  constant rate as mix changes.
+     *
+     * @param start the desired value when {@code mix} is zero (not null,
+     * unaffected unless it's {@code this})
+     * @param end the desired value when {@code mix} is one (not null,
+     * unaffected unless it's {@code this})
+     * @param mix typically between 0 and 1 inclusive
+     * @return the (modified) current instance (for chaining)
+     */
+    public Quatd nlerpLocal( Quatd start, Quatd end, double mix ) {
+        return lerpNormalized(start, end, mix, false);
+    }
+
+    /**
+     *  Sets this Quatd's value to an approximation of the spherical linear
+     *  interpolation of start and end using the mix value as the amount to
+     *  interpolate.  This uses a polynomial correction of the mix value
+     *  followed by a normalized lerp and so avoids the acos() and sin()
+     *  calls of slerpLocal().  For unit quaternions, the result is within
+     *  0.001 radians (about 0.05 degrees) of a true slerp across the
+     *  full range of inputs.
+     *
+     * @param start the desired value when {@code mix} is zero (not null,
+     * unaffected unless it's {@code this})
+     * @param end the desired value when {@code mix} is one (not null,
+     * unaffected unless it's {@code this})
+     * @param mix typically between 0 and 1 inclusive
+     * @return the (modified) current instance (for chaining)
+     */
+    public Quatd fastSlerpLocal( Quatd start, Quatd end, double mix ) {
+        return lerpNormalized(start, end, mix, true);
+    }
+
+    private Quatd lerpNormalized( Quatd start, Quatd end, double mix, boolean correct ) {
+        double endx = end.x;
+        double endy = end.y;
+        double endz = end.z;
+        double endw = end.w;
+
+        double dot = (start.x * endx)
+                    + (start.y * endy)
+                    + (start.z * endz)
+                    + (start.w * endw);
+
+        // Interpolate along the shortest path
+        if( dot < 0.0 ) {
+            endx = -endx;
+            endy = -endy;
+            endz = -endz;
+            endw = -endw;
+            dot = -dot;
+        }
+
+        if( correct ) {
+            // Adjust the mix so that the normalized lerp follows the
+            // constant angular velocity of slerp.  The coefficients
+            // are fit to minimize the error over the whole range of dot.
+            // See: https://zeux.io/2015/07/23/approximating-slerp/
+            double a = 1.0904 + dot * (-3.2452 + dot * (3.55645 - dot * 1.43519));
+            double b = 0.848013 + dot * (-1.06021 + dot * 0.215638);
+            double h = mix - 0.5;
+            double k = a * h * h + b;
+            mix = mix + mix * h * (mix - 1) * k;
+        }
+
+        double scale1 = 1 - mix;
+        double scale2 = mix;
+
+        double rx = (scale1 * start.x) + (scale2 * endx);
+        double ry = (scale1 * start.y) + (scale2 * endy);
+        double rz = (scale1 * start.z) + (scale2 * endz);
+        double rw = (scale1 * start.w) + (scale2 * endw);
+
+        this.x = rx;
+        this.y = ry;
+        this.z = rz;
+        this.w = rw;
+        return normalizeLocal();
+    }
+
+    /**
+     *  Sets this Quatd's value to the interpolation of start and end
+     *  using the specified interpolation mode.
+     *
+     * @param start the desired value when {@code mix} is zero (not null,
+     * unaffected unless it's {@code this})
+     * @param end the desired value when {@code mix} is one (not null,
+     * unaffected unless it's {@code this})
+     * @param mix typically between 0 and 1 inclusive
+     * @param mode the type of interpolation to perform (not null)
+     * @return the (modified) current instance (for chaining)
+     */
+    public Quatd interpolateLocal( Quatd start, Quatd end, double mix, QuatInterpolation mode ) {
+        return mode.interpolate(start, end, mix, this);
+    }
+
     /**
      * Returns a string representation of the quaternion, which is unaffected.
      * For example, the identity quaternion is represented by:
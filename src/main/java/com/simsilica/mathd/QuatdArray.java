@@ -0,0 +1,305 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import java.util.Arrays;
+
+/**
+ *  A fixed-size array of double-precision quaternions stored as separate
+ *  x, y, z, and w columns ("structure of arrays") instead of as individual
+ *  Quatd objects.  This is the rotation counterpart to Vec3dArray.
+ *  <p>
+ *  The bulk methods mirror the Quatd methods of the same name but apply
+ *  to every element.  Methods with names ending in "Local" modify the
+ *  current instance.
+ *
+ *  @author    Paul Speed
+ */
+public final class QuatdArray implements Cloneable, java.io.Serializable {
+
+    static final long serialVersionUID = 42L;
+
+    /**
+     *  The X components of all quaternions.
+     */
+    public final double[] x;
+
+    /**
+     *  The Y components of all quaternions.
+     */
+    public final double[] y;
+
+    /**
+     *  The Z components of all quaternions.
+     */
+    public final double[] z;
+
+    /**
+     *  The W components of all quaternions.
+     */
+    public final double[] w;
+
+    /**
+     *  Creates an array of the specified number of identity quaternions.
+     */
+    public QuatdArray( int size ) {
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+        this.w = new double[size];
+        Arrays.fill(w, 1.0);
+    }
+
+    private QuatdArray( double[] x, double[] y, double[] z, double[] w ) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+    /**
+     *  Creates a deep copy of this array.
+     */
+    @Override
+    public QuatdArray clone() {
+        return new QuatdArray(x.clone(), y.clone(), z.clone(), w.clone());
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    public QuatdArray set( int i, double qx, double qy, double qz, double qw ) {
+        x[i] = qx;
+        y[i] = qy;
+        z[i] = qz;
+        w[i] = qw;
+        return this;
+    }
+
+    public QuatdArray set( int i, Quatd q ) {
+        return set(i, q.x, q.y, q.z, q.w);
+    }
+
+    /**
+     *  Copies all of the values from the specified array which must be the
+     *  same size as this one.
+     */
+    public QuatdArray set( QuatdArray array ) {
+        checkSize(array);
+        System.arraycopy(array.x, 0, x, 0, x.length);
+        System.arraycopy(array.y, 0, y, 0, y.length);
+        System.arraycopy(array.z, 0, z, 0, z.length);
+        System.arraycopy(array.w, 0, w, 0, w.length);
+        return this;
+    }
+
+    /**
+     *  Sets every element to the specified value.
+     */
+    public QuatdArray fill( Quatd q ) {
+        Arrays.fill(x, q.x);
+        Arrays.fill(y, q.y);
+        Arrays.fill(z, q.z);
+        Arrays.fill(w, q.w);
+        return this;
+    }
+
+    /**
+     *  Returns the quaternion at the specified index in the store argument,
+     *  creating a new Quatd if store is null.
+     */
+    public Quatd get( int i, Quatd store ) {
+        if( store == null ) {
+            return new Quatd(x[i], y[i], z[i], w[i]);
+        }
+        return store.set(x[i], y[i], z[i], w[i]);
+    }
+
+    public Quatd get( int i ) {
+        return get(i, null);
+    }
+
+    /**
+     *  Replaces every element with the Hamilton product of that element times
+     *  the specified quaternion, ie: this[i] = this[i] * q
+     */
+    public QuatdArray multLocal( Quatd q ) {
+        double qx = q.x;
+        double qy = q.y;
+        double qz = q.z;
+        double qw = q.w;
+        for( int i = 0; i < x.length; i++ ) {
+            double ax = x[i];
+            double ay = y[i];
+            double az = z[i];
+            double aw = w[i];
+            x[i] = ax * qw + ay * qz - az * qy + aw * qx;
+            y[i] = -ax * qz + ay * qw + az * qx + aw * qy;
+            z[i] = ax * qy - ay * qx + az * qw + aw * qz;
+            w[i] = -ax * qx - ay * qy - az * qz + aw * qw;
+        }
+        return this;
+    }
+
+    /**
+     *  Replaces every element with the Hamilton product of that element times
+     *  the corresponding element of the specified array,
+     *  ie: this[i] = this[i] * array[i].  It IS safe for array and this
+     *  to be the same object.
+     */
+    public QuatdArray multLocal( QuatdArray array ) {
+        checkSize(array);
+        for( int i = 0; i < x.length; i++ ) {
+            double ax = x[i];
+            double ay = y[i];
+            double az = z[i];
+            double aw = w[i];
+            double qx = array.x[i];
+            double qy = array.y[i];
+            double qz = array.z[i];
+            double qw = array.w[i];
+            x[i] = ax * qw + ay * qz - az * qy + aw * qx;
+            y[i] = -ax * qz + ay * qw + az * qx + aw * qy;
+            z[i] = ax * qy - ay * qx + az * qw + aw * qz;
+            w[i] = -ax * qx - ay * qy - az * qz + aw * qw;
+        }
+        return this;
+    }
+
+    /**
+     *  Normalizes every element in place.  As with Quatd.normalizeLocal(),
+     *  zero-length elements are set to identity.
+     */
+    public QuatdArray normalizeLocal() {
+        for( int i = 0; i < x.length; i++ ) {
+            double d = x[i] * x[i] + y[i] * y[i] + z[i] * z[i] + w[i] * w[i];
+            if( d == 0 ) {
+                w[i] = 1;
+                continue;
+            }
+            double s = 1.0 / Math.sqrt(d);
+            x[i] *= s;
+            y[i] *= s;
+            z[i] *= s;
+            w[i] *= s;
+        }
+        return this;
+    }
+
+    /**
+     *  Sets each element of this array to the spherical linear interpolation
+     *  of the corresponding elements of start and end.  The per-element
+     *  results are the same as Quatd.slerpLocal().
+     */
+    public QuatdArray slerpLocal( QuatdArray start, QuatdArray end, double mix ) {
+        checkSize(start);
+        checkSize(end);
+        for( int i = 0; i < x.length; i++ ) {
+            double sx = start.x[i];
+            double sy = start.y[i];
+            double sz = start.z[i];
+            double sw = start.w[i];
+            double ex = end.x[i];
+            double ey = end.y[i];
+            double ez = end.z[i];
+            double ew = end.w[i];
+
+            if( sx == ex && sy == ey && sz == ez && sw == ew ) {
+                x[i] = sx;
+                y[i] = sy;
+                z[i] = sz;
+                w[i] = sw;
+                continue;
+            }
+
+            double dot = sx * ex + sy * ey + sz * ez + sw * ew;
+            if( dot < 0.0 ) {
+                ex = -ex;
+                ey = -ey;
+                ez = -ez;
+                ew = -ew;
+                dot = -dot;
+            }
+
+            double scale1 = 1 - mix;
+            double scale2 = mix;
+            if( dot < 0.9 ) {
+                double theta = Math.acos(dot);
+                double invSinTheta = 1.0 / Math.sin(theta);
+                scale1 = Math.sin(scale1 * theta) * invSinTheta;
+                scale2 = Math.sin(scale2 * theta) * invSinTheta;
+            }
+
+            x[i] = scale1 * sx + scale2 * ex;
+            y[i] = scale1 * sy + scale2 * ey;
+            z[i] = scale1 * sz + scale2 * ez;
+            w[i] = scale1 * sw + scale2 * ew;
+        }
+        return this;
+    }
+
+    /**
+     *  Rotates each element of the vector array by the corresponding
+     *  quaternion in this array and stores the results in the result array,
+     *  creating a new Vec3dArray if result is null.  It IS safe for v
+     *  and result to be the same object.
+     */
+    public Vec3dArray mult( Vec3dArray v, Vec3dArray result ) {
+        if( v.size() != x.length ) {
+            throw new IllegalArgumentException("Array size mismatch:" + v.size() + " != " + x.length);
+        }
+        if( result == null ) {
+            result = new Vec3dArray(x.length);
+        } else if( result.size() != x.length ) {
+            throw new IllegalArgumentException("Array size mismatch:" + result.size() + " != " + x.length);
+        }
+        ColumnOps.rotate(x, y, z, w, v.x, v.y, v.z, result.x, result.y, result.z, x.length);
+        return result;
+    }
+
+    private void checkSize( QuatdArray array ) {
+        if( array.x.length != x.length ) {
+            throw new IllegalArgumentException("Array size mismatch:" + array.x.length + " != " + x.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QuatdArray[size=" + x.length + "]";
+    }
+}
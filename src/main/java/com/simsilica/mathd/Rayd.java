@@ -36,6 +36,7 @@
 
 package com.simsilica.mathd;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 import com.jme3.math.Ray;
@@ -48,6 +49,10 @@ import com.jme3.math.Ray;
 public class Rayd implements Cloneable, java.io.Serializable {
 
     static final long serialVersionUID = 42;
+
+    // The number of spheres or boxes that the batch intersection methods
+    // test against all of the rays at a time, small enough to stay in cache
+    private static final int BATCH_BLOCK = 512;
  
     // The reason these are not public is because they are each composite
     // objects and there are certain rules as to what they are allowed to be.
@@ -224,7 +229,12 @@ public class Rayd implements Cloneable, java.io.Serializable {
      *  If limit is less than or equal to zero then it is ignored as if it were infinity.  
      */   
     public double distanceSq( Vec3d point, double limit ) {        
-        return getClosestPoint(point, limit, null).distanceSq(point);       
+        TempVars temps = TempVars.get();
+        try {
+            return getClosestPoint(point, limit, temps.nextVec3d()).distanceSq(point);
+        } finally {
+            temps.release();
+        }
     }
 
     /**
@@ -236,9 +246,13 @@ public class Rayd implements Cloneable, java.io.Serializable {
      *  sphere are rejected.
      */
     public double intersectSphere( double limit, Vec3d center, double radius, boolean outsideOnly ) {
-        Vec3d relative = center.subtract(origin);
+        // Center relative to the origin, kept as components to avoid
+        // creating a temporary Vec3d
+        double rx = center.x - origin.x;
+        double ry = center.y - origin.y;
+        double rz = center.z - origin.z;
         
-        double proj = relative.dot(direction);
+        double proj = direction.dot(rx, ry, rz);
         if( outsideOnly && proj < 0 ) {
             // In the best case, we are always inside the sphere in this case
             return -1;
@@ -262,7 +276,7 @@ public class Rayd implements Cloneable, java.io.Serializable {
             return -1;
         }
         
-        double distSq = relative.lengthSq();
+        double distSq = rx * rx + ry * ry + rz * rz;
         //double dist = Math.sqrt(distSq); unused
         
         // We now have the hypotenuse (dist) and the leg (proj) of a right
@@ -271,17 +285,10 @@ public class Rayd implements Cloneable, java.io.Serializable {
         // proj^2 + b^2 = dist^2
         // b = sqrt(dist^2 - proj^2)
         double bSq = distSq - proj * proj;
-        if( bSq == 0 ) {
-            // The ray is tangent to the sphere as the distance from
-            // center to ray is 0
-            if( proj < 0 ) {
-                return -1; 
-            } 
-            if( proj > limit ) {
-                return -1;
-            }
-            return proj;
-        } 
+        if( bSq > radius * radius ) {
+            // The ray passes outside of the sphere
+            return -1;
+        }
         //double b = Math.sqrt(bSq); // unused 
             
         // From here, we have the information necessary to construct
@@ -327,6 +334,199 @@ public class Rayd implements Cloneable, java.io.Serializable {
         return best;
     }    
     
+    /**
+     *  Intersects each of the first rayCount rays against each of the
+     *  sphereCount spheres whose centers and radii are stored in the
+     *  separate x, y, z, and radius arrays and stores the index of the
+     *  nearest sphere hit by ray i in hitStore[i] and its distance in
+     *  distanceStore[i], or -1 in both if ray i hits nothing.  Returns the
+     *  number of rays that hit a sphere.
+     *  <p>
+     *  The per-ray 'limits' array may be null.  Otherwise, limits[i] limits
+     *  the length of ray i if it is greater than 0, the same as 'limit' in
+     *  intersectSphere().  'outsideOnly' also works the same as in
+     *  intersectSphere().  Ties go to the lower sphere index.
+     *  <p>
+     *  The spheres are tested a block at a time against all of the rays so
+     *  that each block stays in the CPU cache, and the branch free per-sphere
+     *  math is kept separate from the nearest hit search so that the JIT is
+     *  free to vectorize it.
+     */
+    public static int intersectSpheres( Rayd[] rays, int rayCount, double[] limits,
+                                        double[] x, double[] y, double[] z, double[] radius,
+                                        int sphereCount, boolean outsideOnly,
+                                        int[] hitStore, double[] distanceStore ) {
+        checkBatch(rays, rayCount, limits, hitStore, distanceStore);
+        if( sphereCount < 0 || x.length < sphereCount || y.length < sphereCount
+            || z.length < sphereCount || radius.length < sphereCount ) {
+            throw new IllegalArgumentException("Sphere arrays too small for count:" + sphereCount);
+        }
+        double[] hits = new double[Math.min(sphereCount, BATCH_BLOCK)];
+        for( int start = 0; start < sphereCount; start += BATCH_BLOCK ) {
+            int end = Math.min(start + BATCH_BLOCK, sphereCount);
+            int length = end - start;
+            for( int i = 0; i < rayCount; i++ ) {
+                Vec3d o = rays[i].origin;
+                Vec3d d = rays[i].direction;
+                double ox = o.x;
+                double oy = o.y;
+                double oz = o.z;
+                double dx = d.x;
+                double dy = d.y;
+                double dz = d.z;
+
+                // Same math as intersectSphere() without the early outs.
+                // Misses come out as NaN or negative.
+                for( int j = 0; j < length; j++ ) {
+                    int s = start + j;
+                    double rx = x[s] - ox;
+                    double ry = y[s] - oy;
+                    double rz = z[s] - oz;
+                    double r = radius[s];
+                    double proj = dx * rx + dy * ry + dz * rz;
+                    double bSq = rx * rx + ry * ry + rz * rz - proj * proj;
+                    double a = Math.sqrt(r * r - bSq);
+                    double near = proj - a;
+                    double far = outsideOnly ? -1 : proj + a;
+                    hits[j] = near >= 0 ? near : far;
+                }
+
+                nearestHit(i, hits, start, length, limits, hitStore, distanceStore);
+            }
+        }
+        return finishBatch(rayCount, hitStore, distanceStore);
+    }
+
+    /**
+     *  Intersects each of the first rayCount rays against each of the
+     *  boxCount axis aligned boxes whose corners are stored in the separate
+     *  min and max coordinate arrays and stores the index of the nearest box
+     *  hit by ray i in hitStore[i] and its distance in distanceStore[i], or
+     *  -1 in both if ray i hits nothing.  Returns the number of rays that
+     *  hit a box.
+     *  <p>
+     *  The distance to a box is where the ray enters it, the same as
+     *  AaBBox.intersectRay(), which is 0 when the ray starts inside or on
+     *  the surface of the box.  The per-ray 'limits' array may be null.
+     *  Otherwise, limits[i] limits the length of ray i if it is greater
+     *  than 0.  Ties go to the lower box index.
+     */
+    public static int intersectBoxes( Rayd[] rays, int rayCount, double[] limits,
+                                      double[] xMin, double[] yMin, double[] zMin,
+                                      double[] xMax, double[] yMax, double[] zMax,
+                                      int boxCount, int[] hitStore, double[] distanceStore ) {
+        checkBatch(rays, rayCount, limits, hitStore, distanceStore);
+        if( boxCount < 0 || xMin.length < boxCount || yMin.length < boxCount || zMin.length < boxCount
+            || xMax.length < boxCount || yMax.length < boxCount || zMax.length < boxCount ) {
+            throw new IllegalArgumentException("Box arrays too small for count:" + boxCount);
+        }
+        double[] hits = new double[Math.min(boxCount, BATCH_BLOCK)];
+        for( int start = 0; start < boxCount; start += BATCH_BLOCK ) {
+            int end = Math.min(start + BATCH_BLOCK, boxCount);
+            int length = end - start;
+            for( int i = 0; i < rayCount; i++ ) {
+                Vec3d o = rays[i].origin;
+                Vec3d d = rays[i].direction;
+                double ox = o.x;
+                double oy = o.y;
+                double oz = o.z;
+
+                double ix = 1 / d.x;
+                double iy = 1 / d.y;
+                double iz = 1 / d.z;
+
+                // Pick which side of each slab the ray enters from once per
+                // ray instead of sorting the two slab distances per box
+                double[] nearX = ix >= 0 ? xMin : xMax;
+                double[] farX = ix >= 0 ? xMax : xMin;
+                double[] nearY = iy >= 0 ? yMin : yMax;
+                double[] farY = iy >= 0 ? yMax : yMin;
+                double[] nearZ = iz >= 0 ? zMin : zMax;
+                double[] farZ = iz >= 0 ? zMax : zMin;
+
+                // For an axis that the ray is parallel to, the slab distances
+                // are infinite or NaN when the origin is right on the slab.
+                // The comparisons below are written so that NaN never
+                // replaces near or far, ie: the origin is inside that slab.
+                for( int j = 0; j < length; j++ ) {
+                    int b = start + j;
+                    double near = 0;
+                    double far = Double.POSITIVE_INFINITY;
+                    double t = (nearX[b] - ox) * ix;
+                    near = t > near ? t : near;
+                    t = (farX[b] - ox) * ix;
+                    far = t < far ? t : far;
+                    t = (nearY[b] - oy) * iy;
+                    near = t > near ? t : near;
+                    t = (farY[b] - oy) * iy;
+                    far = t < far ? t : far;
+                    t = (nearZ[b] - oz) * iz;
+                    near = t > near ? t : near;
+                    t = (farZ[b] - oz) * iz;
+                    far = t < far ? t : far;
+                    hits[j] = near <= far ? near : -1;
+                }
+
+                nearestHit(i, hits, start, length, limits, hitStore, distanceStore);
+            }
+        }
+        return finishBatch(rayCount, hitStore, distanceStore);
+    }
+
+    private static void checkBatch( Rayd[] rays, int rayCount, double[] limits,
+                                    int[] hitStore, double[] distanceStore ) {
+        if( rayCount < 0 || rays.length < rayCount ) {
+            throw new IllegalArgumentException("Rays array too small for count:" + rayCount);
+        }
+        if( limits != null && limits.length < rayCount ) {
+            throw new IllegalArgumentException("Limits array too small for count:" + rayCount);
+        }
+        if( hitStore.length < rayCount || distanceStore.length < rayCount ) {
+            throw new IllegalArgumentException("Store arrays too small for count:" + rayCount);
+        }
+        Arrays.fill(hitStore, 0, rayCount, -1);
+        Arrays.fill(distanceStore, 0, rayCount, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     *  Updates the nearest hit of ray i from one block of candidate
+     *  distances where anything negative or NaN is a miss.
+     */
+    private static void nearestHit( int i, double[] hits, int start, int length, double[] limits,
+                                    int[] hitStore, double[] distanceStore ) {
+        double best = distanceStore[i];
+        int bestIndex = -1;
+        for( int j = 0; j < length; j++ ) {
+            double t = hits[j];
+            // Strictly nearer so that ties keep the lower index
+            if( t >= 0 && t < best ) {
+                best = t;
+                bestIndex = j;
+            }
+        }
+        if( bestIndex < 0 ) {
+            return;
+        }
+        double limit = limits == null ? 0 : limits[i];
+        if( limit > 0 && best > limit ) {
+            return;
+        }
+        hitStore[i] = start + bestIndex;
+        distanceStore[i] = best;
+    }
+
+    private static int finishBatch( int rayCount, int[] hitStore, double[] distanceStore ) {
+        int result = 0;
+        for( int i = 0; i < rayCount; i++ ) {
+            if( hitStore[i] < 0 ) {
+                distanceStore[i] = -1;
+            } else {
+                result++;
+            }
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return "Rayd[origin:" + origin + ", direction:" + direction + "]";
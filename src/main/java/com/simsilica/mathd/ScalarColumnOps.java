@@ -0,0 +1,172 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+/**
+ *  The plain Java loops behind ColumnOps.  These are used directly on
+ *  Java 7 through 16 and as the fallback for the Vector API implementation
+ *  on Java 17+.
+ *
+ *  @author    Paul Speed
+ */
+final class ScalarColumnOps {
+
+    private ScalarColumnOps() {
+    }
+
+    /**
+     *  target[i] += source[i] * scale
+     */
+    static void addScaled( double[] target, double[] source, double scale, int length ) {
+        for( int i = 0; i < length; i++ ) {
+            target[i] += source[i] * scale;
+        }
+    }
+
+    /**
+     *  target[i] += value
+     */
+    static void add( double[] target, double value, int length ) {
+        for( int i = 0; i < length; i++ ) {
+            target[i] += value;
+        }
+    }
+
+    /**
+     *  target[i] *= scale
+     */
+    static void scale( double[] target, double scale, int length ) {
+        for( int i = 0; i < length; i++ ) {
+            target[i] *= scale;
+        }
+    }
+
+    /**
+     *  store[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i]
+     */
+    static void dot( double[] ax, double[] ay, double[] az,
+                     double[] bx, double[] by, double[] bz,
+                     double[] store, int length ) {
+        for( int i = 0; i < length; i++ ) {
+            store[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+        }
+    }
+
+    /**
+     *  Rotates the v vectors by the q quaternions, storing the results in r.
+     *  The per-element math is the same as Quatd.mult(Vec3d, Vec3d).  It
+     *  is safe for the r arrays to be the same as the v arrays.
+     */
+    static void rotate( double[] qx, double[] qy, double[] qz, double[] qw,
+                        double[] vx, double[] vy, double[] vz,
+                        double[] rx, double[] ry, double[] rz, int length ) {
+        rotate(qx, qy, qz, qw, vx, vy, vz, rx, ry, rz, 0, length);
+    }
+
+    /**
+     *  Same as rotate() but only for the elements from start up to
+     *  but not including end.
+     */
+    static void rotate( double[] qx, double[] qy, double[] qz, double[] qw,
+                        double[] vx, double[] vy, double[] vz,
+                        double[] rx, double[] ry, double[] rz, int start, int end ) {
+        for( int i = start; i < end; i++ ) {
+            double x = qx[i];
+            double y = qy[i];
+            double z = qz[i];
+            double w = qw[i];
+            double ux = vx[i];
+            double uy = vy[i];
+            double uz = vz[i];
+
+            rx[i] = w * w * ux + 2 * y * w * uz - 2 * z * w * uy + x * x
+                    * ux + 2 * y * x * uy + 2 * z * x * uz - z * z * ux - y
+                    * y * ux;
+            ry[i] = 2 * x * y * ux + y * y * uy + 2 * z * y * uz + 2 * w
+                    * z * ux - z * z * uy + w * w * uy - 2 * x * w * uz - x
+                    * x * uy;
+            rz[i] = 2 * x * z * ux + 2 * y * z * uy + z * z * uz - 2 * w
+                    * y * ux - y * y * uz + 2 * w * x * uy - x * x * uz + w
+                    * w * uz;
+        }
+    }
+
+    /**
+     *  store[i] = (long)((clamp(values[i], min, max) - min) * mult + 0.5)
+     */
+    static void quantize( double[] values, double min, double max, double mult,
+                          long[] store, int length ) {
+        for( int i = 0; i < length; i++ ) {
+            double v = values[i];
+            v = v < min ? min : (v > max ? max : v);
+            store[i] = (long)((v - min) * mult + 0.5);
+        }
+    }
+
+    /**
+     *  store[i] = (bits[i] &amp; mask) * invMult + min
+     */
+    static void dequantize( long[] bits, long mask, double invMult, double min,
+                            double[] store, int length ) {
+        for( int i = 0; i < length; i++ ) {
+            store[i] = (bits[i] & mask) * invMult + min;
+        }
+    }
+
+    /**
+     *  store[i] = (long)((clamp(values[i], min, max) - min) * mult + 0.5f)
+     *  performed with float math.
+     */
+    static void quantize( float[] values, float min, float max, float mult,
+                          long[] store, int length ) {
+        for( int i = 0; i < length; i++ ) {
+            float v = values[i];
+            v = v < min ? min : (v > max ? max : v);
+            store[i] = (long)((v - min) * mult + 0.5f);
+        }
+    }
+
+    /**
+     *  store[i] = (bits[i] &amp; mask) * invMult + min performed with float math.
+     */
+    static void dequantize( long[] bits, long mask, float invMult, float min,
+                            float[] store, int length ) {
+        for( int i = 0; i < length; i++ ) {
+            store[i] = (bits[i] & mask) * invMult + min;
+        }
+    }
+}
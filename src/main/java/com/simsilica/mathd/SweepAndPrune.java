@@ -0,0 +1,652 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import java.util.Arrays;
+
+import com.simsilica.mathd.util.LongIntHashMap;
+
+/**
+ *  An incremental sweep-and-prune (sort-and-sweep) broadphase that keeps
+ *  the min and max endpoints of every box sorted along the x, y, and z
+ *  axes and maintains the set of overlapping box pairs.  When a box moves,
+ *  its endpoints are moved to their new sorted positions with insertion
+ *  sort, and each time one box's min endpoint passes another box's max
+ *  endpoint the pair may have started or stopped overlapping.  Because
+ *  most objects move only a little from frame to frame, updates are
+ *  usually close to constant time and a mostly static scene pays almost
+ *  nothing.
+ *  <p>
+ *  Boxes are identified by int handles and carry a long user ID.  Changes
+ *  to the pair set are reported to the SweepAndPruneListener, if there is
+ *  one, as they happen.  Boxes that only touch are considered overlapping.
+ *  <p>
+ *  Inserting a single box sorts it in from the end of each axis and
+ *  removing one moves its endpoints out to the end of each axis, both of
+ *  which are linear in the number of boxes.  To insert many boxes at once,
+ *  such as when loading a scene, use insert(AaBBox[], long[], int[]) which
+ *  sorts and sweeps them all in one pass.  Likewise, remove(int[])
+ *  removes many boxes with one pass over each axis.
+ *  <p>
+ *  Everything is kept in primitive arrays.  This class is not thread safe
+ *  and the listener must not modify the SweepAndPrune that is calling it.
+ *
+ *  @author    Paul Speed
+ */
+public class SweepAndPrune {
+
+    private static final int NULL = -1;
+
+    private SweepAndPruneListener listener;
+
+    private int capacity;
+    private int size;
+    private int freeList = NULL;
+
+    // Per box: min x, y, z and max x, y, z
+    private double[] bounds;
+    private long[] userIds;
+
+    // Per box: the index of each endpoint in its axis arrays, min x, max x,
+    // min y, max y, min z, max z.  -1 in the first slot for free boxes
+    // whose second slot is then the next free box.
+    private int[] positions;
+
+    // Per axis, the sorted endpoint values and the endpoints themselves
+    // as box * 2 + 1 for max endpoints and box * 2 for min endpoints
+    private final double[][] values = new double[3][];
+    private final int[][] endpoints = new int[3][];
+    private int endpointCount;
+
+    // Overlapping pairs keyed by low handle << 32 | high handle
+    private final LongIntHashMap pairs = new LongIntHashMap();
+
+    public SweepAndPrune() {
+        this(null);
+    }
+
+    public SweepAndPrune( SweepAndPruneListener listener ) {
+        this.listener = listener;
+        allocate(16);
+    }
+
+    /**
+     *  Sets the listener that is notified of pair changes or null for none.
+     */
+    public void setListener( SweepAndPruneListener listener ) {
+        this.listener = listener;
+    }
+
+    public SweepAndPruneListener getListener() {
+        return listener;
+    }
+
+    /**
+     *  Returns the number of boxes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     *  Adds the specified box and returns its handle.  The box is copied.
+     */
+    public int insert( AaBBox box, long userId ) {
+        int handle = allocateBox(box, userId);
+        for( int axis = 0; axis < 3; axis++ ) {
+            appendEndpoints(axis, handle);
+        }
+        endpointCount += 2;
+        for( int axis = 0; axis < 3; axis++ ) {
+            sortMinDown(axis, positions[handle * 6 + axis * 2]);
+            sortMaxDown(axis, positions[handle * 6 + axis * 2 + 1]);
+        }
+        return handle;
+    }
+
+    /**
+     *  Adds all of the specified boxes at once, fully re-sorting each axis
+     *  and finding the new pairs with a single sweep instead of sorting each
+     *  box in separately.  The handles of the new boxes are written to
+     *  handleStore, creating a new array if it is null, and returned.
+     */
+    public int[] insert( AaBBox[] boxes, long[] userIds, int[] handleStore ) {
+        if( userIds.length < boxes.length ) {
+            throw new IllegalArgumentException("Too few user IDs:" + userIds.length);
+        }
+        if( handleStore == null ) {
+            handleStore = new int[boxes.length];
+        }
+        boolean[] added = new boolean[capacity + boxes.length];
+        for( int i = 0; i < boxes.length; i++ ) {
+            int handle = allocateBox(boxes[i], userIds[i]);
+            for( int axis = 0; axis < 3; axis++ ) {
+                appendEndpoints(axis, handle);
+            }
+            endpointCount += 2;
+            handleStore[i] = handle;
+            added[handle] = true;
+        }
+        int[] temp = new int[endpointCount];
+        double[] tempValues = new double[endpointCount];
+        for( int axis = 0; axis < 3; axis++ ) {
+            mergeSort(values[axis], endpoints[axis], tempValues, temp, 0, endpointCount);
+            for( int i = 0; i < endpointCount; i++ ) {
+                setPosition(axis, i);
+            }
+        }
+
+        // Sweep along x keeping the boxes whose x range is open and
+        // checking each newly opened box against them
+        int[] active = temp;
+        int[] activeIndex = new int[capacity];
+        int activeCount = 0;
+        int[] xEnds = endpoints[0];
+        for( int i = 0; i < endpointCount; i++ ) {
+            int end = xEnds[i];
+            int box = end >> 1;
+            if( (end & 1) == 1 ) {
+                // Remove the box from the active list by moving the last
+                // active box into its place
+                int index = activeIndex[box];
+                int last = active[--activeCount];
+                active[index] = last;
+                activeIndex[last] = index;
+                continue;
+            }
+            for( int j = 0; j < activeCount; j++ ) {
+                int other = active[j];
+                if( (added[box] || added[other]) && overlaps(box, other) ) {
+                    addPair(box, other);
+                }
+            }
+            activeIndex[box] = activeCount;
+            active[activeCount++] = box;
+        }
+        return handleStore;
+    }
+
+    /**
+     *  Moves the specified box to new bounds, updating the pairs.
+     */
+    public void update( int handle, AaBBox box ) {
+        checkHandle(handle);
+        Vec3d min = box.getMin();
+        Vec3d max = box.getMax();
+        int b = handle * 6;
+        for( int axis = 0; axis < 3; axis++ ) {
+            bounds[b + axis] = min.get(axis);
+            bounds[b + axis + 3] = max.get(axis);
+        }
+        for( int axis = 0; axis < 3; axis++ ) {
+            double[] axisValues = values[axis];
+            int minPos = positions[b + axis * 2];
+            int maxPos = positions[b + axis * 2 + 1];
+            double minDelta = bounds[b + axis] - axisValues[minPos];
+            double maxDelta = bounds[b + axis + 3] - axisValues[maxPos];
+            axisValues[minPos] = bounds[b + axis];
+            axisValues[maxPos] = bounds[b + axis + 3];
+
+            // Grow before shrinking so that the min endpoint never has to
+            // pass the box's own max endpoint
+            if( minDelta < 0 ) {
+                sortMinDown(axis, minPos);
+            }
+            if( maxDelta > 0 ) {
+                sortMaxUp(axis, maxPos);
+            }
+            if( minDelta > 0 ) {
+                sortMinUp(axis, positions[b + axis * 2]);
+            }
+            if( maxDelta < 0 ) {
+                sortMaxDown(axis, positions[b + axis * 2 + 1]);
+            }
+        }
+    }
+
+    /**
+     *  Removes the specified box, reporting the removal of all of its pairs.
+     *  The handle may be reused by a later insert().  This is linear in the
+     *  number of boxes, see remove(int[]) for removing many boxes.
+     */
+    public void remove( int handle ) {
+        checkHandle(handle);
+        for( int axis = 0; axis < 3; axis++ ) {
+            // Move the max to the very end first and then the min just in
+            // front of it, passing every max endpoint after it
+            moveToEnd(axis, positions[handle * 6 + axis * 2 + 1], endpointCount - 1);
+            moveToEnd(axis, positions[handle * 6 + axis * 2], endpointCount - 2);
+        }
+        endpointCount -= 2;
+        positions[handle * 6] = NULL;
+        positions[handle * 6 + 1] = freeList;
+        freeList = handle;
+        size--;
+    }
+
+    /**
+     *  Removes all of the specified boxes at once, reporting the removal of
+     *  all of their pairs.  Instead of moving each box's endpoints out
+     *  separately, each axis is compacted in one pass.  The handles may be
+     *  reused by later inserts.
+     *
+     *  @throws IllegalArgumentException if any handle is invalid or appears
+     *  more than once, in which case nothing is removed.
+     */
+    public void remove( int[] handles ) {
+        boolean[] removed = new boolean[capacity];
+        for( int handle : handles ) {
+            checkHandle(handle);
+            if( removed[handle] ) {
+                throw new IllegalArgumentException("Duplicate handle:" + handle);
+            }
+            removed[handle] = true;
+        }
+        if( handles.length == 0 ) {
+            return;
+        }
+
+        long[] keys = pairs.keys(null);
+        for( long key : keys ) {
+            int low = (int)(key >>> 32);
+            int high = (int)key;
+            if( removed[low] || removed[high] ) {
+                endPair(low, high);
+            }
+        }
+
+        int count = 0;
+        for( int axis = 0; axis < 3; axis++ ) {
+            double[] axisValues = values[axis];
+            int[] axisEnds = endpoints[axis];
+            count = 0;
+            for( int i = 0; i < endpointCount; i++ ) {
+                int end = axisEnds[i];
+                if( removed[end >> 1] ) {
+                    continue;
+                }
+                axisValues[count] = axisValues[i];
+                axisEnds[count] = end;
+                setPosition(axis, count);
+                count++;
+            }
+        }
+        endpointCount = count;
+        for( int handle : handles ) {
+            positions[handle * 6] = NULL;
+            positions[handle * 6 + 1] = freeList;
+            freeList = handle;
+        }
+        size -= handles.length;
+    }
+
+    /**
+     *  Removes all boxes and pairs without notifying the listener.
+     */
+    public void clear() {
+        pairs.clear();
+        endpointCount = 0;
+        size = 0;
+        freeList = NULL;
+        for( int i = capacity - 1; i >= 0; i-- ) {
+            positions[i * 6] = NULL;
+            positions[i * 6 + 1] = freeList;
+            freeList = i;
+        }
+    }
+
+    public long getUserId( int handle ) {
+        checkHandle(handle);
+        return userIds[handle];
+    }
+
+    /**
+     *  Stores the bounds of the specified box in store, creating a new
+     *  AaBBox if store is null.
+     */
+    public AaBBox getBounds( int handle, AaBBox store ) {
+        checkHandle(handle);
+        if( store == null ) {
+            store = new AaBBox();
+        }
+        int b = handle * 6;
+        store.getMin().set(bounds[b], bounds[b + 1], bounds[b + 2]);
+        store.getMax().set(bounds[b + 3], bounds[b + 4], bounds[b + 5]);
+        return store;
+    }
+
+    /**
+     *  Returns the number of overlapping pairs.
+     */
+    public int getPairCount() {
+        return pairs.size();
+    }
+
+    /**
+     *  Returns true if the two boxes are currently overlapping.
+     */
+    public boolean isOverlapping( int handleA, int handleB ) {
+        return pairs.containsKey(pairKey(handleA, handleB));
+    }
+
+    /**
+     *  Writes the overlapping pairs into the store array as consecutive
+     *  low handle, high handle values and returns the number of pairs.  If
+     *  there are more than store.length / 2 pairs then only the first
+     *  store.length / 2 are written, so callers can size a bigger array
+     *  from the return value and try again.
+     */
+    public int getPairs( int[] store ) {
+        int count = 0;
+        for( int i = pairs.firstSlot(); i >= 0; i = pairs.nextSlot(i) ) {
+            if( count * 2 + 1 < store.length ) {
+                long key = pairs.keyAt(i);
+                store[count * 2] = (int)(key >>> 32);
+                store[count * 2 + 1] = (int)key;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void checkHandle( int handle ) {
+        if( handle < 0 || handle >= capacity || positions[handle * 6] == NULL ) {
+            throw new IllegalArgumentException("Invalid handle:" + handle);
+        }
+    }
+
+    private int allocateBox( AaBBox box, long userId ) {
+        if( freeList == NULL ) {
+            allocate(capacity * 2);
+        }
+        int handle = freeList;
+        freeList = positions[handle * 6 + 1];
+        Vec3d min = box.getMin();
+        Vec3d max = box.getMax();
+        int b = handle * 6;
+        bounds[b] = min.x;
+        bounds[b + 1] = min.y;
+        bounds[b + 2] = min.z;
+        bounds[b + 3] = max.x;
+        bounds[b + 4] = max.y;
+        bounds[b + 5] = max.z;
+        userIds[handle] = userId;
+        size++;
+        return handle;
+    }
+
+    private void allocate( int newCapacity ) {
+        int old = capacity;
+        if( old == 0 ) {
+            bounds = new double[newCapacity * 6];
+            userIds = new long[newCapacity];
+            positions = new int[newCapacity * 6];
+            for( int axis = 0; axis < 3; axis++ ) {
+                values[axis] = new double[newCapacity * 2];
+                endpoints[axis] = new int[newCapacity * 2];
+            }
+        } else {
+            bounds = Arrays.copyOf(bounds, newCapacity * 6);
+            userIds = Arrays.copyOf(userIds, newCapacity);
+            positions = Arrays.copyOf(positions, newCapacity * 6);
+            for( int axis = 0; axis < 3; axis++ ) {
+                values[axis] = Arrays.copyOf(values[axis], newCapacity * 2);
+                endpoints[axis] = Arrays.copyOf(endpoints[axis], newCapacity * 2);
+            }
+        }
+        capacity = newCapacity;
+        for( int i = newCapacity - 1; i >= old; i-- ) {
+            positions[i * 6] = NULL;
+            positions[i * 6 + 1] = freeList;
+            freeList = i;
+        }
+    }
+
+    /**
+     *  Adds the box's endpoints to the end of the axis without sorting them.
+     */
+    private void appendEndpoints( int axis, int handle ) {
+        int i = endpointCount;
+        values[axis][i] = bounds[handle * 6 + axis];
+        values[axis][i + 1] = bounds[handle * 6 + axis + 3];
+        endpoints[axis][i] = handle * 2;
+        endpoints[axis][i + 1] = handle * 2 + 1;
+        positions[handle * 6 + axis * 2] = i;
+        positions[handle * 6 + axis * 2 + 1] = i + 1;
+    }
+
+    /**
+     *  Returns true if endpoint a should be sorted before endpoint b.
+     *  At equal values min endpoints come before max endpoints so that
+     *  touching boxes overlap.
+     */
+    private static boolean before( double aValue, int a, double bValue, int b ) {
+        return aValue < bValue || (aValue == bValue && (a & 1) == 0 && (b & 1) == 1);
+    }
+
+    private void sortMinDown( int axis, int pos ) {
+        double[] axisValues = values[axis];
+        int[] axisEnds = endpoints[axis];
+        int end = axisEnds[pos];
+        double value = axisValues[pos];
+        while( pos > 0 && before(value, end, axisValues[pos - 1], axisEnds[pos - 1]) ) {
+            int prev = axisEnds[pos - 1];
+            if( (prev & 1) == 1 ) {
+                // Our min is now before their max
+                beginPair(end >> 1, prev >> 1);
+            }
+            swap(axis, pos - 1, pos);
+            pos--;
+        }
+    }
+
+    private void sortMinUp( int axis, int pos ) {
+        double[] axisValues = values[axis];
+        int[] axisEnds = endpoints[axis];
+        int end = axisEnds[pos];
+        double value = axisValues[pos];
+        while( pos < endpointCount - 1 && before(axisValues[pos + 1], axisEnds[pos + 1], value, end) ) {
+            int next = axisEnds[pos + 1];
+            if( (next & 1) == 1 ) {
+                // Our min is now after their max
+                endPair(end >> 1, next >> 1);
+            }
+            swap(axis, pos, pos + 1);
+            pos++;
+        }
+    }
+
+    private void sortMaxUp( int axis, int pos ) {
+        double[] axisValues = values[axis];
+        int[] axisEnds = endpoints[axis];
+        int end = axisEnds[pos];
+        double value = axisValues[pos];
+        while( pos < endpointCount - 1 && before(axisValues[pos + 1], axisEnds[pos + 1], value, end) ) {
+            int next = axisEnds[pos + 1];
+            if( (next & 1) == 0 ) {
+                // Their min is now before our max
+                beginPair(end >> 1, next >> 1);
+            }
+            swap(axis, pos, pos + 1);
+            pos++;
+        }
+    }
+
+    private void sortMaxDown( int axis, int pos ) {
+        double[] axisValues = values[axis];
+        int[] axisEnds = endpoints[axis];
+        int end = axisEnds[pos];
+        double value = axisValues[pos];
+        while( pos > 0 && before(value, end, axisValues[pos - 1], axisEnds[pos - 1]) ) {
+            int prev = axisEnds[pos - 1];
+            if( (prev & 1) == 0 ) {
+                // Our max is now before their min
+                endPair(end >> 1, prev >> 1);
+            }
+            swap(axis, pos - 1, pos);
+            pos--;
+        }
+    }
+
+    /**
+     *  Swaps the endpoint at pos forward to the target index as if it were
+     *  greater than everything, ending the pairs of any max endpoints that
+     *  a min endpoint passes.
+     */
+    private void moveToEnd( int axis, int pos, int target ) {
+        int[] axisEnds = endpoints[axis];
+        int end = axisEnds[pos];
+        while( pos < target ) {
+            int next = axisEnds[pos + 1];
+            if( (end & 1) == 0 && (next & 1) == 1 ) {
+                endPair(end >> 1, next >> 1);
+            }
+            swap(axis, pos, pos + 1);
+            pos++;
+        }
+    }
+
+    private void swap( int axis, int i, int j ) {
+        double[] axisValues = values[axis];
+        int[] axisEnds = endpoints[axis];
+        double value = axisValues[i];
+        axisValues[i] = axisValues[j];
+        axisValues[j] = value;
+        int end = axisEnds[i];
+        axisEnds[i] = axisEnds[j];
+        axisEnds[j] = end;
+        setPosition(axis, i);
+        setPosition(axis, j);
+    }
+
+    private void setPosition( int axis, int i ) {
+        int end = endpoints[axis][i];
+        positions[(end >> 1) * 6 + axis * 2 + (end & 1)] = i;
+    }
+
+    private boolean overlaps( int a, int b ) {
+        int i = a * 6;
+        int j = b * 6;
+        return bounds[i] <= bounds[j + 3] && bounds[i + 3] >= bounds[j]
+            && bounds[i + 1] <= bounds[j + 4] && bounds[i + 4] >= bounds[j + 1]
+            && bounds[i + 2] <= bounds[j + 5] && bounds[i + 5] >= bounds[j + 2];
+    }
+
+    /**
+     *  Called when the boxes may have started overlapping on one axis.  The
+     *  bounds are already at their final values so checking all three axes
+     *  tells us if they really overlap now.
+     */
+    private void beginPair( int a, int b ) {
+        if( a != b && overlaps(a, b) ) {
+            addPair(a, b);
+        }
+    }
+
+    private void addPair( int a, int b ) {
+        if( pairs.put(pairKey(a, b), 1) == 0 && listener != null ) {
+            int low = Math.min(a, b);
+            int high = Math.max(a, b);
+            listener.pairAdded(low, userIds[low], high, userIds[high]);
+        }
+    }
+
+    /**
+     *  Called when the boxes have stopped overlapping on one axis.
+     */
+    private void endPair( int a, int b ) {
+        if( a != b && pairs.remove(pairKey(a, b)) != 0 && listener != null ) {
+            int low = Math.min(a, b);
+            int high = Math.max(a, b);
+            listener.pairRemoved(low, userIds[low], high, userIds[high]);
+        }
+    }
+
+    private static long pairKey( int a, int b ) {
+        if( a > b ) {
+            return ((long)b << 32) | a;
+        }
+        return ((long)a << 32) | b;
+    }
+
+    /**
+     *  Stable merge sort of the endpoints in [from, to) that is near linear
+     *  when most of the endpoints are already in order.
+     */
+    private static void mergeSort( double[] v, int[] e, double[] tempValues, int[] temp, int from, int to ) {
+        if( to - from < 16 ) {
+            for( int i = from + 1; i < to; i++ ) {
+                double value = v[i];
+                int end = e[i];
+                int j = i - 1;
+                while( j >= from && before(value, end, v[j], e[j]) ) {
+                    v[j + 1] = v[j];
+                    e[j + 1] = e[j];
+                    j--;
+                }
+                v[j + 1] = value;
+                e[j + 1] = end;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(v, e, tempValues, temp, from, mid);
+        mergeSort(v, e, tempValues, temp, mid, to);
+        if( !before(v[mid], e[mid], v[mid - 1], e[mid - 1]) ) {
+            // Already in order
+            return;
+        }
+        System.arraycopy(v, from, tempValues, from, to - from);
+        System.arraycopy(e, from, temp, from, to - from);
+        int i = from;
+        int j = mid;
+        for( int k = from; k < to; k++ ) {
+            if( j >= to || (i < mid && !before(tempValues[j], temp[j], tempValues[i], temp[i])) ) {
+                v[k] = tempValues[i];
+                e[k] = temp[i++];
+            } else {
+                v[k] = tempValues[j];
+                e[k] = temp[j++];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SweepAndPrune[size=" + size + ", pairs=" + pairs.size() + "]";
+    }
+}
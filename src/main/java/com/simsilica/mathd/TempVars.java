@@ -0,0 +1,343 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import java.util.Arrays;
+
+/**
+ *  A per-thread stack of reusable scratch math objects, similar to JME's
+ *  TempVars.  Code that needs temporary Vec3d, Quatd, Matrix3d, Matrix4d,
+ *  or Vec3i objects in a hot path can borrow them from here instead of
+ *  allocating them:
+ *  <pre>
+ *  TempVars temps = TempVars.get();
+ *  try {
+ *      Vec3d v = temps.nextVec3d();
+ *      ...
+ *  } finally {
+ *      temps.release();
+ *  }
+ *  </pre>
+ *  Each get() pushes a new frame for the current thread and each release()
+ *  pops it, making all of the objects handed out by that frame available
+ *  again.  Frames must be released in the reverse order that they were
+ *  acquired and by the thread that acquired them.  The objects handed out
+ *  have undefined values and must never be kept or returned to callers
+ *  after release().
+ *  <p>
+ *  Releasing a frame that is not the current top of the stack throws an
+ *  IllegalStateException.  Outside of debug mode, the TempVars objects
+ *  themselves are reused, so a second release() of a frame is only caught
+ *  if the same depth has not been acquired again in between.
+ *  <p>
+ *  When the system property "com.simsilica.mathd.tempvars.debug" is true,
+ *  every get() returns a new TempVars so that releasing or using a frame
+ *  after it was released always throws an IllegalStateException, even if
+ *  the same depth has been acquired again since.  Debug mode also records
+ *  where each frame was acquired so that checkReleased() can report leaked
+ *  frames, and fills released objects with NaN (or Integer.MIN_VALUE for
+ *  Vec3i) so that use after release shows up quickly.
+ *
+ *  @author    Paul Speed
+ */
+public final class TempVars {
+
+    public static final String DEBUG_PROPERTY = "com.simsilica.mathd.tempvars.debug";
+
+    private static final boolean DEBUG = Boolean.getBoolean(DEBUG_PROPERTY);
+
+    private static final ThreadLocal<Stack> stacks = new ThreadLocal<Stack>() {
+        @Override
+        protected Stack initialValue() {
+            return new Stack();
+        }
+    };
+
+    private final Stack stack;
+    private final Frame frame;
+    private final int depth;
+    private Throwable acquiredAt;
+
+    private TempVars( Stack stack, Frame frame, int depth ) {
+        this.stack = stack;
+        this.frame = frame;
+        this.depth = depth;
+    }
+
+    /**
+     *  Acquires a new frame of scratch objects for the current thread.
+     *  The caller must call release() on the returned frame when done,
+     *  usually in a finally block.
+     */
+    public static TempVars get() {
+        return stacks.get().push();
+    }
+
+    /**
+     *  Returns true if debug mode is enabled.
+     */
+    public static boolean isDebug() {
+        return DEBUG;
+    }
+
+    /**
+     *  Returns the number of frames that the current thread has acquired
+     *  and not yet released.
+     */
+    public static int getDepth() {
+        return stacks.get().size;
+    }
+
+    /**
+     *  Throws an IllegalStateException if the current thread has any
+     *  unreleased frames.  This can be called at the end of a frame or
+     *  simulation step to catch leaks.  In debug mode, the exception's
+     *  cause is the stack trace of where the oldest leaked frame was
+     *  acquired.
+     */
+    public static void checkReleased() {
+        Stack stack = stacks.get();
+        if( stack.size == 0 ) {
+            return;
+        }
+        IllegalStateException e = new IllegalStateException("Unreleased TempVars, depth:" + stack.size);
+        if( DEBUG ) {
+            e.initCause(stack.frames[0].owner.acquiredAt);
+        }
+        throw e;
+    }
+
+    /**
+     *  Releases this frame, making all of its scratch objects available
+     *  for reuse.
+     *
+     *  @throws IllegalStateException if this frame is not the most recently
+     *  acquired unreleased frame of the current thread.
+     */
+    public void release() {
+        stack.pop(this);
+    }
+
+    public Vec3d nextVec3d() {
+        return frame().vec3ds.next();
+    }
+
+    public Quatd nextQuatd() {
+        return frame().quatds.next();
+    }
+
+    public Matrix3d nextMatrix3d() {
+        return frame().matrix3ds.next();
+    }
+
+    public Matrix4d nextMatrix4d() {
+        return frame().matrix4ds.next();
+    }
+
+    public Vec3i nextVec3i() {
+        return frame().vec3is.next();
+    }
+
+    private Frame frame() {
+        if( DEBUG && (frame.owner != this || stack.size <= depth) ) {
+            throw new IllegalStateException("TempVars used after release:" + this);
+        }
+        return frame;
+    }
+
+    @Override
+    public String toString() {
+        return "TempVars[depth=" + depth + "]";
+    }
+
+    /**
+     *  The scratch objects for one depth of a thread's stack.  Frames are
+     *  reused by every TempVars acquired at that depth.
+     */
+    private static final class Frame {
+        // The TempVars that currently owns this frame.  Outside of debug
+        // mode this is always the same object.
+        private TempVars owner;
+
+        private final Pool<Vec3d> vec3ds = new Pool<Vec3d>() {
+            @Override
+            protected Vec3d create() {
+                return new Vec3d();
+            }
+
+            @Override
+            protected void poison( Vec3d v ) {
+                v.set(Double.NaN, Double.NaN, Double.NaN);
+            }
+        };
+
+        private final Pool<Quatd> quatds = new Pool<Quatd>() {
+            @Override
+            protected Quatd create() {
+                return new Quatd();
+            }
+
+            @Override
+            protected void poison( Quatd q ) {
+                q.set(Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+            }
+        };
+
+        private final Pool<Matrix3d> matrix3ds = new Pool<Matrix3d>() {
+            @Override
+            protected Matrix3d create() {
+                return new Matrix3d();
+            }
+
+            @Override
+            protected void poison( Matrix3d m ) {
+                double n = Double.NaN;
+                m.set(n, n, n, n, n, n, n, n, n);
+            }
+        };
+
+        private final Pool<Matrix4d> matrix4ds = new Pool<Matrix4d>() {
+            @Override
+            protected Matrix4d create() {
+                return new Matrix4d();
+            }
+
+            @Override
+            protected void poison( Matrix4d m ) {
+                double n = Double.NaN;
+                m.set(n, n, n, n, n, n, n, n, n, n, n, n, n, n, n, n);
+            }
+        };
+
+        private final Pool<Vec3i> vec3is = new Pool<Vec3i>() {
+            @Override
+            protected Vec3i create() {
+                return new Vec3i();
+            }
+
+            @Override
+            protected void poison( Vec3i v ) {
+                v.set(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
+            }
+        };
+
+        private void reset() {
+            vec3ds.reset();
+            quatds.reset();
+            matrix3ds.reset();
+            matrix4ds.reset();
+            vec3is.reset();
+            owner.acquiredAt = null;
+        }
+    }
+
+    private static final class Stack {
+        private Frame[] frames = new Frame[8];
+        private int size;
+        private final Thread owner = Thread.currentThread();
+
+        public TempVars push() {
+            if( size == frames.length ) {
+                frames = Arrays.copyOf(frames, size * 2);
+            }
+            Frame frame = frames[size];
+            if( frame == null ) {
+                frame = new Frame();
+                frames[size] = frame;
+            }
+
+            // In debug mode, every acquisition gets its own TempVars so that
+            // a stale reference to an earlier one can't release or use the
+            // frame after it has been handed out again
+            if( DEBUG || frame.owner == null ) {
+                frame.owner = new TempVars(this, frame, size);
+            }
+            TempVars result = frame.owner;
+            if( DEBUG ) {
+                result.acquiredAt = new Throwable("TempVars acquired at depth:" + size);
+            }
+            size++;
+            return result;
+        }
+
+        public void pop( TempVars temps ) {
+            if( Thread.currentThread() != owner ) {
+                throw new IllegalStateException("TempVars released from a different thread:"
+                                                + Thread.currentThread() + " owner:" + owner);
+            }
+            if( size == 0 || frames[size - 1].owner != temps ) {
+                throw new IllegalStateException("TempVars released out of order or more than once:"
+                                                + temps + " current depth:" + size);
+            }
+            temps.frame.reset();
+            size--;
+        }
+    }
+
+    private abstract static class Pool<T> {
+        private Object[] items = new Object[4];
+        private int next;
+
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if( next == items.length ) {
+                items = Arrays.copyOf(items, next * 2);
+            }
+            Object result = items[next];
+            if( result == null ) {
+                result = create();
+                items[next] = result;
+            }
+            next++;
+            return (T)result;
+        }
+
+        @SuppressWarnings("unchecked")
+        public void reset() {
+            if( DEBUG ) {
+                for( int i = 0; i < next; i++ ) {
+                    poison((T)items[i]);
+                }
+            }
+            next = 0;
+        }
+
+        protected abstract T create();
+
+        protected abstract void poison( T item );
+    }
+}
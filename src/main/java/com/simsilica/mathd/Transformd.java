@@ -0,0 +1,433 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+
+/**
+ *  A translation, rotation, and scale that together represent an object's
+ *  position, orientation, and size in 3D space.  This is the double-based
+ *  equivalent to JME's Transform and is meant for chaining parent/child
+ *  transforms without building Matrix4d objects.  All of the operations
+ *  work directly from the Quatd rotation and allocate nothing when given
+ *  a result object.
+ *  <p>
+ *  Points are transformed in the order: scale, rotate, then translate.
+ *  As with JME's Transform, combining a non-uniform scale with a rotation
+ *  cannot be represented exactly, so combine() and inverse() are only
+ *  exact when the scale is uniform.
+ *  <p>
+ *  Methods with names ending in "Local" modify the current instance.
+ *
+ *  @author    Paul Speed
+ */
+public final class Transformd implements Cloneable, java.io.Serializable {
+
+    static final long serialVersionUID = 42L;
+
+    private final Vec3d translation;
+    private final Quatd rotation;
+    private final Vec3d scale;
+
+    /**
+     *  Creates an identity transform.
+     */
+    public Transformd() {
+        this(new Vec3d(), new Quatd(), new Vec3d(1, 1, 1));
+    }
+
+    /**
+     *  Creates a transform with the specified translation and rotation
+     *  and a scale of 1.  The parameters are copied.
+     */
+    public Transformd( Vec3d translation, Quatd rotation ) {
+        this(translation, rotation, new Vec3d(1, 1, 1));
+    }
+
+    /**
+     *  Creates a transform with the specified translation, rotation, and
+     *  scale.  The parameters are copied.
+     */
+    public Transformd( Vec3d translation, Quatd rotation, Vec3d scale ) {
+        this.translation = new Vec3d(translation);
+        this.rotation = new Quatd(rotation);
+        this.scale = new Vec3d(scale);
+    }
+
+    /**
+     *  Creates a copy of the specified transform.
+     */
+    public Transformd( Transformd transform ) {
+        this(transform.translation, transform.rotation, transform.scale);
+    }
+
+    @Override
+    public Transformd clone() {
+        return new Transformd(this);
+    }
+
+    /**
+     *  Copies the values of the specified transform into this one.
+     */
+    public Transformd set( Transformd transform ) {
+        translation.set(transform.translation);
+        rotation.set(transform.rotation);
+        scale.set(transform.scale);
+        return this;
+    }
+
+    /**
+     *  Sets the translation, rotation, and scale of this transform.
+     *  The parameters are copied.
+     */
+    public Transformd set( Vec3d translation, Quatd rotation, Vec3d scale ) {
+        this.translation.set(translation);
+        this.rotation.set(rotation);
+        this.scale.set(scale);
+        return this;
+    }
+
+    /**
+     *  Resets this transform to identity.
+     */
+    public Transformd makeIdentity() {
+        translation.set(0, 0, 0);
+        rotation.set(0, 0, 0, 1);
+        scale.set(1, 1, 1);
+        return this;
+    }
+
+    /**
+     *  Returns true if this transform has no translation, no rotation,
+     *  and a scale of exactly 1.
+     */
+    public boolean isIdentity() {
+        return translation.x == 0 && translation.y == 0 && translation.z == 0
+            && rotation.isRotationIdentity()
+            && scale.x == 1 && scale.y == 1 && scale.z == 1;
+    }
+
+    /**
+     *  Returns the translation of this transform.  This is the live object
+     *  and changes to it will change the transform.
+     */
+    public Vec3d getTranslation() {
+        return translation;
+    }
+
+    public Transformd setTranslation( Vec3d translation ) {
+        this.translation.set(translation);
+        return this;
+    }
+
+    public Transformd setTranslation( double x, double y, double z ) {
+        this.translation.set(x, y, z);
+        return this;
+    }
+
+    /**
+     *  Returns the rotation of this transform.  This is the live object
+     *  and changes to it will change the transform.
+     */
+    public Quatd getRotation() {
+        return rotation;
+    }
+
+    public Transformd setRotation( Quatd rotation ) {
+        this.rotation.set(rotation);
+        return this;
+    }
+
+    /**
+     *  Returns the scale of this transform.  This is the live object
+     *  and changes to it will change the transform.
+     */
+    public Vec3d getScale() {
+        return scale;
+    }
+
+    public Transformd setScale( Vec3d scale ) {
+        this.scale.set(scale);
+        return this;
+    }
+
+    public Transformd setScale( double x, double y, double z ) {
+        this.scale.set(x, y, z);
+        return this;
+    }
+
+    public Transformd setScale( double s ) {
+        this.scale.set(s, s, s);
+        return this;
+    }
+
+    /**
+     *  Transforms the specified point by this transform, ie: scales,
+     *  rotates, and then translates it, and stores the result in result,
+     *  creating a new Vec3d if result is null.  It IS safe for v and result
+     *  to be the same object.
+     */
+    public Vec3d transformPoint( Vec3d v, Vec3d result ) {
+        result = transformVector(v, result);
+        return result.addLocal(translation);
+    }
+
+    /**
+     *  Transforms the specified direction by this transform, ie: scales
+     *  and rotates it without translation, and stores the result in result,
+     *  creating a new Vec3d if result is null.  It IS safe for v and result
+     *  to be the same object.
+     */
+    public Vec3d transformVector( Vec3d v, Vec3d result ) {
+        if( result == null ) {
+            result = new Vec3d();
+        }
+        rotate(rotation, v.x * scale.x, v.y * scale.y, v.z * scale.z, result);
+        return result;
+    }
+
+    /**
+     *  Transforms the specified point from the space of this transform
+     *  back into its parent space, ie: performs the reverse of
+     *  transformPoint().  The result is stored in result, creating a new
+     *  Vec3d if result is null.  It IS safe for v and result to be the same
+     *  object.  Unlike inverse(), this is exact for non-uniform scales.
+     */
+    public Vec3d transformInversePoint( Vec3d v, Vec3d result ) {
+        if( result == null ) {
+            result = new Vec3d();
+        }
+        double d = rotation.lengthSq();
+        double qx = -rotation.x / d;
+        double qy = -rotation.y / d;
+        double qz = -rotation.z / d;
+        double qw = rotation.w / d;
+        rotate(qx, qy, qz, qw,
+               v.x - translation.x, v.y - translation.y, v.z - translation.z,
+               result);
+        result.x /= scale.x;
+        result.y /= scale.y;
+        result.z /= scale.z;
+        return result;
+    }
+
+    /**
+     *  Combines this transform with the specified child transform and
+     *  stores the result in result, creating a new Transformd if result is
+     *  null.  Treating this as the parent, the result is the child's
+     *  transform in this transform's parent space, ie: for any point p,
+     *  result.transformPoint(p) == this.transformPoint(child.transformPoint(p)).
+     *  It is safe for any or all of child, result, and this to be the
+     *  same object.
+     */
+    public Transformd combine( Transformd child, Transformd result ) {
+        if( result == null ) {
+            result = new Transformd();
+        }
+        Vec3d ct = child.translation;
+        Vec3d cs = child.scale;
+
+        // Calculate everything from the original values before anything
+        // in result is written
+        double tx = ct.x * scale.x;
+        double ty = ct.y * scale.y;
+        double tz = ct.z * scale.z;
+        double sx = cs.x * scale.x;
+        double sy = cs.y * scale.y;
+        double sz = cs.z * scale.z;
+        double px = translation.x;
+        double py = translation.y;
+        double pz = translation.z;
+
+        // The translation is rotated into result.translation so it must
+        // be done before result.rotation is overwritten
+        rotate(rotation, tx, ty, tz, result.translation);
+        rotation.mult(child.rotation, result.rotation);
+        result.translation.addLocal(px, py, pz);
+        result.scale.set(sx, sy, sz);
+        return result;
+    }
+
+    /**
+     *  Combines this transform with the specified child transform in place,
+     *  ie: this = this * child.
+     */
+    public Transformd combineLocal( Transformd child ) {
+        return combine(child, this);
+    }
+
+    /**
+     *  Combines this transform with the specified parent transform in
+     *  place, ie: this = parent * this, converting this transform into
+     *  the parent's parent space.  This is the equivalent of JME's
+     *  Transform.combineWithParent().
+     */
+    public Transformd combineWithParent( Transformd parent ) {
+        return parent.combine(this, this);
+    }
+
+    /**
+     *  Calculates the inverse of this transform and stores it in result,
+     *  creating a new Transformd if result is null.  It IS safe for result
+     *  and this to be the same object.  If the rotation has zero length or
+     *  any of the scale components are zero then the result is undefined.
+     *  For non-uniform scales, the result is only approximate.  See
+     *  transformInversePoint() for an exact alternative.
+     */
+    public Transformd inverse( Transformd result ) {
+        if( result == null ) {
+            result = new Transformd();
+        }
+        double d = rotation.lengthSq();
+        double qx = -rotation.x / d;
+        double qy = -rotation.y / d;
+        double qz = -rotation.z / d;
+        double qw = rotation.w / d;
+        double sx = 1 / scale.x;
+        double sy = 1 / scale.y;
+        double sz = 1 / scale.z;
+
+        rotate(qx, qy, qz, qw, -translation.x, -translation.y, -translation.z, result.translation);
+        result.translation.x *= sx;
+        result.translation.y *= sy;
+        result.translation.z *= sz;
+        result.rotation.set(qx, qy, qz, qw);
+        result.scale.set(sx, sy, sz);
+        return result;
+    }
+
+    public Transformd inverse() {
+        return inverse(null);
+    }
+
+    /**
+     *  Inverts this transform in place.
+     */
+    public Transformd inverseLocal() {
+        return inverse(this);
+    }
+
+    /**
+     *  Converts this transform to a 4x4 matrix stored in the store argument,
+     *  creating a new Matrix4d if store is null.  The rotation part is
+     *  calculated directly from the normalized quaternion.
+     */
+    public Matrix4d toMatrix4d( Matrix4d store ) {
+        if( store == null ) {
+            store = new Matrix4d();
+        }
+        double x = rotation.x;
+        double y = rotation.y;
+        double z = rotation.z;
+        double w = rotation.w;
+        double s = 2 / rotation.lengthSq();
+
+        // Same math as Quatd.toRotationMatrix()
+        double xs = x * s;
+        double ys = y * s;
+        double zs = z * s;
+        double xx = x * xs;
+        double xy = x * ys;
+        double xz = x * zs;
+        double xw = w * xs;
+        double yy = y * ys;
+        double yz = y * zs;
+        double yw = w * ys;
+        double zz = z * zs;
+        double zw = w * zs;
+
+        double sx = scale.x;
+        double sy = scale.y;
+        double sz = scale.z;
+
+        return store.set((1 - (yy + zz)) * sx, (xy - zw) * sy, (xz + yw) * sz, translation.x,
+                         (xy + zw) * sx, (1 - (xx + zz)) * sy, (yz - xw) * sz, translation.y,
+                         (xz - yw) * sx, (yz + xw) * sy, (1 - (xx + yy)) * sz, translation.z,
+                         0, 0, 0, 1);
+    }
+
+    public Matrix4d toMatrix4d() {
+        return toMatrix4d(null);
+    }
+
+    /**
+     *  Same math as Quatd.mult(Vec3d, Vec3d) but taking the vector as
+     *  separate components so that no temporary Vec3d is needed.
+     */
+    private static void rotate( Quatd q, double vx, double vy, double vz, Vec3d result ) {
+        rotate(q.x, q.y, q.z, q.w, vx, vy, vz, result);
+    }
+
+    private static void rotate( double x, double y, double z, double w,
+                                double vx, double vy, double vz, Vec3d result ) {
+        double rx = w * w * vx + 2 * y * w * vz - 2 * z * w * vy + x * x
+                    * vx + 2 * y * x * vy + 2 * z * x * vz - z * z * vx - y
+                    * y * vx;
+        double ry = 2 * x * y * vx + y * y * vy + 2 * z * y * vz + 2 * w
+                    * z * vx - z * z * vy + w * w * vy - 2 * x * w * vz - x
+                    * x * vy;
+        double rz = 2 * x * z * vx + 2 * y * z * vy + z * z * vz - 2 * w
+                    * y * vx - y * y * vz + 2 * w * x * vy - x * x * vz + w
+                    * w * vz;
+        result.set(rx, ry, rz);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = translation.hashCode();
+        hash = hash * 31 + rotation.hashCode();
+        hash = hash * 31 + scale.hashCode();
+        return hash;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+        if( o == this )
+            return true;
+        if( o == null || o.getClass() != getClass() )
+            return false;
+        Transformd other = (Transformd)o;
+        return translation.equals(other.translation)
+            && rotation.equals(other.rotation)
+            && scale.equals(other.scale);
+    }
+
+    @Override
+    public String toString() {
+        return "Transformd[translation=" + translation + ", rotation=" + rotation
+                    + ", scale=" + scale + "]";
+    }
+}
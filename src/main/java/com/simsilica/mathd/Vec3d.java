@@ -693,6 +693,9 @@ public class Vec3d implements Cloneable, java.io.Serializable {
      * @return the dot product
      */
     public final double dot( Vec3d v ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.dot(x, y, z, v.x, v.y, v.z);
+        }
         return x * v.x + y * v.y + z * v.z;
     }
 
@@ -701,6 +704,9 @@ public class Vec3d implements Cloneable, java.io.Serializable {
     }
 
     public final double dot( double vx, double vy, double vz ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.dot(x, y, z, vx, vy, vz);
+        }
         return x * vx + y * vy + z * vz;
     }
 
@@ -712,6 +718,9 @@ public class Vec3d implements Cloneable, java.io.Serializable {
      * @return {@code this} cross {@code v} (a new Vec3d)
      */
     public final Vec3d cross( Vec3d v ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.cross(x, y, z, v.x, v.y, v.z, null);
+        }
         double xNew = (y * v.z) - (z * v.y);
         double yNew = (z * v.x) - (x * v.z);
         double zNew = (x * v.y) - (y * v.x);
@@ -719,6 +728,9 @@ public class Vec3d implements Cloneable, java.io.Serializable {
     }
 
     public final Vec3d cross( double vx, double vy, double vz ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.cross(x, y, z, vx, vy, vz, null);
+        }
         double xNew = (y * vz) - (z * vy);
         double yNew = (z * vx) - (x * vz);
         double zNew = (x * vy) - (y * vx);
@@ -726,6 +738,9 @@ public class Vec3d implements Cloneable, java.io.Serializable {
     }
 
     public final Vec3d crossLocal( Vec3d v ) {
+        if( FusedMath.ENABLED ) {
+            return FusedOps.cross(x, y, z, v.x, v.y, v.z, this);
+        }
         double xNew = (y * v.z) - (z * v.y);
         double yNew = (z * v.x) - (x * v.z);
         double zNew = (x * v.y) - (y * v.x);
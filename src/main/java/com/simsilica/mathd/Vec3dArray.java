@@ -0,0 +1,348 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import java.util.Arrays;
+
+/**
+ *  A fixed-size array of 3D double-precision vectors stored as separate
+ *  x, y, and z columns ("structure of arrays") instead of as individual
+ *  Vec3d objects.  This avoids the per-object overhead of large numbers
+ *  of vectors and keeps each component contiguous in memory so that the
+ *  bulk operations are simple loops over primitive arrays.
+ *  <p>
+ *  The bulk methods mirror the Vec3d methods of the same name but apply
+ *  to every element.  Methods with names ending in "Local" modify the
+ *  current instance.
+ *  <p>
+ *  The columns are exposed directly for callers that need to do their
+ *  own processing.  Their length is always equal to size().
+ *
+ *  @author    Paul Speed
+ */
+public final class Vec3dArray implements Cloneable, java.io.Serializable {
+
+    static final long serialVersionUID = 42L;
+
+    /**
+     *  The X components of all vectors.
+     */
+    public final double[] x;
+
+    /**
+     *  The Y components of all vectors.
+     */
+    public final double[] y;
+
+    /**
+     *  The Z components of all vectors.
+     */
+    public final double[] z;
+
+    /**
+     *  Creates an array of the specified number of all-zero vectors.
+     */
+    public Vec3dArray( int size ) {
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+    }
+
+    private Vec3dArray( double[] x, double[] y, double[] z ) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     *  Creates a deep copy of this array.
+     */
+    @Override
+    public Vec3dArray clone() {
+        return new Vec3dArray(x.clone(), y.clone(), z.clone());
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    public Vec3dArray set( int i, double vx, double vy, double vz ) {
+        x[i] = vx;
+        y[i] = vy;
+        z[i] = vz;
+        return this;
+    }
+
+    public Vec3dArray set( int i, Vec3d v ) {
+        return set(i, v.x, v.y, v.z);
+    }
+
+    /**
+     *  Copies all of the values from the specified array which must be the
+     *  same size as this one.
+     */
+    public Vec3dArray set( Vec3dArray array ) {
+        checkSize(array);
+        System.arraycopy(array.x, 0, x, 0, x.length);
+        System.arraycopy(array.y, 0, y, 0, y.length);
+        System.arraycopy(array.z, 0, z, 0, z.length);
+        return this;
+    }
+
+    /**
+     *  Sets every element to the specified value.
+     */
+    public Vec3dArray fill( Vec3d v ) {
+        Arrays.fill(x, v.x);
+        Arrays.fill(y, v.y);
+        Arrays.fill(z, v.z);
+        return this;
+    }
+
+    /**
+     *  Returns the vector at the specified index in the store argument,
+     *  creating a new Vec3d if store is null.
+     */
+    public Vec3d get( int i, Vec3d store ) {
+        if( store == null ) {
+            return new Vec3d(x[i], y[i], z[i]);
+        }
+        return store.set(x[i], y[i], z[i]);
+    }
+
+    public Vec3d get( int i ) {
+        return get(i, null);
+    }
+
+    /**
+     *  Adds the specified vector to every element.
+     */
+    public Vec3dArray addLocal( Vec3d v ) {
+        double vx = v.x;
+        double vy = v.y;
+        double vz = v.z;
+        ColumnOps.add(x, vx, x.length);
+        ColumnOps.add(y, vy, y.length);
+        ColumnOps.add(z, vz, z.length);
+        return this;
+    }
+
+    /**
+     *  Adds the elements of the specified array to the corresponding
+     *  elements of this array.  It IS safe for array and this to be the
+     *  same object.
+     */
+    public Vec3dArray addLocal( Vec3dArray array ) {
+        checkSize(array);
+        addColumn(x, array.x, 1.0);
+        addColumn(y, array.y, 1.0);
+        addColumn(z, array.z, 1.0);
+        return this;
+    }
+
+    /**
+     *  Subtracts the elements of the specified array from the corresponding
+     *  elements of this array.  It IS safe for array and this to be the
+     *  same object.
+     */
+    public Vec3dArray subtractLocal( Vec3dArray array ) {
+        checkSize(array);
+        addColumn(x, array.x, -1.0);
+        addColumn(y, array.y, -1.0);
+        addColumn(z, array.z, -1.0);
+        return this;
+    }
+
+    /**
+     *  Adds each element of toAdd scaled by the specified amount to the
+     *  corresponding element of this array.  For example, this can be used
+     *  to integrate positions from velocities: pos.addScaledVectorLocal(vel, tpf)
+     */
+    public Vec3dArray addScaledVectorLocal( Vec3dArray toAdd, double scale ) {
+        checkSize(toAdd);
+        addColumn(x, toAdd.x, scale);
+        addColumn(y, toAdd.y, scale);
+        addColumn(z, toAdd.z, scale);
+        return this;
+    }
+
+    private static void addColumn( double[] target, double[] source, double scale ) {
+        ColumnOps.addScaled(target, source, scale, target.length);
+    }
+
+    /**
+     *  Multiplies every element by the specified scalar.
+     */
+    public Vec3dArray multLocal( double s ) {
+        ColumnOps.scale(x, s, x.length);
+        ColumnOps.scale(y, s, y.length);
+        ColumnOps.scale(z, s, z.length);
+        return this;
+    }
+
+    /**
+     *  Sets each element of this array to the linear interpolation of
+     *  the corresponding elements of start and end.  Basically,
+     *  this[i] = (1 - mix) * start[i] + mix * end[i].
+     */
+    public Vec3dArray interpolateLocal( Vec3dArray start, Vec3dArray end, double mix ) {
+        checkSize(start);
+        checkSize(end);
+        interpolateColumn(x, start.x, end.x, mix);
+        interpolateColumn(y, start.y, end.y, mix);
+        interpolateColumn(z, start.z, end.z, mix);
+        return this;
+    }
+
+    private static void interpolateColumn( double[] target, double[] start, double[] end, double mix ) {
+        double inv = 1 - mix;
+        for( int i = 0; i < target.length; i++ ) {
+            target[i] = inv * start[i] + mix * end[i];
+        }
+    }
+
+    /**
+     *  Normalizes every element in place.  As with Vec3d.normalizeLocal(),
+     *  the result for zero-length elements is undefined.
+     */
+    public Vec3dArray normalizeLocal() {
+        for( int i = 0; i < x.length; i++ ) {
+            double s = 1.0 / Math.sqrt(x[i] * x[i] + y[i] * y[i] + z[i] * z[i]);
+            x[i] *= s;
+            y[i] *= s;
+            z[i] *= s;
+        }
+        return this;
+    }
+
+    /**
+     *  Sets each element to the component-wise minimum of itself and the
+     *  corresponding element of the specified array.
+     */
+    public Vec3dArray minLocal( Vec3dArray array ) {
+        checkSize(array);
+        minColumn(x, array.x);
+        minColumn(y, array.y);
+        minColumn(z, array.z);
+        return this;
+    }
+
+    /**
+     *  Sets each element to the component-wise maximum of itself and the
+     *  corresponding element of the specified array.
+     */
+    public Vec3dArray maxLocal( Vec3dArray array ) {
+        checkSize(array);
+        maxColumn(x, array.x);
+        maxColumn(y, array.y);
+        maxColumn(z, array.z);
+        return this;
+    }
+
+    private static void minColumn( double[] target, double[] source ) {
+        for( int i = 0; i < target.length; i++ ) {
+            target[i] = target[i] < source[i] ? target[i] : source[i];
+        }
+    }
+
+    private static void maxColumn( double[] target, double[] source ) {
+        for( int i = 0; i < target.length; i++ ) {
+            target[i] = target[i] > source[i] ? target[i] : source[i];
+        }
+    }
+
+    /**
+     *  Returns the squared distance between the element at index i and
+     *  the specified vector.
+     */
+    public double distanceSq( int i, Vec3d v ) {
+        double xs = v.x - x[i];
+        double ys = v.y - y[i];
+        double zs = v.z - z[i];
+        return xs * xs + ys * ys + zs * zs;
+    }
+
+    /**
+     *  Calculates the squared distance of every element to the specified
+     *  vector and stores the results in the store array, creating a new
+     *  array if store is null.
+     */
+    public double[] distanceSq( Vec3d v, double[] store ) {
+        if( store == null ) {
+            store = new double[x.length];
+        } else if( store.length < x.length ) {
+            throw new IllegalArgumentException("Store array is too small:" + store.length + " < " + x.length);
+        }
+        double vx = v.x;
+        double vy = v.y;
+        double vz = v.z;
+        for( int i = 0; i < x.length; i++ ) {
+            double xs = vx - x[i];
+            double ys = vy - y[i];
+            double zs = vz - z[i];
+            store[i] = xs * xs + ys * ys + zs * zs;
+        }
+        return store;
+    }
+
+    /**
+     *  Calculates the dot product of every element with the corresponding
+     *  element of the specified array and stores the results in the store
+     *  array, creating a new array if store is null.
+     */
+    public double[] dot( Vec3dArray array, double[] store ) {
+        checkSize(array);
+        if( store == null ) {
+            store = new double[x.length];
+        } else if( store.length < x.length ) {
+            throw new IllegalArgumentException("Store array is too small:" + store.length + " < " + x.length);
+        }
+        ColumnOps.dot(x, y, z, array.x, array.y, array.z, store, x.length);
+        return store;
+    }
+
+    private void checkSize( Vec3dArray array ) {
+        if( array.x.length != x.length ) {
+            throw new IllegalArgumentException("Array size mismatch:" + array.x.length + " != " + x.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Vec3dArray[size=" + x.length + "]";
+    }
+}
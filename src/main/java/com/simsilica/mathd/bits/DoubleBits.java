@@ -36,6 +36,7 @@
 
 package com.simsilica.mathd.bits;
 
+import com.simsilica.mathd.ColumnOps;
 
 /**
  *
@@ -123,6 +124,38 @@ public final class DoubleBits {
         f += minValue;
         return (double)f;
     }
+ 
+    /**
+     *  Converts all of the values to their bit representations, storing
+     *  them in the store array or a new array if store is null.  Unlike
+     *  toBits(double), out of range values are silently clamped to the
+     *  min/max values instead of being logged.  Values are rounded half-up
+     *  which can differ from toBits(double) by one for values that land
+     *  exactly on a rounding boundary.
+     */
+    public long[] toBits( double[] values, long[] store ) {
+        if( store == null ) {
+            store = new long[values.length];
+        } else if( store.length < values.length ) {
+            throw new IllegalArgumentException("Store array is too small:" + store.length + " < " + values.length);
+        }
+        ColumnOps.quantize(values, minValue, maxValue, mult, store, values.length);
+        return store;
+    }
+ 
+    /**
+     *  Converts all of the bit representations back to their double values,
+     *  storing them in the store array or a new array if store is null.
+     */
+    public double[] fromBits( long[] bits, double[] store ) {
+        if( store == null ) {
+            store = new double[bits.length];
+        } else if( store.length < bits.length ) {
+            throw new IllegalArgumentException("Store array is too small:" + store.length + " < " + bits.length);
+        }
+        ColumnOps.dequantize(bits, mask, invMult, minValue, store, bits.length);
+        return store;
+    }
     
     public static void main( String... args ) {
         
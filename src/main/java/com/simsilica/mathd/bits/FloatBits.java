@@ -36,6 +36,7 @@
 
 package com.simsilica.mathd.bits;
 
+import com.simsilica.mathd.ColumnOps;
 
 /**
  *
@@ -123,6 +124,38 @@ public final class FloatBits {
         f += minValue;
         return (float)f;
     }
+ 
+    /**
+     *  Converts all of the values to their bit representations, storing
+     *  them in the store array or a new array if store is null.  Unlike
+     *  toBits(float), out of range values are silently clamped to the
+     *  min/max values instead of being logged.  Values are rounded half-up
+     *  which can differ from toBits(float) by one for values that land
+     *  exactly on a rounding boundary.
+     */
+    public long[] toBits( float[] values, long[] store ) {
+        if( store == null ) {
+            store = new long[values.length];
+        } else if( store.length < values.length ) {
+            throw new IllegalArgumentException("Store array is too small:" + store.length + " < " + values.length);
+        }
+        ColumnOps.quantize(values, minValue, maxValue, mult, store, values.length);
+        return store;
+    }
+ 
+    /**
+     *  Converts all of the bit representations back to their float values,
+     *  storing them in the store array or a new array if store is null.
+     */
+    public float[] fromBits( long[] bits, float[] store ) {
+        if( store == null ) {
+            store = new float[bits.length];
+        } else if( store.length < bits.length ) {
+            throw new IllegalArgumentException("Store array is too small:" + store.length + " < " + bits.length);
+        }
+        ColumnOps.dequantize(bits, mask, invMult, minValue, store, bits.length);
+        return store;
+    }
     
     public static void main( String... args ) {
         
@@ -36,6 +36,7 @@
 
 package com.simsilica.mathd.trans;
 
+import com.simsilica.mathd.QuatInterpolation;
 import com.simsilica.mathd.Quatd;
 import com.simsilica.mathd.Vec3d;
 
@@ -114,13 +115,23 @@ public class PositionTransition3d implements Transition<PositionTransition3d> {
     }
 
     public Vec3d getPosition( long time, boolean clamp ) {
+        return getPosition(time, clamp, null);
+    }
+
+    /**
+     *  Returns the position at the specified time in the store argument,
+     *  creating a new Vec3d if store is null.  Returns null without
+     *  modifying store if there is no position for that time and clamp
+     *  is false.
+     */
+    public Vec3d getPosition( long time, boolean clamp, Vec3d store ) {
  
         if( startPos == null ) {
             // Need to clone it even for the clamped version because
             // 99% of the time the caller will get their own instance and
             // use it that way.  It causes subtle bugs then to return the
             // actual start or end instance.
-            return clamp ? endPos.clone() : null;           
+            return clamp ? copy(endPos, store) : null;           
         }
 
         if( time < startTime ) {
@@ -128,13 +139,15 @@ public class PositionTransition3d implements Transition<PositionTransition3d> {
             // 99% of the time the caller will get their own instance and
             // use it that way.  It causes subtle bugs then to return the
             // actual start or end instance.
-            return clamp ? startPos.clone() : null;
+            return clamp ? copy(startPos, store) : null;
         }
  
         double t = tween(time);
         
-        Vec3d result = new Vec3d().interpolateLocal(startPos, endPos, t);     
-        return result;
+        if( store == null ) {
+            store = new Vec3d();
+        }
+        return store.interpolateLocal(startPos, endPos, t);     
     }
     
     public Quatd getRotation( long time ) {
@@ -142,12 +155,33 @@ public class PositionTransition3d implements Transition<PositionTransition3d> {
     }
     
     public Quatd getRotation( long time, boolean clamp ) {
+        return getRotation(time, clamp, QuatInterpolation.Slerp);
+    }
+
+    /**
+     *  Returns the rotation at the specified time interpolated using
+     *  the specified interpolation mode.  Callers that update many
+     *  entities every frame can use QuatInterpolation.Nlerp or FastSlerp
+     *  to avoid the cost of a full slerp for the small rotation changes
+     *  between frames.
+     */
+    public Quatd getRotation( long time, boolean clamp, QuatInterpolation mode ) {
+        return getRotation(time, clamp, mode, null);
+    }
+
+    /**
+     *  Returns the rotation at the specified time interpolated using
+     *  the specified interpolation mode in the store argument, creating
+     *  a new Quatd if store is null.  Returns null without modifying store
+     *  if there is no rotation for that time and clamp is false.
+     */
+    public Quatd getRotation( long time, boolean clamp, QuatInterpolation mode, Quatd store ) {
         if( startRot == null ) {
             // Need to clone it even for the clamped version because
             // 99% of the time the caller will get their own instance and
             // use it that way.  It causes subtle bugs then to return the
             // actual start or end instance.
-            return clamp ? endRot.clone() : null;
+            return clamp ? copy(endRot, store) : null;
         }
         
         if( time < startTime ) {
@@ -155,11 +189,21 @@ public class PositionTransition3d implements Transition<PositionTransition3d> {
             // 99% of the time the caller will get their own instance and
             // use it that way.  It causes subtle bugs then to return the
             // actual start or end instance.        
-            return clamp ? startRot.clone() : null;
+            return clamp ? copy(startRot, store) : null;
         }
             
-        Quatd result = new Quatd().slerpLocal(startRot, endRot, tween(time));
-        return result;
+        if( store == null ) {
+            store = new Quatd();
+        }
+        return mode.interpolate(startRot, endRot, tween(time), store);
+    }
+
+    private static Vec3d copy( Vec3d v, Vec3d store ) {
+        return store == null ? v.clone() : store.set(v);
+    }
+
+    private static Quatd copy( Quatd q, Quatd store ) {
+        return store == null ? q.clone() : store.set(q);
     }
     
     public boolean getVisibility( long time ) {
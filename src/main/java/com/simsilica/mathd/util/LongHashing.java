@@ -0,0 +1,90 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd.util;
+
+/**
+ *  Hashing support shared by the primitive long-keyed maps.
+ *
+ *  @author    Paul Speed
+ */
+final class LongHashing {
+
+    // The largest power of two table size that an int can index
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private LongHashing() {
+    }
+
+    /**
+     *  Mixes all 64 bits of the key into the low 32 bits of the result.
+     *  Grid IDs put x in the high bits and z in the low bits so a plain
+     *  (int)key would ignore x entirely and (int)(key ^ (key &gt;&gt;&gt; 32))
+     *  would still collide for many neighboring cells.  This is the
+     *  MurmurHash3 64 bit finalizer.
+     */
+    static int mix( long key ) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int)h;
+    }
+
+    /**
+     *  Returns the power of two table size that can hold the specified
+     *  number of entries without growing.
+     */
+    static int tableSize( int expectedSize ) {
+        long needed = Math.max(2L, (long)expectedSize * 2);
+        if( needed > MAX_CAPACITY ) {
+            throw new IllegalArgumentException("Too many entries:" + expectedSize);
+        }
+        return Integer.highestOneBit((int)needed - 1) << 1;
+    }
+
+    /**
+     *  Returns the number of entries that a table of the specified size
+     *  can hold before it needs to grow.
+     */
+    static int maxFill( int capacity ) {
+        // Tables are kept at most half full so that linear probe chains
+        // stay short
+        return capacity / 2;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd.util;
+
+import java.util.Arrays;
+
+/**
+ *  An open-addressing hash map from primitive long keys to object
+ *  values that avoids boxing the keys.  It is tuned for the packed
+ *  cell IDs produced by Grid.cellToId() and Grid.worldToId() whose x, y,
+ *  and z parts sit in separate bit ranges.  Keys are run through a 64 bit
+ *  mixer so that neighboring cells spread across the table.
+ *  <p>
+ *  Entries can be iterated without creating an Iterator:
+ *  <pre>
+ *  for( int i = map.firstSlot(); i &gt;= 0; i = map.nextSlot(i) ) {
+ *      long key = map.keyAt(i);
+ *      V value = map.valueAt(i);
+ *  }
+ *  </pre>
+ *  The map must not be modified during slot iteration.
+ *  <p>
+ *  This class is not thread safe.
+ *
+ *  @author    Paul Speed
+ */
+@SuppressWarnings("unchecked")
+public class LongObjectHashMap<V> {
+
+    private static final int DEFAULT_SIZE = 16;
+
+    // Key 0 is used to mark empty slots so it is stored separately
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int maxFill;
+
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     *  Creates a map sized to hold the specified number of entries
+     *  without growing.
+     */
+    public LongObjectHashMap( int expectedSize ) {
+        if( expectedSize < 0 ) {
+            throw new IllegalArgumentException("Expected size cannot be negative:" + expectedSize);
+        }
+        allocate(LongHashing.tableSize(expectedSize));
+    }
+
+    private void allocate( int capacity ) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.maxFill = LongHashing.maxFill(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey( long key ) {
+        if( key == 0 ) {
+            return hasZeroKey;
+        }
+        return find(key) >= 0;
+    }
+
+    /**
+     *  Returns the value for the specified key or null if the map
+     *  has no entry for that key.
+     */
+    public V get( long key ) {
+        if( key == 0 ) {
+            return hasZeroKey ? zeroValue : null;
+        }
+        int slot = find(key);
+        return slot < 0 ? null : (V)values[slot];
+    }
+
+    /**
+     *  Sets the value for the specified key and returns the previous value
+     *  or null if the map had no entry for that key.
+     */
+    public V put( long key, V value ) {
+        if( key == 0 ) {
+            V result = hasZeroKey ? zeroValue : null;
+            if( !hasZeroKey ) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return result;
+        }
+        int slot = LongHashing.mix(key) & mask;
+        long k;
+        while( (k = keys[slot]) != 0 ) {
+            if( k == key ) {
+                V result = (V)values[slot];
+                values[slot] = value;
+                return result;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if( ++size > maxFill ) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     *  Removes the entry for the specified key and returns its value or
+     *  null if the map had no entry for that key.
+     */
+    public V remove( long key ) {
+        if( key == 0 ) {
+            if( !hasZeroKey ) {
+                return null;
+            }
+            V result = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return result;
+        }
+        int slot = find(key);
+        if( slot < 0 ) {
+            return null;
+        }
+        V result = (V)values[slot];
+        size--;
+        shiftKeys(slot);
+        return result;
+    }
+
+    /**
+     *  Removes all entries without shrinking the table.
+     */
+    public void clear() {
+        if( size == 0 ) {
+            return;
+        }
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     *  Copies all of the keys into the store array, creating a new
+     *  array if store is null, and returns it.
+     */
+    public long[] keys( long[] store ) {
+        if( store == null ) {
+            store = new long[size];
+        } else if( store.length < size ) {
+            throw new IllegalArgumentException("Store array is too small:" + store.length + " < " + size);
+        }
+        int index = 0;
+        for( int i = firstSlot(); i >= 0; i = nextSlot(i) ) {
+            store[index++] = keyAt(i);
+        }
+        return store;
+    }
+
+    /**
+     *  Returns the first occupied slot for slot iteration or -1 if the
+     *  map is empty.
+     */
+    public int firstSlot() {
+        return nextSlot(-1);
+    }
+
+    /**
+     *  Returns the next occupied slot after the specified slot or -1 if
+     *  there are no more.
+     */
+    public int nextSlot( int slot ) {
+        int capacity = keys.length;
+        for( int i = slot + 1; i < capacity; i++ ) {
+            if( keys[i] != 0 ) {
+                return i;
+            }
+        }
+        if( slot < capacity && hasZeroKey ) {
+            // The zero key is reported as the slot just past the table
+            return capacity;
+        }
+        return -1;
+    }
+
+    /**
+     *  Returns the key in the specified occupied slot.
+     */
+    public long keyAt( int slot ) {
+        return slot == keys.length ? 0 : keys[slot];
+    }
+
+    /**
+     *  Returns the value in the specified occupied slot.
+     */
+    public V valueAt( int slot ) {
+        return slot == keys.length ? zeroValue : (V)values[slot];
+    }
+
+    private int find( long key ) {
+        int slot = LongHashing.mix(key) & mask;
+        long k;
+        while( (k = keys[slot]) != 0 ) {
+            if( k == key ) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     *  Removes the entry at pos by shifting any following entries of the
+     *  same probe chain back so that no tombstones are needed.
+     */
+    private void shiftKeys( int pos ) {
+        while( true ) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            long k;
+            while( true ) {
+                if( (k = keys[pos]) == 0 ) {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                int slot = LongHashing.mix(k) & mask;
+                // Can the entry at pos be moved back to last without
+                // moving it in front of its home slot?
+                if( last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos) ) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash( int capacity ) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for( int i = 0; i < oldKeys.length; i++ ) {
+            long k = oldKeys[i];
+            if( k == 0 ) {
+                continue;
+            }
+            int slot = LongHashing.mix(k) & mask;
+            while( keys[slot] != 0 ) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = k;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LongObjectHashMap[size=" + size + "]";
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import org.slf4j.*;
+
+/**
+ *  The primitive array loops behind the bulk operations of Vec3dArray,
+ *  QuatdArray, and the bulk DoubleBits/FloatBits methods.  These operate
+ *  on the first 'length' elements of each array.
+ *  <p>
+ *  This is the Java 17+ version from the multi-release jar.  The
+ *  implementation is picked once when the class is initialized: if the
+ *  jdk.incubator.vector module has been added to the JVM
+ *  (--add-modules jdk.incubator.vector) then the Vector API versions
+ *  are used, else the plain Java loops are used.  The Vector API can
+ *  also be turned off by setting the system property
+ *  "com.simsilica.mathd.vector" to false.  Both produce the same results.
+ *
+ *  @author    Paul Speed
+ */
+public final class ColumnOps {
+
+    static Logger log = LoggerFactory.getLogger(ColumnOps.class);
+
+    private static final boolean VECTOR = checkVectorSupport();
+
+    private ColumnOps() {
+    }
+
+    private static boolean checkVectorSupport() {
+        if( !Boolean.parseBoolean(System.getProperty("com.simsilica.mathd.vector", "true")) ) {
+            log.debug("Vector API disabled by system property");
+            return false;
+        }
+        try {
+            // Make sure the module is present and that the species
+            // can be created
+            Class.forName("jdk.incubator.vector.DoubleVector");
+            Class.forName("com.simsilica.mathd.VectorColumnOps");
+            log.debug("Using Vector API bulk operations");
+            return true;
+        } catch( ClassNotFoundException | LinkageError e ) {
+            log.debug("Vector API not available, using scalar bulk operations");
+            return false;
+        }
+    }
+
+    /**
+     *  Returns a description of the implementation in use, "vector" for
+     *  the Vector API and "scalar" for plain Java loops.
+     */
+    public static String getImplementation() {
+        return VECTOR ? "vector" : "scalar";
+    }
+
+    /**
+     *  target[i] += source[i] * scale
+     */
+    public static void addScaled( double[] target, double[] source, double scale, int length ) {
+        if( VECTOR ) {
+            VectorColumnOps.addScaled(target, source, scale, length);
+        } else {
+            ScalarColumnOps.addScaled(target, source, scale, length);
+        }
+    }
+
+    /**
+     *  target[i] += value
+     */
+    public static void add( double[] target, double value, int length ) {
+        if( VECTOR ) {
+            VectorColumnOps.add(target, value, length);
+        } else {
+            ScalarColumnOps.add(target, value, length);
+        }
+    }
+
+    /**
+     *  target[i] *= scale
+     */
+    public static void scale( double[] target, double scale, int length ) {
+        if( VECTOR ) {
+            VectorColumnOps.scale(target, scale, length);
+        } else {
+            ScalarColumnOps.scale(target, scale, length);
+        }
+    }
+
+    /**
+     *  store[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i]
+     */
+    public static void dot( double[] ax, double[] ay, double[] az,
+                            double[] bx, double[] by, double[] bz,
+                            double[] store, int length ) {
+        if( VECTOR ) {
+            VectorColumnOps.dot(ax, ay, az, bx, by, bz, store, length);
+        } else {
+            ScalarColumnOps.dot(ax, ay, az, bx, by, bz, store, length);
+        }
+    }
+
+    /**
+     *  Rotates the v vectors by the q quaternions, storing the results in r.
+     *  The per-element math is the same as Quatd.mult(Vec3d, Vec3d).  It
+     *  is safe for the r arrays to be the same as the v arrays.
+     */
+    public static void rotate( double[] qx, double[] qy, double[] qz, double[] qw,
+                               double[] vx, double[] vy, double[] vz,
+                               double[] rx, double[] ry, double[] rz, int length ) {
+        if( VECTOR ) {
+            VectorColumnOps.rotate(qx, qy, qz, qw, vx, vy, vz, rx, ry, rz, length);
+        } else {
+            ScalarColumnOps.rotate(qx, qy, qz, qw, vx, vy, vz, rx, ry, rz, length);
+        }
+    }
+
+    /**
+     *  store[i] = (long)((clamp(values[i], min, max) - min) * mult + 0.5)
+     */
+    public static void quantize( double[] values, double min, double max, double mult,
+                                 long[] store, int length ) {
+        if( VECTOR ) {
+            VectorColumnOps.quantize(values, min, max, mult, store, length);
+        } else {
+            ScalarColumnOps.quantize(values, min, max, mult, store, length);
+        }
+    }
+
+    /**
+     *  store[i] = (bits[i] &amp; mask) * invMult + min
+     */
+    public static void dequantize( long[] bits, long mask, double invMult, double min,
+                                   double[] store, int length ) {
+        if( VECTOR ) {
+            VectorColumnOps.dequantize(bits, mask, invMult, min, store, length);
+        } else {
+            ScalarColumnOps.dequantize(bits, mask, invMult, min, store, length);
+        }
+    }
+
+    /**
+     *  store[i] = (long)((clamp(values[i], min, max) - min) * mult + 0.5f)
+     *  performed with float math.
+     */
+    public static void quantize( float[] values, float min, float max, float mult,
+                                 long[] store, int length ) {
+        ScalarColumnOps.quantize(values, min, max, mult, store, length);
+    }
+
+    /**
+     *  store[i] = (bits[i] &amp; mask) * invMult + min performed with float math.
+     */
+    public static void dequantize( long[] bits, long mask, float invMult, float min,
+                                   float[] store, int length ) {
+        ScalarColumnOps.dequantize(bits, mask, invMult, min, store, length);
+    }
+}
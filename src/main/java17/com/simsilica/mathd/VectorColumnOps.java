@@ -0,0 +1,197 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.mathd;
+
+import jdk.incubator.vector.*;
+
+/**
+ *  Vector API versions of the ColumnOps loops.  Each method processes
+ *  as many full vector lanes as it can and then finishes the remaining
+ *  elements with plain Java.  The operations are performed in the same
+ *  order as the ScalarColumnOps versions so the results are identical.
+ *
+ *  This class must only be referenced once ColumnOps has confirmed that
+ *  the jdk.incubator.vector module is available.
+ *
+ *  @author    Paul Speed
+ */
+final class VectorColumnOps {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG_SPECIES = VectorSpecies.of(long.class, SPECIES.vectorShape());
+
+    private VectorColumnOps() {
+    }
+
+    static void addScaled( double[] target, double[] source, double scale, int length ) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for( ; i < bound; i += SPECIES.length() ) {
+            DoubleVector t = DoubleVector.fromArray(SPECIES, target, i);
+            DoubleVector s = DoubleVector.fromArray(SPECIES, source, i);
+            t.add(s.mul(scale)).intoArray(target, i);
+        }
+        for( ; i < length; i++ ) {
+            target[i] += source[i] * scale;
+        }
+    }
+
+    static void add( double[] target, double value, int length ) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for( ; i < bound; i += SPECIES.length() ) {
+            DoubleVector.fromArray(SPECIES, target, i).add(value).intoArray(target, i);
+        }
+        for( ; i < length; i++ ) {
+            target[i] += value;
+        }
+    }
+
+    static void scale( double[] target, double scale, int length ) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for( ; i < bound; i += SPECIES.length() ) {
+            DoubleVector.fromArray(SPECIES, target, i).mul(scale).intoArray(target, i);
+        }
+        for( ; i < length; i++ ) {
+            target[i] *= scale;
+        }
+    }
+
+    static void dot( double[] ax, double[] ay, double[] az,
+                     double[] bx, double[] by, double[] bz,
+                     double[] store, int length ) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for( ; i < bound; i += SPECIES.length() ) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, ax, i).mul(DoubleVector.fromArray(SPECIES, bx, i));
+            DoubleVector y = DoubleVector.fromArray(SPECIES, ay, i).mul(DoubleVector.fromArray(SPECIES, by, i));
+            DoubleVector z = DoubleVector.fromArray(SPECIES, az, i).mul(DoubleVector.fromArray(SPECIES, bz, i));
+            x.add(y).add(z).intoArray(store, i);
+        }
+        for( ; i < length; i++ ) {
+            store[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+        }
+    }
+
+    static void rotate( double[] qx, double[] qy, double[] qz, double[] qw,
+                        double[] vx, double[] vy, double[] vz,
+                        double[] rx, double[] ry, double[] rz, int length ) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for( ; i < bound; i += SPECIES.length() ) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, qx, i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, qy, i);
+            DoubleVector z = DoubleVector.fromArray(SPECIES, qz, i);
+            DoubleVector w = DoubleVector.fromArray(SPECIES, qw, i);
+            DoubleVector ux = DoubleVector.fromArray(SPECIES, vx, i);
+            DoubleVector uy = DoubleVector.fromArray(SPECIES, vy, i);
+            DoubleVector uz = DoubleVector.fromArray(SPECIES, vz, i);
+
+            DoubleVector x2 = x.mul(2);
+            DoubleVector y2 = y.mul(2);
+            DoubleVector z2 = z.mul(2);
+            DoubleVector w2 = w.mul(2);
+            DoubleVector xx = x.mul(x);
+            DoubleVector yy = y.mul(y);
+            DoubleVector zz = z.mul(z);
+            DoubleVector ww = w.mul(w);
+
+            // Same term order as Quatd.mult(Vec3d, Vec3d)
+            DoubleVector r = ww.mul(ux)
+                            .add(y2.mul(w).mul(uz))
+                            .sub(z2.mul(w).mul(uy))
+                            .add(xx.mul(ux))
+                            .add(y2.mul(x).mul(uy))
+                            .add(z2.mul(x).mul(uz))
+                            .sub(zz.mul(ux))
+                            .sub(yy.mul(ux));
+            r.intoArray(rx, i);
+
+            r = x2.mul(y).mul(ux)
+                    .add(yy.mul(uy))
+                    .add(z2.mul(y).mul(uz))
+                    .add(w2.mul(z).mul(ux))
+                    .sub(zz.mul(uy))
+                    .add(ww.mul(uy))
+                    .sub(x2.mul(w).mul(uz))
+                    .sub(xx.mul(uy));
+            r.intoArray(ry, i);
+
+            r = x2.mul(z).mul(ux)
+                    .add(y2.mul(z).mul(uy))
+                    .add(zz.mul(uz))
+                    .sub(w2.mul(y).mul(ux))
+                    .sub(yy.mul(uz))
+                    .add(w2.mul(x).mul(uy))
+                    .sub(xx.mul(uz))
+                    .add(ww.mul(uz));
+            r.intoArray(rz, i);
+        }
+        ScalarColumnOps.rotate(qx, qy, qz, qw, vx, vy, vz, rx, ry, rz, i, length);
+    }
+
+    static void quantize( double[] values, double min, double max, double mult,
+                          long[] store, int length ) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for( ; i < bound; i += SPECIES.length() ) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, values, i);
+            v = v.max(min).min(max).sub(min).mul(mult).add(0.5);
+            ((LongVector)v.convertShape(VectorOperators.D2L, LONG_SPECIES, 0)).intoArray(store, i);
+        }
+        for( ; i < length; i++ ) {
+            double v = values[i];
+            v = v < min ? min : (v > max ? max : v);
+            store[i] = (long)((v - min) * mult + 0.5);
+        }
+    }
+
+    static void dequantize( long[] bits, long mask, double invMult, double min,
+                            double[] store, int length ) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for( ; i < bound; i += SPECIES.length() ) {
+            LongVector b = LongVector.fromArray(LONG_SPECIES, bits, i).and(mask);
+            DoubleVector v = (DoubleVector)b.convertShape(VectorOperators.L2D, SPECIES, 0);
+            v.mul(invMult).add(min).intoArray(store, i);
+        }
+        for( ; i < length; i++ ) {
+            store[i] = (bits[i] & mask) * invMult + min;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.simsilica.mathd;
+
+class AaBBoxTest {
+
+    static class QueryTest extends GroovyTestCase {
+
+        AaBBox unit = new AaBBox(new Vec3d(0, 0, 0), new Vec3d(1, 1, 1));
+
+        void testIntersects() {
+            assertTrue unit.intersects(new AaBBox(new Vec3d(1.5, 0.5, 0.5), 0.5));
+            assertFalse unit.intersects(new AaBBox(new Vec3d(1.5, 0.5, 0.5), 0.4));
+        }
+
+        void testContains() {
+            assertTrue unit.contains(new Vec3d(1, 0.5, 0));
+            assertFalse unit.contains(new Vec3d(1.01, 0.5, 0));
+            assertTrue unit.contains(new AaBBox(new Vec3d(0.5, 0.5, 0.5), 0.5));
+            assertFalse unit.contains(new AaBBox(new Vec3d(0.5, 0.5, 0.5), 0.6));
+        }
+
+        void testMerge() {
+            AaBBox box = unit.clone().mergeLocal(new AaBBox(new Vec3d(3, 0, 0), 1)).mergeLocal(new Vec3d(0, 5, 0));
+            assertEquals new Vec3d(0, -1, -1), box.getMin();
+            assertEquals new Vec3d(4, 5, 1), box.getMax();
+            box.expandLocal(1);
+            assertEquals new Vec3d(-1, -2, -2), box.getMin();
+        }
+
+        void testDistance() {
+            assertEquals new Vec3d(1, 0.5, 0), unit.getClosestPoint(new Vec3d(3, 0.5, -2), null);
+            assertEquals 8.0, unit.distanceSq(new Vec3d(3, 0.5, -2)), 0;
+            assertEquals 0.0, unit.distanceSq(new Vec3d(0.5, 0.5, 0.5)), 0;
+        }
+
+        void testSize() {
+            AaBBox box = new AaBBox(new Vec3d(0, 0, 0), new Vec3d(1, 2, 3));
+            assertEquals 22.0, box.getSurfaceArea(), 0;
+            assertEquals 6.0, box.getVolume(), 0;
+        }
+    }
+
+    static class TransformTest extends GroovyTestCase {
+
+        void testRotation() {
+            AaBBox box = new AaBBox(new Vec3d(0, 0, 0), new Vec3d(2, 1, 1));
+            Quatd rot = new Quatd().fromAngles(0, 0, Math.PI * 0.5);
+            AaBBox result = box.transform(rot, null);
+            assertTrue result.getMin().isSimilar(new Vec3d(-1, 0, 0), 1e-12);
+            assertTrue result.getMax().isSimilar(new Vec3d(0, 2, 1), 1e-12);
+        }
+
+        void testMatrix() {
+            AaBBox box = new AaBBox(new Vec3d(0, 0, 0), 1);
+            Quatd rot = new Quatd().fromAngles(0, Math.PI * 0.25, 0);
+            Matrix4d m = new Matrix4d();
+            m.setTransform(new Vec3d(10, 0, 0), rot.toRotationMatrix());
+            double r = Math.sqrt(2);
+
+            // Transforming in place
+            box.transform(m, box);
+            assertTrue box.getMin().isSimilar(new Vec3d(10 - r, -1, -r), 1e-12);
+            assertTrue box.getMax().isSimilar(new Vec3d(10 + r, 1, r), 1e-12);
+        }
+    }
+
+    static class RayTest extends GroovyTestCase {
+
+        AaBBox box = new AaBBox(new Vec3d(5, 0, 0), 1);
+
+        void testHit() {
+            assertEquals 4.0, box.intersectRay(new Rayd(new Vec3d(0, 0, 0), new Vec3d(1, 0, 0)), 100), 1e-12;
+        }
+
+        void testInside() {
+            assertEquals 0.0, box.intersectRay(new Rayd(new Vec3d(5, 0, 0), new Vec3d(0, 1, 0)), 100), 0;
+        }
+
+        void testMiss() {
+            assertEquals(-1.0, box.intersectRay(new Rayd(new Vec3d(0, 0, 0), new Vec3d(-1, 0, 0)), 100), 0);
+            assertEquals(-1.0, box.intersectRay(new Rayd(new Vec3d(0, 2, 0), new Vec3d(1, 0, 0)), 100), 0);
+            assertEquals(-1.0, box.intersectRay(new Rayd(new Vec3d(0, 0, 0), new Vec3d(1, 0, 0)), 3), 0);
+        }
+    }
+}
+
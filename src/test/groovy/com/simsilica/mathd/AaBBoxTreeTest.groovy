@@ -0,0 +1,109 @@
+package com.simsilica.mathd;
+
+import java.util.Random;
+
+class AaBBoxTreeTest {
+
+    static AaBBox randomBox( Random rand ) {
+        Vec3d center = new Vec3d(rand.nextDouble() * 100, rand.nextDouble() * 100, rand.nextDouble() * 100);
+        return new AaBBox(center, rand.nextDouble() * 3);
+    }
+
+    static boolean overlaps( AaBBox a, AaBBox b ) {
+        return a.getMin().x <= b.getMax().x && a.getMax().x >= b.getMin().x &&
+               a.getMin().y <= b.getMax().y && a.getMax().y >= b.getMin().y &&
+               a.getMin().z <= b.getMax().z && a.getMax().z >= b.getMin().z;
+    }
+
+    static class UpdateTest extends GroovyTestCase {
+
+        void testInsertRemove() {
+            AaBBoxTree tree = new AaBBoxTree(0.5);
+            Random rand = new Random(0);
+            def proxies = [];
+            for( int i = 0; i < 500; i++ ) {
+                proxies.add(tree.insert(randomBox(rand), i));
+            }
+            tree.validate();
+            assertEquals 500, tree.size();
+            assertTrue "height:" + tree.getHeight(), tree.getHeight() < 20;
+
+            proxies.eachWithIndex { int proxy, int i ->
+                assertEquals((long)i, tree.getUserId(proxy));
+                if( i % 2 == 0 ) {
+                    tree.remove(proxy);
+                }
+            }
+            tree.validate();
+            assertEquals 250, tree.size();
+            shouldFail(IllegalArgumentException) {
+                tree.remove(proxies[0]);
+            }
+        }
+
+        void testFatMargin() {
+            AaBBoxTree tree = new AaBBoxTree(1);
+            int proxy = tree.insert(new AaBBox(new Vec3d(0, 0, 0), 1), 7);
+            assertEquals new Vec3d(-2, -2, -2), tree.getFatBounds(proxy, null).getMin();
+
+            assertFalse tree.update(proxy, new AaBBox(new Vec3d(0.5, 0, -0.5), 1));
+            assertTrue tree.update(proxy, new AaBBox(new Vec3d(5, 0, 0), 1));
+            assertEquals new Vec3d(3, -2, -2), tree.getFatBounds(proxy, null).getMin();
+            tree.validate();
+        }
+    }
+
+    static class QueryTest extends GroovyTestCase {
+
+        void testQueryAndPairs() {
+            AaBBoxTree tree = new AaBBoxTree(0);
+            Random rand = new Random(1);
+            def boxes = [:];
+            for( int i = 0; i < 300; i++ ) {
+                AaBBox box = randomBox(rand);
+                boxes[tree.insert(box, i)] = box;
+            }
+
+            AaBBox query = new AaBBox(new Vec3d(50, 50, 50), 20);
+            def expected = boxes.findAll { overlaps(it.value, query) }.keySet();
+            int[] store = new int[300];
+            int count = tree.query(query, store);
+            assertEquals expected, (store as List).subList(0, count) as Set;
+
+            def pairs = [] as Set;
+            tree.visitPairs({ int a, long userA, int b, long userB ->
+                assertTrue a < b;
+                pairs.add([a, b]);
+                return true;
+            } as AaBBoxTreePairVisitor);
+            def expectedPairs = [] as Set;
+            boxes.each { a, boxA ->
+                boxes.each { b, boxB ->
+                    if( a < b && overlaps(boxA, boxB) ) {
+                        expectedPairs.add([a, b]);
+                    }
+                }
+            }
+            assertEquals expectedPairs, pairs;
+        }
+
+        void testNearestRayHit() {
+            AaBBoxTree tree = new AaBBoxTree(0);
+            int near = tree.insert(new AaBBox(new Vec3d(10, 0, 0), 1), 1);
+            tree.insert(new AaBBox(new Vec3d(20, 0, 0), 1), 2);
+            tree.insert(new AaBBox(new Vec3d(10, 10, 0), 1), 3);
+
+            def hit = [proxy: -1, distance: Double.POSITIVE_INFINITY];
+            tree.raycast(new Rayd(new Vec3d(0, 0, 0), new Vec3d(1, 0, 0)), 100, { int proxy, long userId, double entry, double max ->
+                if( entry < hit.distance ) {
+                    hit.proxy = proxy;
+                    hit.distance = entry;
+                }
+                return Math.min(entry, max);
+            } as AaBBoxTreeRayVisitor);
+            assertEquals near, hit.proxy;
+            assertEquals 9.0, hit.distance, 1e-12;
+        }
+    }
+}
+
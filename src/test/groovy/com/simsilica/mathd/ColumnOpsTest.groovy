@@ -0,0 +1,158 @@
+package com.simsilica.mathd;
+
+import java.util.Random;
+
+/**
+ *  Checks that ColumnOps gives exactly the same results as the plain
+ *  ScalarColumnOps loops.  Under the regular test task this is the Java 7
+ *  ColumnOps.  The testVector task runs it again with the Java 17 classes
+ *  and the Vector API.
+ */
+class ColumnOpsTest {
+
+    // Lengths around the vector sizes to cover the loop tails
+    static final int[] LENGTHS = [0, 1, 2, 3, 4, 5, 7, 8, 9, 15, 16, 17, 33, 1000];
+
+    static final int SIZE = 1003;
+
+    static double[] randomValues( Random rand ) {
+        double[] result = new double[SIZE];
+        for( int i = 0; i < SIZE; i++ ) {
+            result[i] = (rand.nextDouble() - 0.5) * Math.pow(10, rand.nextInt(9) - 4);
+        }
+        return result;
+    }
+
+    static long[] randomBits( Random rand ) {
+        long[] result = new long[SIZE];
+        for( int i = 0; i < SIZE; i++ ) {
+            result[i] = rand.nextLong();
+        }
+        return result;
+    }
+
+    static class MatchesScalarTest extends GroovyTestCase {
+
+        Random rand = new Random(0);
+
+        void testImplementation() {
+            // Set by the build to make sure the expected version of
+            // ColumnOps is the one being tested
+            String expected = System.getProperty("com.simsilica.mathd.test.columnOps");
+            if( expected != null ) {
+                assertEquals expected, ColumnOps.getImplementation();
+            }
+        }
+
+        void testAddScaled() {
+            double[] source = randomValues(rand);
+            for( int length : LENGTHS ) {
+                double[] expected = randomValues(rand);
+                double[] actual = Arrays.copyOf(expected, SIZE);
+                ScalarColumnOps.addScaled(expected, source, 0.3, length);
+                ColumnOps.addScaled(actual, source, 0.3, length);
+                assert Arrays.equals(expected, actual) : "length:" + length
+            }
+        }
+
+        void testAdd() {
+            for( int length : LENGTHS ) {
+                double[] expected = randomValues(rand);
+                double[] actual = Arrays.copyOf(expected, SIZE);
+                ScalarColumnOps.add(expected, -12.75, length);
+                ColumnOps.add(actual, -12.75, length);
+                assert Arrays.equals(expected, actual) : "length:" + length
+            }
+        }
+
+        void testScale() {
+            for( int length : LENGTHS ) {
+                double[] expected = randomValues(rand);
+                double[] actual = Arrays.copyOf(expected, SIZE);
+                ScalarColumnOps.scale(expected, 1.1, length);
+                ColumnOps.scale(actual, 1.1, length);
+                assert Arrays.equals(expected, actual) : "length:" + length
+            }
+        }
+
+        void testDot() {
+            double[][] a = [randomValues(rand), randomValues(rand), randomValues(rand)];
+            double[][] b = [randomValues(rand), randomValues(rand), randomValues(rand)];
+            for( int length : LENGTHS ) {
+                double[] expected = new double[SIZE];
+                double[] actual = new double[SIZE];
+                ScalarColumnOps.dot(a[0], a[1], a[2], b[0], b[1], b[2], expected, length);
+                ColumnOps.dot(a[0], a[1], a[2], b[0], b[1], b[2], actual, length);
+                assert Arrays.equals(expected, actual) : "length:" + length
+            }
+        }
+
+        void testRotate() {
+            double[] qx = new double[SIZE];
+            double[] qy = new double[SIZE];
+            double[] qz = new double[SIZE];
+            double[] qw = new double[SIZE];
+            for( int i = 0; i < SIZE; i++ ) {
+                Quatd q = new Quatd().fromAngles(rand.nextDouble() * 6, rand.nextDouble() * 6, rand.nextDouble() * 6);
+                qx[i] = q.x;
+                qy[i] = q.y;
+                qz[i] = q.z;
+                qw[i] = q.w;
+            }
+            double[][] v = [randomValues(rand), randomValues(rand), randomValues(rand)];
+            for( int length : LENGTHS ) {
+                double[][] expected = [new double[SIZE], new double[SIZE], new double[SIZE]];
+                double[][] actual = [new double[SIZE], new double[SIZE], new double[SIZE]];
+                ScalarColumnOps.rotate(qx, qy, qz, qw, v[0], v[1], v[2],
+                                       expected[0], expected[1], expected[2], length);
+                ColumnOps.rotate(qx, qy, qz, qw, v[0], v[1], v[2],
+                                 actual[0], actual[1], actual[2], length);
+                for( int i = 0; i < 3; i++ ) {
+                    assert Arrays.equals(expected[i], actual[i]) : "length:" + length
+                }
+
+                // And in place
+                double[][] inPlace = [Arrays.copyOf(v[0], SIZE), Arrays.copyOf(v[1], SIZE), Arrays.copyOf(v[2], SIZE)];
+                ColumnOps.rotate(qx, qy, qz, qw, inPlace[0], inPlace[1], inPlace[2],
+                                 inPlace[0], inPlace[1], inPlace[2], length);
+                for( int i = 0; i < 3; i++ ) {
+                    for( int j = length; j < SIZE; j++ ) {
+                        expected[i][j] = v[i][j];
+                    }
+                    assert Arrays.equals(expected[i], inPlace[i]) : "length:" + length
+                }
+            }
+        }
+
+        void testQuantize() {
+            double[] values = randomValues(rand);
+            // Some values outside of the range and exactly on the ends
+            values[0] = -1000;
+            values[1] = 1000;
+            values[2] = -2;
+            values[3] = 2;
+            values[4] = 0;
+            double mult = ((1L << 20) - 1) / 4.0;
+            for( int length : LENGTHS ) {
+                long[] expected = new long[SIZE];
+                long[] actual = new long[SIZE];
+                ScalarColumnOps.quantize(values, -2, 2, mult, expected, length);
+                ColumnOps.quantize(values, -2, 2, mult, actual, length);
+                assert Arrays.equals(expected, actual) : "length:" + length
+            }
+        }
+
+        void testDequantize() {
+            long[] bits = randomBits(rand);
+            long mask = (1L << 20) - 1;
+            double invMult = 4.0 / mask;
+            for( int length : LENGTHS ) {
+                double[] expected = new double[SIZE];
+                double[] actual = new double[SIZE];
+                ScalarColumnOps.dequantize(bits, mask, invMult, -2, expected, length);
+                ColumnOps.dequantize(bits, mask, invMult, -2, actual, length);
+                assert Arrays.equals(expected, actual) : "length:" + length
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.simsilica.mathd;
+
+import java.util.Random;
+
+class FrustumdTest {
+
+    /**
+     *  A 90 degree, square, OpenGL style perspective projection looking
+     *  down -z from the specified position.
+     */
+    static Frustumd createFrustum( Vec3d pos, double near, double far ) {
+        Matrix4d proj = new Matrix4d(1, 0, 0, 0,
+                                     0, 1, 0, 0,
+                                     0, 0, (far + near) / (near - far), 2 * far * near / (near - far),
+                                     0, 0, -1, 0);
+        Matrix4d view = new Matrix4d(1, 0, 0, -pos.x,
+                                     0, 1, 0, -pos.y,
+                                     0, 0, 1, -pos.z,
+                                     0, 0, 0, 1);
+        return new Frustumd(proj.mult(view));
+    }
+
+    static class PlanedTest extends GroovyTestCase {
+
+        void testPseudoDistance() {
+            Planed plane = new Planed().setOriginNormal(new Vec3d(0, 5, 0), new Vec3d(0, 1, 0));
+            assertEquals 5.0, plane.getConstant(), 0;
+            assertEquals 2.0, plane.pseudoDistance(new Vec3d(10, 7, -3)), 0;
+            assertEquals(-5.0, plane.pseudoDistance(0, 0, 0), 0);
+        }
+
+        void testNormalize() {
+            Planed plane = new Planed().set(0, 2, 0, -10).normalizeLocal();
+            assertEquals new Vec3d(0, 1, 0), plane.getNormal();
+            assertEquals 5.0, plane.getConstant(), 0;
+        }
+    }
+
+    static class ClassifyTest extends GroovyTestCase {
+
+        void testPlanes() {
+            Frustumd frustum = createFrustum(new Vec3d(1000, 0, 0), 1, 100);
+            Planed near = frustum.getPlane(Frustumd.NEAR, null);
+            assertEquals 0, near.getNormal().distance(new Vec3d(0, 0, -1)), 1e-12;
+            assertEquals 1.0, near.getConstant(), 1e-9;
+            Planed far = frustum.getPlane(Frustumd.FAR, null);
+            assertEquals 0, far.getNormal().distance(new Vec3d(0, 0, 1)), 1e-12;
+            assertEquals(-100.0, far.getConstant(), 1e-9);
+        }
+
+        void testContains() {
+            Frustumd frustum = createFrustum(new Vec3d(1000, 0, 0), 1, 100);
+            assertTrue frustum.contains(new Vec3d(1000, 0, -50));
+            assertTrue frustum.contains(new Vec3d(1040, 0, -50));
+            assertFalse frustum.contains(new Vec3d(1060, 0, -50));
+            assertFalse frustum.contains(new Vec3d(1000, 0, 10));
+            assertFalse frustum.contains(new Vec3d(1000, 0, -101));
+        }
+
+        void testClassifyBox() {
+            Frustumd frustum = createFrustum(new Vec3d(1000, 0, 0), 1, 100);
+            assertEquals FrustumIntersect.Inside,
+                         frustum.classify(new AaBBox(new Vec3d(1000, 0, -50), 5));
+            assertEquals FrustumIntersect.Intersects,
+                         frustum.classify(new AaBBox(new Vec3d(1050, 0, -50), 5));
+            assertEquals FrustumIntersect.Intersects,
+                         frustum.classify(new AaBBox(new Vec3d(1000, 0, -100), 5));
+            assertEquals FrustumIntersect.Outside,
+                         frustum.classify(new AaBBox(new Vec3d(1000, 0, 10), 5));
+            assertEquals FrustumIntersect.Outside,
+                         frustum.classify(new AaBBox(new Vec3d(1100, 0, -50), 5));
+        }
+
+        void testSetPlaneNormalizes() {
+            // Inside is x >= 2 but with a normal of length 2
+            Frustumd frustum = new Frustumd();
+            frustum.setPlane(Frustumd.LEFT, new Planed().set(new Vec3d(2, 0, 0), 4));
+
+            Planed left = frustum.getPlane(Frustumd.LEFT, null);
+            assertEquals new Vec3d(1, 0, 0), left.getNormal();
+            assertEquals 2.0, left.getConstant(), 0;
+
+            // The center is 0.75 outside of the plane so a radius of 1
+            // still reaches inside
+            assertEquals FrustumIntersect.Intersects, frustum.classify(new Vec3d(1.25, 0, 0), 1);
+            assertEquals FrustumIntersect.Outside, frustum.classify(new Vec3d(0.75, 0, 0), 1);
+        }
+
+        void testClassifySphere() {
+            Frustumd frustum = createFrustum(new Vec3d(1000, 0, 0), 1, 100);
+            assertEquals FrustumIntersect.Inside, frustum.classify(new Vec3d(1000, 0, -50), 5);
+            assertEquals FrustumIntersect.Intersects, frustum.classify(new Vec3d(1000, 0, -102), 5);
+            assertEquals FrustumIntersect.Outside, frustum.classify(new Vec3d(1000, 0, -110), 5);
+        }
+    }
+
+    static class CullTest extends GroovyTestCase {
+
+        int count = 1000;
+        double[] xMin = new double[count];
+        double[] yMin = new double[count];
+        double[] zMin = new double[count];
+        double[] xMax = new double[count];
+        double[] yMax = new double[count];
+        double[] zMax = new double[count];
+
+        void setUp() {
+            Random rand = new Random(0);
+            for( int i = 0; i < count; i++ ) {
+                double extent = rand.nextDouble() * 5;
+                xMin[i] = -600 + rand.nextDouble() * 200 - extent;
+                yMin[i] = -80 + rand.nextDouble() * 200 - extent;
+                zMin[i] = 150 + rand.nextDouble() * 200 - extent;
+                xMax[i] = xMin[i] + extent * 2;
+                yMax[i] = yMin[i] + extent * 2;
+                zMax[i] = zMin[i] + extent * 2;
+            }
+        }
+
+        void testCullMatchesClassify() {
+            Frustumd frustum = createFrustum(new Vec3d(-500, 20, 300), 1, 100);
+
+            long[] visible = new long[(count + 63) >> 6];
+            Arrays.fill(visible, -1L);
+            byte[] lastPlanes = new byte[count];
+
+            // Run it a few times so that the plane coherency cache is used
+            for( int pass = 0; pass < 3; pass++ ) {
+                int result = frustum.cull(xMin, yMin, zMin, xMax, yMax, zMax, count, visible, lastPlanes);
+                int expected = 0;
+                for( int i = 0; i < count; i++ ) {
+                    AaBBox box = new AaBBox(new Vec3d(xMin[i], yMin[i], zMin[i]), new Vec3d(xMax[i], yMax[i], zMax[i]));
+                    boolean inside = frustum.classify(box) != FrustumIntersect.Outside;
+                    assertEquals inside, (visible[i >> 6] & (1L << i)) != 0;
+                    if( inside ) {
+                        expected++;
+                    }
+                }
+                assertEquals expected, result;
+                assertTrue result > 0;
+            }
+
+            // Bits past count are cleared
+            assertEquals 0L, visible[count >> 6] >>> (count & 63);
+        }
+
+        void testBadLastPlanes() {
+            Frustumd frustum = createFrustum(new Vec3d(-500, 20, 300), 1, 100);
+            long[] expected = new long[(count + 63) >> 6];
+            int expectedCount = frustum.cull(xMin, yMin, zMin, xMax, yMax, zMax, count, expected, null);
+
+            byte[] lastPlanes = new byte[count];
+            byte[] bad = [6, 7, 127, -1, -128];
+            for( int i = 0; i < count; i++ ) {
+                lastPlanes[i] = bad[i % bad.length];
+            }
+            long[] visible = new long[expected.length];
+            assertEquals expectedCount, frustum.cull(xMin, yMin, zMin, xMax, yMax, zMax, count, visible, lastPlanes);
+            assertEquals expected as List, visible as List;
+            for( int i = 0; i < count; i++ ) {
+                if( (visible[i >> 6] & (1L << i)) == 0 ) {
+                    assertTrue lastPlanes[i] >= 0 && lastPlanes[i] < Frustumd.PLANE_COUNT;
+                }
+            }
+        }
+
+        void testCullAfterSetPlane() {
+            // Only a plane at x = -500 facing +x and a plane at z = 200 facing -z
+            Frustumd frustum = new Frustumd();
+            frustum.setPlane(Frustumd.LEFT, new Planed().setOriginNormal(new Vec3d(-500, 0, 0), new Vec3d(1, 0, 0)));
+            frustum.setPlane(Frustumd.FAR, new Planed().setOriginNormal(new Vec3d(0, 0, 200), new Vec3d(0, 0, -1)));
+
+            long[] visible = new long[(count + 63) >> 6];
+            byte[] lastPlanes = new byte[count];
+            for( int pass = 0; pass < 2; pass++ ) {
+                frustum.cull(xMin, yMin, zMin, xMax, yMax, zMax, count, visible, lastPlanes);
+                for( int i = 0; i < count; i++ ) {
+                    boolean inside = xMax[i] >= -500 && zMin[i] <= 200;
+                    assertEquals inside, (visible[i >> 6] & (1L << i)) != 0;
+                }
+            }
+
+            Frustumd copy = frustum.clone();
+            long[] copyVisible = new long[visible.length];
+            copy.cull(xMin, yMin, zMin, xMax, yMax, zMax, count, copyVisible, null);
+            assertEquals visible as List, copyVisible as List;
+        }
+    }
+}
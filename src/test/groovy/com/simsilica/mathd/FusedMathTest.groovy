@@ -0,0 +1,87 @@
+package com.simsilica.mathd;
+
+/**
+ *  Checks that the math classes use the fused operations when FMA mode
+ *  is enabled and the plain operations when it isn't.  Under the regular
+ *  test task this is the Java 7 FusedMath where FMA mode is never enabled.
+ *  The testFma task runs it again with the Java 9 classes and FMA mode
+ *  turned on.
+ */
+class FusedMathTest {
+
+    static class ModeTest extends GroovyTestCase {
+
+        void testMode() {
+            // Set by the build to make sure that the expected version of
+            // FusedMath is the one being tested
+            String expected = System.getProperty("com.simsilica.mathd.test.fma");
+            if( expected != null ) {
+                assertEquals Boolean.parseBoolean(expected), FusedMath.isEnabled();
+                assertEquals Boolean.parseBoolean(expected), FusedMath.isSupported();
+            }
+        }
+
+        void testFma() {
+            // 0.1 * 10 rounds to exactly 1 unless it is fused with the add
+            double expected = FusedMath.isSupported() ? 5.551115123125783E-17 : 0;
+            assert expected == FusedMath.fma(0.1, 10, -1)
+        }
+    }
+
+    static class MathClassesTest extends GroovyTestCase {
+        Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+        Quatd b = new Quatd().fromAngles(-1.1, 0.25, 2.0);
+        Vec3d v = new Vec3d(1.5, -2.25, 3.125);
+        Vec3d w = new Vec3d(-0.75, 4.5, 2.0);
+
+        void testDotRounding() {
+            // (1 + 2^-30) * (1 - 2^-30) is 1 - 2^-60, which only survives
+            // the subtraction of 1 when the multiply and add are fused
+            double e = Math.pow(2, -30);
+            Vec3d x = new Vec3d(1 + e, 1, 0);
+            Vec3d y = new Vec3d(1 - e, -1, 0);
+            double expected = FusedMath.isEnabled() ? -Math.pow(2, -60) : 0;
+
+            assert expected == x.dot(y)
+        }
+
+        void testDot() {
+            double expected = FusedMath.isEnabled() ? FusedOps.dot(v.x, v.y, v.z, w.x, w.y, w.z)
+                                                    : v.x * w.x + v.y * w.y + v.z * w.z;
+            assert expected == v.dot(w)
+        }
+
+        void testCross() {
+            if( FusedMath.isEnabled() ) {
+                assert FusedOps.cross(v.x, v.y, v.z, w.x, w.y, w.z, null).equals(v.cross(w))
+            } else {
+                assert new Vec3d(v.y * w.z - v.z * w.y,
+                                 v.z * w.x - v.x * w.z,
+                                 v.x * w.y - v.y * w.x).equals(v.cross(w))
+            }
+        }
+
+        void testQuatMult() {
+            if( FusedMath.isEnabled() ) {
+                assert FusedOps.mult(a, b, null).equals(a.mult(b))
+                assert FusedOps.mult(a, b, null).equals(a.mult(b, new Quatd()))
+                assert FusedOps.mult(a, b, null).equals(a.clone().multLocal(b))
+            }
+            assert a.mult(b).isSimilar(FusedOps.mult(a, b, null), 1e-15)
+        }
+
+        void testMatrixMult() {
+            Matrix3d m3 = a.toRotationMatrix();
+            Matrix4d m4 = new Transformd(new Vec3d(10, 20, 30), b).toMatrix4d();
+            if( FusedMath.isEnabled() ) {
+                assert FusedOps.mult(m3, m3, null).equals(m3.mult(m3))
+                assert FusedOps.mult(m3, v, null).equals(m3.mult(v))
+                assert FusedOps.mult(m4, m4, null).equals(m4.mult(m4))
+                assert FusedOps.mult(m4, v, null).equals(m4.mult(v))
+                assert FusedOps.mult(m4, v, null).equals(m4.mult(v, new Vec3d()))
+            }
+            assert m4.mult(v).isSimilar(FusedOps.mult(m4, v, null), 1e-13)
+            assert m3.mult(v).isSimilar(FusedOps.mult(m3, v, null), 1e-14)
+        }
+    }
+}
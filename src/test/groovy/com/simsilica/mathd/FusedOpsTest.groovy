@@ -0,0 +1,28 @@
+package com.simsilica.mathd;
+
+class FusedOpsTest {
+
+    static class MatchesPlainTest extends GroovyTestCase {
+        Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+        Quatd b = new Quatd().fromAngles(-1.1, 0.25, 2.0);
+        Vec3d v = new Vec3d(1.5, -2.25, 3.125);
+
+        void testQuatMult() {
+            assert a.mult(b).isSimilar(FusedOps.mult(a, b, null), 1e-15)
+        }
+
+        void testCross() {
+            Vec3d w = new Vec3d(-0.75, 4.5, 2.0);
+            Vec3d expected = v.cross(w);
+
+            assert expected.isSimilar(FusedOps.cross(v.x, v.y, v.z, w.x, w.y, w.z, null), 1e-14)
+        }
+
+        void testMatrixMult() {
+            Matrix4d m = new Transformd(new Vec3d(10, 20, 30), a).toMatrix4d();
+
+            assert m.mult(v).isSimilar(FusedOps.mult(m, v, null), 1e-14)
+            assert m.mult(m).mult(v).isSimilar(FusedOps.mult(m, m, null).mult(v), 1e-12)
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.simsilica.mathd;
+
+import java.util.Random;
+
+class GridIndexTest {
+
+    static class UpdateTest extends GroovyTestCase {
+
+        void testMove() {
+            GridIndex index = new GridIndex(new Grid(32), 4);
+            long a = index.getGrid().worldToId(new Vec3d(10, 10, 10));
+            long b = index.getGrid().worldToId(new Vec3d(-10, 10, 10));
+
+            assertTrue index.update(1, new Vec3d(10, 10, 10));
+            assertTrue index.update(2, a);
+            assertFalse index.update(1, a);
+            assertEquals 2, index.getMemberCount(a);
+
+            assertTrue index.update(1, b);
+            assertEquals b, index.getCellId(1, -1);
+            assertEquals 1, index.getMemberCount(a);
+            long[] members = new long[4];
+            assertEquals 1, index.getMembers(b, members);
+            assertEquals 1L, members[0];
+
+            assertTrue index.remove(1);
+            assertFalse index.remove(1);
+            assertFalse index.contains(1);
+            assertEquals(-1L, index.getCellId(1, -1));
+            assertEquals 0, index.getMemberCount(b);
+            assertEquals 1, index.size();
+        }
+
+        void testSnapshot() {
+            GridIndex index = new GridIndex(new Grid(32), 8);
+            Random rand = new Random(0);
+            def expected = [:];
+            for( long entity = 0; entity < 500; entity++ ) {
+                long cell = index.getGrid().cellToId(rand.nextInt(10), 0, rand.nextInt(10));
+                index.update(entity, cell);
+                expected[entity] = cell;
+            }
+
+            GridIndex.Snapshot snapshot = index.snapshot();
+            assertEquals 500, snapshot.getEntityCount();
+            def actual = [:];
+            for( int i = 0; i < snapshot.getCellCount(); i++ ) {
+                if( i > 0 ) {
+                    assertTrue snapshot.getCellId(i - 1) < snapshot.getCellId(i);
+                }
+                assertEquals i, snapshot.indexOf(snapshot.getCellId(i));
+                for( int j = 0; j < snapshot.getMemberCount(i); j++ ) {
+                    actual[snapshot.getMember(i, j)] = snapshot.getCellId(i);
+                }
+            }
+            assertEquals expected, actual;
+        }
+
+        void testConcurrentMoves() {
+            GridIndex index = new GridIndex(new Grid(32), 16);
+            def threads = (0..<4).collect { int seed ->
+                Thread.start {
+                    Random rand = new Random(seed);
+                    for( int i = 0; i < 20000; i++ ) {
+                        long entity = rand.nextInt(200);
+                        index.update(entity, index.getGrid().cellToId(rand.nextInt(8), 0, rand.nextInt(8)));
+                    }
+                }
+            }
+            for( int i = 0; i < 50; i++ ) {
+                GridIndex.Snapshot snapshot = index.snapshot();
+                def seen = [] as Set;
+                for( int c = 0; c < snapshot.getCellCount(); c++ ) {
+                    for( int m = 0; m < snapshot.getMemberCount(c); m++ ) {
+                        assertTrue seen.add(snapshot.getMember(c, m));
+                    }
+                }
+            }
+            threads*.join();
+            assertEquals 200, index.snapshot().getEntityCount();
+        }
+    }
+}
+
@@ -382,7 +382,286 @@ class GridTest {
             }
         } 
     }
-    
-}
 
+    static class IdLayoutTest extends GroovyTestCase {
+
+        void testDefaultIsPacked() {
+            assertEquals GridIdLayout.Packed, new Grid(32).getIdLayout();
+            assertEquals GridIdLayout.Packed, new Grid(new Vec3i(32, 32, 32), null, null).getIdLayout();
+        }
+
+        void testRoundTrip() {
+            def grids = [
+                new Grid(new Vec3i(32, 32, 32), null, GridIdLayout.Morton),
+                new Grid(new Vec3i(32, 32, 32), new Vec3i(8, 28, 28), GridIdLayout.Morton),
+                new Grid(new Vec3i(32, 0, 32), null, GridIdLayout.Morton),
+                new Grid(new Vec3i(32, 32, 32), null, GridIdLayout.Hilbert),
+                new Grid(new Vec3i(32, 0, 32), null, GridIdLayout.Hilbert)
+            ];
+            for( Grid grid : grids ) {
+                for( Vec3i v : CellToIdToCellXyzTest.testCells ) {
+                    long id = grid.cellToId(v);
+                    Vec3i result = grid.idToCell(id, null);
+                    def expected = v.clone();
+                    if( grid.getSpacing().y == 0 ) {
+                        expected.y = 0;
+                    }
+                    assertEquals expected, result
+                }
+            }
+        }
+
+        void testMortonOrder() {
+            Grid grid = new Grid(new Vec3i(32, 32, 32), null, GridIdLayout.Morton);
+
+            // Interleaved with x as the most significant bit of each triple
+            assertEquals 4L, grid.cellToId(1, 0, 0) - grid.cellToId(0, 0, 0)
+            assertEquals 2L, grid.cellToId(0, 1, 0) - grid.cellToId(0, 0, 0)
+            assertEquals 1L, grid.cellToId(0, 0, 1) - grid.cellToId(0, 0, 0)
+
+            // Negative cells sort before positive ones
+            for( int i = -10; i < 10; i++ ) {
+                assert grid.cellToId(i, 0, 0) < grid.cellToId(i + 1, 0, 0)
+                assert grid.cellToId(0, i, 0) < grid.cellToId(0, i + 1, 0)
+                assert grid.cellToId(0, 0, i) < grid.cellToId(0, 0, i + 1)
+            }
+
+            // Even when all 64 bits are used
+            grid = new Grid(new Vec3i(32, 0, 32), null, GridIdLayout.Morton);
+            assert grid.cellToId(-1, 0, -1) < grid.cellToId(0, 0, 0)
+            assertEquals Long.MIN_VALUE, grid.cellToId(Integer.MIN_VALUE, 0, Integer.MIN_VALUE)
+            assertEquals Long.MAX_VALUE, grid.cellToId(Integer.MAX_VALUE, 0, Integer.MAX_VALUE)
+        }
+
+        void testHilbertAdjacency() {
+            Grid grid = new Grid(new Vec3i(32, 32, 32), new Vec3i(3, 3, 3), GridIdLayout.Hilbert);
+
+            def seen = [] as Set;
+            Vec3i last = null;
+            for( long id = 0; id < 512; id++ ) {
+                Vec3i cell = grid.idToCell(id);
+                assert seen.add(cell) : "Duplicate cell:" + cell + " for id:" + id
+                assertEquals id, grid.cellToId(cell)
+                if( last != null ) {
+                    int dist = Math.abs(cell.x - last.x) + Math.abs(cell.y - last.y) + Math.abs(cell.z - last.z);
+                    assertEquals 1, dist
+                }
+                last = cell;
+            }
+        }
+
+        void testHilbertRequiresUniformBits() {
+            shouldFail(IllegalArgumentException) {
+                new Grid(new Vec3i(32, 32, 32), new Vec3i(8, 28, 28), GridIdLayout.Hilbert);
+            }
+        }
+    }
+
+    static class CellIdsTest extends GroovyTestCase {
+
+        void testCellRange() {
+            Grid grid = new Grid(32);
+            long[] store = new long[27];
+            assertEquals 27, grid.getCellIds(new Vec3i(-1, -1, -1), new Vec3i(1, 1, 1), store);
+            int i = 0;
+            for( int x = -1; x <= 1; x++ ) {
+                for( int y = -1; y <= 1; y++ ) {
+                    for( int z = -1; z <= 1; z++ ) {
+                        assertEquals grid.cellToId(x, y, z), store[i++]
+                    }
+                }
+            }
+        }
+
+        void testStoreTooSmall() {
+            Grid grid = new Grid(32);
+            long[] store = new long[4];
+            assertEquals 8, grid.getCellIds(new Vec3i(0, 0, 0), new Vec3i(1, 1, 1), store);
+            assertEquals grid.cellToId(0, 1, 1), store[3]
+        }
+
+        void testFlattenedAxis() {
+            Grid grid = new Grid(32, 32);
+            long[] store = new long[16];
+            assertEquals 4, grid.getCellIds(new Vec3i(0, -5, 0), new Vec3i(1, 5, 1), store);
+
+            AaBBox box = new AaBBox(new Vec3d(0, 1000, 0), 10);
+            assertEquals 4, grid.getCellIds(box, store);
+            def ids = store[0..3] as Set;
+            assertEquals([grid.cellToId(-1, 0, -1), grid.cellToId(-1, 0, 0),
+                          grid.cellToId(0, 0, -1), grid.cellToId(0, 0, 0)] as Set, ids)
+        }
+
+        void testSphereSkipsCorners() {
+            Grid grid = new Grid(10);
+            long[] store = new long[64];
+
+            // The bounding range is 4x4x4 cells but the sphere cannot reach
+            // the 8 corner cells
+            int count = grid.getCellIds(new Vec3d(0, 0, 0), 15, store);
+            assertEquals 56, count
+            def ids = store[0..<count] as Set;
+            assertFalse ids.contains(grid.cellToId(-2, -2, -2))
+            assertFalse ids.contains(grid.cellToId(1, 1, 1))
+            assertTrue ids.contains(grid.cellToId(1, 1, 0))
+        }
+
+        void testVisitStopsEarly() {
+            Grid grid = new Grid(32);
+            int count = 0;
+            def visitor = { long id, int x, int y, int z ->
+                count++;
+                return count < 3;
+            } as GridCellVisitor;
+            assertFalse grid.visitCells(new Vec3i(0, 0, 0), new Vec3i(9, 9, 9), visitor)
+            assertEquals 3, count
+        }
+    }
+
+    static class RayTraversalTest extends GroovyTestCase {
+
+        void testAlongX() {
+            Grid grid = new Grid(10);
+            Rayd ray = new Rayd(new Vec3d(-15, 5, 5), new Vec3d(1, 0, 0));
+            def cells = [];
+            def spans = [];
+            def visitor = { long id, int x, int y, int z, double entry, double exit ->
+                assertEquals grid.cellToId(x, y, z), id
+                cells.add(new Vec3i(x, y, z));
+                spans.add([entry, exit]);
+                return true;
+            } as GridRayVisitor;
+            assertTrue grid.visitCells(ray, 30, visitor)
+
+            assertEquals([new Vec3i(-2, 0, 0), new Vec3i(-1, 0, 0),
+                          new Vec3i(0, 0, 0), new Vec3i(1, 0, 0)], cells)
+            assertEquals([[0.0, 5.0], [5.0, 15.0], [15.0, 25.0], [25.0, 30.0]], spans)
+        }
+
+        void testDiagonalNegative() {
+            Grid grid = new Grid(1);
+            Vec3d dir = new Vec3d(-1, -0.5, 0).normalizeLocal();
+            Rayd ray = new Rayd(new Vec3d(0.5, 0.9, 0.5), dir);
+            def cells = [];
+            def visitor = { long id, int x, int y, int z, double entry, double exit ->
+                cells.add(new Vec3i(x, y, z));
+                if( exit > entry ) {
+                    // The middle of each span must be inside the visited cell
+                    Vec3d mid = ray.project((entry + exit) * 0.5, null);
+                    assertEquals new Vec3i(x, y, z), grid.worldToCell(mid)
+                }
+                return true;
+            } as GridRayVisitor;
+            grid.visitCells(ray, 3, visitor)
+
+            assertEquals([new Vec3i(0, 0, 0), new Vec3i(-1, 0, 0), new Vec3i(-2, 0, 0),
+                          new Vec3i(-2, -1, 0), new Vec3i(-3, -1, 0)], cells)
+        }
+
+        void testFlattenedAxis() {
+            Grid grid = new Grid(10, 10);
+            Rayd ray = new Rayd(new Vec3d(5, 0, 5), new Vec3d(0, 1, 0));
+            int count = 0;
+            def visitor = { long id, int x, int y, int z, double entry, double exit ->
+                count++;
+                assertEquals 100.0, exit
+                return true;
+            } as GridRayVisitor;
+            grid.visitCells(ray, 100, visitor)
+            assertEquals 1, count
+        }
+
+        void testStopAtFirstHit() {
+            Grid grid = new Grid(1);
+            long occupied = grid.cellToId(5, 0, 0);
+            Rayd ray = new Rayd(new Vec3d(0.5, 0.5, 0.5), new Vec3d(1, 0, 0));
+            double hit = -1;
+            def visitor = { long id, int x, int y, int z, double entry, double exit ->
+                if( id == occupied ) {
+                    hit = entry;
+                    return false;
+                }
+                return true;
+            } as GridRayVisitor;
+            assertFalse grid.visitCells(ray, Double.POSITIVE_INFINITY, visitor)
+            assertEquals 4.5, hit
+        }
+    }
+
+    static class WorldToCellTest extends GroovyTestCase {
+
+        void testPowerOfTwoMatchesDivision() {
+            // 32 uses the shift path and 30 uses division so both
+            // are checked against the same expected rounding
+            for( int size : [32, 30] ) {
+                Grid grid = new Grid(size);
+                for( double d : [0, 0.5, size - 0.5, size, -0.5, -size, -size - 0.5, -1000.25, 1000.25] ) {
+                    int expected = (int)Math.floor(d / size);
+                    assertEquals new Vec3i(expected, expected, expected), grid.worldToCell(d, d, d)
+                    assertEquals expected * size, grid.cellToWorld(expected, 0, 0).x
+                }
+            }
+        }
+
+        void testBatchWorldToId() {
+            Grid grid = new Grid(32);
+            double[] locations = [0, 0, 0,   -1, 5, 40,   100.5, -100.5, 33] as double[];
+            long[] ids = grid.worldToId(locations, null);
+            assertEquals 3, ids.length
+            for( int i = 0; i < 3; i++ ) {
+                assertEquals grid.worldToId(locations[i * 3], locations[i * 3 + 1], locations[i * 3 + 2]), ids[i]
+            }
+
+            // Offset and stride into a larger store
+            long[] store = new long[3];
+            grid.worldToId(locations, 3, 6, 1, store, 2);
+            assertEquals ids[1], store[2]
+
+            // Trailing values that aren't a whole location
+            shouldFail(IllegalArgumentException) {
+                grid.worldToId(new double[7], null);
+            }
+        }
+    }
+
+    static class CellCacheTest extends GroovyTestCase {
+
+        void testOffByDefault() {
+            Grid grid = new Grid(32);
+            assertEquals 0, grid.getCellCacheSize()
+            assertNotSame grid.getGridCell(1, 2, 3), grid.getGridCell(1, 2, 3)
+        }
+
+        void testCanonicalCells() {
+            Grid grid = new Grid(32);
+            grid.setCellCacheSize(16);
+            GridCell cell = grid.getGridCell(1, 2, 3);
+            assertSame cell, grid.getGridCell(new Vec3i(1, 2, 3))
+            assertSame cell, grid.getGridCell(grid.cellToId(1, 2, 3))
+            assertSame cell, grid.getContainingCell(new Vec3d(40, 70, 100))
+            assertEquals grid.cellToId(1, 2, 3), cell.getId()
+        }
+
+        void testEviction() {
+            Grid grid = new Grid(32);
+            grid.setCellCacheSize(16);
+            GridCell hot = grid.getGridCell(0, 0, 0);
+            GridCell first = grid.getGridCell(1, -1, 1);
+            for( int i = 1; i <= 100; i++ ) {
+                GridCell cell = grid.getGridCell(i, -i, i);
+                assertEquals new Vec3i(i, -i, i), cell.getCell()
+                assertEquals grid.cellToId(i, -i, i), cell.getId()
+
+                // Keep the hot cell referenced
+                assertSame hot, grid.getGridCell(0, 0, 0)
+            }
+
+            // An old cold cell was evicted and is recreated
+            GridCell cold = grid.getGridCell(1, -1, 1);
+            assertNotSame first, cold
+            assertEquals new Vec3i(1, -1, 1), cold.getCell()
+            assertEquals 16, grid.getCellCacheSize()
+        }
+    }
+}
 
@@ -0,0 +1,88 @@
+package com.simsilica.mathd;
+
+import java.util.Random;
+
+class GridZoneTrackerTest {
+
+    static class UpdateTest extends GroovyTestCase {
+
+        static Set zone( Grid grid, Vec3i center, int radius ) {
+            def result = [] as Set;
+            int yRadius = grid.getSpacing().y == 0 ? 0 : radius;
+            int yCenter = grid.getSpacing().y == 0 ? 0 : center.y;
+            for( int x = -radius; x <= radius; x++ ) {
+                for( int y = -yRadius; y <= yRadius; y++ ) {
+                    for( int z = -radius; z <= radius; z++ ) {
+                        result.add(grid.cellToId(center.x + x, yCenter + y, center.z + z));
+                    }
+                }
+            }
+            return result;
+        }
+
+        void checkUpdate( Grid grid, int radius, Vec3i oldCenter, Vec3i newCenter ) {
+            GridZoneTracker tracker = new GridZoneTracker(grid, radius);
+            def entered = [];
+            def exited = [];
+            def listener = [cellEntered: { long id -> entered.add(id) },
+                            cellExited: { long id -> exited.add(id) }] as GridZoneListener;
+            tracker.update(oldCenter, newCenter, listener);
+
+            def oldZone = zone(grid, oldCenter, radius);
+            def newZone = zone(grid, newCenter, radius);
+            assertEquals entered.size(), (entered as Set).size()
+            assertEquals exited.size(), (exited as Set).size()
+            assertEquals newZone - oldZone, entered as Set
+            assertEquals oldZone - newZone, exited as Set
+        }
+
+        void testSingleStep() {
+            Grid grid = new Grid(32);
+            checkUpdate(grid, 2, new Vec3i(0, 0, 0), new Vec3i(1, 0, 0));
+            checkUpdate(grid, 2, new Vec3i(0, 0, 0), new Vec3i(-1, 1, 0));
+            checkUpdate(grid, 2, new Vec3i(0, 0, 0), new Vec3i(-1, -1, 1));
+        }
+
+        void testJump() {
+            Grid grid = new Grid(32);
+            checkUpdate(grid, 1, new Vec3i(0, 0, 0), new Vec3i(10, -10, 3));
+        }
+
+        void testRandom() {
+            Grid grid = new Grid(32);
+            Random rand = new Random(1);
+            for( int i = 0; i < 200; i++ ) {
+                Vec3i a = new Vec3i(rand.nextInt(10) - 5, rand.nextInt(10) - 5, rand.nextInt(10) - 5);
+                Vec3i b = new Vec3i(rand.nextInt(10) - 5, rand.nextInt(10) - 5, rand.nextInt(10) - 5);
+                checkUpdate(grid, rand.nextInt(4), a, b);
+            }
+        }
+
+        void testFlattenedAxis() {
+            Grid grid = new Grid(32, 32);
+            checkUpdate(grid, 2, new Vec3i(0, 5, 0), new Vec3i(1, -7, 1));
+
+            // Moving only along the flattened axis changes nothing
+            GridZoneTracker tracker = new GridZoneTracker(grid, 2);
+            int count = 0;
+            def listener = [cellEntered: { long id -> count++ },
+                            cellExited: { long id -> count++ }] as GridZoneListener;
+            tracker.update(new Vec3i(0, 0, 0), new Vec3i(0, 100, 0), listener);
+            assertEquals 0, count
+        }
+
+        void testEnterExit() {
+            Grid grid = new Grid(32);
+            GridZoneTracker tracker = new GridZoneTracker(grid, 1);
+            def entered = [] as Set;
+            def exited = [] as Set;
+            def listener = [cellEntered: { long id -> entered.add(id) },
+                            cellExited: { long id -> exited.add(id) }] as GridZoneListener;
+            tracker.enter(new Vec3i(3, 3, 3), listener);
+            tracker.exit(new Vec3i(3, 3, 3), listener);
+            assertEquals 27, tracker.getZoneSize()
+            assertEquals zone(grid, new Vec3i(3, 3, 3), 1), entered
+            assertEquals entered, exited
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.simsilica.mathd;
+
+import java.util.Random;
+
+class HierarchicalGridTest {
+
+    static class LevelTest extends GroovyTestCase {
+
+        void testSpacings() {
+            def grid = new HierarchicalGrid(new Vec3i(32, 32, 32), 8, 8);
+            assertEquals 3, grid.getLevelCount();
+            assertEquals new Vec3i(256, 256, 256), grid.getLevel(1).getSpacing();
+            assertEquals new Vec3i(2048, 2048, 2048), grid.getLevel(2).getSpacing();
+            assertEquals new Vec3i(8, 8, 8), grid.getRatio(2);
+        }
+
+        void testNotMultiple() {
+            shouldFail(IllegalArgumentException) {
+                new HierarchicalGrid(new Grid(32), new Grid(48));
+            }
+        }
+
+        void testFlattenedMismatch() {
+            shouldFail(IllegalArgumentException) {
+                new HierarchicalGrid(new Grid(32, 0, 32), new Grid(64));
+            }
+        }
+    }
+
+    static class ConversionTest extends GroovyTestCase {
+
+        void checkAncestors( HierarchicalGrid grid ) {
+            Random rand = new Random(0);
+            for( int i = 0; i < 1000; i++ ) {
+                Vec3d world = new Vec3d((rand.nextDouble() - 0.5) * 100000,
+                                        (rand.nextDouble() - 0.5) * 100000,
+                                        (rand.nextDouble() - 0.5) * 100000);
+                long id = grid.worldToId(0, world);
+                for( int level = 0; level < grid.getLevelCount(); level++ ) {
+                    long expected = grid.worldToId(level, world);
+                    assertEquals "world:" + world + " level:" + level, expected, grid.getAncestorId(0, id, level);
+                    assertTrue grid.isDescendant(level, expected, 0, id);
+                }
+            }
+        }
+
+        void testAncestors() {
+            checkAncestors(new HierarchicalGrid(new Vec3i(32, 32, 32), 8, 8));
+        }
+
+        void testFlattenedAncestors() {
+            checkAncestors(new HierarchicalGrid(new Vec3i(32, 0, 32), 4, 2));
+        }
+
+        void testMixedLayouts() {
+            def fine = new Grid(new Vec3i(16, 16, 16), new Vec3i(21, 21, 21), GridIdLayout.Morton);
+            checkAncestors(new HierarchicalGrid(fine, new Grid(48), new Grid(new Vec3i(96, 192, 96))));
+        }
+
+        void testChildIds() {
+            def grid = new HierarchicalGrid(new Vec3i(32, 32, 32), 4);
+            long parent = grid.getLevel(1).cellToId(-3, 2, -1);
+
+            Vec3i min = new Vec3i();
+            Vec3i max = new Vec3i();
+            grid.getChildRange(1, parent, min, max);
+            assertEquals new Vec3i(-12, 8, -4), min;
+            assertEquals new Vec3i(-9, 11, -1), max;
+
+            long[] ids = new long[64];
+            assertEquals 64, grid.getChildIds(1, parent, ids);
+            ids.each { long id ->
+                assertEquals parent, grid.getParentId(0, id);
+            }
+            assertEquals 64, (ids as Set).size();
+        }
+    }
+}
+
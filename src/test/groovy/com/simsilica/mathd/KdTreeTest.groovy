@@ -0,0 +1,111 @@
+package com.simsilica.mathd;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+class KdTreeTest {
+
+    static Vec3d[] randomPoints( Random rand, int count ) {
+        Vec3d[] result = new Vec3d[count];
+        for( int i = 0; i < count; i++ ) {
+            // Whole numbers so that there are duplicates and ties
+            result[i] = new Vec3d(rand.nextInt(40), rand.nextInt(40), rand.nextInt(40));
+        }
+        return result;
+    }
+
+    static class QueryTest extends GroovyTestCase {
+
+        void testEmpty() {
+            KdTree tree = new KdTree(new Vec3d[0]);
+            assertEquals 0, tree.size();
+            assertEquals(-1, tree.findNearest(new Vec3d(1, 2, 3)));
+            assertEquals 0, tree.findWithin(new Vec3d(1, 2, 3), 10, new int[4], null);
+        }
+
+        void testNearest() {
+            Random rand = new Random(0);
+            Vec3d[] points = randomPoints(rand, 2000);
+            KdTree tree = new KdTree(points);
+            int[] indexes = new int[10];
+            double[] distances = new double[10];
+            for( int i = 0; i < 50; i++ ) {
+                Vec3d query = new Vec3d(rand.nextDouble() * 40, rand.nextDouble() * 40, rand.nextDouble() * 40);
+                def expected = points.collect { it.distanceSq(query) }.sort().take(10);
+                assertEquals 10, tree.findNearest(query, 10, Double.POSITIVE_INFINITY, indexes, distances);
+                assertEquals expected, distances as List;
+                indexes.eachWithIndex { int index, int j ->
+                    assertEquals distances[j], points[index].distanceSq(query), 0;
+                }
+                assertEquals expected[0], points[tree.findNearest(query)].distanceSq(query), 0;
+            }
+        }
+
+        void testSingleNearest() {
+            Random rand = new Random(2);
+            Vec3d[] points = randomPoints(rand, 2000);
+            KdTree tree = new KdTree(points);
+            for( int i = 0; i < 200; i++ ) {
+                // Whole numbers so that many queries land on points or ties
+                Vec3d query = new Vec3d(rand.nextInt(44) - 2, rand.nextInt(44) - 2, rand.nextInt(44) - 2);
+                double expected = points.collect { it.distanceSq(query) }.min();
+                int nearest = tree.findNearest(query.x, query.y, query.z);
+                assertEquals expected, points[nearest].distanceSq(query), 0;
+                assertEquals nearest, tree.findNearest(query);
+            }
+            KdTree single = new KdTree([new Vec3d(5, 5, 5)] as Vec3d[]);
+            assertEquals 0, single.findNearest(-100, 0, 100);
+        }
+
+        void testMaxDistance() {
+            Vec3d[] points = [new Vec3d(0, 0, 0), new Vec3d(3, 0, 0), new Vec3d(10, 0, 0)];
+            KdTree tree = new KdTree(points);
+            int[] indexes = new int[3];
+            double[] distances = new double[3];
+            assertEquals 2, tree.findNearest(new Vec3d(1, 0, 0), 3, 2, indexes, distances);
+            assertEquals([0, 1], (indexes as List).subList(0, 2));
+        }
+
+        void testWithin() {
+            Random rand = new Random(1);
+            Vec3d[] points = randomPoints(rand, 2000);
+            KdTree tree = new KdTree(points);
+            int[] indexes = new int[2000];
+            for( int i = 0; i < 50; i++ ) {
+                Vec3d query = new Vec3d(rand.nextDouble() * 40, rand.nextDouble() * 40, rand.nextDouble() * 40);
+                double radius = rand.nextDouble() * 10;
+                def expected = (0..<points.length).findAll { points[it].distanceSq(query) <= radius * radius } as Set;
+                int count = tree.findWithin(query, radius, indexes, null);
+                assertEquals expected.size(), count;
+                assertEquals expected, (indexes as List).subList(0, count) as Set;
+            }
+        }
+
+        void testParallelBuild() {
+            Random rand = new Random(2);
+            double[] xyz = new double[30000 * 3];
+            for( int i = 0; i < xyz.length; i++ ) {
+                xyz[i] = rand.nextGaussian() * 100;
+            }
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                KdTree parallel = new KdTree(xyz, 30000, pool);
+                KdTree serial = new KdTree(xyz, 30000, null);
+                int[] a = new int[5];
+                int[] b = new int[5];
+                double[] distances = new double[5];
+                for( int i = 0; i < 100; i++ ) {
+                    double x = rand.nextGaussian() * 100;
+                    double y = rand.nextGaussian() * 100;
+                    double z = rand.nextGaussian() * 100;
+                    parallel.findNearest(x, y, z, 5, Double.POSITIVE_INFINITY, a, distances);
+                    serial.findNearest(x, y, z, 5, Double.POSITIVE_INFINITY, b, distances);
+                    assertEquals a as List, b as List;
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
+
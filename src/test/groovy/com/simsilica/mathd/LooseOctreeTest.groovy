@@ -0,0 +1,117 @@
+package com.simsilica.mathd;
+
+import java.util.Random;
+
+class LooseOctreeTest {
+
+    static AaBBox randomBox( Random rand ) {
+        Vec3d center = new Vec3d(rand.nextDouble() * 220 - 110, rand.nextDouble() * 220 - 110, rand.nextDouble() * 220 - 110);
+        return new AaBBox(center, Math.pow(rand.nextDouble(), 3) * 10);
+    }
+
+    static Set query( LooseOctree octree, Closure query ) {
+        def result = [] as Set;
+        query({ int handle, long userId ->
+            assert result.add(handle);
+            return true;
+        } as LooseOctreeVisitor);
+        return result;
+    }
+
+    static class UpdateTest extends GroovyTestCase {
+
+        void testNodesReturnToPool() {
+            LooseOctree octree = new LooseOctree(new Vec3d(0, 0, 0), 100, 6);
+            Random rand = new Random(0);
+            def handles = [];
+            for( int i = 0; i < 200; i++ ) {
+                handles.add(octree.insert(randomBox(rand), i));
+            }
+            assertEquals 200, octree.size();
+            assertTrue octree.getNodeCount() > 1;
+
+            handles.each { int handle ->
+                octree.update(handle, randomBox(rand));
+            }
+            handles.each { int handle ->
+                octree.remove(handle);
+            }
+            assertEquals 0, octree.size();
+            assertEquals 1, octree.getNodeCount();
+        }
+
+        void testOutsideBounds() {
+            LooseOctree octree = new LooseOctree(new Vec3d(0, 0, 0), 100, 6);
+            int handle = octree.insert(new AaBBox(new Vec3d(500, 0, 0), 1), 42);
+            def found = query(octree) { visitor -> octree.query(new AaBBox(new Vec3d(500, 0, 0), 2), visitor) };
+            assertEquals([handle] as Set, found);
+            assertEquals 42L, octree.getUserId(handle);
+        }
+    }
+
+    static class QueryTest extends GroovyTestCase {
+
+        LooseOctree octree = new LooseOctree(new Vec3d(0, 0, 0), 100, 6);
+        Map boxes = [:];
+
+        void setUp() {
+            Random rand = new Random(1);
+            for( int i = 0; i < 500; i++ ) {
+                AaBBox box = randomBox(rand);
+                boxes[octree.insert(box, i)] = box;
+            }
+        }
+
+        void testBox() {
+            AaBBox box = new AaBBox(new Vec3d(20, -10, 5), 30);
+            def expected = boxes.findAll { it.value.intersects(box) }.keySet();
+            assertEquals expected, query(octree) { visitor -> octree.query(box, visitor) };
+        }
+
+        void testSphere() {
+            Vec3d center = new Vec3d(-30, 10, 0);
+            def expected = boxes.findAll { it.value.distanceSq(center) <= 25 * 25 }.keySet();
+            assertEquals expected, query(octree) { visitor -> octree.query(center, 25, visitor) };
+        }
+
+        void testPlanes() {
+            // Everything with some part at x >= 10 and y <= 0
+            double[] planes = [1, 0, 0, -10, 0, -1, 0, 0];
+            def expected = boxes.findAll { it.value.getMax().x >= 10 && it.value.getMin().y <= 0 }.keySet();
+            assertEquals expected, query(octree) { visitor -> octree.query(planes, 2, visitor) };
+        }
+
+        void testFrustum() {
+            Frustumd frustum = FrustumdTest.createFrustum(new Vec3d(10, 5, 60), 1, 100);
+            def expected = boxes.findAll { frustum.classify(it.value) != FrustumIntersect.Outside }.keySet();
+            assertTrue expected.size() > 0;
+            assertEquals expected, query(octree) { visitor -> octree.query(frustum, visitor) };
+            assertEquals expected, query(octree) { visitor -> octree.query(frustum.getPlanes(null), Frustumd.PLANE_COUNT, visitor) };
+        }
+
+        void testNearest() {
+            Vec3d point = new Vec3d(5, 5, 5);
+            int[] handles = new int[8];
+            double[] distances = new double[8];
+            assertEquals 8, octree.findNearest(point, 8, Double.POSITIVE_INFINITY, handles, distances);
+
+            def expected = boxes.values().collect { it.distanceSq(point) }.sort().take(8);
+            assertEquals expected, distances as List;
+            handles.eachWithIndex { int handle, int i ->
+                assertEquals distances[i], boxes[handle].distanceSq(point), 0;
+            }
+        }
+
+        void testRay() {
+            Rayd ray = new Rayd(new Vec3d(-120, 3, 2), new Vec3d(1, 0, 0));
+            double expected = boxes.values().collect { it.intersectRay(ray, 1000) }.findAll { it >= 0 }.min();
+            double nearest = Double.POSITIVE_INFINITY;
+            octree.raycast(ray, 1000, { int handle, long userId, double entry, double max ->
+                nearest = Math.min(nearest, entry);
+                return Math.min(entry, max);
+            } as LooseOctreeRayVisitor);
+            assertEquals expected, nearest, 1e-9;
+        }
+    }
+}
+
@@ -0,0 +1,284 @@
+package com.simsilica.mathd;
+
+class Matrix3dTest {
+
+    static Matrix3d createMatrix() {
+        return new Matrix3d(2, -1, 0.5,
+                            0.25, 3, -2,
+                            1, 4, 1.5);
+    }
+
+    static Matrix3d createOther() {
+        return new Matrix3d(-1, 0.5, 2,
+                            3, 1, -0.25,
+                            0.75, -2, 1);
+    }
+
+    static final Vec3d[] VECTORS = [new Vec3d(1.5, -2, 0.25), new Vec3d(0, 0, 0),
+                                    new Vec3d(-3, 7, 11), new Vec3d(100, -0.5, 2)];
+
+    /**
+     *  Packs the vectors into a new array starting at offset with stride
+     *  doubles from the start of one to the start of the next and -1
+     *  everywhere else.
+     */
+    static double[] pack( Vec3d[] vectors, int offset, int stride ) {
+        double[] result = new double[offset + stride * vectors.length];
+        Arrays.fill(result, -1);
+        for( int i = 0; i < vectors.length; i++ ) {
+            Vec3d v = vectors[i];
+            result[offset + i * stride] = v.x;
+            result[offset + i * stride + 1] = v.y;
+            result[offset + i * stride + 2] = v.z;
+        }
+        return result;
+    }
+
+    static Vec3d unpack( array, int index ) {
+        return new Vec3d(array[index], array[index + 1], array[index + 2]);
+    }
+
+    /**
+     *  Straight from the definition of the matrix product so that the
+     *  results don't depend on the code being tested.
+     */
+    static Matrix3d product( Matrix3d a, Matrix3d b ) {
+        double[][] x = rows(a);
+        double[][] y = rows(b);
+        double[][] r = new double[3][3];
+        for( int i = 0; i < 3; i++ ) {
+            for( int j = 0; j < 3; j++ ) {
+                for( int k = 0; k < 3; k++ ) {
+                    r[i][j] += x[i][k] * y[k][j];
+                }
+            }
+        }
+        return new Matrix3d(r[0][0], r[0][1], r[0][2],
+                            r[1][0], r[1][1], r[1][2],
+                            r[2][0], r[2][1], r[2][2]);
+    }
+
+    static double[][] rows( Matrix3d m ) {
+        return [[m.m00, m.m01, m.m02],
+                [m.m10, m.m11, m.m12],
+                [m.m20, m.m21, m.m22]] as double[][];
+    }
+
+    static void assertSimilar( Matrix3d expected, Matrix3d actual ) {
+        double[][] e = rows(expected);
+        double[][] a = rows(actual);
+        for( int i = 0; i < 3; i++ ) {
+            for( int j = 0; j < 3; j++ ) {
+                assert Math.abs(e[i][j] - a[i][j]) < 1e-12 : "Expected:" + expected + " was:" + actual;
+            }
+        }
+    }
+
+    static class MultTest extends GroovyTestCase {
+
+        void testMultStore() {
+            Matrix3d a = createMatrix();
+            Matrix3d b = createOther();
+            Matrix3d store = new Matrix3d();
+
+            assert store.is(a.mult(b, store))
+            assert a.mult(b).equals(store)
+            assertSimilar(product(a, b), store)
+            assert createMatrix().equals(a)
+            assert createOther().equals(b)
+        }
+
+        void testMultStoreIsThis() {
+            Matrix3d a = createMatrix();
+            Matrix3d b = createOther();
+            Matrix3d expected = a.mult(b);
+
+            assert a.is(a.mult(b, a))
+            assert expected.equals(a)
+        }
+
+        void testMultStoreIsArgument() {
+            Matrix3d a = createMatrix();
+            Matrix3d b = createOther();
+            Matrix3d expected = a.mult(b);
+
+            assert b.is(a.mult(b, b))
+            assert expected.equals(b)
+        }
+
+        void testMultSelf() {
+            Matrix3d a = createMatrix();
+            Matrix3d expected = product(createMatrix(), createMatrix());
+
+            assert a.is(a.mult(a, a))
+            assertSimilar(expected, a)
+        }
+
+        void testMultLocal() {
+            Matrix3d a = createMatrix();
+            Matrix3d b = createOther();
+            Matrix3d expected = a.mult(b);
+
+            assert a.is(a.multLocal(b))
+            assert expected.equals(a)
+        }
+
+        void testMultVecStore() {
+            Matrix3d a = createMatrix();
+            Vec3d v = new Vec3d(1.5, -2, 0.25);
+            Vec3d expected = a.mult(v);
+            Vec3d store = new Vec3d();
+
+            assert store.is(a.mult(v, store))
+            assert expected.equals(store)
+            assert new Vec3d(2 * 1.5 + 2 + 0.5 * 0.25,
+                             0.25 * 1.5 - 6 - 0.5,
+                             1.5 - 8 + 1.5 * 0.25).equals(expected)
+
+            // The vector can also be the store
+            assert v.is(a.mult(v, v))
+            assert expected.equals(v)
+        }
+    }
+
+    static class InvertTest extends GroovyTestCase {
+
+        void testInvertStore() {
+            Matrix3d a = createMatrix();
+            Matrix3d store = new Matrix3d();
+
+            assert store.is(a.invert(store))
+            assert a.invert().equals(store)
+            assertSimilar(new Matrix3d(), product(a, store))
+            assert createMatrix().equals(a)
+        }
+
+        void testInvertStoreIsThis() {
+            Matrix3d a = createMatrix();
+            Matrix3d expected = a.invert();
+
+            assert a.is(a.invert(a))
+            assert expected.equals(a)
+        }
+
+        void testInvertLocal() {
+            Matrix3d a = createMatrix();
+            Matrix3d expected = a.invert();
+
+            assert a.is(a.invertLocal())
+            assert expected.equals(a)
+        }
+
+        void testSingularInvertIsIdentity() {
+            Matrix3d singular = new Matrix3d(1, 2, 3,
+                                             2, 4, 6,
+                                             0, 1, 1);
+            assert singular.determinant() == 0
+            assert singular.invert().isIdentity()
+
+            Matrix3d store = createOther();
+            assert store.is(singular.invert(store))
+            assert store.isIdentity()
+
+            assert singular.is(singular.invertLocal())
+            assert singular.isIdentity()
+        }
+    }
+
+    static class TransposeTest extends GroovyTestCase {
+
+        void testTransposeStore() {
+            Matrix3d a = createMatrix();
+            Matrix3d store = new Matrix3d();
+
+            assert store.is(a.transpose(store))
+            assert a.transpose().equals(store)
+            assert new Matrix3d(2, 0.25, 1,
+                                -1, 3, 4,
+                                0.5, -2, 1.5).equals(store)
+        }
+
+        void testTransposeLocal() {
+            Matrix3d a = createMatrix();
+            Matrix3d expected = a.transpose();
+
+            assert a.is(a.transposeLocal())
+            assert expected.equals(a)
+            assert a.is(a.transpose(a))
+            assert createMatrix().equals(a)
+        }
+
+        void testSet() {
+            Matrix3d a = new Matrix3d();
+
+            assert a.is(a.set(2, -1, 0.5, 0.25, 3, -2, 1, 4, 1.5))
+            assert createMatrix().equals(a)
+            assert a.is(a.set(createOther()))
+            assert createOther().equals(a)
+        }
+    }
+
+    static class BatchTest extends GroovyTestCase {
+
+        void testMultPacked() {
+            Matrix3d a = createMatrix();
+            double[] src = pack(VECTORS, 0, 3);
+            double[] store = a.mult(src, null);
+
+            assert store.length == 12
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                assert a.mult(v).equals(unpack(store, i * 3))
+            }
+            assert pack(VECTORS, 0, 3) == src
+        }
+
+        void testMultInPlace() {
+            Matrix3d a = createMatrix();
+            double[] src = pack(VECTORS, 0, 3);
+            double[] expected = a.mult(src, null);
+
+            assert src.is(a.mult(src, src))
+            assert expected == src
+        }
+
+        void testMultOffsetStride() {
+            Matrix3d a = createMatrix();
+            double[] src = pack(VECTORS, 2, 5);
+            double[] store = new double[1 + 5 * VECTORS.length];
+            Arrays.fill(store, -1);
+
+            assert store.is(a.mult(src, 2, 5, VECTORS.length, store, 1))
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                int d = 1 + i * 5;
+                assert a.mult(v).equals(unpack(store, d))
+                // The values between vectors are left alone
+                assert store[d + 3] == -1
+                assert store[d + 4] == -1
+            }
+            assert store[0] == -1
+
+            // In place with the same offset
+            assert src.is(a.mult(src, 2, 5, VECTORS.length, src, 2))
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                assert a.mult(v).equals(unpack(src, 2 + i * 5))
+                assert src[2 + i * 5 + 3] == -1
+            }
+        }
+
+        void testMultBadLengths() {
+            Matrix3d a = createMatrix();
+            shouldFail(IllegalArgumentException) {
+                a.mult(new double[7], null);
+            }
+            shouldFail(IllegalArgumentException) {
+                a.mult(new double[9], 1, 3, 3, null, 0);
+            }
+            shouldFail(IllegalArgumentException) {
+                a.mult(new double[9], 0, 3, 3, new double[8], 0);
+            }
+        }
+    }
+}
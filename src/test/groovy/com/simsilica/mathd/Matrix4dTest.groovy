@@ -0,0 +1,348 @@
+package com.simsilica.mathd;
+
+class Matrix4dTest {
+
+    static Matrix4d createMatrix() {
+        return new Matrix4d(2, -1, 0.5, 10,
+                            0.25, 3, -2, -4,
+                            1, 4, 1.5, 7,
+                            0, 0.5, 0, 1);
+    }
+
+    static Matrix4d createOther() {
+        return new Matrix4d(-1, 0.5, 2, 3,
+                            3, 1, -0.25, 0,
+                            0.75, -2, 1, -6,
+                            0.5, 0, 0.25, 2);
+    }
+
+    static final Vec3d[] VECTORS = [new Vec3d(1.5, -2, 0.25), new Vec3d(0, 0, 0),
+                                    new Vec3d(-3, 7, 11), new Vec3d(100, -0.5, 2)];
+
+    /**
+     *  Packs the vectors into a new array starting at offset with stride
+     *  doubles from the start of one to the start of the next and -1
+     *  everywhere else.
+     */
+    static double[] pack( Vec3d[] vectors, int offset, int stride ) {
+        double[] result = new double[offset + stride * vectors.length];
+        Arrays.fill(result, -1);
+        for( int i = 0; i < vectors.length; i++ ) {
+            Vec3d v = vectors[i];
+            result[offset + i * stride] = v.x;
+            result[offset + i * stride + 1] = v.y;
+            result[offset + i * stride + 2] = v.z;
+        }
+        return result;
+    }
+
+    static Vec3d unpack( array, int index ) {
+        return new Vec3d(array[index], array[index + 1], array[index + 2]);
+    }
+
+    /**
+     *  Straight from the definition of the matrix product so that the
+     *  results don't depend on the code being tested.
+     */
+    static Matrix4d product( Matrix4d a, Matrix4d b ) {
+        double[][] x = rows(a);
+        double[][] y = rows(b);
+        double[][] r = new double[4][4];
+        for( int i = 0; i < 4; i++ ) {
+            for( int j = 0; j < 4; j++ ) {
+                for( int k = 0; k < 4; k++ ) {
+                    r[i][j] += x[i][k] * y[k][j];
+                }
+            }
+        }
+        return new Matrix4d(r[0][0], r[0][1], r[0][2], r[0][3],
+                            r[1][0], r[1][1], r[1][2], r[1][3],
+                            r[2][0], r[2][1], r[2][2], r[2][3],
+                            r[3][0], r[3][1], r[3][2], r[3][3]);
+    }
+
+    static double[][] rows( Matrix4d m ) {
+        return [[m.m00, m.m01, m.m02, m.m03],
+                [m.m10, m.m11, m.m12, m.m13],
+                [m.m20, m.m21, m.m22, m.m23],
+                [m.m30, m.m31, m.m32, m.m33]] as double[][];
+    }
+
+    static void assertSimilar( Matrix4d expected, Matrix4d actual ) {
+        double[][] e = rows(expected);
+        double[][] a = rows(actual);
+        for( int i = 0; i < 4; i++ ) {
+            for( int j = 0; j < 4; j++ ) {
+                assert Math.abs(e[i][j] - a[i][j]) < 1e-12 : "Expected:" + expected + " was:" + actual;
+            }
+        }
+    }
+
+    static class MultTest extends GroovyTestCase {
+
+        void testMultStore() {
+            Matrix4d a = createMatrix();
+            Matrix4d b = createOther();
+            Matrix4d store = new Matrix4d();
+
+            assert store.is(a.mult(b, store))
+            assert a.mult(b).equals(store)
+            assertSimilar(product(a, b), store)
+            assert createMatrix().equals(a)
+            assert createOther().equals(b)
+        }
+
+        void testMultStoreIsThis() {
+            Matrix4d a = createMatrix();
+            Matrix4d b = createOther();
+            Matrix4d expected = a.mult(b);
+
+            assert a.is(a.mult(b, a))
+            assert expected.equals(a)
+        }
+
+        void testMultStoreIsArgument() {
+            Matrix4d a = createMatrix();
+            Matrix4d b = createOther();
+            Matrix4d expected = a.mult(b);
+
+            assert b.is(a.mult(b, b))
+            assert expected.equals(b)
+        }
+
+        void testMultSelf() {
+            Matrix4d a = createMatrix();
+            Matrix4d expected = product(createMatrix(), createMatrix());
+
+            assert a.is(a.mult(a, a))
+            assertSimilar(expected, a)
+        }
+
+        void testMultLocal() {
+            Matrix4d a = createMatrix();
+            Matrix4d b = createOther();
+            Matrix4d expected = a.mult(b);
+
+            assert a.is(a.multLocal(b))
+            assert expected.equals(a)
+        }
+    }
+
+    static class InvertTest extends GroovyTestCase {
+
+        void testInvertStore() {
+            Matrix4d a = createMatrix();
+            Matrix4d store = new Matrix4d();
+
+            assert store.is(a.invert(store))
+            assert a.invert().equals(store)
+            assertSimilar(new Matrix4d().with { makeIdentity(); it }, product(a, store))
+            assert createMatrix().equals(a)
+        }
+
+        void testInvertStoreIsThis() {
+            Matrix4d a = createMatrix();
+            Matrix4d expected = a.invert();
+
+            assert a.is(a.invert(a))
+            assert expected.equals(a)
+        }
+
+        void testInvertLocal() {
+            Matrix4d a = createMatrix();
+            Matrix4d expected = a.invert();
+
+            assert a.is(a.invertLocal())
+            assert expected.equals(a)
+        }
+
+        void testSingularInvertIsIdentity() {
+            Matrix4d singular = new Matrix4d(1, 2, 3, 4,
+                                             2, 4, 6, 8,
+                                             0, 1, 1, 0,
+                                             5, 0, 1, 2);
+            assert singular.determinant() == 0
+            assert singular.invert().isIdentity()
+
+            Matrix4d store = createOther();
+            assert store.is(singular.invert(store))
+            assert store.isIdentity()
+
+            assert singular.is(singular.invertLocal())
+            assert singular.isIdentity()
+        }
+    }
+
+    static class TransposeTest extends GroovyTestCase {
+
+        void testTransposeStore() {
+            Matrix4d a = createMatrix();
+            Matrix4d store = new Matrix4d();
+
+            assert store.is(a.transpose(store))
+            assert a.transpose().equals(store)
+            assert new Matrix4d(2, 0.25, 1, 0,
+                                -1, 3, 4, 0.5,
+                                0.5, -2, 1.5, 0,
+                                10, -4, 7, 1).equals(store)
+        }
+
+        void testTransposeLocal() {
+            Matrix4d a = createMatrix();
+            Matrix4d expected = a.transpose();
+
+            assert a.is(a.transposeLocal())
+            assert expected.equals(a)
+            assert a.is(a.transpose(a))
+            assert createMatrix().equals(a)
+        }
+
+        void testToRotationMatrixStore() {
+            Matrix4d a = createMatrix();
+            Matrix3d store = new Matrix3d();
+
+            assert store.is(a.toRotationMatrix(store))
+            assert a.toRotationMatrix().equals(store)
+            assert new Matrix3d(2, -1, 0.5,
+                                0.25, 3, -2,
+                                1, 4, 1.5).equals(store)
+        }
+
+        void testSet() {
+            Matrix4d a = new Matrix4d();
+
+            assert a.is(a.set(2, -1, 0.5, 10, 0.25, 3, -2, -4, 1, 4, 1.5, 7, 0, 0.5, 0, 1))
+            assert createMatrix().equals(a)
+            assert a.is(a.set(createOther()))
+            assert createOther().equals(a)
+        }
+    }
+
+    static class PointsTest extends GroovyTestCase {
+
+        void testMultPointsPacked() {
+            Matrix4d a = createMatrix();
+            double[] src = pack(VECTORS, 0, 3);
+            double[] store = a.multPoints(src, null);
+
+            assert store.length == 12
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                assert a.mult(v).equals(unpack(store, i * 3))
+            }
+            assert pack(VECTORS, 0, 3) == src
+        }
+
+        void testMultPointsInPlace() {
+            Matrix4d a = createMatrix();
+            double[] src = pack(VECTORS, 0, 3);
+            double[] expected = a.multPoints(src, null);
+
+            assert src.is(a.multPoints(src, src))
+            assert expected == src
+        }
+
+        void testMultPointsOffsetStride() {
+            Matrix4d a = createMatrix();
+            double[] src = pack(VECTORS, 2, 5);
+            double[] store = new double[1 + 5 * VECTORS.length];
+            Arrays.fill(store, -1);
+
+            assert store.is(a.multPoints(src, 2, 5, VECTORS.length, store, 1))
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                int d = 1 + i * 5;
+                assert a.mult(v).equals(unpack(store, d))
+                // The values between vectors are left alone
+                assert store[d + 3] == -1
+                assert store[d + 4] == -1
+            }
+            assert store[0] == -1
+
+            // In place with the same offset
+            assert src.is(a.multPoints(src, 2, 5, VECTORS.length, src, 2))
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                assert a.mult(v).equals(unpack(src, 2 + i * 5))
+                assert src[2 + i * 5 + 3] == -1
+            }
+        }
+
+        void testMultPointsBadLengths() {
+            Matrix4d a = createMatrix();
+            shouldFail(IllegalArgumentException) {
+                a.multPoints(new double[7], null);
+            }
+            shouldFail(IllegalArgumentException) {
+                a.multPoints(new double[9], 1, 3, 3, null, 0);
+            }
+            shouldFail(IllegalArgumentException) {
+                a.multPoints(new double[9], 0, 3, 3, new double[8], 0);
+            }
+        }
+    }
+
+    static class DirectionsTest extends GroovyTestCase {
+
+        void testMultDirectionsPacked() {
+            Matrix4d a = createMatrix();
+            double[] src = pack(VECTORS, 0, 3);
+            double[] store = a.multDirections(src, null);
+
+            assert store.length == 12
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                assert a.toRotationMatrix().mult(v).equals(unpack(store, i * 3))
+            }
+            assert pack(VECTORS, 0, 3) == src
+        }
+
+        void testMultDirectionsInPlace() {
+            Matrix4d a = createMatrix();
+            double[] src = pack(VECTORS, 0, 3);
+            double[] expected = a.multDirections(src, null);
+
+            assert src.is(a.multDirections(src, src))
+            assert expected == src
+        }
+
+        void testMultDirectionsOffsetStride() {
+            Matrix4d a = createMatrix();
+            double[] src = pack(VECTORS, 2, 5);
+            double[] store = new double[1 + 5 * VECTORS.length];
+            Arrays.fill(store, -1);
+
+            assert store.is(a.multDirections(src, 2, 5, VECTORS.length, store, 1))
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                int d = 1 + i * 5;
+                assert a.toRotationMatrix().mult(v).equals(unpack(store, d))
+                // The values between vectors are left alone
+                assert store[d + 3] == -1
+                assert store[d + 4] == -1
+            }
+            assert store[0] == -1
+
+            // In place with the same offset
+            assert src.is(a.multDirections(src, 2, 5, VECTORS.length, src, 2))
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                assert a.toRotationMatrix().mult(v).equals(unpack(src, 2 + i * 5))
+                assert src[2 + i * 5 + 3] == -1
+            }
+        }
+
+        void testMultDirectionsBadLengths() {
+            Matrix4d a = createMatrix();
+            shouldFail(IllegalArgumentException) {
+                a.multDirections(new double[7], null);
+            }
+            shouldFail(IllegalArgumentException) {
+                a.multDirections(new double[9], 1, 3, 3, null, 0);
+            }
+            shouldFail(IllegalArgumentException) {
+                a.multDirections(new double[9], 0, 3, 3, new double[8], 0);
+            }
+        }
+    }
+}
@@ -2,6 +2,30 @@ package com.simsilica.mathd;
 
 class QuatdTest {
 
+    static final Vec3d[] VECTORS = [new Vec3d(1.5, -2, 0.25), new Vec3d(0, 0, 0),
+                                    new Vec3d(-3, 7, 11), new Vec3d(100, -0.5, 2)];
+
+    /**
+     *  Packs the vectors into a new array starting at offset with stride
+     *  doubles from the start of one to the start of the next and -1
+     *  everywhere else.
+     */
+    static double[] pack( Vec3d[] vectors, int offset, int stride ) {
+        double[] result = new double[offset + stride * vectors.length];
+        Arrays.fill(result, -1);
+        for( int i = 0; i < vectors.length; i++ ) {
+            Vec3d v = vectors[i];
+            result[offset + i * stride] = v.x;
+            result[offset + i * stride + 1] = v.y;
+            result[offset + i * stride + 2] = v.z;
+        }
+        return result;
+    }
+
+    static Vec3d unpack( array, int index ) {
+        return new Vec3d(array[index], array[index + 1], array[index + 2]);
+    }
+
     static class IsSimilarTest extends GroovyTestCase {
         
         void testSimilarX() {
@@ -132,4 +156,133 @@ class QuatdTest {
             assert a.equals(b);
         }        
     }
+
+    static class StoreTest extends GroovyTestCase {
+        void testInverseStore() {
+            Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+            Quatd store = new Quatd();
+            
+            assert store.is(a.inverse(store))
+            assert a.inverse().equals(store)
+        }
+        
+        void testInverseLocal() {
+            Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+            Quatd expected = a.inverse();
+            
+            assert a.is(a.inverseLocal())
+            assert expected.equals(a)
+        }
+        
+        void testInverseZero() {
+            Quatd a = new Quatd(0, 0, 0, 0);
+            Quatd store = new Quatd(1, 2, 3, 4);
+            
+            assert a.inverse(store) == null
+            assert new Quatd(1, 2, 3, 4).equals(store)
+        }
+        
+        void testToRotationMatrixStore() {
+            Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+            Matrix3d store = new Matrix3d();
+            
+            assert store.is(a.toRotationMatrix(store))
+            assert a.toRotationMatrix().equals(store)
+        }
+    }
+
+    static class InterpolationTest extends GroovyTestCase {
+        Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+        Quatd b = new Quatd().fromAngles(-1.1, 0.25, 2.0);
+
+        void testNlerpEndpoints() {
+            assert a.isSimilar(new Quatd().nlerpLocal(a, b, 0), 1e-12)
+            assert b.isSimilar(new Quatd().nlerpLocal(a, b, 1), 1e-12)
+        }
+
+        void testFastSlerpCloseToSlerp() {
+            for( double mix = 0; mix <= 1; mix += 0.125 ) {
+                Quatd expected = new Quatd().slerpLocal(a, b, mix);
+                Quatd fast = new Quatd().fastSlerpLocal(a, b, mix);
+                assert expected.isSimilar(fast, 0.001)
+            }
+        }
+
+        void testFastSlerpShortestPath() {
+            Quatd negated = new Quatd(-b.x, -b.y, -b.z, -b.w);
+            Quatd expected = new Quatd().fastSlerpLocal(a, b, 0.37);
+            Quatd result = new Quatd().fastSlerpLocal(a, negated, 0.37);
+            assert expected.isSimilar(result, 1e-12)
+        }
+
+        void testInterpolateMode() {
+            Quatd expected = new Quatd().nlerpLocal(a, b, 0.37);
+            Quatd result = new Quatd().interpolateLocal(a, b, 0.37, QuatInterpolation.Nlerp);
+            assertEquals expected, result
+        }
+    }
+
+    static class BatchTest extends GroovyTestCase {
+
+        void testMultPacked() {
+            Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+            double[] src = pack(VECTORS, 0, 3);
+            double[] store = a.mult(src, null);
+
+            assert store.length == 12
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                assert a.mult(v).isSimilar(unpack(store, i * 3), 1e-9)
+            }
+            assert pack(VECTORS, 0, 3) == src
+        }
+
+        void testMultInPlace() {
+            Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+            double[] src = pack(VECTORS, 0, 3);
+            double[] expected = a.mult(src, null);
+
+            assert src.is(a.mult(src, src))
+            assert expected == src
+        }
+
+        void testMultOffsetStride() {
+            Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+            double[] src = pack(VECTORS, 2, 5);
+            double[] store = new double[1 + 5 * VECTORS.length];
+            Arrays.fill(store, -1);
+
+            assert store.is(a.mult(src, 2, 5, VECTORS.length, store, 1))
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                int d = 1 + i * 5;
+                assert a.mult(v).isSimilar(unpack(store, d), 1e-9)
+                // The values between vectors are left alone
+                assert store[d + 3] == -1
+                assert store[d + 4] == -1
+            }
+            assert store[0] == -1
+
+            // In place with the same offset
+            assert src.is(a.mult(src, 2, 5, VECTORS.length, src, 2))
+            for( int i = 0; i < VECTORS.length; i++ ) {
+                Vec3d v = VECTORS[i];
+                assert a.mult(v).isSimilar(unpack(src, 2 + i * 5), 1e-9)
+                assert src[2 + i * 5 + 3] == -1
+            }
+        }
+
+        void testMultBadLengths() {
+            Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+            shouldFail(IllegalArgumentException) {
+                a.mult(new double[7], null);
+            }
+            shouldFail(IllegalArgumentException) {
+                a.mult(new double[9], 1, 3, 3, null, 0);
+            }
+            shouldFail(IllegalArgumentException) {
+                a.mult(new double[9], 0, 3, 3, new double[8], 0);
+            }
+        }
+    }
 }
@@ -0,0 +1,137 @@
+package com.simsilica.mathd;
+
+import java.util.Random;
+
+class RaydTest {
+
+    static class IntersectSphereTest extends GroovyTestCase {
+
+        void testThroughCenter() {
+            Rayd ray = new Rayd(new Vec3d(0, 0, 0), new Vec3d(0, 0, 1));
+            assertEquals 8.0, ray.intersectSphere(0, new Vec3d(0, 0, 10), 2, false), 0;
+            assertEquals 8.0, ray.intersectSphere(9, new Vec3d(0, 0, 10), 2, false), 0;
+            assertEquals(-1.0, ray.intersectSphere(7, new Vec3d(0, 0, 10), 2, false), 0);
+        }
+
+        void testMiss() {
+            Rayd ray = new Rayd(new Vec3d(0, 0, 0), new Vec3d(0, 0, 1));
+            assertEquals(-1.0, ray.intersectSphere(0, new Vec3d(5, 0, 10), 2, false), 0);
+        }
+
+        void testInside() {
+            Rayd ray = new Rayd(new Vec3d(0, 0, 0), new Vec3d(0, 0, 1));
+            assertEquals 1.0, ray.intersectSphere(0, new Vec3d(0, 0, -1), 2, false), 1e-12;
+            assertEquals(-1.0, ray.intersectSphere(0, new Vec3d(0, 0, -1), 2, true), 0);
+        }
+    }
+
+    static class BatchTest extends GroovyTestCase {
+
+        Random rand = new Random(0);
+
+        Rayd[] randomRays( int count ) {
+            Rayd[] rays = new Rayd[count];
+            for( int i = 0; i < count; i++ ) {
+                Vec3d dir = new Vec3d(rand.nextGaussian(), rand.nextGaussian(), rand.nextGaussian()).normalizeLocal();
+                if( i % 10 == 0 ) {
+                    // Axis aligned rays through whole number positions
+                    dir = new Vec3d(0, -1, 0);
+                }
+                rays[i] = new Rayd(new Vec3d(rand.nextInt(50), rand.nextInt(50), rand.nextInt(50)), dir);
+            }
+            return rays;
+        }
+
+        void testSpheres() {
+            int rayCount = 200;
+            int count = 700;
+            Rayd[] rays = randomRays(rayCount);
+            double[] limits = new double[rayCount];
+            for( int i = 0; i < rayCount; i++ ) {
+                limits[i] = i % 2 == 0 ? 0 : rand.nextDouble() * 30;
+            }
+            double[] x = new double[count];
+            double[] y = new double[count];
+            double[] z = new double[count];
+            double[] radius = new double[count];
+            for( int i = 0; i < count; i++ ) {
+                x[i] = rand.nextInt(50);
+                y[i] = rand.nextInt(50);
+                z[i] = rand.nextInt(50);
+                radius[i] = 1 + rand.nextInt(3);
+            }
+            int[] hits = new int[rayCount];
+            double[] distances = new double[rayCount];
+            [false, true].each { boolean outsideOnly ->
+                int result = Rayd.intersectSpheres(rays, rayCount, limits, x, y, z, radius, count,
+                                                   outsideOnly, hits, distances);
+                int expected = 0;
+                for( int i = 0; i < rayCount; i++ ) {
+                    double best = -1;
+                    for( int j = 0; j < count; j++ ) {
+                        double t = rays[i].intersectSphere(limits[i], new Vec3d(x[j], y[j], z[j]), radius[j], outsideOnly);
+                        if( t >= 0 && (best < 0 || t < best) ) {
+                            best = t;
+                        }
+                    }
+                    if( best >= 0 ) {
+                        expected++;
+                        int hit = hits[i];
+                        assertEquals best, distances[i], 1e-9;
+                        assertEquals best, rays[i].intersectSphere(limits[i], new Vec3d(x[hit], y[hit], z[hit]), radius[hit], outsideOnly), 1e-9;
+                    } else {
+                        assertEquals(-1, hits[i]);
+                        assertEquals(-1.0, distances[i], 0);
+                    }
+                }
+                assertEquals expected, result;
+            }
+        }
+
+        void testBoxes() {
+            int rayCount = 200;
+            int count = 700;
+            Rayd[] rays = randomRays(rayCount);
+            double[] xMin = new double[count];
+            double[] yMin = new double[count];
+            double[] zMin = new double[count];
+            double[] xMax = new double[count];
+            double[] yMax = new double[count];
+            double[] zMax = new double[count];
+            AaBBox[] boxes = new AaBBox[count];
+            for( int i = 0; i < count; i++ ) {
+                xMin[i] = rand.nextInt(50);
+                yMin[i] = rand.nextInt(50);
+                zMin[i] = rand.nextInt(50);
+                // Some flat boxes to test the parallel ray cases
+                xMax[i] = xMin[i] + rand.nextInt(3);
+                yMax[i] = yMin[i] + rand.nextInt(3);
+                zMax[i] = zMin[i] + rand.nextInt(3);
+                boxes[i] = new AaBBox(new Vec3d(xMin[i], yMin[i], zMin[i]), new Vec3d(xMax[i], yMax[i], zMax[i]));
+            }
+            int[] hits = new int[rayCount];
+            double[] distances = new double[rayCount];
+            int result = Rayd.intersectBoxes(rays, rayCount, null, xMin, yMin, zMin, xMax, yMax, zMax, count,
+                                             hits, distances);
+            int expected = 0;
+            for( int i = 0; i < rayCount; i++ ) {
+                double best = -1;
+                for( int j = 0; j < count; j++ ) {
+                    double t = boxes[j].intersectRay(rays[i], Double.POSITIVE_INFINITY);
+                    if( t >= 0 && (best < 0 || t < best) ) {
+                        best = t;
+                    }
+                }
+                if( best >= 0 ) {
+                    expected++;
+                    assertEquals best, distances[i], 1e-9;
+                    assertEquals best, boxes[hits[i]].intersectRay(rays[i], Double.POSITIVE_INFINITY), 1e-9;
+                } else {
+                    assertEquals(-1, hits[i]);
+                }
+            }
+            assertEquals expected, result;
+            assertTrue result > 0;
+        }
+    }
+}
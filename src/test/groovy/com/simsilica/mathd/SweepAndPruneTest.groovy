@@ -0,0 +1,162 @@
+package com.simsilica.mathd;
+
+import java.util.Random;
+
+class SweepAndPruneTest {
+
+    static AaBBox randomBox( Random rand ) {
+        // Whole numbers so that many boxes exactly touch
+        Vec3d min = new Vec3d(rand.nextInt(50), rand.nextInt(50), rand.nextInt(50));
+        return new AaBBox(min, min.add(rand.nextInt(4) + 1, rand.nextInt(4) + 1, rand.nextInt(4) + 1));
+    }
+
+    static Set bruteForcePairs( Map boxes ) {
+        def result = [] as Set;
+        boxes.each { a, boxA ->
+            boxes.each { b, boxB ->
+                if( a < b && boxA.intersects(boxB) ) {
+                    result.add([a, b]);
+                }
+            }
+        }
+        return result;
+    }
+
+    static Set pairs( SweepAndPrune sap ) {
+        int[] store = new int[sap.getPairCount() * 2];
+        int count = sap.getPairs(store);
+        def result = [] as Set;
+        for( int i = 0; i < count; i++ ) {
+            result.add([store[i * 2], store[i * 2 + 1]]);
+        }
+        return result;
+    }
+
+    static class PairTest extends GroovyTestCase {
+
+        void testTouching() {
+            SweepAndPrune sap = new SweepAndPrune();
+            int a = sap.insert(new AaBBox(new Vec3d(0, 0, 0), new Vec3d(1, 1, 1)), 1);
+            int b = sap.insert(new AaBBox(new Vec3d(1, 0, 0), new Vec3d(2, 1, 1)), 2);
+            assertTrue sap.isOverlapping(a, b);
+
+            sap.update(b, new AaBBox(new Vec3d(1.5, 0, 0), new Vec3d(2, 1, 1)));
+            assertFalse sap.isOverlapping(a, b);
+            assertEquals 0, sap.getPairCount();
+        }
+
+        void testListener() {
+            def events = [];
+            def listener = [pairAdded: { int a, long userA, int b, long userB -> events.add(["added", userA, userB]) },
+                            pairRemoved: { int a, long userA, int b, long userB -> events.add(["removed", userA, userB]) }] as SweepAndPruneListener;
+            SweepAndPrune sap = new SweepAndPrune(listener);
+            int a = sap.insert(new AaBBox(new Vec3d(0, 0, 0), 1), 10);
+            int b = sap.insert(new AaBBox(new Vec3d(5, 0, 0), 1), 20);
+            assertEquals([], events);
+
+            sap.update(b, new AaBBox(new Vec3d(1.5, 0, 0), 1));
+            assertEquals([["added", 10L, 20L]], events);
+
+            sap.remove(a);
+            assertEquals([["added", 10L, 20L], ["removed", 10L, 20L]], events);
+        }
+
+        void testRandomMoves() {
+            Random rand = new Random(0);
+            SweepAndPrune sap = new SweepAndPrune();
+            def boxes = [:];
+            for( int i = 0; i < 200; i++ ) {
+                AaBBox box = randomBox(rand);
+                boxes[sap.insert(box, i)] = box;
+            }
+            assertEquals bruteForcePairs(boxes), pairs(sap);
+
+            def handles = boxes.keySet() as List;
+            for( int i = 0; i < 2000; i++ ) {
+                int handle = handles[rand.nextInt(handles.size())];
+                AaBBox box = boxes[handle];
+                Vec3d move = new Vec3d(rand.nextInt(3) - 1, rand.nextInt(3) - 1, rand.nextInt(3) - 1);
+                box = new AaBBox(box.getMin().add(move), box.getMax().add(move));
+                sap.update(handle, box);
+                boxes[handle] = box;
+            }
+            assertEquals bruteForcePairs(boxes), pairs(sap);
+
+            handles.subList(0, 50).each { int handle ->
+                sap.remove(handle);
+                boxes.remove(handle);
+            }
+            assertEquals 150, sap.size();
+            assertEquals bruteForcePairs(boxes), pairs(sap);
+        }
+
+        void testBulkInsert() {
+            Random rand = new Random(1);
+            SweepAndPrune sap = new SweepAndPrune();
+            def boxes = [:];
+            for( int i = 0; i < 50; i++ ) {
+                AaBBox box = randomBox(rand);
+                boxes[sap.insert(box, i)] = box;
+            }
+            AaBBox[] more = new AaBBox[300];
+            long[] userIds = new long[300];
+            for( int i = 0; i < more.length; i++ ) {
+                more[i] = randomBox(rand);
+                userIds[i] = 100 + i;
+            }
+            int[] handles = sap.insert(more, userIds, null);
+            handles.eachWithIndex { int handle, int i ->
+                boxes[handle] = more[i];
+                assertEquals userIds[i], sap.getUserId(handle);
+            }
+            assertEquals bruteForcePairs(boxes), pairs(sap);
+        }
+
+        void testBulkRemove() {
+            Random rand = new Random(2);
+            def removedPairs = [] as Set;
+            def listener = [pairAdded: { int a, long userA, int b, long userB -> },
+                            pairRemoved: { int a, long userA, int b, long userB -> assert removedPairs.add([a, b]) }] as SweepAndPruneListener;
+            SweepAndPrune sap = new SweepAndPrune(listener);
+            def boxes = [:];
+            for( int i = 0; i < 300; i++ ) {
+                AaBBox box = randomBox(rand);
+                boxes[sap.insert(box, i)] = box;
+            }
+            def before = pairs(sap);
+
+            int[] handles = (boxes.keySet() as List).subList(0, 100) as int[];
+            sap.remove(handles);
+            handles.each { int handle -> boxes.remove(handle) };
+            assertEquals 200, sap.size();
+            assertEquals bruteForcePairs(boxes), pairs(sap);
+            assertEquals before - pairs(sap), removedPairs;
+
+            // The remaining boxes are still sorted and the handles reused
+            for( int i = 0; i < 50; i++ ) {
+                int handle = boxes.keySet().asList()[rand.nextInt(boxes.size())];
+                AaBBox box = randomBox(rand);
+                sap.update(handle, box);
+                boxes[handle] = box;
+                box = randomBox(rand);
+                boxes[sap.insert(box, 1000 + i)] = box;
+            }
+            assertEquals bruteForcePairs(boxes), pairs(sap);
+        }
+
+        void testBulkRemoveBadHandles() {
+            SweepAndPrune sap = new SweepAndPrune();
+            int a = sap.insert(new AaBBox(new Vec3d(0, 0, 0), 1), 1);
+            int b = sap.insert(new AaBBox(new Vec3d(1, 0, 0), 1), 2);
+            shouldFail(IllegalArgumentException) {
+                sap.remove([a, a] as int[]);
+            }
+            shouldFail(IllegalArgumentException) {
+                sap.remove([b, 99] as int[]);
+            }
+            assertEquals 2, sap.size();
+            assertTrue sap.isOverlapping(a, b);
+        }
+    }
+}
+
@@ -0,0 +1,127 @@
+package com.simsilica.mathd;
+
+/**
+ *  The testTempVarsDebug task runs these tests again with TempVars debug
+ *  mode turned on.
+ */
+class TempVarsTest {
+
+    static class StackTest extends GroovyTestCase {
+
+        void testReuseAfterRelease() {
+            TempVars temps = TempVars.get();
+            Vec3d v = temps.nextVec3d();
+            temps.release();
+
+            TempVars again = TempVars.get();
+            try {
+                // Debug mode hands out a new TempVars for the same frame
+                assert again.is(temps) == !TempVars.isDebug()
+                assert again.nextVec3d().is(v)
+            } finally {
+                again.release();
+            }
+            TempVars.checkReleased();
+        }
+
+        void testDistinctWithinFrame() {
+            TempVars temps = TempVars.get();
+            try {
+                assert !temps.nextQuatd().is(temps.nextQuatd())
+            } finally {
+                temps.release();
+            }
+        }
+
+        void testDoubleRelease() {
+            TempVars temps = TempVars.get();
+            temps.release();
+            shouldFail(IllegalStateException) {
+                temps.release();
+            }
+        }
+
+        void testOutOfOrderRelease() {
+            TempVars outer = TempVars.get();
+            TempVars inner = TempVars.get();
+            shouldFail(IllegalStateException) {
+                outer.release();
+            }
+            inner.release();
+            outer.release();
+            TempVars.checkReleased();
+        }
+
+        void testLeakDetected() {
+            TempVars temps = TempVars.get();
+            shouldFail(IllegalStateException) {
+                TempVars.checkReleased();
+            }
+            temps.release();
+        }
+    }
+
+    static class DebugTest extends GroovyTestCase {
+
+        void testMode() {
+            // Set by the build to make sure that debug mode is really being
+            // tested by the testTempVarsDebug task
+            String expected = System.getProperty("com.simsilica.mathd.test.tempvarsDebug");
+            if( expected != null ) {
+                assertEquals Boolean.parseBoolean(expected), TempVars.isDebug();
+            }
+        }
+
+        void testStaleRelease() {
+            if( !TempVars.isDebug() ) {
+                return;
+            }
+            TempVars temps = TempVars.get();
+            temps.release();
+            TempVars live = TempVars.get();
+            try {
+                Vec3d v = live.nextVec3d();
+                shouldFail(IllegalStateException) {
+                    temps.release();
+                }
+
+                // The live frame is still acquired and doesn't hand out
+                // its objects again
+                assertEquals 1, TempVars.getDepth();
+                assert !live.nextVec3d().is(v)
+            } finally {
+                live.release();
+            }
+            TempVars.checkReleased();
+        }
+
+        void testUseAfterRelease() {
+            if( !TempVars.isDebug() ) {
+                return;
+            }
+            TempVars temps = TempVars.get();
+            temps.release();
+            shouldFail(IllegalStateException) {
+                temps.nextVec3d();
+            }
+            TempVars live = TempVars.get();
+            try {
+                shouldFail(IllegalStateException) {
+                    temps.nextMatrix4d();
+                }
+            } finally {
+                live.release();
+            }
+        }
+
+        void testPoisonedAfterRelease() {
+            if( !TempVars.isDebug() ) {
+                return;
+            }
+            TempVars temps = TempVars.get();
+            Vec3d v = temps.nextVec3d().set(1, 2, 3);
+            temps.release();
+            assert Double.isNaN(v.x)
+        }
+    }
+}
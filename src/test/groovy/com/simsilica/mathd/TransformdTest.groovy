@@ -0,0 +1,54 @@
+package com.simsilica.mathd;
+
+class TransformdTest {
+
+    static class CombineTest extends GroovyTestCase {
+
+        Transformd parent = new Transformd(new Vec3d(1, 2, 3),
+                                           new Quatd().fromAngles(0.3, 1.1, -0.7),
+                                           new Vec3d(2, 2, 2));
+        Transformd child = new Transformd(new Vec3d(-4, 0.5, 7),
+                                          new Quatd().fromAngles(-0.2, 0.4, 1.3),
+                                          new Vec3d(0.5, 0.5, 0.5));
+        Vec3d point = new Vec3d(0.3, -1.7, 2.2);
+
+        void testCombineMatchesChainedPoints() {
+            Vec3d expected = parent.transformPoint(child.transformPoint(point, null), null);
+
+            Transformd combined = parent.combine(child, null);
+
+            assert expected.isSimilar(combined.transformPoint(point, null), 1e-12)
+        }
+
+        void testCombineMatchesMatrix() {
+            Matrix4d expected = parent.toMatrix4d().mult(child.toMatrix4d());
+
+            Matrix4d result = parent.combine(child, null).toMatrix4d();
+
+            assert expected.mult(point).isSimilar(result.mult(point), 1e-12)
+        }
+
+        void testCombineWithParent() {
+            Transformd local = child.clone().combineWithParent(parent);
+
+            assertEquals parent.combine(child, null), local
+        }
+
+        void testInverse() {
+            Transformd combined = parent.combine(child, null);
+            Vec3d world = combined.transformPoint(point, null);
+
+            assert point.isSimilar(combined.inverse().transformPoint(world, null), 1e-12)
+            assert point.isSimilar(combined.transformInversePoint(world, null), 1e-12)
+        }
+
+        void testInversePointNonUniformScale() {
+            Transformd t = new Transformd(new Vec3d(1, 2, 3),
+                                          new Quatd().fromAngles(0.3, 1.1, -0.7),
+                                          new Vec3d(2, 3, 4));
+            Vec3d world = t.transformPoint(point, null);
+
+            assert point.isSimilar(t.transformInversePoint(world, null), 1e-12)
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.simsilica.mathd;
+
+class Vec3dArrayTest {
+
+    static class BulkOpsTest extends GroovyTestCase {
+
+        void testAddScaledVectorLocal() {
+            Vec3dArray pos = new Vec3dArray(2);
+            pos.set(0, 1, 2, 3);
+            pos.set(1, -1, -2, -3);
+            Vec3dArray vel = new Vec3dArray(2);
+            vel.set(0, 10, 0, 0);
+            vel.set(1, 0, 0, 10);
+
+            pos.addScaledVectorLocal(vel, 0.5);
+
+            assertEquals new Vec3d(6, 2, 3), pos.get(0)
+            assertEquals new Vec3d(-1, -2, 2), pos.get(1)
+        }
+
+        void testInterpolateLocal() {
+            Vec3dArray start = new Vec3dArray(1).set(0, 0, 0, 0);
+            Vec3dArray end = new Vec3dArray(1).set(0, 10, 20, 30);
+
+            Vec3dArray result = new Vec3dArray(1).interpolateLocal(start, end, 0.25);
+
+            assert new Vec3d(2.5, 5, 7.5).isSimilar(result.get(0), 0.000001)
+        }
+
+        void testDistanceSq() {
+            Vec3dArray array = new Vec3dArray(2);
+            array.set(0, 1, 0, 0);
+            array.set(1, 0, 3, 4);
+
+            double[] result = array.distanceSq(new Vec3d(), null);
+
+            assert result[0] == 1.0
+            assert result[1] == 25.0
+        }
+
+        void testSizeMismatch() {
+            shouldFail(IllegalArgumentException) {
+                new Vec3dArray(2).addLocal(new Vec3dArray(3))
+            }
+        }
+    }
+
+    static class QuatdArrayTest extends GroovyTestCase {
+
+        void testRotateMatchesQuatd() {
+            Quatd q = new Quatd().fromAngles(0.3, 1.2, -0.4);
+            Vec3d v = new Vec3d(1.5, -2.25, 3.125);
+            QuatdArray rots = new QuatdArray(1).set(0, q);
+            Vec3dArray vecs = new Vec3dArray(1).set(0, v);
+
+            rots.mult(vecs, vecs);
+
+            assertEquals q.mult(v), vecs.get(0)
+        }
+
+        void testSlerpMatchesQuatd() {
+            Quatd a = new Quatd().fromAngles(0.3, 1.2, -0.4);
+            Quatd b = new Quatd().fromAngles(-1.1, 0.25, 2.0);
+            QuatdArray start = new QuatdArray(1).set(0, a);
+            QuatdArray end = new QuatdArray(1).set(0, b);
+
+            QuatdArray result = new QuatdArray(1).slerpLocal(start, end, 0.37);
+
+            assertEquals new Quatd().slerpLocal(a, b, 0.37), result.get(0)
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.simsilica.mathd.bits;
+
+class DoubleBitsTest {
+
+    static class BulkTest extends GroovyTestCase {
+
+        void testBulkMatchesSingle() {
+            DoubleBits db = new DoubleBits(-10, 10, 16);
+            double[] values = [-10, -3.25, 0, 0.125, 7.5, 10] as double[];
+
+            long[] bits = db.toBits(values, null);
+            double[] result = db.fromBits(bits, null);
+
+            for( int i = 0; i < values.length; i++ ) {
+                assert bits[i] == db.toBits(values[i])
+                assert result[i] == db.fromBits(bits[i])
+            }
+        }
+
+        void testBulkClamps() {
+            DoubleBits db = new DoubleBits(-1, 1, 8);
+            long[] bits = db.toBits([-5, 5] as double[], new long[2]);
+
+            assert bits[0] == 0
+            assert bits[1] == 255
+        }
+
+        void testFloatBulkMatchesSingle() {
+            FloatBits fb = new FloatBits(-10, 10, 12);
+            float[] values = [-10, -3.25, 0, 0.125, 7.5, 10] as float[];
+
+            long[] bits = fb.toBits(values, null);
+            float[] result = fb.fromBits(bits, null);
+
+            for( int i = 0; i < values.length; i++ ) {
+                assert bits[i] == fb.toBits(values[i])
+                assert result[i] == fb.fromBits(bits[i])
+            }
+        }
+    }
+}
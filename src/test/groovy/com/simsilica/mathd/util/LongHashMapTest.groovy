@@ -0,0 +1,109 @@
+package com.simsilica.mathd.util;
+
+import java.util.Random;
+
+import com.simsilica.mathd.Grid;
+
+class LongHashMapTest {
+
+    static class ObjectMapTest extends GroovyTestCase {
+
+        public void testRandomGridIds() {
+            Grid grid = new Grid(32);
+            Random rand = new Random(1);
+
+            def test = [:];
+            LongObjectHashMap<String> map = new LongObjectHashMap<>();
+            for( int i = 0; i < 20000; i++ ) {
+                // Small ranges around the origin so that cell 0 and
+                // negative cells come up often
+                long id = grid.cellToId(rand.nextInt(20) - 10, rand.nextInt(4) - 2, rand.nextInt(20) - 10);
+                String value = "value:" + i;
+                if( rand.nextInt(3) == 0 ) {
+                    assertEquals(test.remove(id), map.remove(id));
+                } else {
+                    assertEquals(test.put(id, value), map.put(id, value));
+                }
+                assertEquals(test.size(), map.size());
+            }
+            test.each { k, v ->
+                assertEquals(v, map.get(k));
+            }
+        }
+
+        public void testIteration() {
+            LongObjectHashMap<String> map = new LongObjectHashMap<>();
+            def test = [:];
+            for( long key = -50; key <= 50; key++ ) {
+                map.put(key, "value:" + key);
+                test.put(key, "value:" + key);
+            }
+
+            def found = [:];
+            for( int i = map.firstSlot(); i >= 0; i = map.nextSlot(i) ) {
+                found.put(map.keyAt(i), map.valueAt(i));
+            }
+            assertEquals(test, found);
+            assertEquals(test.keySet(), map.keys(null) as Set);
+        }
+
+        public void testClear() {
+            LongObjectHashMap<String> map = new LongObjectHashMap<>();
+            map.put(0, "zero");
+            map.put(1, "one");
+            map.clear();
+            assertEquals(0, map.size());
+            assertFalse(map.containsKey(0));
+            assertNull(map.get(1));
+            assertEquals(-1, map.firstSlot());
+        }
+    }
+
+    static class IntMapTest extends GroovyTestCase {
+
+        public void testMissingValue() {
+            LongIntHashMap map = new LongIntHashMap(10, -1);
+            assertEquals(-1, map.get(0));
+            assertEquals(-1, map.put(0, 5));
+            assertEquals(5, map.put(0, 6));
+            assertEquals(6, map.remove(0));
+            assertEquals(-1, map.remove(0));
+            assertEquals(-1, map.get(12345));
+        }
+
+        public void testAddTo() {
+            LongIntHashMap map = new LongIntHashMap();
+            for( int i = 0; i < 1000; i++ ) {
+                map.addTo(i % 7, 1);
+            }
+            assertEquals(7, map.size());
+            assertEquals(143, map.get(0));
+            assertEquals(142, map.get(6));
+        }
+    }
+
+    static class LongMapTest extends GroovyTestCase {
+
+        public void testRandom() {
+            Random rand = new Random(1);
+
+            def test = [:];
+            LongLongHashMap map = new LongLongHashMap();
+            for( int i = 0; i < 20000; i++ ) {
+                long key = rand.nextInt(500) - 250;
+                if( rand.nextInt(3) == 0 ) {
+                    Long expect = test.remove(key);
+                    assertEquals(expect == null ? 0 : expect, map.remove(key));
+                } else {
+                    Long expect = test.put(key, (long)i);
+                    assertEquals(expect == null ? 0 : expect, map.put(key, i));
+                }
+                assertEquals(test.size(), map.size());
+            }
+            test.each { k, v ->
+                assertTrue(map.containsKey(k));
+                assertEquals(v, map.get(k));
+            }
+        }
+    }
+}